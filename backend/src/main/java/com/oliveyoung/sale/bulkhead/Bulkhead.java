@@ -0,0 +1,118 @@
+package com.oliveyoung.sale.bulkhead;
+
+import com.oliveyoung.sale.exception.BulkheadFullException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * 세마포어 벌크헤드 (워크로드별 동시 실행 수 제한)
+ *
+ * [흐름]
+ * execute()
+ *   → max-wait 안에 허가를 얻으면 실행 후 반납
+ *   → 못 얻으면 대기열을 만들지 않고 BulkheadFullException (503 + Retry-After)
+ *
+ * [메트릭] (name 태그로 구분)
+ * - bulkhead.calls.active     : 실행 중인 호출 수
+ * - bulkhead.calls.max        : 최대 동시 실행 수
+ * - bulkhead.saturation       : active / max (1이면 포화)
+ * - bulkhead.calls.rejected   : 거절 수
+ *
+ * [면접 포인트]
+ * Q: "커넥션 풀이 하나인데 워크로드를 어떻게 격리했나요?"
+ * A: 풀을 워크로드 수만큼 늘리는 대신, 풀 앞에 워크로드별 세마포어를 두고
+ *    세마포어 크기의 합이 풀 크기를 넘지 않게 했습니다.
+ *    카탈로그 캐시 미스가 폭주해도 카탈로그 몫만 채우고 거절되므로
+ *    구매는 항상 자기 몫의 커넥션을 바로 얻습니다.
+ *
+ * Q: "왜 기다리게 하지 않고 바로 거절하나요?"
+ * A: 포화 상태에서 기다리게 하면 스레드와 응답 시간이 같이 쌓입니다.
+ *    짧게만 기다리고 거절하면 클라이언트가 Retry-After 뒤에 다시 시도하고,
+ *    서버는 처리할 수 있는 만큼만 일합니다.
+ */
+public class Bulkhead {
+
+    private final String name;
+    private final int maxConcurrent;
+    private final long maxWaitMillis;
+    private final long retryAfterSeconds;
+    private final Semaphore permits;
+    private final Counter rejected;
+
+    public Bulkhead(String name, int maxConcurrent, long maxWaitMillis, long retryAfterSeconds,
+                    MeterRegistry meterRegistry) {
+        if (maxConcurrent < 1) {
+            throw new IllegalArgumentException("벌크헤드 최대 동시 실행 수는 1 이상이어야 합니다: " + name);
+        }
+        this.name = name;
+        this.maxConcurrent = maxConcurrent;
+        this.maxWaitMillis = maxWaitMillis;
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.permits = new Semaphore(maxConcurrent, true);
+
+        Gauge.builder("bulkhead.calls.active", this, Bulkhead::activeCalls)
+                .description("벌크헤드 안에서 실행 중인 호출 수")
+                .tag("name", name)
+                .register(meterRegistry);
+        Gauge.builder("bulkhead.calls.max", this, bulkhead -> bulkhead.maxConcurrent)
+                .description("벌크헤드 최대 동시 실행 수")
+                .tag("name", name)
+                .register(meterRegistry);
+        Gauge.builder("bulkhead.saturation", this, bulkhead -> (double) bulkhead.activeCalls() / bulkhead.maxConcurrent)
+                .description("벌크헤드 포화도 (실행 중 / 최대)")
+                .tag("name", name)
+                .register(meterRegistry);
+        this.rejected = Counter.builder("bulkhead.calls.rejected")
+                .description("벌크헤드 포화로 거절된 호출 수")
+                .tag("name", name)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 허가를 얻어 실행 (max-wait 안에 못 얻으면 BulkheadFullException)
+     */
+    public <T> T execute(Supplier<T> action) {
+        acquire();
+        try {
+            return action.get();
+        } finally {
+            permits.release();
+        }
+    }
+
+    public void run(Runnable action) {
+        execute(() -> {
+            action.run();
+            return null;
+        });
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int activeCalls() {
+        return maxConcurrent - permits.availablePermits();
+    }
+
+    private void acquire() {
+        boolean acquired;
+        try {
+            acquired = maxWaitMillis > 0
+                    ? permits.tryAcquire(maxWaitMillis, TimeUnit.MILLISECONDS)
+                    : permits.tryAcquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            rejected.increment();
+            throw new BulkheadFullException(name, retryAfterSeconds);
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.oliveyoung.sale.bulkhead;
+
+/**
+ * 워크로드별 벌크헤드 (BulkheadConfig에서 생성)
+ *
+ * @param purchase 구매 (재고 락 + 주문 저장)
+ * @param catalog  카탈로그 캐시 미스 로딩
+ * @param admin    운영 API (캠페인 등록/조회)
+ * @param orders   주문 상태/내역 조회 (구매 이후 폴링)
+ */
+public record Bulkheads(Bulkhead purchase, Bulkhead catalog, Bulkhead admin, Bulkhead orders) {
+}
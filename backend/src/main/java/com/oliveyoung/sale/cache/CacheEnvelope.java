@@ -0,0 +1,14 @@
+package com.oliveyoung.sale.cache;
+
+/**
+ * 캐시 값 + 갱신 메타데이터 (L1/L2에 함께 저장)
+ *
+ * @param value         캐시 값
+ * @param softExpiresAt 이 시각(epoch ms) 이후에는 이전 값을 응답하면서 백그라운드 갱신
+ * @param loadMillis    값을 만드는 데 걸린 시간 (XFetch 조기 갱신 확률 계산용)
+ */
+public record CacheEnvelope(
+        Object value,
+        long softExpiresAt,
+        long loadMillis
+) {}
@@ -0,0 +1,17 @@
+package com.oliveyoung.sale.cache;
+
+/**
+ * L1 캐시 무효화 이벤트 (Pod 내부 Spring 이벤트)
+ *
+ * 이 Pod에서 삭제했거나 다른 Pod의 무효화 메시지를 수신했을 때 발행합니다.
+ * 캐시에서 파생된 데이터(직렬화된 응답 바이트 등)를 함께 정리하는 용도입니다.
+ *
+ * @param cacheName 캐시 이름
+ * @param key       삭제된 키 (null이면 캐시 전체)
+ * @param local     이 Pod에서 삭제했으면 true, 다른 Pod의 메시지 수신이면 false
+ */
+public record CacheInvalidatedEvent(
+        String cacheName,
+        String key,
+        boolean local
+) {}
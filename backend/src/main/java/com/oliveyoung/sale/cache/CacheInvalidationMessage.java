@@ -0,0 +1,14 @@
+package com.oliveyoung.sale.cache;
+
+/**
+ * L1 캐시 무효화 메시지 (Redis Pub/Sub)
+ *
+ * @param origin    발행한 Pod 식별자 (자기 자신이 보낸 메시지는 무시)
+ * @param cacheName 캐시 이름 (products, product)
+ * @param key       무효화할 키 (null이면 캐시 전체)
+ */
+public record CacheInvalidationMessage(
+        String origin,
+        String cacheName,
+        String key
+) {}
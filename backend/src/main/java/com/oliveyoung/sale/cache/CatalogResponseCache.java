@@ -0,0 +1,204 @@
+package com.oliveyoung.sale.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.oliveyoung.sale.service.CatalogVersionService;
+import com.oliveyoung.sale.service.ProductCatalogService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 상품 API 응답 바이트 캐시 (직렬화 완료된 HTTP Body)
+ *
+ * [흐름]
+ * GET /api/products → 바이트 캐시 hit → 그대로 응답 (JSON 직렬화 없음)
+ *                   → miss → ProductService(카탈로그 캐시 + 재고 뷰) → ApiResponse 직렬화 + gzip → 저장
+ *
+ * [무효화]
+ * 캐시 키에 카탈로그 버전을 포함하므로 카탈로그가 바뀌면 자동으로 새로 생성.
+ * (세일 상태/재고는 호출 측이 키에 넣어 구분 → ProductController)
+ * catalog/catalogItem 캐시가 삭제되면(CacheInvalidatedEvent) 바이트 캐시도 삭제.
+ * (버전 메시지가 L1 무효화 메시지보다 먼저 도착해 이전 값이 저장되는 경우 대비)
+ *
+ * [조건부 요청]
+ * ETag = "{key}-v{카탈로그 버전}" → If-None-Match가 같으면 304 (캐시/DB 조회 없음)
+ * 버전 증가에 실패해 미반영 변경이 있으면(CatalogVersionService.isPending) 304와 바이트 캐시를 건너뜀
+ *
+ * [면접 포인트]
+ * Q: "캐시 히트인데도 느린 이유는?"
+ * A: Redis 캐시 히트여도 역직렬화(JSON → 객체) 후 다시 직렬화(객체 → JSON)를 합니다.
+ *    가장 많이 호출되는 API는 최종 응답 바이트(및 gzip 압축본)를 캐시하면
+ *    요청당 직렬화/압축 비용이 0이 됩니다.
+ *
+ * Q: "304 판단은 어떻게 빠르게 하나요?"
+ * A: ETag를 데이터 해시가 아닌 카탈로그 버전으로 만들어
+ *    Pod 메모리의 버전 값만 비교합니다. 본문을 읽을 필요가 없습니다.
+ */
+@Slf4j
+@Component
+public class CatalogResponseCache {
+
+    private static final Set<String> CATALOG_CACHES = Set.of(
+            ProductCatalogService.CATALOG_CACHE,
+            ProductCatalogService.CATALOG_ITEM_CACHE,
+            ProductCatalogService.CATALOG_PAGE_CACHE);
+    private static final String GZIP = "gzip";
+
+    private final ObjectMapper objectMapper;
+    private final CatalogVersionService catalogVersionService;
+    private final Cache<String, CachedBody> bodies;
+
+    public CatalogResponseCache(ObjectMapper objectMapper,
+                                CatalogVersionService catalogVersionService,
+                                @Value("${app.cache.response.ttl-seconds:600}") long ttlSeconds) {
+        this.objectMapper = objectMapper;
+        this.catalogVersionService = catalogVersionService;
+        this.bodies = Caffeine.newBuilder()
+                .maximumSize(1000)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+    }
+
+    /**
+     * 캐시된 응답 바이트 반환 (없으면 loader 결과를 직렬화해서 저장)
+     *
+     * @param ifNoneMatch    요청의 If-None-Match 헤더 (현재 ETag와 같으면 304)
+     * @param acceptEncoding 요청의 Accept-Encoding 헤더 (gzip 포함 시 압축본 응답)
+     */
+    public ResponseEntity<byte[]> respond(String key, String ifNoneMatch, String acceptEncoding, Supplier<?> loader) {
+        long version = catalogVersionService.current();
+        // 버전을 올리지 못한 변경이 있으면 같은 버전의 ETag/바이트가 이전 내용일 수 있음
+        boolean pending = catalogVersionService.isPending();
+        boolean gzip = acceptsGzip(acceptEncoding);
+        String tag = key + "-v" + version;
+        // 같은 데이터라도 압축 여부에 따라 바이트가 다르므로 Strong ETag를 구분
+        String etag = "\"" + tag + (gzip ? "-" + GZIP : "") + "\"";
+
+        if (!pending && matches(ifNoneMatch, tag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .cacheControl(CacheControl.noCache())
+                    .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                    .build();
+        }
+
+        CachedBody body = pending ? serialize(loader.get()) : bodies.get(tag, k -> serialize(loader.get()));
+
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            return builder.header(HttpHeaders.CONTENT_ENCODING, GZIP).body(body.gzip());
+        }
+        return builder.body(body.json());
+    }
+
+    /**
+     * Accept-Encoding에서 gzip 허용 여부 판단 (q 값 반영)
+     *
+     * "gzip;q=0"은 gzip 거부, "*"는 gzip이 따로 적혀 있지 않을 때만 적용됩니다. (RFC 9110 12.5.3)
+     */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null || acceptEncoding.isBlank()) {
+            return false;
+        }
+        Boolean gzip = null;
+        boolean wildcard = false;
+        for (String candidate : acceptEncoding.split(",")) {
+            String[] parts = candidate.split(";");
+            String coding = parts[0].trim();
+            boolean accepted = qValue(parts) > 0;
+            if (coding.equalsIgnoreCase(GZIP) || coding.equalsIgnoreCase("x-" + GZIP)) {
+                gzip = accepted;
+            } else if (coding.equals("*")) {
+                wildcard = accepted;
+            }
+        }
+        return gzip != null ? gzip : wildcard;
+    }
+
+    private static double qValue(String[] parts) {
+        for (int i = 1; i < parts.length; i++) {
+            String param = parts[i].trim();
+            if (param.length() > 2 && (param.charAt(0) == 'q' || param.charAt(0) == 'Q') && param.charAt(1) == '=') {
+                try {
+                    return Double.parseDouble(param.substring(2).trim());
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+
+    /**
+     * If-None-Match 비교 (여러 ETag 나열, W/ 접두사, 압축본 ETag 모두 허용)
+     */
+    private static boolean matches(String ifNoneMatch, String tag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.startsWith("W/")) {
+                value = value.substring(2);
+            }
+            value = value.replace("\"", "");
+            if (value.equals(tag) || value.equals(tag + "-" + GZIP)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 상품/세일 캐시 무효화 시 응답 바이트도 삭제 (상품 수가 적어 전체 삭제)
+     */
+    @EventListener
+    public void onCacheInvalidated(CacheInvalidatedEvent event) {
+        if (CATALOG_CACHES.contains(event.cacheName())) {
+            bodies.invalidateAll();
+            log.debug("상품 응답 바이트 캐시 삭제 - cache: {}, key: {}", event.cacheName(), event.key());
+        }
+    }
+
+    private CachedBody serialize(Object value) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(value);
+            return new CachedBody(json, gzip(json));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("상품 응답 직렬화 실패", e);
+        }
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(json.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private record CachedBody(byte[] json, byte[] gzip) {}
+}
@@ -0,0 +1,60 @@
+package com.oliveyoung.sale.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 캐시 로딩 분산 락 (Pod 간 single-flight)
+ *
+ * SET NX PX로 락을 잡은 Pod만 DB를 조회하고, 나머지 Pod는 L2(Redis)에 값이 채워지길 기다립니다.
+ * 해제는 토큰 비교 후 삭제(Lua)로, 만료 후 다른 Pod가 잡은 락을 지우지 않습니다.
+ */
+@Slf4j
+public class RedisLoadLock {
+
+    private static final String LOCK_PREFIX = "cache:lock:";
+    private static final RedisScript<Long> UNLOCK_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('GET', KEYS[1]) == ARGV[1] then return redis.call('DEL', KEYS[1]) else return 0 end",
+            Long.class);
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final Duration lockTtl;
+
+    public RedisLoadLock(RedisTemplate<String, Object> redisTemplate, Duration lockTtl) {
+        this.redisTemplate = redisTemplate;
+        this.lockTtl = lockTtl;
+    }
+
+    /**
+     * 락 획득 시도
+     *
+     * @return 획득하면 해제용 토큰, 다른 Pod가 로딩 중이면 null
+     *         (Redis 장애 시에는 로컬 로딩을 막지 않도록 토큰 반환)
+     */
+    public String tryLock(String key) {
+        String token = UUID.randomUUID().toString();
+        try {
+            Boolean acquired = redisTemplate.opsForValue().setIfAbsent(LOCK_PREFIX + key, token, lockTtl);
+            return Boolean.FALSE.equals(acquired) ? null : token;
+        } catch (Exception e) {
+            log.warn("캐시 로딩 락 획득 실패, 로컬 로딩 진행 - key: {}, reason: {}", key, e.getMessage());
+            return token;
+        }
+    }
+
+    public void unlock(String key, String token) {
+        try {
+            // 값은 GenericJackson2JsonRedisSerializer로 저장되므로 같은 직렬화 형태로 비교
+            redisTemplate.execute(UNLOCK_SCRIPT, List.of(LOCK_PREFIX + key), token);
+        } catch (Exception e) {
+            // TTL 만료로 해제됨
+            log.warn("캐시 로딩 락 해제 실패 - key: {}, reason: {}", key, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,396 @@
+package com.oliveyoung.sale.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+
+/**
+ * 2단계 캐시 (L1: Pod 로컬 Caffeine, L2: Redis)
+ *
+ * [조회]  L1 → (miss) L2 → (hit) L1 적재
+ * [저장]  L2 → L1
+ * [삭제]  L2 → L1 → 다른 Pod에 무효화 브로드캐스트
+ *
+ * [로딩] (@Cacheable(sync = true) → get(key, valueLoader))
+ * 같은 키의 동시 미스는 Pod당 1번만 로딩하고 나머지는 그 결과를 기다립니다. (single-flight)
+ * 분산 락이 설정되면 Pod 간에도 1번만 로딩하고, 나머지 Pod는 L2가 채워지길 기다립니다.
+ * 로딩이 실패하면(벌크헤드 거절 포함) 기다리던 요청도 같은 예외를 받습니다.
+ *
+ * [만료] Soft TTL / Hard TTL (값은 CacheEnvelope로 저장)
+ * - Soft TTL 이전: XFetch 방식으로 만료가 가까울수록 높은 확률로 백그라운드 조기 갱신
+ * - Soft ~ Hard TTL: 이전 값을 즉시 응답하고 백그라운드 갱신 (stale-while-revalidate)
+ * - Hard TTL(Redis TTL) 이후: 캐시 미스 → 동기 로딩
+ *
+ * L1 키는 문자열로 통일합니다.
+ * (Pub/Sub으로 전달된 키는 JSON 역직렬화 과정에서 Long/Integer 타입이 달라질 수 있음)
+ *
+ * [면접 포인트]
+ * Q: "인기 상품 캐시가 만료되는 순간 요청 1,000개가 몰리면?"
+ * A: 캐시 스탬피드(Thundering Herd)입니다. 1,000개 요청이 모두 DB를 조회하지 않도록
+ *    키별로 진행 중인 로딩(CompletableFuture)을 공유합니다.
+ *    DB 조회는 Pod당 1번(분산 락 사용 시 전체 1번)으로 줄어듭니다.
+ *
+ * Q: "그래도 만료 순간 첫 요청은 DB 지연을 겪지 않나요?"
+ * A: 만료를 두 단계로 나눠, Soft TTL 이후에는 이전 값을 바로 응답하고 갱신은 뒤에서 합니다.
+ *    XFetch(확률적 조기 갱신)는 로딩 시간 × -ln(rand)만큼 앞당겨 갱신하므로
+ *    자주 조회되는 키일수록 만료 전에 갱신되어 미스 자체가 거의 없습니다.
+ */
+@Slf4j
+public class TwoLevelCache implements Cache {
+
+    private static final long LOCK_POLL_MILLIS = 20;
+    private static final double XFETCH_BETA = 1.0;
+
+    private final String name;
+    private final com.github.benmanes.caffeine.cache.Cache<String, Object> local;
+    private final Cache remote;
+    private final Consumer<CacheInvalidationMessage> invalidationPublisher;
+    private final RedisLoadLock loadLock;
+    private final long lockWaitMillis;
+    private final long softTtlMillis;
+    private final Executor refreshExecutor;
+    private final Map<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+
+    private final Counter l1Hit;
+    private final Counter l1Miss;
+    private final Counter l2Hit;
+    private final Counter l2Miss;
+    private final Counter loadExecuted;
+    private final Counter loadCoalesced;
+    private final Counter loadCoalescedRemote;
+    private final Counter refreshEarly;
+    private final Counter refreshStale;
+
+    /**
+     * @param loadLock        Pod 간 로딩 락 (null이면 Pod 내 single-flight만 적용)
+     * @param lockWaitMillis  다른 Pod의 로딩을 기다리는 최대 시간 (초과 시 직접 로딩)
+     * @param softTtl         이 시간이 지나면 이전 값을 응답하면서 백그라운드 갱신 (Hard TTL = Redis TTL)
+     * @param refreshExecutor 백그라운드 갱신 실행기 (포화 시 갱신 생략, 호출 스레드의 MDC를 이어받음)
+     */
+    public TwoLevelCache(String name,
+                         com.github.benmanes.caffeine.cache.Cache<String, Object> local,
+                         Cache remote,
+                         Consumer<CacheInvalidationMessage> invalidationPublisher,
+                         MeterRegistry meterRegistry,
+                         RedisLoadLock loadLock,
+                         long lockWaitMillis,
+                         Duration softTtl,
+                         Executor refreshExecutor) {
+        this.name = name;
+        this.local = local;
+        this.remote = remote;
+        this.invalidationPublisher = invalidationPublisher;
+        this.loadLock = loadLock;
+        this.lockWaitMillis = lockWaitMillis;
+        this.softTtlMillis = softTtl.toMillis();
+        this.refreshExecutor = refreshExecutor;
+        this.l1Hit = counter(meterRegistry, "l1", "hit");
+        this.l1Miss = counter(meterRegistry, "l1", "miss");
+        this.l2Hit = counter(meterRegistry, "l2", "hit");
+        this.l2Miss = counter(meterRegistry, "l2", "miss");
+        this.loadExecuted = loadCounter(meterRegistry, "executed");
+        this.loadCoalesced = loadCounter(meterRegistry, "coalesced");
+        this.loadCoalescedRemote = loadCounter(meterRegistry, "coalesced_remote");
+        this.refreshEarly = refreshCounter(meterRegistry, "early");
+        this.refreshStale = refreshCounter(meterRegistry, "stale");
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return local;
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        CacheEnvelope envelope = lookup(key);
+        return envelope != null ? new SimpleValueWrapper(envelope.value()) : null;
+    }
+
+    /**
+     * L1 → L2 순서로 조회 (L2 히트 시 L1 적재)
+     */
+    private CacheEnvelope lookup(Object key) {
+        String localKey = toLocalKey(key);
+        Object cached = local.getIfPresent(localKey);
+        if (cached != null) {
+            l1Hit.increment();
+            return toEnvelope(cached);
+        }
+        l1Miss.increment();
+
+        ValueWrapper wrapper = remote.get(key);
+        if (wrapper != null && wrapper.get() != null) {
+            l2Hit.increment();
+            local.put(localKey, wrapper.get());
+            return toEnvelope(wrapper.get());
+        }
+        l2Miss.increment();
+        return null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper != null ? wrapper.get() : null;
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException("캐시 값 타입 불일치: " + value.getClass().getName() + " (요청: " + type.getName() + ")");
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        CacheEnvelope cached = lookup(key);
+        if (cached != null) {
+            refreshIfNeeded(key, cached, valueLoader);
+            return (T) cached.value();
+        }
+
+        String localKey = toLocalKey(key);
+        CompletableFuture<Object> mine = new CompletableFuture<>();
+        CompletableFuture<Object> running = inFlight.putIfAbsent(localKey, mine);
+        if (running != null) {
+            // 같은 Pod에서 이미 로딩 중 → 결과 공유
+            loadCoalesced.increment();
+            return (T) await(key, valueLoader, running);
+        }
+
+        try {
+            // 직전 로더가 방금 끝났을 수 있으므로 L1 재확인
+            Object recent = local.getIfPresent(localKey);
+            Object value = recent != null
+                    ? toEnvelope(recent).value()
+                    : loadOnce(key, localKey, valueLoader);
+            mine.complete(value);
+            return (T) value;
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(localKey, mine);
+        }
+    }
+
+    /**
+     * 로딩 (분산 락이 있으면 Pod 간 1회)
+     */
+    private Object loadOnce(Object key, String localKey, Callable<?> valueLoader) {
+        if (loadLock == null) {
+            return load(key, valueLoader);
+        }
+
+        String lockKey = name + "::" + localKey;
+        String token = loadLock.tryLock(lockKey);
+        if (token != null) {
+            try {
+                return load(key, valueLoader);
+            } finally {
+                loadLock.unlock(lockKey, token);
+            }
+        }
+
+        // 다른 Pod가 로딩 중 → L2에 채워지길 대기
+        long deadline = System.currentTimeMillis() + lockWaitMillis;
+        while (System.currentTimeMillis() < deadline) {
+            try {
+                Thread.sleep(LOCK_POLL_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            ValueWrapper wrapper = remote.get(key);
+            if (wrapper != null && wrapper.get() != null) {
+                loadCoalescedRemote.increment();
+                local.put(localKey, wrapper.get());
+                return toEnvelope(wrapper.get()).value();
+            }
+        }
+        // 대기 시간 초과 (락을 잡은 Pod 장애 등) → 직접 로딩
+        return load(key, valueLoader);
+    }
+
+    private Object load(Object key, Callable<?> valueLoader) {
+        loadExecuted.increment();
+        long startedAt = System.currentTimeMillis();
+        Object value;
+        try {
+            value = valueLoader.call();
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+        store(key, value, System.currentTimeMillis() - startedAt);
+        return value;
+    }
+
+    /**
+     * Soft TTL 경과 또는 XFetch 조기 갱신 대상이면 백그라운드 갱신 (키당 1개)
+     *
+     * XFetch: now - loadMillis × β × ln(rand) ≥ softExpiresAt 이면 갱신
+     */
+    private void refreshIfNeeded(Object key, CacheEnvelope cached, Callable<?> valueLoader) {
+        if (cached.softExpiresAt() <= 0) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        boolean stale = now >= cached.softExpiresAt();
+        if (!stale) {
+            double gap = -cached.loadMillis() * XFETCH_BETA * Math.log(ThreadLocalRandom.current().nextDouble());
+            if (now + gap < cached.softExpiresAt()) {
+                return;
+            }
+        }
+
+        String localKey = toLocalKey(key);
+        if (!refreshing.add(localKey)) {
+            return;
+        }
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    refresh(key, localKey, valueLoader);
+                } finally {
+                    refreshing.remove(localKey);
+                }
+            });
+            (stale ? refreshStale : refreshEarly).increment();
+        } catch (RejectedExecutionException e) {
+            // 갱신 스레드 포화 → Hard TTL까지 이전 값 사용
+            refreshing.remove(localKey);
+        }
+    }
+
+    private void refresh(Object key, String localKey, Callable<?> valueLoader) {
+        try {
+            if (loadLock == null) {
+                load(key, valueLoader);
+                return;
+            }
+            // 다른 Pod가 갱신 중이면 생략 (대기하지 않음)
+            String lockKey = name + "::" + localKey;
+            String token = loadLock.tryLock(lockKey);
+            if (token == null) {
+                return;
+            }
+            try {
+                load(key, valueLoader);
+            } finally {
+                loadLock.unlock(lockKey, token);
+            }
+        } catch (RuntimeException e) {
+            // 이전 값은 Hard TTL까지 유지
+            log.warn("캐시 백그라운드 갱신 실패 - cache: {}, key: {}, reason: {}", name, key, e.getMessage());
+        }
+    }
+
+    private Object await(Object key, Callable<?> valueLoader, CompletableFuture<Object> running) {
+        try {
+            return running.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new ValueRetrievalException(key, valueLoader, e.getCause());
+        }
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        store(key, value, 0);
+    }
+
+    private void store(Object key, Object value, long loadMillis) {
+        if (value == null) {
+            // L2(Redis)는 null 캐싱 비활성화 → L1도 저장하지 않음
+            return;
+        }
+        CacheEnvelope envelope = new CacheEnvelope(value, System.currentTimeMillis() + softTtlMillis, loadMillis);
+        remote.put(key, envelope);
+        local.put(toLocalKey(key), envelope);
+    }
+
+    @Override
+    public void evict(Object key) {
+        remote.evict(key);
+        evictLocal(toLocalKey(key));
+        invalidationPublisher.accept(new CacheInvalidationMessage(null, name, toLocalKey(key)));
+    }
+
+    @Override
+    public void clear() {
+        remote.clear();
+        clearLocal();
+        invalidationPublisher.accept(new CacheInvalidationMessage(null, name, null));
+    }
+
+    /**
+     * L1만 무효화 (다른 Pod의 무효화 메시지 수신 시)
+     */
+    public void evictLocal(String key) {
+        local.invalidate(key);
+    }
+
+    /**
+     * L1 전체 무효화 (다른 Pod의 무효화 메시지 수신 시)
+     */
+    public void clearLocal() {
+        local.invalidateAll();
+    }
+
+    private static String toLocalKey(Object key) {
+        return String.valueOf(key);
+    }
+
+    /**
+     * Envelope 도입 이전에 저장된 값은 Soft TTL 없이 그대로 사용
+     */
+    private static CacheEnvelope toEnvelope(Object cached) {
+        return cached instanceof CacheEnvelope envelope ? envelope : new CacheEnvelope(cached, 0, 0);
+    }
+
+    private Counter refreshCounter(MeterRegistry meterRegistry, String trigger) {
+        return Counter.builder("cache.refreshes")
+                .description("백그라운드 캐시 갱신 (early: XFetch 조기 갱신, stale: Soft TTL 경과)")
+                .tag("cache", name)
+                .tag("trigger", trigger)
+                .register(meterRegistry);
+    }
+
+    private Counter loadCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("cache.loads")
+                .description("캐시 미스 로딩 (executed: 직접 로딩, coalesced: 진행 중인 로딩 결과 공유)")
+                .tag("cache", name)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private Counter counter(MeterRegistry meterRegistry, String level, String result) {
+        return Counter.builder("cache.level.requests")
+                .description("2단계 캐시 레벨별 조회 결과")
+                .tag("cache", name)
+                .tag("level", level)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,157 @@
+package com.oliveyoung.sale.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+
+/**
+ * 2단계 캐시 매니저 (Caffeine L1 + RedisCacheManager L2)
+ *
+ * [면접 포인트]
+ * Q: "Redis 캐시가 있는데 로컬 캐시를 또 두는 이유는?"
+ * A: 세일 시작 직후 상품 목록 조회가 폭증하면
+ *    캐시 히트여도 매 요청마다 Redis 왕복 + JSON 역직렬화 비용이 듭니다.
+ *    상품 수가 적고 변경이 드물어 Pod 메모리에 두기 적합합니다.
+ *
+ * Q: "Pod마다 로컬 캐시가 다르면 정합성은?"
+ * A: 삭제(@CacheEvict) 시 Redis Pub/Sub으로 모든 Pod의 L1을 무효화합니다.
+ *    Pub/Sub은 유실될 수 있으므로 L1 TTL을 L2보다 짧게 두어
+ *    최악의 경우에도 L1 TTL만큼만 오래된 값을 보게 됩니다.
+ *
+ * Q: "백그라운드 갱신이 몰리면 스레드가 폭증하지 않나요?"
+ * A: 갱신 스레드 풀(CacheConfig.cacheRefreshExecutor)은 크기와 큐가 고정되어 있고, 가득 차면 갱신을 생략합니다.
+ *    생략된 키는 Hard TTL까지 이전 값을 응답하다가 다음 조회 때 다시 시도합니다.
+ *    풀은 Spring 빈이라 executor.* 메트릭으로 포화 여부를 보고, 종료 시 Spring이 정리합니다.
+ */
+@Slf4j
+public class TwoLevelCacheManager implements CacheManager, MessageListener {
+
+    public static final String INVALIDATION_CHANNEL = "cache:invalidation";
+
+    private final CacheManager remoteCacheManager;
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final MeterRegistry meterRegistry;
+    private final ApplicationEventPublisher eventPublisher;
+    private final long localMaxSize;
+    private final Duration localTtl;
+    private final RedisLoadLock loadLock;
+    private final long lockWaitMillis;
+    private final Duration softTtl;
+    private final Executor refreshExecutor;
+
+    private final String instanceId = UUID.randomUUID().toString();
+    private final Map<String, TwoLevelCache> caches = new ConcurrentHashMap<>();
+
+    public TwoLevelCacheManager(CacheManager remoteCacheManager,
+                                RedisTemplate<String, Object> redisTemplate,
+                                RedisMessageListenerContainer listenerContainer,
+                                MeterRegistry meterRegistry,
+                                ApplicationEventPublisher eventPublisher,
+                                long localMaxSize,
+                                Duration localTtl,
+                                RedisLoadLock loadLock,
+                                long lockWaitMillis,
+                                Duration softTtl,
+                                Executor refreshExecutor) {
+        this.remoteCacheManager = remoteCacheManager;
+        this.redisTemplate = redisTemplate;
+        this.listenerContainer = listenerContainer;
+        this.meterRegistry = meterRegistry;
+        this.eventPublisher = eventPublisher;
+        this.localMaxSize = localMaxSize;
+        this.localTtl = localTtl;
+        this.loadLock = loadLock;
+        this.lockWaitMillis = lockWaitMillis;
+        this.softTtl = softTtl;
+        this.refreshExecutor = refreshExecutor;
+    }
+
+    @PostConstruct
+    public void init() {
+        listenerContainer.addMessageListener(this, new ChannelTopic(INVALIDATION_CHANNEL));
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        return caches.computeIfAbsent(name, this::createCache);
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return remoteCacheManager.getCacheNames();
+    }
+
+    /**
+     * 다른 Pod의 무효화 메시지 수신 → L1만 삭제 (L2는 발행한 Pod가 이미 삭제)
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        Object value = redisTemplate.getValueSerializer().deserialize(message.getBody());
+        if (!(value instanceof CacheInvalidationMessage invalidation) || instanceId.equals(invalidation.origin())) {
+            return;
+        }
+        TwoLevelCache cache = caches.get(invalidation.cacheName());
+        if (cache == null) {
+            return;
+        }
+        if (invalidation.key() == null) {
+            cache.clearLocal();
+        } else {
+            cache.evictLocal(invalidation.key());
+        }
+        eventPublisher.publishEvent(new CacheInvalidatedEvent(invalidation.cacheName(), invalidation.key(), false));
+        log.debug("L1 캐시 무효화 수신 - cache: {}, key: {}", invalidation.cacheName(), invalidation.key());
+    }
+
+    private TwoLevelCache createCache(String name) {
+        Cache remote = remoteCacheManager.getCache(name);
+        if (remote == null) {
+            throw new IllegalArgumentException("캐시 설정을 찾을 수 없습니다: " + name);
+        }
+        return new TwoLevelCache(
+                name,
+                Caffeine.newBuilder()
+                        .maximumSize(localMaxSize)
+                        .expireAfterWrite(localTtl)
+                        .build(),
+                remote,
+                this::publish,
+                meterRegistry,
+                loadLock,
+                lockWaitMillis,
+                softTtl,
+                refreshExecutor);
+    }
+
+    /**
+     * L1 무효화 브로드캐스트 후 로컬 이벤트 발행
+     * (이벤트 리스너인 CatalogVersionService가 버전 메시지를 L1 무효화 메시지보다 먼저 보내지 않도록)
+     */
+    private void publish(CacheInvalidationMessage invalidation) {
+        try {
+            redisTemplate.convertAndSend(INVALIDATION_CHANNEL,
+                    new CacheInvalidationMessage(instanceId, invalidation.cacheName(), invalidation.key()));
+        } catch (Exception e) {
+            // 다른 Pod의 L1은 TTL 만료로 정리됨
+            log.warn("L1 캐시 무효화 브로드캐스트 실패 - cache: {}, reason: {}", invalidation.cacheName(), e.getMessage());
+        }
+        eventPublisher.publishEvent(new CacheInvalidatedEvent(invalidation.cacheName(), invalidation.key(), true));
+    }
+}
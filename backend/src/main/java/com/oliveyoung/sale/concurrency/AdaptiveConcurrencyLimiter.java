@@ -0,0 +1,218 @@
+package com.oliveyoung.sale.concurrency;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * 적응형 동시 요청 한도 (응답 시간 기울기 기반, Pod 로컬)
+ *
+ * [흐름]
+ * tryAcquire(우선순위)
+ *   → 처리 중 요청 수 < 한도 × 우선순위 비율 이면 허용, 아니면 즉시 거절 (503)
+ * release(시작 시각)
+ *   → 응답 시간 샘플 누적 → window마다 한 스레드가 한도 재계산
+ * releaseWithoutSample()
+ *   → 5xx/예외로 끝난 요청은 허가만 반납하고 샘플은 버림
+ *     (벌크헤드 503처럼 1ms 만에 끝나는 실패가 평균을 끌어내려 장애 중에 한도가 늘어나지 않도록)
+ *
+ * [한도 계산] (Gradient)
+ *   shortRtt = 이번 window 평균 응답 시간
+ *   longRtt  = shortRtt의 지수 이동 평균 (평소 응답 시간 기준선)
+ *   gradient = clamp(tolerance × longRtt / shortRtt, 0.5, 1.0)
+ *   newLimit = limit × gradient + √limit   (√limit: 응답 시간이 그대로일 때 조금씩 늘려보는 여유)
+ *   limit    = limit × (1 - smoothing) + newLimit × smoothing
+ * Redis/Aurora가 느려져 응답 시간이 기준선보다 커지면 한도가 줄고, 회복되면 다시 늘어납니다.
+ * 처리 중 요청이 한도의 절반도 안 되는 window는 한도를 늘릴 근거가 없으므로 건너뜁니다.
+ *
+ * [우선순위]
+ * 낮은 우선순위일수록 한도의 더 작은 비율까지만 씁니다.
+ * 포화가 시작되면 카탈로그 → 대기열 폴링 → 구매 순으로 먼저 거절됩니다.
+ *
+ * [메트릭]
+ * - concurrency.limit          : 현재 한도
+ * - concurrency.inflight       : 처리 중 요청 수
+ * - concurrency.requests.shed  : 거절 수 (priority 태그)
+ *
+ * [면접 포인트]
+ * Q: "Tomcat 스레드 수나 벌크헤드로 충분하지 않나요?"
+ * A: 고정 한도는 "평소 속도"를 가정합니다. Redis나 Aurora가 느려지면 같은 스레드 수로 처리할 수 있는 요청이 줄어
+ *    나머지는 Tomcat 대기열에 쌓이고, 모든 API의 응답 시간이 타임아웃까지 늘어납니다.
+ *    응답 시간이 늘어나는 것을 보고 한도를 줄이면 초과분은 바로 503으로 돌려보내고(클라이언트는 재시도),
+ *    받아들인 요청은 평소 응답 시간 근처로 처리됩니다. (Little's Law: 동시 처리 수 = 처리량 × 응답 시간)
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    /**
+     * 요청 우선순위 (한도 중 사용할 수 있는 비율)
+     */
+    public enum Priority {
+        /** 구매 */
+        CRITICAL(1.0),
+        /** 대기열 진입/폴링 */
+        HIGH(0.9),
+        /** 주문 조회, 세일 상태/운영 */
+        NORMAL(0.8),
+        /** 상품 카탈로그 */
+        LOW(0.6);
+
+        private final double share;
+
+        Priority(double share) {
+            this.share = share;
+        }
+    }
+
+    /** longRtt가 shortRtt의 이 배수를 넘으면 기준선을 빠르게 낮춤 (긴 장애 후 회복 시 기준선이 부풀어 있는 경우) */
+    private static final double LONG_RTT_RESET_RATIO = 2.0;
+    private static final double LONG_RTT_DECAY = 0.95;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long windowNanos;
+    private final double tolerance;
+    private final double smoothing;
+    private final double longRttFactor;
+    private final LongSupplier nanoClock;
+
+    private final AtomicInteger inflight = new AtomicInteger();
+    private final AtomicInteger peakInflight = new AtomicInteger();
+    private final LongAdder rttSum = new LongAdder();
+    private final LongAdder rttCount = new LongAdder();
+    private final AtomicLong windowEndsAt;
+    private final Counter[] shed;
+
+    private volatile double limit;
+    /** window를 맡은 스레드만 갱신 (windowEndsAt CAS) */
+    private volatile double longRtt;
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, long windowMillis,
+                                      double tolerance, double smoothing, int longWindows,
+                                      MeterRegistry meterRegistry) {
+        this(initialLimit, minLimit, maxLimit, windowMillis, tolerance, smoothing, longWindows,
+                meterRegistry, System::nanoTime);
+    }
+
+    AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, long windowMillis,
+                               double tolerance, double smoothing, int longWindows,
+                               MeterRegistry meterRegistry, LongSupplier nanoClock) {
+        if (minLimit < 1 || maxLimit < minLimit || initialLimit < minLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("동시 요청 한도는 1 <= min <= initial <= max 여야 합니다.");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.windowNanos = windowMillis * 1_000_000L;
+        this.tolerance = tolerance;
+        this.smoothing = smoothing;
+        this.longRttFactor = 2.0 / (longWindows + 1);
+        this.nanoClock = nanoClock;
+        this.limit = initialLimit;
+        this.windowEndsAt = new AtomicLong(nanoClock.getAsLong() + windowNanos);
+
+        Gauge.builder("concurrency.limit", this, AdaptiveConcurrencyLimiter::getLimit)
+                .description("적응형 동시 요청 한도")
+                .register(meterRegistry);
+        Gauge.builder("concurrency.inflight", inflight, AtomicInteger::get)
+                .description("처리 중인 요청 수")
+                .register(meterRegistry);
+        Priority[] priorities = Priority.values();
+        this.shed = new Counter[priorities.length];
+        for (Priority priority : priorities) {
+            shed[priority.ordinal()] = Counter.builder("concurrency.requests.shed")
+                    .description("동시 요청 한도 초과로 거절된 요청 수")
+                    .tag("priority", priority.name().toLowerCase())
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * 처리 허가 요청 (성공하면 반드시 release 호출)
+     *
+     * @return 허가 여부 (대기 없음)
+     */
+    public boolean tryAcquire(Priority priority) {
+        int allowed = Math.max(1, (int) (limit * priority.share));
+        while (true) {
+            int current = inflight.get();
+            if (current >= allowed) {
+                shed[priority.ordinal()].increment();
+                return false;
+            }
+            if (inflight.compareAndSet(current, current + 1)) {
+                peakInflight.accumulateAndGet(current + 1, Math::max);
+                return true;
+            }
+        }
+    }
+
+    /**
+     * 허가 반납 + 응답 시간 기록
+     *
+     * @param startedAt tryAcquire 직전의 now()
+     */
+    public void release(long startedAt) {
+        long now = nanoClock.getAsLong();
+        inflight.decrementAndGet();
+        rttSum.add(now - startedAt);
+        rttCount.increment();
+        closeWindowIfDue(now);
+    }
+
+    /**
+     * 허가만 반납 (실패한 요청의 응답 시간은 부하 신호가 아니므로 기록하지 않음)
+     */
+    public void releaseWithoutSample() {
+        inflight.decrementAndGet();
+        closeWindowIfDue(nanoClock.getAsLong());
+    }
+
+    private void closeWindowIfDue(long now) {
+        long windowEnd = windowEndsAt.get();
+        if (now >= windowEnd && windowEndsAt.compareAndSet(windowEnd, now + windowNanos)) {
+            updateLimit();
+        }
+    }
+
+    public long now() {
+        return nanoClock.getAsLong();
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInflight() {
+        return inflight.get();
+    }
+
+    private void updateLimit() {
+        long count = rttCount.sumThenReset();
+        long sum = rttSum.sumThenReset();
+        int peak = peakInflight.getAndSet(inflight.get());
+        if (count == 0) {
+            return;
+        }
+
+        double shortRtt = Math.max(1, (double) sum / count);
+        double baseline = longRtt == 0 ? shortRtt : longRtt * (1 - longRttFactor) + shortRtt * longRttFactor;
+        if (baseline / shortRtt > LONG_RTT_RESET_RATIO) {
+            baseline *= LONG_RTT_DECAY;
+        }
+        longRtt = baseline;
+
+        double current = limit;
+        if (peak < current / 2) {
+            // 한도까지 쓰지 않은 구간: 응답 시간이 한도 때문에 변한 게 아니므로 그대로 둠
+            return;
+        }
+        double gradient = Math.max(0.5, Math.min(1.0, tolerance * baseline / shortRtt));
+        double next = current * gradient + Math.sqrt(current);
+        next = current * (1 - smoothing) + next * smoothing;
+        limit = Math.max(minLimit, Math.min(maxLimit, next));
+    }
+}
@@ -0,0 +1,96 @@
+package com.oliveyoung.sale.concurrency;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.oliveyoung.sale.concurrency.AdaptiveConcurrencyLimiter.Priority;
+import com.oliveyoung.sale.dto.ApiResponse;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.UrlPathHelper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * 동시 요청 한도 필터 (/api/*, 한도 초과 시 즉시 503)
+ *
+ * [우선순위]
+ * - /api/purchase  → CRITICAL
+ * - /api/queue     → HIGH
+ * - /api/products  → LOW
+ * - 그 외 /api     → NORMAL
+ *
+ * 경로는 컨트롤러 매칭과 같은 조회 경로(UrlPathHelper)로 봅니다. (/api/products;x 로 LOW를 벗어나지 않도록)
+ * 응답 시간 샘플은 5xx가 아닌 응답만 기록합니다. (빠르게 끝나는 503/500이 한도를 키우지 않도록)
+ *
+ * 요청 한도 필터(RateLimitFilter) 뒤에 두어, 세션 한도로 거절된 요청은 동시 처리 수를 차지하지 않습니다.
+ * 응답은 벌크헤드 포화와 같은 503 + Retry-After + SERVER_BUSY 입니다.
+ */
+@Slf4j
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final String retryAfterSeconds;
+    private final byte[] rejectedBody;
+
+    public ConcurrencyLimitFilter(AdaptiveConcurrencyLimiter limiter, long retryAfterSeconds, ObjectMapper objectMapper) {
+        this.limiter = limiter;
+        this.retryAfterSeconds = String.valueOf(retryAfterSeconds);
+        try {
+            this.rejectedBody = objectMapper.writeValueAsBytes(
+                    ApiResponse.error("요청이 많아 처리하지 못했습니다. 잠시 후 다시 시도해주세요.", "SERVER_BUSY"));
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Priority priority = priorityOf(UrlPathHelper.defaultInstance.getLookupPathForRequest(request));
+        long startedAt = limiter.now();
+        if (!limiter.tryAcquire(priority)) {
+            log.debug("동시 요청 한도 초과로 거절 - priority: {}, limit: {}", priority, limiter.getLimit());
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, retryAfterSeconds);
+            // 컨트롤러의 @CrossOrigin까지 가지 않으므로 직접 추가
+            response.setHeader(HttpHeaders.ACCESS_CONTROL_ALLOW_ORIGIN, "*");
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.setContentLength(rejectedBody.length);
+            response.getOutputStream().write(rejectedBody);
+            return;
+        }
+
+        boolean succeeded = false;
+        try {
+            chain.doFilter(request, response);
+            succeeded = response.getStatus() < HttpStatus.INTERNAL_SERVER_ERROR.value();
+        } finally {
+            if (succeeded) {
+                limiter.release(startedAt);
+            } else {
+                limiter.releaseWithoutSample();
+            }
+        }
+    }
+
+    static Priority priorityOf(String path) {
+        if (path.startsWith("/api/purchase")) {
+            return Priority.CRITICAL;
+        }
+        if (path.startsWith("/api/queue")) {
+            return Priority.HIGH;
+        }
+        if (path.startsWith("/api/products")) {
+            return Priority.LOW;
+        }
+        return Priority.NORMAL;
+    }
+}
@@ -0,0 +1,48 @@
+package com.oliveyoung.sale.config;
+
+import com.oliveyoung.sale.bulkhead.Bulkhead;
+import com.oliveyoung.sale.bulkhead.Bulkheads;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 워크로드별 벌크헤드 설정 (app.bulkhead.*)
+ *
+ * [크기 기준]
+ * 벌크헤드 크기의 합(10 + 4 + 1 + 2 = 17)을 hikari maximum-pool-size(20)보다 작게 두고,
+ * 남는 3개는 벌크헤드를 거치지 않는 백그라운드 작업 몫으로 남깁니다.
+ * - @Scheduled 작업 (재고 뷰/품절 목록 재동기화, 대기열 처리, Outbox Relay, 주문 보관, 캠페인 tick): 스케줄러 풀 (spring.task.scheduling.pool.size)
+ * - Kafka 리스너 (대기열 진입, 비동기 주문 저장): 컨테이너당 1스레드
+ * 합이 풀보다 크면 한 워크로드가 다른 워크로드 몫의 커넥션까지 빌릴 수 있어 격리가 깨집니다.
+ *
+ * 스케줄러 풀의 DB 작업이 한꺼번에 겹치거나, 가상 스레드 프로필에서 @Scheduled 작업이 작업마다 가상 스레드로
+ * 동시에 실행되면 백그라운드 몫이 3개를 넘을 수 있습니다.
+ * 이때는 풀을 늘리거나 벌크헤드 크기를 줄입니다. 캠페인 프리워밍(prewarm-connections)은
+ * 시작 전 한가한 시점에 커넥션을 잠깐 빌렸다 반납하므로 이 합계에 넣지 않습니다.
+ * (읽기 라우팅을 켜면 카탈로그 로딩·주문 조회는 Reader 풀을 쓰므로 Writer 풀 여유가 더 생김)
+ */
+@Configuration
+public class BulkheadConfig {
+
+    @Bean
+    public Bulkheads bulkheads(
+            MeterRegistry meterRegistry,
+            @Value("${app.bulkhead.retry-after-seconds:1}") long retryAfterSeconds,
+            @Value("${app.bulkhead.purchase.max-concurrent:10}") int purchaseMaxConcurrent,
+            @Value("${app.bulkhead.purchase.max-wait-millis:100}") long purchaseMaxWaitMillis,
+            @Value("${app.bulkhead.catalog.max-concurrent:4}") int catalogMaxConcurrent,
+            @Value("${app.bulkhead.catalog.max-wait-millis:50}") long catalogMaxWaitMillis,
+            @Value("${app.bulkhead.admin.max-concurrent:1}") int adminMaxConcurrent,
+            @Value("${app.bulkhead.admin.max-wait-millis:0}") long adminMaxWaitMillis,
+            @Value("${app.bulkhead.orders.max-concurrent:2}") int ordersMaxConcurrent,
+            @Value("${app.bulkhead.orders.max-wait-millis:50}") long ordersMaxWaitMillis) {
+        return new Bulkheads(
+                new Bulkhead("purchase", purchaseMaxConcurrent, purchaseMaxWaitMillis, retryAfterSeconds, meterRegistry),
+                new Bulkhead("catalog", catalogMaxConcurrent, catalogMaxWaitMillis, retryAfterSeconds, meterRegistry),
+                new Bulkhead("admin", adminMaxConcurrent, adminMaxWaitMillis, retryAfterSeconds, meterRegistry),
+                new Bulkhead("orders", ordersMaxConcurrent, ordersMaxWaitMillis, retryAfterSeconds, meterRegistry)
+        );
+    }
+}
@@ -1,30 +1,46 @@
 package com.oliveyoung.sale.config;
 
+import com.oliveyoung.sale.cache.RedisLoadLock;
+import com.oliveyoung.sale.cache.TwoLevelCacheManager;
+import com.oliveyoung.sale.service.ProductCatalogService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.Executor;
 
 /**
- * Redis Cache 설정 (ElastiCache)
+ * 2단계 캐시 설정 (Pod 로컬 Caffeine L1 + ElastiCache Redis L2)
  *
  * [캐시 전략]
- * - products:all  → 전체 상품 목록 (TTL 60초)
- * - product:{id}  → 개별 상품 상세 (TTL 60초)
+ * - catalog::all      → 전체 상품 카탈로그 (TTL 10분, 재고 제외, 정가/할인가 모두 포함)
+ * - catalogItem::{id} → 개별 상품 카탈로그 (TTL 10분, 재고 제외, 정가/할인가 모두 포함)
+ * - catalogPage::{카테고리}:{after}:{limit} → 키셋 페이지 (TTL 10분)
+ * - Soft TTL 5분 이후 조회는 이전 값을 응답하고 백그라운드에서 갱신 (TwoLevelCache)
+ * - 재고는 캐시하지 않고 ProductStockView에서 응답 시점에 합침
  *
  * [캐시 무효화 시점]
- * - 세일 시작/종료 시 → 가격이 바뀌므로 전체 캐시 삭제
- * - 재고 변경 시 → 해당 상품 캐시 삭제
+ * - 세일 시작/종료 시 → 삭제하지 않음. 응답 시점에 세일 플래그로 가격 선택
+ * - 재고 변경 시 → 삭제하지 않음 (재고 뷰만 갱신)
+ * - 삭제는 Redis Pub/Sub으로 모든 Pod의 L1에 전파 (TwoLevelCacheManager)
  *
  * [효과]
  * - 세일 시 /api/products 호출 폭증 → DB 대신 Redis에서 응답
@@ -35,7 +51,17 @@ import java.util.Map;
 public class CacheConfig {
 
     @Bean
-    public CacheManager cacheManager(RedisConnectionFactory connectionFactory) {
+    public CacheManager cacheManager(RedisConnectionFactory connectionFactory,
+                                     RedisTemplate<String, Object> redisTemplate,
+                                     RedisMessageListenerContainer listenerContainer,
+                                     MeterRegistry meterRegistry,
+                                     ApplicationEventPublisher eventPublisher,
+                                     @Value("${app.cache.local.max-size:1000}") long localMaxSize,
+                                     @Value("${app.cache.local.ttl-seconds:5}") long localTtlSeconds,
+                                     @Value("${app.cache.load-lock.enabled:false}") boolean loadLockEnabled,
+                                     @Value("${app.cache.load-lock.wait-millis:2000}") long lockWaitMillis,
+                                     @Value("${app.cache.soft-ttl-seconds:300}") long softTtlSeconds,
+                                     @Qualifier("cacheRefreshExecutor") Executor cacheRefreshExecutor) {
         // 기본 캐시 설정 (TTL 60초)
         RedisCacheConfiguration defaultConfig = RedisCacheConfiguration.defaultCacheConfig()
                 .entryTtl(Duration.ofSeconds(60))
@@ -47,14 +73,68 @@ public class CacheConfig {
 
         // 캐시별 TTL 개별 설정
         Map<String, RedisCacheConfiguration> cacheConfigurations = new HashMap<>();
-        // 상품 목록: 60초 (세일 가격 반영 주기)
-        cacheConfigurations.put("products", defaultConfig.entryTtl(Duration.ofSeconds(60)));
-        // 개별 상품: 60초
-        cacheConfigurations.put("product", defaultConfig.entryTtl(Duration.ofSeconds(60)));
+        // 상품 카탈로그: 10분 (재고가 빠져 구매로 무효화되지 않으므로 길게)
+        cacheConfigurations.put(ProductCatalogService.CATALOG_CACHE, defaultConfig.entryTtl(Duration.ofMinutes(10)));
+        cacheConfigurations.put(ProductCatalogService.CATALOG_ITEM_CACHE, defaultConfig.entryTtl(Duration.ofMinutes(10)));
+        cacheConfigurations.put(ProductCatalogService.CATALOG_PAGE_CACHE, defaultConfig.entryTtl(Duration.ofMinutes(10)));
 
-        return RedisCacheManager.builder(connectionFactory)
+        RedisCacheManager redisCacheManager = RedisCacheManager.builder(connectionFactory)
                 .cacheDefaults(defaultConfig)
                 .withInitialCacheConfigurations(cacheConfigurations)
                 .build();
+        redisCacheManager.afterPropertiesSet();
+
+        // Pod 간 single-flight (선택): 락 TTL은 대기 시간보다 길게
+        RedisLoadLock loadLock = loadLockEnabled
+                ? new RedisLoadLock(redisTemplate, Duration.ofMillis(lockWaitMillis * 2))
+                : null;
+
+        // L1 TTL은 L2보다 짧게 (Pub/Sub 유실 시 오래된 값 노출 시간 상한)
+        // Soft TTL은 Redis TTL(Hard TTL)보다 짧게 → 그 사이 구간은 이전 값 응답 + 백그라운드 갱신
+        return new TwoLevelCacheManager(redisCacheManager, redisTemplate, listenerContainer, meterRegistry,
+                eventPublisher, localMaxSize, Duration.ofSeconds(localTtlSeconds), loadLock, lockWaitMillis,
+                Duration.ofSeconds(softTtlSeconds), cacheRefreshExecutor);
+    }
+
+    /**
+     * 캐시 백그라운드 갱신 전용 스레드 풀 (고정 크기 + 유한 큐)
+     *
+     * - 포화 시 TaskRejectedException(RejectedExecutionException) → TwoLevelCache가 갱신을 생략
+     * - Spring 빈이라 executor.* 메트릭(active, queued, completed)이 노출되고 종료 시 정리됨
+     * - 호출 스레드의 MDC를 복사해 갱신 로그가 원래 요청과 이어지도록 함
+     *   (요청/트랜잭션 스레드 로컬은 넘기지 않음: 응답이 끝난 요청의 상태를 갱신 스레드가 잡고 있지 않도록.
+     *    로더는 @Cacheable 메서드 본문이라 자체 트랜잭션·벌크헤드로 실행됨)
+     *
+     * Executor 빈을 직접 정의하면 Boot 기본 applicationTaskExecutor는 만들어지지 않습니다. (@Async 미사용)
+     */
+    @Bean
+    public ThreadPoolTaskExecutor cacheRefreshExecutor(@Value("${app.cache.refresh-threads:2}") int refreshThreads) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(refreshThreads);
+        executor.setMaxPoolSize(refreshThreads);
+        executor.setQueueCapacity(refreshThreads * 16);
+        executor.setThreadNamePrefix("cache-refresh-");
+        executor.setDaemon(true);
+        executor.setTaskDecorator(runnable -> {
+            Map<String, String> context = MDC.getCopyOfContextMap();
+            return () -> {
+                Map<String, String> previous = MDC.getCopyOfContextMap();
+                if (context == null) {
+                    MDC.clear();
+                } else {
+                    MDC.setContextMap(context);
+                }
+                try {
+                    runnable.run();
+                } finally {
+                    if (previous == null) {
+                        MDC.clear();
+                    } else {
+                        MDC.setContextMap(previous);
+                    }
+                }
+            };
+        });
+        return executor;
     }
 }
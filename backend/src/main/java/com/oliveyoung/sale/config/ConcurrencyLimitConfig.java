@@ -0,0 +1,53 @@
+package com.oliveyoung.sale.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.oliveyoung.sale.concurrency.AdaptiveConcurrencyLimiter;
+import com.oliveyoung.sale.concurrency.ConcurrencyLimitFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * 적응형 동시 요청 한도 설정 (app.concurrency-limit.*)
+ *
+ * [크기 기준]
+ * max-limit은 Tomcat 최대 스레드 수(기본 200) 이하로 둡니다.
+ * 한도가 스레드 수보다 크면 초과 요청이 503 대신 Tomcat 대기열에 쌓여 한도의 의미가 없어집니다.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.concurrency-limit.enabled", havingValue = "true", matchIfMissing = true)
+public class ConcurrencyLimitConfig {
+
+    @Bean
+    public AdaptiveConcurrencyLimiter adaptiveConcurrencyLimiter(
+            MeterRegistry meterRegistry,
+            @Value("${app.concurrency-limit.initial-limit:50}") int initialLimit,
+            @Value("${app.concurrency-limit.min-limit:10}") int minLimit,
+            @Value("${app.concurrency-limit.max-limit:180}") int maxLimit,
+            @Value("${app.concurrency-limit.window-millis:200}") long windowMillis,
+            @Value("${app.concurrency-limit.tolerance:1.5}") double tolerance,
+            @Value("${app.concurrency-limit.smoothing:0.2}") double smoothing,
+            @Value("${app.concurrency-limit.long-windows:100}") int longWindows) {
+        return new AdaptiveConcurrencyLimiter(initialLimit, minLimit, maxLimit, windowMillis,
+                tolerance, smoothing, longWindows, meterRegistry);
+    }
+
+    /**
+     * 요청 한도 필터(RateLimitConfig) 다음에 실행
+     */
+    @Bean
+    public FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilter(
+            AdaptiveConcurrencyLimiter limiter,
+            ObjectMapper objectMapper,
+            @Value("${app.concurrency-limit.retry-after-seconds:1}") long retryAfterSeconds) {
+        FilterRegistrationBean<ConcurrencyLimitFilter> registration =
+                new FilterRegistrationBean<>(new ConcurrencyLimitFilter(limiter, retryAfterSeconds, objectMapper));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 20);
+        return registration;
+    }
+}
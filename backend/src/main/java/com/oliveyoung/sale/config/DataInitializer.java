@@ -2,6 +2,11 @@ package com.oliveyoung.sale.config;
 
 import com.oliveyoung.sale.domain.Product;
 import com.oliveyoung.sale.repository.ProductRepository;
+import com.oliveyoung.sale.service.CatalogVersionService;
+import com.oliveyoung.sale.service.ProductCatalogService;
+import com.oliveyoung.sale.service.ProductStockView;
+import com.oliveyoung.sale.service.QueueService;
+import com.oliveyoung.sale.service.SoldOutRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.CommandLineRunner;
@@ -21,6 +26,11 @@ import java.util.List;
 public class DataInitializer implements CommandLineRunner {
 
     private final ProductRepository productRepository;
+    private final SoldOutRegistry soldOutRegistry;
+    private final QueueService queueService;
+    private final CatalogVersionService catalogVersionService;
+    private final ProductCatalogService productCatalogService;
+    private final ProductStockView productStockView;
 
     @Override
     public void run(String... args) {
@@ -112,6 +122,14 @@ public class DataInitializer implements CommandLineRunner {
         );
 
         productRepository.saveAll(products);
+        // 재고가 새로 채워졌으므로 이전 실행의 품절/예약 기록 제거 (Redis는 재시작 후에도 유지됨)
+        soldOutRegistry.reset();
+        queueService.resetReservations();
+        // 상품 ID가 바뀌었으므로 이전 실행의 카탈로그 캐시 삭제, 재고 뷰는 새 데이터로 동기화
+        productCatalogService.evictAll();
+        productStockView.reconcile();
+        // 이전 실행의 ETag로 304가 나가지 않도록 카탈로그 버전 증가
+        catalogVersionService.bump();
         log.info("✅ 초기 상품 데이터 {}개 생성 완료", products.size());
     }
 }
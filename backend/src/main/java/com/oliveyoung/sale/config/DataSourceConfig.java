@@ -0,0 +1,77 @@
+package com.oliveyoung.sale.config;
+
+import com.oliveyoung.sale.datasource.ReadWriteRoutingDataSource;
+import com.oliveyoung.sale.datasource.ReplicaLagMonitor;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * Writer/Reader DataSource 분리 (app.datasource.routing.enabled=true일 때만)
+ *
+ * [구성]
+ * - writerDataSource: spring.datasource.* + spring.datasource.hikari.* (풀 이름 writer)
+ * - readerDataSource: app.datasource.reader.url + app.datasource.reader.hikari.* (풀 이름 reader)
+ * - dataSource(@Primary): LazyConnectionDataSourceProxy → ReadWriteRoutingDataSource
+ * 두 풀 모두 빈으로 등록되므로 hikaricp.* 메트릭이 pool 태그(writer/reader)로 따로 나옵니다.
+ *
+ * [면접 포인트]
+ * Q: "커넥션 풀을 나누면 뭐가 좋아지나요?"
+ * A: 세일 때 카탈로그 캐시 미스(읽기)와 구매 락(쓰기)이 같은 20개 커넥션을 두고 경쟁했습니다.
+ *    읽기가 풀을 채우면 구매가 커넥션을 기다리며 락 보유 시간까지 늘어납니다.
+ *    풀을 나누면 읽기 폭주가 쓰기 경로의 커넥션을 뺏지 못합니다.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.datasource.routing", name = "enabled", havingValue = "true")
+public class DataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource writerDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("writer");
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("app.datasource.reader.hikari")
+    public HikariDataSource readerDataSource(DataSourceProperties properties,
+                                            @Value("${app.datasource.reader.url}") String readerUrl) {
+        // 계정은 Writer와 같고 엔드포인트만 다름 (Aurora 클러스터 reader 엔드포인트)
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .url(readerUrl)
+                .build();
+        dataSource.setPoolName("reader");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean(initMethod = "init")
+    public ReplicaLagMonitor replicaLagMonitor(@Qualifier("writerDataSource") DataSource writer,
+                                               @Qualifier("readerDataSource") DataSource reader,
+                                               MeterRegistry meterRegistry,
+                                               @Value("${app.datasource.routing.max-lag-millis:2000}") long maxLagMillis) {
+        return new ReplicaLagMonitor(writer, reader, maxLagMillis, meterRegistry, System::currentTimeMillis);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("writerDataSource") DataSource writer,
+                                 @Qualifier("readerDataSource") DataSource reader,
+                                 ReplicaLagMonitor replicaLagMonitor,
+                                 MeterRegistry meterRegistry) {
+        return new LazyConnectionDataSourceProxy(
+                new ReadWriteRoutingDataSource(writer, reader, replicaLagMonitor, meterRegistry));
+    }
+}
@@ -1,13 +1,18 @@
 package com.oliveyoung.sale.config;
 
+import com.oliveyoung.sale.dto.OrderEventMessage;
 import com.oliveyoung.sale.dto.QueueEntryMessage;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.clients.producer.ProducerConfig;
 import org.apache.kafka.common.serialization.StringDeserializer;
 import org.apache.kafka.common.serialization.StringSerializer;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.thread.Threading;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.core.*;
 import org.springframework.kafka.support.serializer.JsonDeserializer;
@@ -26,6 +31,14 @@ import java.util.Map;
  * [역할 분리]
  * Kafka = 트래픽 버퍼 (시스템 보호)
  * Redis ZSET = 순서 관리 (실시간 순위 조회)
+ *
+ * [비동기 주문 모드] (app.purchase.async-enabled=true)
+ * Outbox Relay → purchase-order-events 토픽 → OrderEventConsumer (주문 저장 + 대기열 정리)
+ * 주문 이벤트 Producer/Consumer 빈은 이 모드에서만 만듭니다. (동기 모드에서 쓰지 않는 Producer 연결 방지)
+ *
+ * [가상 스레드] (virtual-threads 프로필 + Java 21)
+ * 리스너 컨테이너 팩토리를 직접 정의하므로 Spring Boot 자동 설정이 적용되지 않습니다.
+ * 그래서 리스너 실행기를 여기서 가상 스레드 실행기로 바꿉니다.
  */
 @Configuration
 public class KafkaConfig {
@@ -35,6 +48,8 @@ public class KafkaConfig {
 
     public static final String QUEUE_TOPIC = "queue-entry-requests";
     public static final String CONSUMER_GROUP = "queue-processor-group";
+    public static final String ORDER_TOPIC = "purchase-order-events";
+    public static final String ORDER_CONSUMER_GROUP = "order-processor-group";
 
     // --- Producer 설정 ---
     @Bean
@@ -70,13 +85,78 @@ public class KafkaConfig {
     }
 
     @Bean
-    public ConcurrentKafkaListenerContainerFactory<String, QueueEntryMessage> kafkaListenerContainerFactory() {
+    public ConcurrentKafkaListenerContainerFactory<String, QueueEntryMessage> kafkaListenerContainerFactory(
+            Environment environment) {
         ConcurrentKafkaListenerContainerFactory<String, QueueEntryMessage> factory =
                 new ConcurrentKafkaListenerContainerFactory<>();
         factory.setConsumerFactory(consumerFactory());
         // 수동 커밋 (메시지 처리 완료 후 커밋)
         factory.getContainerProperties().setAckMode(
                 org.springframework.kafka.listener.ContainerProperties.AckMode.RECORD);
+        useVirtualThreads(factory, environment, "queue-listener-");
+        return factory;
+    }
+
+    // --- 주문 이벤트 Producer 설정 (Outbox Relay) ---
+    @Bean
+    @ConditionalOnProperty(name = "app.purchase.async-enabled", havingValue = "true")
+    public ProducerFactory<String, OrderEventMessage> orderProducerFactory() {
+        Map<String, Object> props = new HashMap<>();
+        props.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        props.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        props.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
+        // 재시도로 인한 브로커 측 중복 방지 (Consumer도 orderRef로 한 번 더 거름)
+        props.put(ProducerConfig.ACKS_CONFIG, "all");
+        props.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        return new DefaultKafkaProducerFactory<>(props);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "app.purchase.async-enabled", havingValue = "true")
+    public KafkaTemplate<String, OrderEventMessage> orderKafkaTemplate() {
+        return new KafkaTemplate<>(orderProducerFactory());
+    }
+
+    // --- 주문 이벤트 Consumer 설정 ---
+    @Bean
+    @ConditionalOnProperty(name = "app.purchase.async-enabled", havingValue = "true")
+    public ConsumerFactory<String, OrderEventMessage> orderConsumerFactory() {
+        Map<String, Object> props = new HashMap<>();
+        props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        props.put(ConsumerConfig.GROUP_ID_CONFIG, ORDER_CONSUMER_GROUP);
+        props.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, JsonDeserializer.class);
+        props.put(JsonDeserializer.TRUSTED_PACKAGES, "com.oliveyoung.sale.dto");
+        props.put(JsonDeserializer.VALUE_DEFAULT_TYPE, OrderEventMessage.class.getName());
+        props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        return new DefaultKafkaConsumerFactory<>(props);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "app.purchase.async-enabled", havingValue = "true")
+    public ConcurrentKafkaListenerContainerFactory<String, OrderEventMessage> orderListenerContainerFactory(
+            Environment environment) {
+        ConcurrentKafkaListenerContainerFactory<String, OrderEventMessage> factory =
+                new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(orderConsumerFactory());
+        factory.getContainerProperties().setAckMode(
+                org.springframework.kafka.listener.ContainerProperties.AckMode.RECORD);
+        useVirtualThreads(factory, environment, "order-listener-");
         return factory;
     }
+
+    /**
+     * spring.threads.virtual.enabled=true이고 Java 21 이상이면 리스너를 가상 스레드에서 실행
+     * (Redis/DB 호출로 블로킹돼도 캐리어 스레드를 점유하지 않음)
+     */
+    private static void useVirtualThreads(ConcurrentKafkaListenerContainerFactory<?, ?> factory,
+                                          Environment environment, String threadNamePrefix) {
+        if (!Threading.VIRTUAL.isActive(environment)) {
+            return;
+        }
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor(threadNamePrefix);
+        executor.setVirtualThreads(true);
+        factory.getContainerProperties().setListenerTaskExecutor(executor);
+    }
 }
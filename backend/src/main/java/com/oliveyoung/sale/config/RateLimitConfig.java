@@ -0,0 +1,80 @@
+package com.oliveyoung.sale.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.oliveyoung.sale.ratelimit.GlobalTokenBucket;
+import com.oliveyoung.sale.ratelimit.RateLimitFilter;
+import com.oliveyoung.sale.ratelimit.RateLimiter;
+import com.oliveyoung.sale.ratelimit.TokenBuckets;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.util.List;
+
+/**
+ * 요청 한도 설정 (app.rate-limit.*)
+ *
+ * [라우트]
+ * - queue-enter  : POST /api/queue/enter
+ * - queue-status : GET  /api/queue/status  (프론트엔드는 2초마다 폴링)
+ * - purchase     : POST /api/purchase
+ *
+ * 라우트마다 세션별 rate-per-second/burst, 그리고 global.enabled=true이면 전체 Pod 합산 한도를 둡니다.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.rate-limit.enabled", havingValue = "true", matchIfMissing = true)
+public class RateLimitConfig {
+
+    private static final String PREFIX = "app.rate-limit.";
+
+    @Bean
+    public RateLimiter rateLimiter(Environment environment,
+                                   RedisTemplate<String, Object> redisTemplate,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${app.rate-limit.max-sessions:100000}") long maxSessions,
+                                   @Value("${app.rate-limit.global.enabled:false}") boolean globalEnabled) {
+        RouteFactory routes = new RouteFactory(environment, redisTemplate, meterRegistry, maxSessions, globalEnabled);
+        return new RateLimiter(List.of(
+                routes.create("queue-enter", "POST", "/api/queue/enter", 1, 5, 500, 1000),
+                routes.create("queue-status", "GET", "/api/queue/status", 2, 5, 20000, 40000),
+                routes.create("purchase", "POST", "/api/purchase", 1, 3, 200, 400)
+        ));
+    }
+
+    /**
+     * 컨트롤러 앞에서 거절 (관측 필터 뒤에 두어 429도 http.server.requests 메트릭에 집계)
+     */
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilter(RateLimiter rateLimiter, ObjectMapper objectMapper) {
+        FilterRegistrationBean<RateLimitFilter> registration =
+                new FilterRegistrationBean<>(new RateLimitFilter(rateLimiter, objectMapper));
+        registration.addUrlPatterns("/api/queue/*", "/api/purchase");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+
+    private record RouteFactory(Environment environment, RedisTemplate<String, Object> redisTemplate,
+                                MeterRegistry meterRegistry, long maxSessions, boolean globalEnabled) {
+
+        RateLimiter.Route create(String name, String method, String path,
+                                 double defaultRate, int defaultBurst, double defaultGlobalRate, int defaultGlobalBurst) {
+            TokenBuckets sessionBuckets = new TokenBuckets(
+                    environment.getProperty(PREFIX + name + ".rate-per-second", Double.class, defaultRate),
+                    environment.getProperty(PREFIX + name + ".burst", Integer.class, defaultBurst),
+                    maxSessions);
+            GlobalTokenBucket globalBucket = globalEnabled
+                    ? new GlobalTokenBucket(name,
+                            environment.getProperty(PREFIX + "global." + name + ".rate-per-second", Double.class, defaultGlobalRate),
+                            environment.getProperty(PREFIX + "global." + name + ".burst", Integer.class, defaultGlobalBurst),
+                            redisTemplate, meterRegistry)
+                    : null;
+            return new RateLimiter.Route(name, method, path, sessionBuckets, globalBucket, meterRegistry);
+        }
+    }
+}
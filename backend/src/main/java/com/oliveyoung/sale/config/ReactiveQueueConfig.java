@@ -0,0 +1,167 @@
+package com.oliveyoung.sale.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.oliveyoung.sale.controller.ReactiveQueueHandler;
+import com.oliveyoung.sale.dto.QueueEntryMessage;
+import com.oliveyoung.sale.ratelimit.RateLimitFilter;
+import com.oliveyoung.sale.ratelimit.RateLimiter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.server.PathContainer;
+import org.springframework.http.server.reactive.HttpHandler;
+import org.springframework.http.server.reactive.ReactorHttpHandlerAdapter;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.kafka.core.reactive.ReactiveKafkaProducerTemplate;
+import org.springframework.web.cors.CorsConfiguration;
+import org.springframework.web.cors.reactive.CorsWebFilter;
+import org.springframework.web.cors.reactive.UrlBasedCorsConfigurationSource;
+import org.springframework.web.reactive.function.server.HandlerStrategies;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.server.WebFilter;
+import reactor.core.publisher.Mono;
+import reactor.kafka.sender.SenderOptions;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * 리액티브 대기열 API 설정 (app.queue.reactive.enabled=true)
+ *
+ * [구성]
+ * 메인 서버(Tomcat, server.port)는 그대로 두고, Reactor Netty 서버를 app.queue.reactive.port에 하나 더 띄웁니다.
+ * 이 포트는 대기열 진입/상태 조회만 서빙하며 이벤트 루프 스레드(CPU 코어 수)로 모든 연결을 처리합니다.
+ *
+ * - Redis: ReactiveRedisTemplate (RedisTemplate과 같은 직렬화 → 같은 ZSET 값을 조회)
+ * - Kafka: ReactiveKafkaProducerTemplate (대기열 프로듀서와 같은 설정)
+ *
+ * [면접 포인트]
+ * Q: "WebFlux로 애플리케이션 전체를 바꾸지 않은 이유는?"
+ * A: 구매/주문은 JPA(JDBC)라 어차피 블로킹이고, 비관적 락/트랜잭션 코드를 리액티브로 옮길 이득이 없습니다.
+ *    동시 접속 수가 문제인 건 Redis만 보는 대기열 폴링뿐이라 그 경로만 논블로킹 포트로 분리했습니다.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "app.queue.reactive.enabled", havingValue = "true")
+public class ReactiveQueueConfig {
+
+    private static final String SESSION_HEADER = "X-Session-Id";
+
+    @Bean
+    public ReactiveRedisTemplate<String, Object> reactiveQueueRedisTemplate(
+            ReactiveRedisConnectionFactory connectionFactory) {
+        StringRedisSerializer keySerializer = new StringRedisSerializer();
+        GenericJackson2JsonRedisSerializer valueSerializer = new GenericJackson2JsonRedisSerializer();
+        RedisSerializationContext<String, Object> context = RedisSerializationContext
+                .<String, Object>newSerializationContext(keySerializer)
+                .value(valueSerializer)
+                .hashKey(keySerializer)
+                .hashValue(valueSerializer)
+                .build();
+        return new ReactiveRedisTemplate<>(connectionFactory, context);
+    }
+
+    @Bean(destroyMethod = "close")
+    public ReactiveKafkaProducerTemplate<String, QueueEntryMessage> reactiveQueueKafkaTemplate(
+            ProducerFactory<String, QueueEntryMessage> producerFactory) {
+        return new ReactiveKafkaProducerTemplate<>(
+                SenderOptions.create(producerFactory.getConfigurationProperties()));
+    }
+
+    /**
+     * 대기열 전용 Reactor Netty 서버 (컨텍스트 종료 시 연결 정리 후 종료)
+     */
+    @Bean(destroyMethod = "disposeNow")
+    public DisposableServer reactiveQueueServer(ReactiveQueueHandler handler,
+                                                ObjectMapper objectMapper,
+                                                ObjectProvider<RateLimiter> rateLimiter,
+                                                @Value("${app.queue.reactive.port:8081}") int port) {
+        HandlerStrategies.Builder builder = HandlerStrategies.builder()
+                .codecs(codecs -> {
+                    // 메인 서버와 같은 ObjectMapper (날짜/NON_NULL 등 응답 형식 동일)
+                    codecs.defaultCodecs().jackson2JsonEncoder(new Jackson2JsonEncoder(objectMapper));
+                    codecs.defaultCodecs().jackson2JsonDecoder(new Jackson2JsonDecoder(objectMapper));
+                })
+                .webFilter(corsFilter());
+        rateLimiter.ifAvailable(limiter ->
+                builder.webFilter(rateLimitFilter(limiter, RateLimitFilter.rejectedBody(objectMapper))));
+        HandlerStrategies strategies = builder.build();
+        HttpHandler httpHandler = RouterFunctions.toHttpHandler(handler.routes(), strategies);
+
+        DisposableServer server = HttpServer.create()
+                .port(port)
+                .handle(new ReactorHttpHandlerAdapter(httpHandler))
+                .bindNow();
+        log.info("리액티브 대기열 API 시작 - port: {}", server.port());
+        return server;
+    }
+
+    /**
+     * 세션별 요청 한도 (RateLimitFilter와 같은 버킷/응답)
+     *
+     * 전체 Pod 합산 한도는 블로킹 Redis 호출이라 이벤트 루프에서는 확인하지 않습니다. (세션 한도만 적용)
+     */
+    private static WebFilter rateLimitFilter(RateLimiter rateLimiter, byte[] rejectedBody) {
+        return (exchange, chain) -> {
+            ServerHttpRequest request = exchange.getRequest();
+            RateLimiter.Route route = rateLimiter.match(request.getMethod().name(), lookupPath(request));
+            if (route == null) {
+                return chain.filter(exchange);
+            }
+            String sessionId = request.getHeaders().getFirst(SESSION_HEADER);
+            if (sessionId == null && request.getRemoteAddress() != null) {
+                sessionId = request.getRemoteAddress().getAddress().getHostAddress();
+            }
+            long wait = route.tryAcquireLocal(sessionId != null ? sessionId : "unknown");
+            if (wait == 0) {
+                return chain.filter(exchange);
+            }
+            ServerHttpResponse response = exchange.getResponse();
+            response.setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+            response.getHeaders().set(HttpHeaders.RETRY_AFTER, RateLimiter.retryAfterSeconds(wait));
+            response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+            return response.writeWith(Mono.just(response.bufferFactory().wrap(rejectedBody)));
+        };
+    }
+
+    /**
+     * 라우터가 매칭하는 경로와 같은 형태 (세그먼트 디코딩, 경로 파라미터 ;... 제거)
+     */
+    static String lookupPath(ServerHttpRequest request) {
+        return request.getPath().pathWithinApplication().elements().stream()
+                .map(element -> element instanceof PathContainer.PathSegment segment
+                        ? segment.valueToMatch()
+                        : element.value())
+                .collect(Collectors.joining());
+    }
+
+    /**
+     * QueueController의 @CrossOrigin(origins = "*")과 같은 정책
+     */
+    private static CorsWebFilter corsFilter() {
+        CorsConfiguration cors = new CorsConfiguration();
+        cors.addAllowedOrigin("*");
+        cors.setAllowedMethods(List.of("GET", "POST"));
+        cors.addAllowedHeader("*");
+        UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
+        source.registerCorsConfiguration("/api/queue/**", cors);
+        return new CorsWebFilter(source);
+    }
+}
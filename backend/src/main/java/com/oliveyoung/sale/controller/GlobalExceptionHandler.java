@@ -1,8 +1,12 @@
 package com.oliveyoung.sale.controller;
 
 import com.oliveyoung.sale.dto.ApiResponse;
+import com.oliveyoung.sale.exception.BulkheadFullException;
+import com.oliveyoung.sale.exception.SoldOutException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
@@ -32,6 +36,16 @@ public class GlobalExceptionHandler {
         return ApiResponse.error(e.getMessage(), "BAD_REQUEST");
     }
 
+    /**
+     * 품절 (IllegalStateException보다 먼저 매칭)
+     */
+    @ExceptionHandler(SoldOutException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public ApiResponse<Void> handleSoldOut(SoldOutException e) {
+        log.debug("품절 요청 거절: {}", e.getMessage());
+        return ApiResponse.error(e.getMessage(), "SOLD_OUT");
+    }
+
     /**
      * 비즈니스 로직 예외 (상태 오류)
      */
@@ -42,6 +56,17 @@ public class GlobalExceptionHandler {
         return ApiResponse.error(e.getMessage(), "STATE_ERROR");
     }
 
+    /**
+     * 벌크헤드 포화 (재시도 가능 → 503 + Retry-After)
+     */
+    @ExceptionHandler(BulkheadFullException.class)
+    public ResponseEntity<ApiResponse<Void>> handleBulkheadFull(BulkheadFullException e) {
+        log.debug("벌크헤드 포화로 거절: {}", e.getBulkhead());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(ApiResponse.error(e.getMessage(), "SERVER_BUSY"));
+    }
+
     /**
      * 유효성 검사 실패
      */
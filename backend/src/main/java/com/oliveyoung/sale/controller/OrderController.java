@@ -0,0 +1,46 @@
+package com.oliveyoung.sale.controller;
+
+import com.oliveyoung.sale.dto.ApiResponse;
+import com.oliveyoung.sale.dto.OrderHistoryResponse;
+import com.oliveyoung.sale.dto.OrderStatusResponse;
+import com.oliveyoung.sale.service.OrderService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/orders")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class OrderController {
+
+    private final OrderService orderService;
+
+    /**
+     * 내 주문 내역 (최신순, 키셋 페이지네이션)
+     * GET /api/orders?after={nextCursor}&limit=20
+     */
+    @GetMapping
+    public ApiResponse<OrderHistoryResponse> getOrderHistory(
+            @RequestHeader(value = "X-Session-Id", defaultValue = "demo-session") String sessionId,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit
+    ) {
+        return ApiResponse.success(orderService.getOrderHistory(sessionId, after, limit));
+    }
+
+    /**
+     * 주문 상태 조회
+     * GET /api/orders/{orderRef}
+     *
+     * [시연 포인트]
+     * 비동기 주문 모드에서 구매 응답이 PENDING이면
+     * 이 API를 폴링하여 COMPLETED가 되면 주문 번호 표시
+     */
+    @GetMapping("/{orderRef}")
+    public ApiResponse<OrderStatusResponse> getOrderStatus(
+            @RequestHeader(value = "X-Session-Id", defaultValue = "demo-session") String sessionId,
+            @PathVariable String orderRef
+    ) {
+        return ApiResponse.success(orderService.getOrderStatus(sessionId, orderRef));
+    }
+}
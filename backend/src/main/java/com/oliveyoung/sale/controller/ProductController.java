@@ -1,12 +1,19 @@
 package com.oliveyoung.sale.controller;
 
+import com.oliveyoung.sale.cache.CatalogResponseCache;
 import com.oliveyoung.sale.dto.ApiResponse;
-import com.oliveyoung.sale.dto.ProductResponse;
+import com.oliveyoung.sale.dto.CatalogChangesResponse;
 import com.oliveyoung.sale.service.ProductService;
+import com.oliveyoung.sale.service.ProductStockView;
+import com.oliveyoung.sale.service.SaleState;
+import com.oliveyoung.sale.service.SaleStateService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
 
 @RestController
 @RequestMapping("/api/products")
@@ -15,24 +22,85 @@ import java.util.List;
 public class ProductController {
 
     private final ProductService productService;
+    private final CatalogResponseCache catalogResponseCache;
+    private final ProductStockView productStockView;
+    private final SaleStateService saleStateService;
 
     /**
      * 상품 목록 조회
      * GET /api/products
+     *
+     * 응답 형식은 ApiResponse<List<ProductResponse>>와 동일하며,
+     * 직렬화된 바이트를 캐시에서 그대로 내려줍니다. (CatalogResponseCache)
+     * 카탈로그 버전이 그대로면 If-None-Match에 304로 응답합니다.
+     * 재고와 세일 상태는 카탈로그 버전에 포함되지 않으므로 캐시 키에 붙입니다.
+     * (세일 상태는 스냅샷 하나만 읽어 키와 본문이 같은 상태를 보도록 함, 전환마다 버전이 바뀜)
+     * 재고는 구간 단위 식별값만 붙여 구매마다 목록 캐시가 새로 만들어지지 않게 합니다. (listFingerprint)
+     */
+    @GetMapping(params = {"!category", "!after", "!limit"})
+    public ResponseEntity<byte[]> getAllProducts(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding
+    ) {
+        SaleState sale = saleStateService.current();
+        String key = "products:all:" + sale.cacheTag() + ":s" + productStockView.listFingerprint();
+        return catalogResponseCache.respond(key, ifNoneMatch, acceptEncoding,
+                () -> ApiResponse.success(productService.getAllProducts(sale)));
+    }
+
+    /**
+     * 상품 목록 페이지 조회 (카테고리 필터 + 키셋 페이지네이션)
+     * GET /api/products?category=스킨케어&after=120&limit=20
+     *
+     * 응답: ApiResponse<ProductPageResponse> (items + nextCursor)
+     * 카테고리/커서 단위로 카탈로그 페이지를 캐시하므로 한 카테고리 변경은 다른 카테고리에 영향이 없습니다.
      */
     @GetMapping
-    public ApiResponse<List<ProductResponse>> getAllProducts() {
-        List<ProductResponse> products = productService.getAllProducts();
-        return ApiResponse.success(products);
+    public ResponseEntity<byte[]> getProductPage(
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer limit,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding
+    ) {
+        SaleState sale = saleStateService.current();
+        // ETag 헤더에 한글이 들어가지 않도록 카테고리는 인코딩
+        String categoryTag = category != null ? URLEncoder.encode(category, StandardCharsets.UTF_8) : "*";
+        String key = "products:page:" + categoryTag + ":" + after + ":" + ProductService.pageSize(limit)
+                + ":" + sale.cacheTag() + ":s" + productStockView.listFingerprint();
+        return catalogResponseCache.respond(key, ifNoneMatch, acceptEncoding,
+                () -> ApiResponse.success(productService.getProductPage(category, after, limit, sale)));
+    }
+
+    /**
+     * 카탈로그 변경분 조회
+     * GET /api/products/changes?since={이전 응답의 version}
+     *
+     * [시연 포인트]
+     * 처음에는 since 없이 호출해 전체 스냅샷 + version을 받고,
+     * 이후에는 since로 바뀐 상품(재고/가격)만 받습니다.
+     */
+    @GetMapping("/changes")
+    public ApiResponse<CatalogChangesResponse> getChanges(@RequestParam(required = false) Long since) {
+        return ApiResponse.success(productService.getChangesSince(since, saleStateService.current()));
     }
 
     /**
      * 상품 상세 조회
      * GET /api/products/{id}
+     *
+     * 상세는 정확한 재고를 보여주므로 이 상품의 재고만 키에 붙입니다.
+     * (다른 상품이 팔려도 이 상품의 캐시와 ETag는 그대로)
      */
     @GetMapping("/{id}")
-    public ApiResponse<ProductResponse> getProduct(@PathVariable Long id) {
-        ProductResponse product = productService.getProduct(id);
-        return ApiResponse.success(product);
+    public ResponseEntity<byte[]> getProduct(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding
+    ) {
+        SaleState sale = saleStateService.current();
+        String key = "product:" + id + ":" + sale.cacheTag() + ":s" + productStockView.stockOf(id);
+        return catalogResponseCache.respond(key, ifNoneMatch, acceptEncoding,
+                () -> ApiResponse.success(productService.getProduct(id, sale)));
     }
 }
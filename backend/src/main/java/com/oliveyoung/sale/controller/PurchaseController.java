@@ -23,13 +23,18 @@ public class PurchaseController {
      * [시연 포인트]
      * 대기열에서 canPurchase가 true가 된 후 호출
      * 성공 시 구매 완료 페이지로 이동
+     * 품절 상품은 DB 락 획득 전에 즉시 거절 (PurchaseService)
+     *
+     * 타임아웃 후 재시도해도 주문은 한 번만 생성됩니다.
+     * (Idempotency-Key 헤더가 없으면 대기열 토큰을 멱등 키로 사용)
      */
     @PostMapping
     public ApiResponse<PurchaseResponse> purchase(
             @RequestHeader(value = "X-Session-Id", defaultValue = "demo-session") String sessionId,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
             @Valid @RequestBody PurchaseRequest request
     ) {
-        PurchaseResponse response = purchaseService.purchase(sessionId, request.token(), request);
+        PurchaseResponse response = purchaseService.purchase(sessionId, request.token(), request, idempotencyKey);
         return ApiResponse.success(response);
     }
 }
@@ -2,6 +2,7 @@ package com.oliveyoung.sale.controller;
 
 import com.oliveyoung.sale.dto.*;
 import com.oliveyoung.sale.service.QueueService;
+import com.oliveyoung.sale.service.SoldOutRegistry;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.web.bind.annotation.*;
@@ -13,6 +14,7 @@ import org.springframework.web.bind.annotation.*;
 public class QueueController {
 
     private final QueueService queueService;
+    private final SoldOutRegistry soldOutRegistry;
 
     /**
      * 대기열 진입
@@ -21,22 +23,18 @@ public class QueueController {
      * [시연 포인트]
      * 상품 구매 버튼 클릭 시 호출
      * 응답의 token을 프론트에서 저장하고, 이후 status 조회에 사용
+     * 품절(또는 남은 재고 전량 예약) 상품은 Kafka/Redis를 거치지 않고 즉시 거절
      */
     @PostMapping("/enter")
     public ApiResponse<QueueEntryResponse> enterQueue(
             @RequestHeader(value = "X-Session-Id", defaultValue = "demo-session") String sessionId,
             @Valid @RequestBody QueueEntryRequest request
     ) {
-        QueueService.QueueEntry entry = queueService.enterQueue(sessionId, request.productId());
+        soldOutRegistry.checkAdmissionOpen(request.productId());
 
-        QueueEntryResponse response = new QueueEntryResponse(
-                entry.token(),
-                entry.position(),
-                entry.estimatedWaitSeconds(),
-                String.format("대기열에 등록되었습니다. 현재 %d번째입니다.", entry.position())
-        );
+        QueueService.QueueEntry entry = queueService.enterQueue(sessionId, request.productId());
 
-        return ApiResponse.success(response);
+        return ApiResponse.success(toEntryResponse(entry));
     }
 
     /**
@@ -55,24 +53,44 @@ public class QueueController {
     ) {
         QueueService.QueueStatus status = queueService.getQueueStatus(sessionId, token, productId);
 
+        return ApiResponse.success(toStatusResponse(status));
+    }
+
+    /**
+     * 응답 변환 (리액티브 포트의 ReactiveQueueHandler도 같은 형식으로 응답)
+     */
+    static QueueEntryResponse toEntryResponse(QueueService.QueueEntry entry) {
+        return new QueueEntryResponse(
+                entry.token(),
+                entry.position(),
+                entry.estimatedWaitSeconds(),
+                String.format("대기열에 등록되었습니다. 현재 %d번째입니다.", entry.position())
+        );
+    }
+
+    static QueueStatusResponse toStatusResponse(QueueService.QueueStatus status) {
         String message;
-        if (status.canPurchase()) {
+        if (status.soldOut()) {
+            message = "품절되었습니다.";
+        } else if (status.canPurchase()) {
             message = "구매가 가능합니다!";
         } else if (status.expired()) {
             message = "대기열이 만료되었습니다. 다시 시도해주세요.";
+        } else if (status.admissionClosed()) {
+            message = "남은 재고가 모두 예약되었습니다. 예약이 취소되면 순서대로 입장합니다.";
         } else {
             message = String.format("현재 %d번째입니다. 예상 대기 시간: %d초",
                     status.position(), status.estimatedWaitSeconds());
         }
 
-        QueueStatusResponse response = new QueueStatusResponse(
+        return new QueueStatusResponse(
                 status.position(),
                 status.estimatedWaitSeconds(),
                 status.canPurchase(),
                 status.expired(),
+                status.soldOut(),
+                status.admissionClosed(),
                 message
         );
-
-        return ApiResponse.success(response);
     }
 }
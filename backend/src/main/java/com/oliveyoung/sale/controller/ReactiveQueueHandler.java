@@ -0,0 +1,139 @@
+package com.oliveyoung.sale.controller;
+
+import com.oliveyoung.sale.dto.ApiResponse;
+import com.oliveyoung.sale.dto.QueueEntryRequest;
+import com.oliveyoung.sale.exception.SoldOutException;
+import com.oliveyoung.sale.service.ReactiveQueueService;
+import com.oliveyoung.sale.service.SoldOutRegistry;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.ServerWebInputException;
+import reactor.core.publisher.Mono;
+
+import java.util.Comparator;
+
+/**
+ * 대기열 API (리액티브, app.queue.reactive.port에서 Reactor Netty로 서빙)
+ *
+ * QueueController와 같은 경로/요청/응답 형식입니다.
+ * 인그레스에서 /api/queue/* 만 이 포트로 보내면 프론트엔드 변경 없이 전환됩니다.
+ *
+ * 에러 응답은 GlobalExceptionHandler와 같은 상태 코드/errorCode를 씁니다.
+ * (@RestControllerAdvice는 서블릿 디스패처에만 적용되므로 여기서 직접 매핑)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.queue.reactive.enabled", havingValue = "true")
+public class ReactiveQueueHandler {
+
+    private static final String SESSION_HEADER = "X-Session-Id";
+    private static final String DEFAULT_SESSION = "demo-session";
+
+    private final ReactiveQueueService reactiveQueueService;
+    private final SoldOutRegistry soldOutRegistry;
+    private final Validator validator;
+
+    public RouterFunction<ServerResponse> routes() {
+        return RouterFunctions.route()
+                .POST("/api/queue/enter", this::enterQueue)
+                .GET("/api/queue/status", this::getQueueStatus)
+                .build();
+    }
+
+    /**
+     * 대기열 진입
+     * POST /api/queue/enter
+     */
+    Mono<ServerResponse> enterQueue(ServerRequest request) {
+        String sessionId = sessionId(request);
+        return request.bodyToMono(QueueEntryRequest.class)
+                .switchIfEmpty(Mono.error(new IllegalArgumentException("요청 본문이 필요합니다.")))
+                .flatMap(body -> {
+                    String violation = validate(body);
+                    if (violation != null) {
+                        log.warn("유효성 검사 실패: {}", violation);
+                        return respond(HttpStatus.BAD_REQUEST, ApiResponse.error(violation, "VALIDATION_ERROR"));
+                    }
+                    soldOutRegistry.checkAdmissionOpen(body.productId());
+                    return reactiveQueueService.enterQueue(sessionId, body.productId())
+                            .flatMap(entry -> ok(ApiResponse.success(QueueController.toEntryResponse(entry))));
+                })
+                .onErrorResume(this::handleError);
+    }
+
+    /**
+     * 대기 상태 조회
+     * GET /api/queue/status?productId={id}&token={token}
+     */
+    Mono<ServerResponse> getQueueStatus(ServerRequest request) {
+        String sessionId = sessionId(request);
+        return Mono.fromCallable(() -> parseProductId(request))
+                .flatMap(productId -> {
+                    String token = request.queryParam("token")
+                            .orElseThrow(() -> new IllegalArgumentException("token은 필수입니다."));
+                    return reactiveQueueService.getQueueStatus(sessionId, token, productId);
+                })
+                .flatMap(status -> ok(ApiResponse.success(QueueController.toStatusResponse(status))))
+                .onErrorResume(this::handleError);
+    }
+
+    private Mono<ServerResponse> handleError(Throwable e) {
+        if (e instanceof SoldOutException) {
+            log.debug("품절 요청 거절: {}", e.getMessage());
+            return respond(HttpStatus.CONFLICT, ApiResponse.error(e.getMessage(), "SOLD_OUT"));
+        }
+        if (e instanceof IllegalStateException) {
+            log.warn("상태 오류: {}", e.getMessage());
+            return respond(HttpStatus.CONFLICT, ApiResponse.error(e.getMessage(), "STATE_ERROR"));
+        }
+        if (e instanceof IllegalArgumentException || e instanceof ServerWebInputException) {
+            // ServerWebInputException: 본문 JSON 파싱 실패
+            log.warn("잘못된 요청: {}", e.getMessage());
+            return respond(HttpStatus.BAD_REQUEST, ApiResponse.error(e.getMessage(), "BAD_REQUEST"));
+        }
+        log.error("서버 오류 발생", e);
+        return respond(HttpStatus.INTERNAL_SERVER_ERROR,
+                ApiResponse.error("서버 오류가 발생했습니다. 잠시 후 다시 시도해주세요.", "INTERNAL_ERROR"));
+    }
+
+    private String validate(QueueEntryRequest body) {
+        return validator.validate(body).stream()
+                .sorted(Comparator.comparing(violation -> violation.getPropertyPath().toString()))
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .findFirst()
+                .orElse(null);
+    }
+
+    private static String sessionId(ServerRequest request) {
+        String sessionId = request.headers().firstHeader(SESSION_HEADER);
+        return sessionId != null ? sessionId : DEFAULT_SESSION;
+    }
+
+    private static Long parseProductId(ServerRequest request) {
+        String productId = request.queryParam("productId")
+                .orElseThrow(() -> new IllegalArgumentException("productId는 필수입니다."));
+        try {
+            return Long.valueOf(productId);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("productId는 숫자여야 합니다: " + productId);
+        }
+    }
+
+    private static Mono<ServerResponse> ok(ApiResponse<?> body) {
+        return respond(HttpStatus.OK, body);
+    }
+
+    private static Mono<ServerResponse> respond(HttpStatus status, ApiResponse<?> body) {
+        return ServerResponse.status(status).contentType(MediaType.APPLICATION_JSON).bodyValue(body);
+    }
+}
@@ -1,10 +1,15 @@
 package com.oliveyoung.sale.controller;
 
 import com.oliveyoung.sale.dto.ApiResponse;
+import com.oliveyoung.sale.dto.SaleCampaignRequest;
+import com.oliveyoung.sale.dto.SaleCampaignResponse;
+import com.oliveyoung.sale.service.SaleCampaignService;
 import com.oliveyoung.sale.service.SaleStateService;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
 import java.util.Map;
 
 @RestController
@@ -14,6 +19,7 @@ import java.util.Map;
 public class SaleController {
 
     private final SaleStateService saleStateService;
+    private final SaleCampaignService saleCampaignService;
 
     /**
      * 세일 시작
@@ -24,10 +30,10 @@ public class SaleController {
      */
     @PostMapping("/start")
     public ApiResponse<Map<String, Object>> startSale() {
-        saleStateService.startSale();
+        boolean flipped = saleStateService.startSale();
         return ApiResponse.success(
-                Map.of("saleActive", true),
-                "세일이 시작되었습니다!"
+                Map.of("saleActive", true, "changed", flipped),
+                flipped ? "세일이 시작되었습니다!" : "이미 세일 중입니다."
         );
     }
 
@@ -37,10 +43,10 @@ public class SaleController {
      */
     @PostMapping("/end")
     public ApiResponse<Map<String, Object>> endSale() {
-        saleStateService.endSale();
+        boolean flipped = saleStateService.endSale();
         return ApiResponse.success(
-                Map.of("saleActive", false),
-                "세일이 종료되었습니다."
+                Map.of("saleActive", false, "changed", flipped),
+                flipped ? "세일이 종료되었습니다." : "이미 세일이 종료된 상태입니다."
         );
     }
 
@@ -53,4 +59,25 @@ public class SaleController {
         boolean isActive = saleStateService.isSaleActive();
         return ApiResponse.success(Map.of("saleActive", isActive));
     }
+
+    /**
+     * 예약 세일 캠페인 등록
+     * POST /api/sale/campaigns
+     *
+     * [시연 포인트]
+     * startsAt을 1분 뒤로 등록하면 10초 전에 프리워밍 로그가 찍히고 정각에 가격이 바뀝니다.
+     */
+    @PostMapping("/campaigns")
+    public ApiResponse<SaleCampaignResponse> createCampaign(@Valid @RequestBody SaleCampaignRequest request) {
+        return ApiResponse.success(saleCampaignService.create(request), "세일 캠페인이 등록되었습니다.");
+    }
+
+    /**
+     * 세일 캠페인 목록
+     * GET /api/sale/campaigns
+     */
+    @GetMapping("/campaigns")
+    public ApiResponse<List<SaleCampaignResponse>> getCampaigns() {
+        return ApiResponse.success(saleCampaignService.getCampaigns());
+    }
 }
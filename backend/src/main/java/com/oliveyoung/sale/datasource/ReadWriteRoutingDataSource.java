@@ -0,0 +1,68 @@
+package com.oliveyoung.sale.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * 읽기/쓰기 DataSource 라우팅 (Aurora Writer / Reader 엔드포인트)
+ *
+ * [흐름]
+ * @Transactional(readOnly = true) → Reader 풀 (복제 지연이 기준을 넘으면 Writer)
+ * 그 외(쓰기 트랜잭션, 트랜잭션 없음) → Writer 풀
+ *
+ * 트랜잭션 시작 시점에는 readOnly 여부가 아직 설정되지 않으므로
+ * 반드시 LazyConnectionDataSourceProxy로 감싸 첫 쿼리 시점에 커넥션을 고르게 합니다.
+ *
+ * [면접 포인트]
+ * Q: "Reader로 보내면 방금 쓴 데이터가 안 보이지 않나요?"
+ * A: 쓰기와 같은 트랜잭션의 읽기는 Writer로 갑니다. (readOnly가 아님)
+ *    별도 읽기 트랜잭션은 복제 지연만큼 이전 값을 볼 수 있어서,
+ *    ReplicaLagMonitor가 지연이 기준을 넘었다고 판단하면 읽기도 Writer로 돌립니다.
+ *    재고 차감처럼 정합성이 필요한 경로는 처음부터 쓰기 트랜잭션(비관적 락)입니다.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Route { WRITER, READER }
+
+    private final ReplicaLagMonitor replicaLagMonitor;
+    private final Counter writerRoutes;
+    private final Counter readerRoutes;
+    private final Counter fallbackRoutes;
+
+    public ReadWriteRoutingDataSource(DataSource writer, DataSource reader,
+                                      ReplicaLagMonitor replicaLagMonitor, MeterRegistry meterRegistry) {
+        this.replicaLagMonitor = replicaLagMonitor;
+        this.writerRoutes = routeCounter(meterRegistry, "writer");
+        this.readerRoutes = routeCounter(meterRegistry, "reader");
+        this.fallbackRoutes = routeCounter(meterRegistry, "writer-fallback");
+        setTargetDataSources(Map.of(Route.WRITER, writer, Route.READER, reader));
+        setDefaultTargetDataSource(writer);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            writerRoutes.increment();
+            return Route.WRITER;
+        }
+        if (replicaLagMonitor.isLagging()) {
+            fallbackRoutes.increment();
+            return Route.WRITER;
+        }
+        readerRoutes.increment();
+        return Route.READER;
+    }
+
+    private static Counter routeCounter(MeterRegistry meterRegistry, String target) {
+        return Counter.builder("datasource.routing")
+                .description("커넥션 획득 시 선택된 DataSource")
+                .tag("target", target)
+                .register(meterRegistry);
+    }
+}
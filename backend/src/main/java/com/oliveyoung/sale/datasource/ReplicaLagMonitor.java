@@ -0,0 +1,109 @@
+package com.oliveyoung.sale.datasource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.function.LongSupplier;
+
+/**
+ * 복제 지연 감시 (Writer에 하트비트 기록 → Reader에서 읽어 차이 계산)
+ *
+ * [흐름]
+ * 1초마다 check()
+ *   → Writer: replica_heartbeat.beat_at = now
+ *   → Reader: beat_at 조회 → 지연 = now - beat_at
+ *   → 지연 > max-lag 이거나 Reader 조회 실패 → isLagging() = true → 읽기도 Writer로
+ *
+ * Aurora 전용 뷰(replica_lag_in_msec) 대신 하트비트 테이블을 쓰므로
+ * 어떤 복제 구성이든, 로컬 H2 두 개로도 같은 방식으로 검증할 수 있습니다.
+ * 측정 단위는 하트비트 주기라 보수적으로(크게) 잡힙니다.
+ *
+ * 첫 측정 전에는 지연 중으로 간주합니다. (확인되지 않은 Reader로 보내지 않음)
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+
+    static final String HEARTBEAT_TABLE = "replica_heartbeat";
+
+    private final JdbcTemplate writer;
+    private final JdbcTemplate reader;
+    private final long maxLagMillis;
+    private final LongSupplier clock;
+
+    private volatile boolean lagging = true;
+    private volatile long lagMillis = -1;
+
+    public ReplicaLagMonitor(DataSource writer, DataSource reader, long maxLagMillis,
+                             MeterRegistry meterRegistry, LongSupplier clock) {
+        this.writer = new JdbcTemplate(writer);
+        this.reader = new JdbcTemplate(reader);
+        this.maxLagMillis = maxLagMillis;
+        this.clock = clock;
+
+        Gauge.builder("datasource.replica.lag", this, monitor -> monitor.lagMillis)
+                .description("Reader 복제 지연 (ms, 측정 실패 시 -1)")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+        Gauge.builder("datasource.replica.fallback", this, monitor -> monitor.lagging ? 1 : 0)
+                .description("읽기 트랜잭션을 Writer로 돌리는 중이면 1")
+                .register(meterRegistry);
+    }
+
+    public boolean isLagging() {
+        return lagging;
+    }
+
+    public long lagMillis() {
+        return lagMillis;
+    }
+
+    /**
+     * 하트비트 테이블 생성 (Writer에만, Reader는 복제로 받음)
+     */
+    public void init() {
+        writer.execute("CREATE TABLE IF NOT EXISTS " + HEARTBEAT_TABLE
+                + " (id INT PRIMARY KEY, beat_at BIGINT NOT NULL)");
+        check();
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.routing.lag-check-millis:1000}")
+    public void check() {
+        long now = clock.getAsLong();
+        try {
+            if (writer.update("UPDATE " + HEARTBEAT_TABLE + " SET beat_at = ? WHERE id = 1", now) == 0) {
+                writer.update("INSERT INTO " + HEARTBEAT_TABLE + " (id, beat_at) VALUES (1, ?)", now);
+            }
+        } catch (Exception e) {
+            // Writer 장애는 라우팅으로 해결할 수 없음 → 이전 판단 유지
+            log.warn("복제 하트비트 기록 실패: {}", e.getMessage());
+            return;
+        }
+
+        try {
+            List<Long> beats = reader.queryForList(
+                    "SELECT beat_at FROM " + HEARTBEAT_TABLE + " WHERE id = 1", Long.class);
+            if (beats.isEmpty()) {
+                update(-1);
+                return;
+            }
+            update(Math.max(0, now - beats.get(0)));
+        } catch (Exception e) {
+            log.warn("Reader 복제 지연 조회 실패, 읽기를 Writer로 전환: {}", e.getMessage());
+            update(-1);
+        }
+    }
+
+    private void update(long lag) {
+        boolean wasLagging = lagging;
+        lagMillis = lag;
+        lagging = lag < 0 || lag > maxLagMillis;
+        if (lagging != wasLagging) {
+            log.info("Reader 라우팅 {} - 복제 지연: {}ms (기준 {}ms)", lagging ? "중단" : "재개", lag, maxLagMillis);
+        }
+    }
+}
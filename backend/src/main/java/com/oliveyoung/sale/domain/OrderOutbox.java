@@ -0,0 +1,96 @@
+package com.oliveyoung.sale.domain;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * 주문 Outbox 엔티티 (비동기 주문 모드)
+ *
+ * 재고 예약(차감)과 같은 트랜잭션에 기록하고,
+ * OrderOutboxRelay가 Kafka 토픽으로 발행한 뒤 publishedAt을 채웁니다.
+ *
+ * [면접 포인트]
+ * Q: "DB 커밋과 Kafka 발행을 어떻게 원자적으로 묶나요?"
+ * A: Transactional Outbox 패턴입니다. 메시지를 같은 DB 트랜잭션에 행으로 저장하면
+ *    재고 차감과 이벤트 기록이 함께 커밋되거나 함께 롤백됩니다.
+ *    발행은 별도 릴레이가 재시도하므로 최소 1회(at-least-once) 전달되고,
+ *    Consumer는 orderRef로 중복을 걸러냅니다.
+ *
+ * 대기열 입장은 Consumer가 주문을 저장할 때 소비되므로, 그 전까지는 같은 토큰으로
+ * 다른 Idempotency-Key를 보내 구매를 반복할 수 있습니다.
+ * (session_id, token) 유니크 제약으로 입장 1회당 Outbox 1행만 허용합니다.
+ */
+@Entity
+@Table(name = "order_outbox", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_order_outbox_order_ref", columnNames = "order_ref"),
+        @UniqueConstraint(name = "uk_order_outbox_idempotency_key", columnNames = "idempotency_key"),
+        @UniqueConstraint(name = "uk_order_outbox_session_token", columnNames = {"session_id", "token"})
+}, indexes = {
+        @Index(name = "idx_order_outbox_published_at", columnList = "published_at, id")
+})
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class OrderOutbox {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "order_ref", nullable = false, length = 36)
+    private String orderRef;
+
+    @Column(nullable = false)
+    private String sessionId;
+
+    @Column(nullable = false)
+    private String token;
+
+    @Column(nullable = false)
+    private Long productId;
+
+    @Column(nullable = false)
+    private String productName;
+
+    @Column(nullable = false)
+    private Integer quantity;
+
+    @Column(nullable = false, precision = 10, scale = 2)
+    private BigDecimal totalPrice;
+
+    @Column(name = "idempotency_key")
+    private String idempotencyKey;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "published_at")
+    private LocalDateTime publishedAt;
+
+    /** 릴레이 선점 만료 시각 (이 시각까지는 다른 Pod가 발행하지 않음, 발행 중 죽으면 만료 후 재발행) */
+    @Column(name = "claimed_until")
+    private LocalDateTime claimedUntil;
+
+    @Builder
+    public OrderOutbox(String orderRef, String sessionId, String token, Long productId, String productName,
+                       Integer quantity, BigDecimal totalPrice, String idempotencyKey) {
+        this.orderRef = orderRef;
+        this.sessionId = sessionId;
+        this.token = token;
+        this.productId = productId;
+        this.productName = productName;
+        this.quantity = quantity;
+        this.totalPrice = totalPrice;
+        this.idempotencyKey = idempotencyKey;
+        this.createdAt = LocalDateTime.now();
+    }
+
+    public void claim(LocalDateTime until) {
+        this.claimedUntil = until;
+    }
+}
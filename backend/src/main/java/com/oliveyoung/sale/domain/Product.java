@@ -18,7 +18,10 @@ import java.math.BigDecimal;
  *    BigDecimal은 정확한 십진수 연산을 보장합니다.
  */
 @Entity
-@Table(name = "products")
+@Table(name = "products", indexes = {
+        // 카테고리별 키셋 페이지네이션 (WHERE category = ? AND id > ? ORDER BY id LIMIT ?)
+        @Index(name = "idx_products_category_id", columnList = "category, id")
+})
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class Product {
@@ -68,6 +71,13 @@ public class Product {
      *    서비스에서 계산하면 로직이 흩어지고, 여러 곳에서 중복 계산 위험.
      */
     public BigDecimal getDiscountedPrice() {
+        return discountedPrice(originalPrice, discountRate);
+    }
+
+    /**
+     * 할인가 계산 (엔티티를 로딩하지 않는 가격 스냅샷에서도 같은 규칙 사용)
+     */
+    public static BigDecimal discountedPrice(BigDecimal originalPrice, Integer discountRate) {
         if (discountRate == null || discountRate == 0) {
             return originalPrice;
         }
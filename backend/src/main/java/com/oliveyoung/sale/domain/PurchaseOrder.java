@@ -8,6 +8,7 @@ import lombok.NoArgsConstructor;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.UUID;
 
 /**
  * 주문 엔티티
@@ -18,7 +19,19 @@ import java.time.LocalDateTime;
  *    명시적인 네이밍을 사용했습니다.
  */
 @Entity
-@Table(name = "purchase_orders")
+@Table(name = "purchase_orders", uniqueConstraints = {
+        // 재시도로 인한 중복 주문 방지 (멱등 키: sessionId + 대기열 토큰 또는 Idempotency-Key)
+        @UniqueConstraint(name = "uk_purchase_orders_idempotency_key", columnNames = "idempotency_key"),
+        // 비동기 주문 모드에서 Kafka 재전달 시 중복 저장 방지
+        @UniqueConstraint(name = "uk_purchase_orders_order_ref", columnNames = "order_ref")
+}, indexes = {
+        // 주문 내역 키셋 페이지네이션 (WHERE session_id = ? AND (ordered_at, id) < (?, ?) ORDER BY ordered_at DESC, id DESC)
+        // 응답 컬럼까지 포함한 커버링 인덱스라 purchase_orders 본문 행은 읽지 않음 (상품명만 products PK 조인)
+        @Index(name = "idx_purchase_orders_session_history",
+                columnList = "session_id, ordered_at, id, product_id, quantity, total_price, status, order_ref"),
+        // 월 단위 보관 (WHERE ordered_at >= ? AND ordered_at < ? ORDER BY ordered_at, id LIMIT ?, OrderArchiver)
+        @Index(name = "idx_purchase_orders_ordered_at", columnList = "ordered_at, id")
+})
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class PurchaseOrder {
@@ -47,10 +60,18 @@ public class PurchaseOrder {
     @Column(nullable = false)
     private LocalDateTime orderedAt;
 
+    @Column(name = "idempotency_key")
+    private String idempotencyKey;
+
+    @Column(name = "order_ref", length = 36)
+    private String orderRef; // 클라이언트에 노출하는 주문 참조 (비동기 모드에서는 저장 전에 발급)
+
     @Builder
     public PurchaseOrder(String sessionId, Product product, Integer quantity,
-                         BigDecimal totalPrice, OrderStatus status) {
+                         BigDecimal totalPrice, OrderStatus status, String idempotencyKey, String orderRef) {
         this.sessionId = sessionId;
+        this.orderRef = orderRef != null ? orderRef : UUID.randomUUID().toString();
+        this.idempotencyKey = idempotencyKey;
         this.product = product;
         this.quantity = quantity;
         this.totalPrice = totalPrice;
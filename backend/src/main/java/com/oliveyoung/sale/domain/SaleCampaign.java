@@ -0,0 +1,75 @@
+package com.oliveyoung.sale.domain;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 예약 세일 캠페인 엔티티
+ *
+ * startsAt ~ endsAt 동안 scope/target에 해당하는 상품에 할인가를 적용합니다.
+ * - ALL:      전체 상품 (target 없음)
+ * - CATEGORY: target = 카테고리명
+ * - PRODUCT:  target = 상품 ID
+ *
+ * [면접 포인트]
+ * Q: "세일을 사람이 버튼으로 켜면 안 되나요?"
+ * A: 정각 오픈은 사람이 누르는 시점만큼 늦어지고, 켜는 순간 캐시/커넥션이 차가워
+ *    첫 요청들이 느립니다. 캠페인을 미리 등록해 두면 T0 몇 초 전에 캐시와 예약 재고를
+ *    채워두고(SaleCampaignService), T0에 Redis Lua 한 번으로 상태를 전환합니다.
+ */
+@Entity
+@Table(name = "sale_campaigns", indexes = {
+        @Index(name = "idx_sale_campaigns_ends_at", columnList = "ends_at, starts_at")
+})
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class SaleCampaign {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String name;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Scope scope;
+
+    private String target;
+
+    @Column(name = "starts_at", nullable = false)
+    private LocalDateTime startsAt;
+
+    @Column(name = "ends_at", nullable = false)
+    private LocalDateTime endsAt;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    @Builder
+    public SaleCampaign(String name, Scope scope, String target, LocalDateTime startsAt, LocalDateTime endsAt) {
+        this.name = name;
+        this.scope = scope;
+        this.target = target;
+        this.startsAt = startsAt;
+        this.endsAt = endsAt;
+        this.createdAt = LocalDateTime.now();
+    }
+
+    /**
+     * PRODUCT 범위의 대상 상품 ID
+     */
+    public Long targetProductId() {
+        return scope == Scope.PRODUCT ? Long.valueOf(target.trim()) : null;
+    }
+
+    public enum Scope {
+        ALL, CATEGORY, PRODUCT
+    }
+}
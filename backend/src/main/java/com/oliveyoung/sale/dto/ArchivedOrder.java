@@ -0,0 +1,27 @@
+package com.oliveyoung.sale.dto;
+
+import com.oliveyoung.sale.domain.PurchaseOrder;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * 보관 대상 주문 (JPQL 프로젝션, 보관 파일 한 줄)
+ *
+ * 상품명을 함께 보관하므로 보관된 주문은 products 테이블 없이 조회할 수 있습니다.
+ */
+public record ArchivedOrder(
+        Long orderId,
+        String orderRef,
+        String sessionId,
+        Long productId,
+        String productName,
+        Integer quantity,
+        BigDecimal totalPrice,
+        PurchaseOrder.OrderStatus status,
+        LocalDateTime orderedAt
+) {
+    public OrderHistoryItem toHistoryItem() {
+        return new OrderHistoryItem(orderId, orderRef, productId, productName, quantity, totalPrice, status, orderedAt);
+    }
+}
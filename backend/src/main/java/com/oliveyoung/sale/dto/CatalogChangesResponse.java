@@ -0,0 +1,17 @@
+package com.oliveyoung.sale.dto;
+
+import java.util.List;
+
+/**
+ * 카탈로그 변경분 응답 DTO
+ *
+ * [프론트엔드 연동 포인트]
+ * - version: 다음 요청의 since로 보낼 값
+ * - fullSnapshot=true: products가 전체 목록 → 가진 목록을 교체
+ * - fullSnapshot=false: products는 바뀐 상품만 → id 기준으로 덮어쓰기
+ */
+public record CatalogChangesResponse(
+        long version,
+        boolean fullSnapshot,
+        List<ProductResponse> products
+) {}
@@ -0,0 +1,31 @@
+package com.oliveyoung.sale.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+
+/**
+ * Kafka 주문 이벤트 메시지 (비동기 주문 모드)
+ *
+ * Outbox → Relay → Kafka Topic → Consumer → 주문 저장 + 대기열 정리
+ *
+ * productId를 파티션 키로 사용하여
+ * 같은 상품의 주문 이벤트는 같은 파티션에서 순서 보장
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderEventMessage {
+    private String orderRef;
+    private String sessionId;
+    private String token;
+    private Long productId;
+    private Integer quantity;
+    private BigDecimal totalPrice;
+    private String idempotencyKey;
+    private long timestamp;
+}
@@ -0,0 +1,23 @@
+package com.oliveyoung.sale.dto;
+
+import com.oliveyoung.sale.domain.PurchaseOrder;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * 주문 내역 항목 (JPQL 프로젝션)
+ *
+ * 엔티티를 읽지 않으므로 Product 지연 로딩(주문마다 SELECT 1회, N+1)이 일어나지 않습니다.
+ * 상품명은 같은 쿼리의 조인으로 가져옵니다.
+ */
+public record OrderHistoryItem(
+        Long orderId,
+        String orderRef,
+        Long productId,
+        String productName,
+        Integer quantity,
+        BigDecimal totalPrice,
+        PurchaseOrder.OrderStatus status,
+        LocalDateTime orderedAt
+) {}
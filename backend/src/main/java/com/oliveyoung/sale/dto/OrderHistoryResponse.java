@@ -0,0 +1,16 @@
+package com.oliveyoung.sale.dto;
+
+import java.util.List;
+
+/**
+ * 주문 내역 페이지 응답 DTO (최신 주문부터)
+ *
+ * [프론트엔드 연동 포인트]
+ * - nextCursor가 있으면 GET /api/orders?after={nextCursor}로 다음 페이지 요청
+ * - nextCursor가 null이면 마지막 페이지
+ * - 커서는 서버가 만든 불투명 문자열이므로 해석하지 않고 그대로 전달
+ */
+public record OrderHistoryResponse(
+        List<OrderHistoryItem> items,
+        String nextCursor
+) {}
@@ -0,0 +1,19 @@
+package com.oliveyoung.sale.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * 주문 상태 응답 DTO
+ *
+ * [프론트엔드 연동 포인트]
+ * - status가 PENDING이면 주문 접수 후 처리 중 (폴링 계속)
+ * - status가 COMPLETED면 orderId 확정
+ */
+public record OrderStatusResponse(
+        String orderRef,
+        String status,
+        Long orderId,
+        String productName,
+        Integer quantity,
+        BigDecimal totalPrice
+) {}
@@ -0,0 +1,26 @@
+package com.oliveyoung.sale.dto;
+
+import lombok.Builder;
+
+import java.math.BigDecimal;
+
+/**
+ * 상품 카탈로그 항목 (재고 제외, 세일 상태와 무관하게 오래 캐시)
+ *
+ * 정가와 할인가를 모두 담아두고, 응답 시점의 세일 플래그로 하나를 고릅니다.
+ * 재고는 구매마다 바뀌므로 ProductStockView에서 따로 읽어
+ * 응답 시점에 ProductResponse로 합칩니다.
+ *
+ * @param salePrice 세일 중 판매가 (정가 × (100 - 할인율) / 100, 미리 계산)
+ */
+@Builder
+public record ProductCatalogItem(
+        Long id,
+        String name,
+        String description,
+        BigDecimal originalPrice,
+        BigDecimal salePrice,
+        Integer discountRate,
+        String imageUrl,
+        String category
+) {}
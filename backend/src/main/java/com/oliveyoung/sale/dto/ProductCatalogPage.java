@@ -0,0 +1,13 @@
+package com.oliveyoung.sale.dto;
+
+import java.util.List;
+
+/**
+ * 카탈로그 페이지 (카테고리 + 커서 단위로 캐시)
+ *
+ * @param nextCursor 다음 페이지 요청 시 after로 보낼 값 (마지막 페이지면 null)
+ */
+public record ProductCatalogPage(
+        List<ProductCatalogItem> items,
+        Long nextCursor
+) {}
@@ -0,0 +1,15 @@
+package com.oliveyoung.sale.dto;
+
+import java.util.List;
+
+/**
+ * 상품 목록 페이지 응답 DTO
+ *
+ * [프론트엔드 연동 포인트]
+ * - nextCursor가 있으면 GET /api/products?after={nextCursor}로 다음 페이지 요청
+ * - nextCursor가 null이면 마지막 페이지
+ */
+public record ProductPageResponse(
+        List<ProductResponse> items,
+        Long nextCursor
+) {}
@@ -0,0 +1,23 @@
+package com.oliveyoung.sale.dto;
+
+import com.oliveyoung.sale.domain.Product;
+
+import java.math.BigDecimal;
+
+/**
+ * 가격 계산용 상품 스냅샷 (락 없이 조회하는 JPQL 프로젝션)
+ *
+ * 엔티티가 아니므로 영속성 컨텍스트에 올라가지 않습니다.
+ * (먼저 엔티티로 읽어두면 이후 비관적 락 조회가 캐시된 재고 값을 돌려줄 수 있음)
+ */
+public record ProductPriceSnapshot(
+        Long id,
+        String name,
+        BigDecimal originalPrice,
+        Integer discountRate,
+        String category
+) {
+    public BigDecimal unitPrice(boolean saleActive) {
+        return saleActive ? Product.discountedPrice(originalPrice, discountRate) : originalPrice;
+    }
+}
@@ -0,0 +1,9 @@
+package com.oliveyoung.sale.dto;
+
+/**
+ * 상품 재고 스냅샷 (재고 뷰 동기화용 JPQL 프로젝션)
+ */
+public record ProductStockSnapshot(
+        Long id,
+        Integer stock
+) {}
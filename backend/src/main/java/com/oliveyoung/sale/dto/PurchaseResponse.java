@@ -2,10 +2,27 @@ package com.oliveyoung.sale.dto;
 
 import java.math.BigDecimal;
 
+/**
+ * 구매 응답 DTO
+ *
+ * [프론트엔드 연동 포인트]
+ * - status가 COMPLETED면 orderId 확정
+ * - status가 PENDING이면 주문 접수만 완료 (비동기 모드)
+ *   → GET /api/orders/{orderRef}로 완료 여부 폴링
+ */
 public record PurchaseResponse(
         Long orderId,
         String productName,
         Integer quantity,
         BigDecimal totalPrice,
-        String message
-) {}
+        String message,
+        String orderRef,
+        String status
+) {
+    public static final String COMPLETED = "COMPLETED";
+    public static final String PENDING = "PENDING";
+
+    public PurchaseResponse(Long orderId, String productName, Integer quantity, BigDecimal totalPrice, String message) {
+        this(orderId, productName, quantity, totalPrice, message, null, COMPLETED);
+    }
+}
@@ -6,6 +6,8 @@ package com.oliveyoung.sale.dto;
  * [프론트엔드 연동 포인트]
  * - canPurchase가 true면 구매 페이지로 이동
  * - expired가 true면 대기열 재진입 필요
+ * - soldOut이 true면 품절 (재진입 불필요, 폴링 중단)
+ * - admissionClosed가 true면 남은 재고가 모두 예약되어 보류 중 (빠른 폴링 중단, 예약 만료 시 원래 순서로 복귀)
  * - position이 변화하면 UI 업데이트
  */
 public record QueueStatusResponse(
@@ -13,5 +15,7 @@ public record QueueStatusResponse(
         int estimatedWaitSeconds,
         boolean canPurchase,
         boolean expired,
+        boolean soldOut,
+        boolean admissionClosed,
         String message
 ) {}
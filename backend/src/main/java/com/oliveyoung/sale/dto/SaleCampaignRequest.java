@@ -0,0 +1,24 @@
+package com.oliveyoung.sale.dto;
+
+import com.oliveyoung.sale.domain.SaleCampaign;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+
+import java.time.LocalDateTime;
+
+/**
+ * 세일 캠페인 등록 요청
+ *
+ * target: CATEGORY면 카테고리명, PRODUCT면 상품 ID, ALL이면 생략
+ */
+public record SaleCampaignRequest(
+        @NotBlank(message = "캠페인 이름은 필수입니다")
+        String name,
+        @NotNull(message = "적용 범위는 필수입니다")
+        SaleCampaign.Scope scope,
+        String target,
+        @NotNull(message = "시작 시각은 필수입니다")
+        LocalDateTime startsAt,
+        @NotNull(message = "종료 시각은 필수입니다")
+        LocalDateTime endsAt
+) {}
@@ -0,0 +1,18 @@
+package com.oliveyoung.sale.dto;
+
+import com.oliveyoung.sale.domain.SaleCampaign;
+
+import java.time.LocalDateTime;
+
+/**
+ * 세일 캠페인 응답 (active: 이 Pod가 보기에 지금 적용 중인지)
+ */
+public record SaleCampaignResponse(
+        Long id,
+        String name,
+        SaleCampaign.Scope scope,
+        String target,
+        LocalDateTime startsAt,
+        LocalDateTime endsAt,
+        boolean active
+) {}
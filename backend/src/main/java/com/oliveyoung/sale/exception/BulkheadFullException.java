@@ -0,0 +1,22 @@
+package com.oliveyoung.sale.exception;
+
+import lombok.Getter;
+
+/**
+ * 벌크헤드 포화 예외
+ *
+ * 요청 자체는 정상이므로 503 + Retry-After로 응답해 재시도를 유도합니다.
+ * (SERVER_BUSY 에러 코드, GlobalExceptionHandler)
+ */
+@Getter
+public class BulkheadFullException extends RuntimeException {
+
+    private final String bulkhead;
+    private final long retryAfterSeconds;
+
+    public BulkheadFullException(String bulkhead, long retryAfterSeconds) {
+        super("요청이 많아 처리하지 못했습니다. 잠시 후 다시 시도해주세요.");
+        this.bulkhead = bulkhead;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
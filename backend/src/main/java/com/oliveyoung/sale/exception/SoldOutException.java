@@ -0,0 +1,15 @@
+package com.oliveyoung.sale.exception;
+
+/**
+ * 품절 예외
+ *
+ * 재고 부족과 같은 메시지("재고가 부족합니다.")를 사용하지만,
+ * 별도 타입으로 분리해 SOLD_OUT 에러 코드로 응답합니다.
+ * (프론트에서 대기열 재시도 대신 품절 안내를 띄울 수 있도록)
+ */
+public class SoldOutException extends IllegalStateException {
+
+    public SoldOutException(Long productId) {
+        super("재고가 부족합니다. (품절 상품: " + productId + ")");
+    }
+}
@@ -0,0 +1,78 @@
+package com.oliveyoung.sale.ratelimit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.GenericToStringSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.util.List;
+
+/**
+ * 전체 Pod 합산 토큰 버킷 (Redis, 라우트당 키 1개)
+ *
+ * TokenBuckets와 같은 GCRA를 Lua로 실행합니다. 시각은 Redis TIME을 써서 Pod 간 시계 오차가 없습니다.
+ * Redis 장애 시에는 통과시킵니다(fail-open). 세션별 로컬 버킷은 계속 동작하므로 한도가 완전히 사라지지는 않습니다.
+ */
+@Slf4j
+public class GlobalTokenBucket {
+
+    private static final String KEY_PREFIX = "ratelimit:global:";
+
+    /**
+     * KEYS[1] = TAT(마이크로초), ARGV[1] = emission interval(μs), ARGV[2] = 허용 버스트(μs)
+     * 반환: 0이면 허용, 아니면 기다릴 마이크로초
+     */
+    private static final RedisScript<Long> GCRA_SCRIPT = new DefaultRedisScript<>("""
+            local time = redis.call('TIME')
+            local now = tonumber(time[1]) * 1000000 + tonumber(time[2])
+            local interval = tonumber(ARGV[1])
+            local tolerance = tonumber(ARGV[2])
+            local tat = tonumber(redis.call('GET', KEYS[1]) or now)
+            if tat < now then tat = now end
+            local allow_at = tat - tolerance
+            if allow_at > now then return allow_at - now end
+            local next_tat = tat + interval
+            redis.call('SET', KEYS[1], string.format('%d', next_tat), 'PX', math.ceil((next_tat - now) / 1000) + 1000)
+            return 0
+            """, Long.class);
+    private static final RedisSerializer<Long> RESULT_SERIALIZER = new GenericToStringSerializer<>(Long.class);
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final List<String> keys;
+    private final Object[] args;
+    private final Counter errors;
+
+    public GlobalTokenBucket(String route, double ratePerSecond, int burst,
+                             RedisTemplate<String, Object> redisTemplate, MeterRegistry meterRegistry) {
+        if (ratePerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("rate는 0보다 크고 burst는 1 이상이어야 합니다: " + route);
+        }
+        long intervalMicros = Math.max(1, Math.round(1_000_000L / ratePerSecond));
+        this.redisTemplate = redisTemplate;
+        // 요청마다 리스트/배열을 만들지 않도록 인자를 미리 생성 (JSON이 아닌 문자열 숫자로 전달)
+        this.keys = List.of(KEY_PREFIX + route);
+        this.args = new Object[]{String.valueOf(intervalMicros), String.valueOf(intervalMicros * (burst - 1))};
+        this.errors = Counter.builder("ratelimit.global.errors")
+                .description("Redis 장애로 전체 한도 확인 없이 통과시킨 요청 수")
+                .tag("route", route)
+                .register(meterRegistry);
+    }
+
+    /**
+     * @return 0이면 허용, 아니면 다시 시도할 수 있을 때까지 남은 나노초
+     */
+    public long tryAcquire() {
+        try {
+            Long waitMicros = redisTemplate.execute(GCRA_SCRIPT, RedisSerializer.string(), RESULT_SERIALIZER, keys, args);
+            return waitMicros == null ? 0 : waitMicros * 1000;
+        } catch (Exception e) {
+            errors.increment();
+            log.debug("전체 요청 한도 확인 실패, 통과 - key: {}, reason: {}", keys.get(0), e.getMessage());
+            return 0;
+        }
+    }
+}
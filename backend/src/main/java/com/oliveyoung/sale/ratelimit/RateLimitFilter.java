@@ -0,0 +1,83 @@
+package com.oliveyoung.sale.ratelimit;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.oliveyoung.sale.dto.ApiResponse;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.UrlPathHelper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * 요청 한도 필터 (대기열 진입/상태 조회, 구매)
+ *
+ * 컨트롤러(DispatcherServlet) 앞에서 거절하므로 한도를 넘은 요청은 Redis/Kafka/DB를 전혀 호출하지 않습니다.
+ * 거절 응답 본문은 미리 직렬화해 둔 바이트를 그대로 씁니다. (요청마다 JSON 직렬화/객체 생성 없음)
+ *
+ * 경로는 Spring MVC가 컨트롤러를 고를 때와 같은 조회 경로(UrlPathHelper)로 비교합니다.
+ * 원본 URI로 비교하면 /api/queue/status;x 나 퍼센트 인코딩된 경로가 컨트롤러에는 도달하면서 한도는 건너뜁니다.
+ *
+ * 세션 키: X-Session-Id 헤더 (없으면 클라이언트 IP)
+ * 컨트롤러는 헤더가 없으면 "demo-session"으로 처리하므로, 헤더 없는 요청을 한 버킷에 묶지 않도록 IP로 구분합니다.
+ */
+@Slf4j
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    static final String SESSION_HEADER = "X-Session-Id";
+
+    private final RateLimiter rateLimiter;
+    private final byte[] rejectedBody;
+
+    public RateLimitFilter(RateLimiter rateLimiter, ObjectMapper objectMapper) {
+        this.rateLimiter = rateLimiter;
+        this.rejectedBody = rejectedBody(objectMapper);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        RateLimiter.Route route = rateLimiter.match(request.getMethod(),
+                UrlPathHelper.defaultInstance.getLookupPathForRequest(request));
+        if (route == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        String sessionId = request.getHeader(SESSION_HEADER);
+        long wait = route.tryAcquire(sessionId != null ? sessionId : request.getRemoteAddr());
+        if (wait == 0) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        log.debug("요청 한도 초과로 거절 - route: {}, session: {}", route.getName(), sessionId);
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, RateLimiter.retryAfterSeconds(wait));
+        // 컨트롤러의 @CrossOrigin까지 가지 않으므로 직접 추가 (없으면 브라우저에는 429 대신 CORS 오류로 보임)
+        response.setHeader(HttpHeaders.ACCESS_CONTROL_ALLOW_ORIGIN, "*");
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(rejectedBody.length);
+        response.getOutputStream().write(rejectedBody);
+    }
+
+    /**
+     * 429 응답 본문 (GlobalExceptionHandler와 같은 ApiResponse 형식, 리액티브 포트도 같은 본문 사용)
+     */
+    public static byte[] rejectedBody(ObjectMapper objectMapper) {
+        try {
+            return objectMapper.writeValueAsBytes(
+                    ApiResponse.error("요청이 너무 많습니다. 잠시 후 다시 시도해주세요.", "TOO_MANY_REQUESTS"));
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.oliveyoung.sale.ratelimit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 라우트별 요청 한도 (세션별 로컬 버킷 + 선택적으로 전체 Pod 합산 버킷)
+ *
+ * [흐름]
+ * match(method, path) → 한도 대상 라우트면 Route.tryAcquire(세션 키)
+ *   → 세션 버킷(TokenBuckets) 통과 → 전체 버킷(GlobalTokenBucket, 설정 시) 확인
+ *   → 어느 한쪽이라도 막히면 기다릴 시간(나노초) 반환 → 429 + Retry-After
+ *
+ * 세션 버킷을 먼저 보므로 한 세션이 몰아치는 요청은 Redis까지 가지 않고 Pod 안에서 거절됩니다.
+ *
+ * [메트릭]
+ * - ratelimit.requests.rejected (route, scope=session|global 태그)
+ * - ratelimit.global.errors     (route 태그, Redis 장애로 통과시킨 수)
+ *
+ * [면접 포인트]
+ * Q: "대기열 앞에 왜 또 요청 제한이 필요한가요?"
+ * A: 대기열은 "처리 순서"를 정할 뿐 요청 수를 줄이지 않습니다.
+ *    같은 세션으로 진입/폴링을 반복하는 스크립트는 요청마다 Redis와 Kafka를 호출하므로,
+ *    세션당 한도를 Pod 메모리에서 먼저 걸러야 정상 사용자 몫의 Redis/Kafka 처리량이 지켜집니다.
+ */
+public class RateLimiter {
+
+    /** 자주 쓰는 Retry-After 값 (요청마다 문자열을 만들지 않도록) */
+    private static final String[] RETRY_AFTER_VALUES = new String[61];
+
+    static {
+        for (int i = 0; i < RETRY_AFTER_VALUES.length; i++) {
+            RETRY_AFTER_VALUES[i] = String.valueOf(i);
+        }
+    }
+
+    private final Route[] routes;
+
+    public RateLimiter(List<Route> routes) {
+        this.routes = routes.toArray(Route[]::new);
+    }
+
+    /**
+     * 한도 대상 라우트 찾기 (대상이 아니면 null)
+     *
+     * @param path 정규화된 조회 경로 (디코딩, 경로 파라미터(;...) 제거) - 원본 URI를 넘기면 우회 가능
+     */
+    public Route match(String method, String path) {
+        for (Route route : routes) {
+            if (route.method.equals(method) && route.path.equals(path)) {
+                return route;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 한도 대상 라우트 (메서드 + 정확한 경로)
+     */
+    public static final class Route {
+
+        private final String name;
+        private final String method;
+        private final String path;
+        private final TokenBuckets sessionBuckets;
+        private final GlobalTokenBucket globalBucket;
+        private final Counter sessionRejected;
+        private final Counter globalRejected;
+
+        /**
+         * @param globalBucket 전체 Pod 합산 한도 (없으면 null)
+         */
+        public Route(String name, String method, String path, TokenBuckets sessionBuckets,
+                     GlobalTokenBucket globalBucket, MeterRegistry meterRegistry) {
+            this.name = name;
+            this.method = method;
+            this.path = path;
+            this.sessionBuckets = sessionBuckets;
+            this.globalBucket = globalBucket;
+            this.sessionRejected = rejectedCounter(meterRegistry, name, "session");
+            this.globalRejected = rejectedCounter(meterRegistry, name, "global");
+        }
+
+        /**
+         * 세션 한도 + 전체 한도 확인 (전체 한도는 Redis 호출, 블로킹)
+         *
+         * @return 0이면 허용, 아니면 다시 시도할 수 있을 때까지 남은 나노초
+         */
+        public long tryAcquire(String sessionKey) {
+            long wait = tryAcquireLocal(sessionKey);
+            if (wait > 0 || globalBucket == null) {
+                return wait;
+            }
+            wait = globalBucket.tryAcquire();
+            if (wait > 0) {
+                globalRejected.increment();
+            }
+            return wait;
+        }
+
+        /**
+         * 세션 한도만 확인 (Pod 메모리, 이벤트 루프에서도 호출 가능)
+         */
+        public long tryAcquireLocal(String sessionKey) {
+            long wait = sessionBuckets.tryAcquire(sessionKey);
+            if (wait > 0) {
+                sessionRejected.increment();
+            }
+            return wait;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        private static Counter rejectedCounter(MeterRegistry meterRegistry, String route, String scope) {
+            return Counter.builder("ratelimit.requests.rejected")
+                    .description("요청 한도 초과로 거절된 요청 수")
+                    .tag("route", route)
+                    .tag("scope", scope)
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * Retry-After 헤더 값 (초 단위 올림, 최소 1초)
+     */
+    public static String retryAfterSeconds(long waitNanos) {
+        long seconds = Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+        return seconds < RETRY_AFTER_VALUES.length ? RETRY_AFTER_VALUES[(int) seconds] : String.valueOf(seconds);
+    }
+}
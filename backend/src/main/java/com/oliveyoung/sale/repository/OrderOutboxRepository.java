@@ -0,0 +1,63 @@
+package com.oliveyoung.sale.repository;
+
+import com.oliveyoung.sale.domain.OrderOutbox;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface OrderOutboxRepository extends JpaRepository<OrderOutbox, Long> {
+
+    /**
+     * 발행할 Outbox 선점 조회 (발행 순서 = 저장 순서)
+     *
+     * FOR UPDATE SKIP LOCKED: 다른 Pod가 같은 주기에 잠근 행은 건너뛰므로 Pod끼리 같은 행을 나눠 갖지 않습니다.
+     * (lock timeout -2 = Hibernate LockOptions.SKIP_LOCKED)
+     * 락은 선점 트랜잭션 동안만 유지되고, 이후에는 claimedUntil이 다른 Pod의 선점을 막습니다.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT o FROM OrderOutbox o WHERE o.publishedAt IS NULL "
+            + "AND (o.claimedUntil IS NULL OR o.claimedUntil < :now) ORDER BY o.id")
+    List<OrderOutbox> findClaimable(@Param("now") LocalDateTime now, Limit limit);
+
+    /**
+     * 발행 완료 표시
+     */
+    @Modifying
+    @Query("UPDATE OrderOutbox o SET o.publishedAt = :publishedAt, o.claimedUntil = NULL WHERE o.id IN :ids")
+    int markPublished(@Param("ids") Collection<Long> ids, @Param("publishedAt") LocalDateTime publishedAt);
+
+    /**
+     * 발행 실패 행의 선점 해제 (다음 주기에 다시 선점)
+     */
+    @Modifying
+    @Query("UPDATE OrderOutbox o SET o.claimedUntil = NULL WHERE o.id IN :ids AND o.publishedAt IS NULL")
+    int releaseClaims(@Param("ids") Collection<Long> ids);
+
+    Optional<OrderOutbox> findByOrderRef(String orderRef);
+
+    Optional<OrderOutbox> findByIdempotencyKey(String idempotencyKey);
+
+    /**
+     * 같은 대기열 입장으로 접수된 주문 조회 (uk_order_outbox_session_token)
+     */
+    Optional<OrderOutbox> findBySessionIdAndToken(String sessionId, String token);
+
+    /**
+     * 발행 완료 후 보관 기간이 지난 행 정리
+     */
+    @Modifying
+    @Query("DELETE FROM OrderOutbox o WHERE o.publishedAt < :before")
+    int deletePublishedBefore(@Param("before") LocalDateTime before);
+}
@@ -1,6 +1,9 @@
 package com.oliveyoung.sale.repository;
 
 import com.oliveyoung.sale.domain.Product;
+import com.oliveyoung.sale.dto.ProductPriceSnapshot;
+import com.oliveyoung.sale.dto.ProductStockSnapshot;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
@@ -16,14 +19,30 @@ import java.util.Optional;
  * [면접 포인트]
  * Q: "Aurora Reader/Writer 분리는 어떻게 활용했나요?"
  * A: 읽기 전용 쿼리(@Transactional(readOnly=true))는 Reader 엔드포인트로,
- *    쓰기 쿼리는 Writer 엔드포인트로 라우팅합니다.
- *    Spring의 AbstractRoutingDataSource를 확장하거나,
- *    AWS RDS Proxy의 read/write 분리 기능을 활용할 수 있습니다.
+ *    쓰기 쿼리는 Writer 엔드포인트로 라우팅합니다. (ReadWriteRoutingDataSource)
+ *    findAll/findById 등 기본 조회 메서드는 Spring Data가 readOnly 트랜잭션으로 실행하고,
+ *    findByIdWithLock은 구매 쓰기 트랜잭션 안에서 호출되므로 Writer로 갑니다.
  */
 public interface ProductRepository extends JpaRepository<Product, Long> {
 
     List<Product> findByCategory(String category);
 
+    /**
+     * 키셋 페이지네이션 (id > after, PK 순서)
+     *
+     * [면접 포인트]
+     * Q: "OFFSET 페이지네이션 대신 키셋을 쓴 이유는?"
+     * A: OFFSET 10000은 앞의 1만 행을 읽고 버립니다. 뒤 페이지일수록 느려집니다.
+     *    마지막으로 본 id 이후부터 인덱스를 타고 LIMIT만큼만 읽으면
+     *    페이지 위치와 무관하게 일정한 비용이 듭니다.
+     */
+    List<Product> findByIdGreaterThanOrderByIdAsc(Long after, Limit limit);
+
+    /**
+     * 카테고리별 키셋 페이지네이션 (idx_products_category_id 사용)
+     */
+    List<Product> findByCategoryAndIdGreaterThanOrderByIdAsc(String category, Long after, Limit limit);
+
     /**
      * 비관적 락을 사용한 상품 조회 (재고 차감 시 사용)
      *
@@ -40,4 +59,17 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
     @Lock(LockModeType.PESSIMISTIC_WRITE)
     @Query("SELECT p FROM Product p WHERE p.id = :id")
     Optional<Product> findByIdWithLock(@Param("id") Long id);
+
+    /**
+     * 가격 계산용 스냅샷 조회 (락 없음, 구매 시 락 획득 전에 사용)
+     */
+    @Query("SELECT new com.oliveyoung.sale.dto.ProductPriceSnapshot(p.id, p.name, p.originalPrice, p.discountRate, p.category) "
+            + "FROM Product p WHERE p.id = :id")
+    Optional<ProductPriceSnapshot> findPriceSnapshotById(@Param("id") Long id);
+
+    /**
+     * 전체 상품 재고 조회 (재고 뷰 재동기화용, 엔티티 로딩 없음)
+     */
+    @Query("SELECT new com.oliveyoung.sale.dto.ProductStockSnapshot(p.id, p.stock) FROM Product p")
+    List<ProductStockSnapshot> findAllStocks();
 }
@@ -1,11 +1,83 @@
 package com.oliveyoung.sale.repository;
 
 import com.oliveyoung.sale.domain.PurchaseOrder;
+import com.oliveyoung.sale.dto.ArchivedOrder;
+import com.oliveyoung.sale.dto.OrderHistoryItem;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface PurchaseOrderRepository extends JpaRepository<PurchaseOrder, Long> {
 
-    List<PurchaseOrder> findBySessionId(String sessionId);
+    String HISTORY_SELECT = "SELECT new com.oliveyoung.sale.dto.OrderHistoryItem("
+            + "o.id, o.orderRef, p.id, p.name, o.quantity, o.totalPrice, o.status, o.orderedAt) "
+            + "FROM PurchaseOrder o JOIN o.product p ";
+
+    /**
+     * 주문 내역 첫 페이지 (최신순, idx_purchase_orders_session_history)
+     */
+    @Query(HISTORY_SELECT
+            + "WHERE o.sessionId = :sessionId "
+            + "ORDER BY o.orderedAt DESC, o.id DESC")
+    List<OrderHistoryItem> findHistory(@Param("sessionId") String sessionId, Limit limit);
+
+    /**
+     * 주문 내역 다음 페이지 (키셋: 커서보다 오래된 주문, OFFSET 없음)
+     *
+     * 같은 시각의 주문은 id로 순서를 정하므로 페이지 경계에서 누락/중복이 없습니다.
+     */
+    @Query(HISTORY_SELECT
+            + "WHERE o.sessionId = :sessionId "
+            + "AND (o.orderedAt < :orderedAt OR (o.orderedAt = :orderedAt AND o.id < :id)) "
+            + "ORDER BY o.orderedAt DESC, o.id DESC")
+    List<OrderHistoryItem> findHistoryBefore(@Param("sessionId") String sessionId,
+                                             @Param("orderedAt") LocalDateTime orderedAt,
+                                             @Param("id") Long id,
+                                             Limit limit);
+
+    /**
+     * 멱등 키로 기존 주문 조회 (중복 구매 요청 시 원래 응답 복원용, 상품명 포함)
+     */
+    @Query("SELECT o FROM PurchaseOrder o JOIN FETCH o.product WHERE o.idempotencyKey = :idempotencyKey")
+    Optional<PurchaseOrder> findByIdempotencyKey(@Param("idempotencyKey") String idempotencyKey);
+
+    /**
+     * 주문 참조로 조회 (주문 상태 폴링용, 상품명 포함)
+     */
+    @Query("SELECT o FROM PurchaseOrder o JOIN FETCH o.product WHERE o.orderRef = :orderRef")
+    Optional<PurchaseOrder> findByOrderRef(@Param("orderRef") String orderRef);
+
+    boolean existsByOrderRef(String orderRef);
+
+    /**
+     * 가장 오래된 주문 시각 (보관할 월 판단용, 주문이 없으면 null)
+     */
+    @Query("SELECT MIN(o.orderedAt) FROM PurchaseOrder o")
+    LocalDateTime findOldestOrderedAt();
+
+    /**
+     * 보관 배치 조회 ([from, to) 구간의 오래된 주문부터, idx_purchase_orders_ordered_at)
+     */
+    @Query("SELECT new com.oliveyoung.sale.dto.ArchivedOrder("
+            + "o.id, o.orderRef, o.sessionId, p.id, p.name, o.quantity, o.totalPrice, o.status, o.orderedAt) "
+            + "FROM PurchaseOrder o JOIN o.product p "
+            + "WHERE o.orderedAt >= :from AND o.orderedAt < :to "
+            + "ORDER BY o.orderedAt ASC, o.id ASC")
+    List<ArchivedOrder> findArchiveBatch(@Param("from") LocalDateTime from,
+                                         @Param("to") LocalDateTime to,
+                                         Limit limit);
+
+    /**
+     * 보관 파일에 기록된 주문 삭제 (엔티티 로딩 없이 한 번의 DELETE)
+     */
+    @Modifying
+    @Query("DELETE FROM PurchaseOrder o WHERE o.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
 }
@@ -0,0 +1,17 @@
+package com.oliveyoung.sale.repository;
+
+import com.oliveyoung.sale.domain.SaleCampaign;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface SaleCampaignRepository extends JpaRepository<SaleCampaign, Long> {
+
+    /**
+     * 아직 끝나지 않았고 horizon 이전에 시작하는 캠페인 (진행 중 + 곧 시작)
+     */
+    List<SaleCampaign> findByEndsAtAfterAndStartsAtBeforeOrderByStartsAtAsc(LocalDateTime now, LocalDateTime horizon);
+
+    List<SaleCampaign> findAllByOrderByStartsAtDesc();
+}
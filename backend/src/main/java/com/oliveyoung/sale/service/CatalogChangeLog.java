@@ -0,0 +1,256 @@
+package com.oliveyoung.sale.service;
+
+import com.oliveyoung.sale.cache.CacheInvalidatedEvent;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedHashSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 카탈로그 변경 로그 (Pod 로컬 링 버퍼 + Redis Pub/Sub 동기화)
+ *
+ * [흐름]
+ * 재고 변경/세일 전환/카탈로그 무효화 → record(productId + 재고 또는 전체)
+ *   → Redis INCR catalog:change:seq (전체 Pod 공통 순번)
+ *   → Redis PUBLISH catalog:changes → 모든 Pod: 재고 반영(StockChangedEvent) 후 링 버퍼에 추가
+ * 클라이언트: GET /api/products/changes?since={마지막으로 받은 version}
+ *   → 그 이후 바뀐 상품만 응답 (버퍼에서 밀려났거나 누락이 있으면 전체 스냅샷)
+ *
+ * [면접 포인트]
+ * Q: "재고 숫자 몇 개 바뀐 걸 보려고 상품 목록 전체를 다시 받아야 하나요?"
+ * A: 변경마다 전체 Pod 공통 순번을 붙여 Pod 메모리에 최근 N개만 보관합니다.
+ *    클라이언트가 마지막 순번을 보내면 그 뒤에 바뀐 상품만 내려줍니다.
+ *    순번이 연속이므로 Pub/Sub 유실로 빠진 구간을 감지할 수 있고,
+ *    그때는 전체 스냅샷으로 응답해 정합성을 지킵니다.
+ *
+ * Q: "재고와 순번을 다른 채널로 보내면 순번이 먼저 도착하지 않나요?"
+ * A: 그래서 재고를 변경 이벤트 안에 함께 보냅니다. 수신한 Pod는 재고를 먼저 반영하고 순번을 버퍼에 넣으므로,
+ *    순번을 받은 클라이언트가 이전 재고를 받는 일이 없습니다.
+ *    순번 발급(INCR)에 실패한 변경은 델타에 넣을 수 없으므로, 다음에 순번을 받을 때
+ *    전체 변경을 먼저 기록해 그 구간을 조회한 클라이언트가 전체 스냅샷을 받게 합니다.
+ *
+ * 버퍼는 synchronized 대신 ReadWriteLock으로 보호합니다.
+ * (Java 21 가상 스레드는 synchronized 대기 중 캐리어 스레드를 놓지 못함, 조회끼리는 동시에 실행)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CatalogChangeLog implements MessageListener {
+
+    public static final String CHANGE_CHANNEL = "catalog:changes";
+    private static final String SEQUENCE_KEY = "catalog:change:seq";
+    /** 세일 전환/카탈로그 무효화처럼 전체 상품이 바뀐 경우 */
+    private static final String ALL = "*";
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${app.catalog.change-log-size:1024}")
+    private int capacity;
+
+    private final Deque<Change> changes = new ArrayDeque<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile long latest;
+    /** 순번을 받지 못해 기록하지 못한 변경이 있음 (다음 기록 때 전체 변경으로 보정) */
+    private final AtomicBoolean missed = new AtomicBoolean();
+
+    @PostConstruct
+    public void init() {
+        listenerContainer.addMessageListener(this, new ChannelTopic(CHANGE_CHANNEL));
+        try {
+            Object value = redisTemplate.opsForValue().get(SEQUENCE_KEY);
+            if (value instanceof Number number) {
+                lock.writeLock().lock();
+                try {
+                    latest = number.longValue();
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            }
+        } catch (Exception e) {
+            log.warn("카탈로그 변경 순번 조회 실패: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 상품 하나의 재고가 바뀜 (재고를 변경 이벤트에 함께 실어 다른 Pod에 전달)
+     *
+     * @return 기록·발행에 실패하면 false (호출자가 재고를 따로 브로드캐스트)
+     */
+    public boolean recordProduct(Long productId, int stock) {
+        return record(productId, stock);
+    }
+
+    /**
+     * 전체 상품이 바뀜 (세일 전환, 카탈로그 재생성)
+     */
+    public void recordAll() {
+        record(null, null);
+    }
+
+    /**
+     * 기록하지 못한 변경이 남아 있으면 전체 변경으로 보정 (이후 상품 변경이 없어도 누락이 남지 않도록)
+     */
+    @Scheduled(fixedDelay = 5000)
+    public void recoverMissed() {
+        if (missed.get()) {
+            recordAll();
+        }
+    }
+
+    /**
+     * 현재 Pod가 알고 있는 마지막 순번
+     */
+    public long latest() {
+        return latest;
+    }
+
+    /**
+     * since 이후 바뀐 상품 ID (순서 유지, 중복 제거)
+     *
+     * @return 버퍼가 (since, latest] 구간을 빠짐없이 담고 있지 않거나 전체 변경이 있으면 empty → 전체 스냅샷
+     */
+    public Optional<Set<Long>> changedSince(long since) {
+        lock.readLock().lock();
+        try {
+            if (since <= 0 || since > latest) {
+                return Optional.empty();
+            }
+            Set<Long> productIds = new LinkedHashSet<>();
+            long expected = since + 1;
+            for (Change change : changes) {
+                if (change.seq() <= since) {
+                    continue;
+                }
+                if (change.seq() != expected || change.productId() == null) {
+                    // 밀려난 구간, Pub/Sub 유실, 전체 변경
+                    return Optional.empty();
+                }
+                productIds.add(change.productId());
+                expected++;
+            }
+            return expected == latest + 1 ? Optional.of(productIds) : Optional.empty();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 다른 Pod(및 자기 자신)가 발행한 변경 수신 (형식: "seq:productId:stock" 또는 "seq:*")
+     *
+     * 재고를 먼저 반영한 뒤 순번을 버퍼에 넣습니다. (리스너 컨테이너가 메시지를 여러 스레드에서 처리해도
+     * 같은 메시지 안에서는 순서가 지켜짐)
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        Object value = redisTemplate.getValueSerializer().deserialize(message.getBody());
+        String[] event = String.valueOf(value).split(":");
+        if (event.length < 2 || event.length > 3) {
+            return;
+        }
+        try {
+            long seq = Long.parseLong(event[0]);
+            Long productId = ALL.equals(event[1]) ? null : Long.valueOf(event[1]);
+            if (productId != null && event.length == 3) {
+                eventPublisher.publishEvent(new StockChangedEvent(productId, Integer.parseInt(event[2])));
+            }
+            append(new Change(seq, productId));
+        } catch (NumberFormatException e) {
+            log.debug("잘못된 카탈로그 변경 이벤트 무시 - {}", value);
+        }
+    }
+
+    /**
+     * 이 Pod에서 카탈로그 캐시를 삭제했으면 전체 변경 기록
+     */
+    @EventListener
+    public void onCacheInvalidated(CacheInvalidatedEvent event) {
+        if (event.local() && (ProductCatalogService.CATALOG_CACHE.equals(event.cacheName())
+                || ProductCatalogService.CATALOG_ITEM_CACHE.equals(event.cacheName()))) {
+            recordAll();
+        }
+    }
+
+    /**
+     * 변경 기록 (productId가 null이면 전체 변경)
+     */
+    private boolean record(Long productId, Integer stock) {
+        try {
+            // 이전에 기록하지 못한 변경이 있으면 전체 변경을 먼저 기록 (전체 변경이면 이번 기록이 보정)
+            if (missed.compareAndSet(true, false) && productId != null) {
+                publish(null, null);
+            }
+            publish(productId, stock);
+            return true;
+        } catch (Exception e) {
+            // 순번이 없으면 델타에 넣을 수 없음 → 다음 기록(또는 recoverMissed) 때 전체 변경으로 보정
+            missed.set(true);
+            log.warn("카탈로그 변경 기록 실패, 다음 기록 때 전체 변경으로 보정 - productId: {}, reason: {}",
+                    productId != null ? productId : ALL, e.getMessage());
+            return false;
+        }
+    }
+
+    private void publish(Long productId, Integer stock) {
+        Long seq = redisTemplate.opsForValue().increment(SEQUENCE_KEY);
+        if (seq == null) {
+            throw new IllegalStateException("변경 순번을 받지 못했습니다.");
+        }
+        // 자기 메시지도 구독으로 받지만 먼저 반영해 두면 같은 Pod 재조회가 즉시 일관됨
+        append(new Change(seq, productId));
+        redisTemplate.convertAndSend(CHANGE_CHANNEL,
+                productId != null ? seq + ":" + productId + ":" + stock : seq + ":" + ALL);
+    }
+
+    /**
+     * 순번 순서대로 버퍼에 삽입 (중복 무시, 용량 초과 시 오래된 것부터 제거)
+     */
+    private void append(Change change) {
+        lock.writeLock().lock();
+        try {
+            if (!changes.isEmpty() && change.seq() <= changes.peekLast().seq()) {
+                insertOutOfOrder(change);
+            } else {
+                changes.addLast(change);
+            }
+            while (changes.size() > capacity) {
+                changes.removeFirst();
+            }
+            latest = Math.max(latest, change.seq());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void insertOutOfOrder(Change change) {
+        Deque<Change> newer = new ArrayDeque<>();
+        while (!changes.isEmpty() && changes.peekLast().seq() > change.seq()) {
+            newer.addFirst(changes.removeLast());
+        }
+        if (changes.isEmpty() || changes.peekLast().seq() != change.seq()) {
+            changes.addLast(change);
+        }
+        changes.addAll(newer);
+    }
+
+    private record Change(long seq, Long productId) {}
+}
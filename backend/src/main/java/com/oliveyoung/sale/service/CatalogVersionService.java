@@ -0,0 +1,165 @@
+package com.oliveyoung.sale.service;
+
+import com.oliveyoung.sale.cache.CacheInvalidatedEvent;
+import com.oliveyoung.sale.cache.TwoLevelCache;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 상품 카탈로그 버전 (ETag 생성용)
+ *
+ * [흐름]
+ * 카탈로그 재생성 → 카탈로그 캐시 삭제(CacheInvalidatedEvent) 또는 bump()
+ *   → Redis INCR catalog:version
+ *   → Redis PUBLISH catalog:version:events → 모든 Pod의 로컬 버전 갱신
+ *
+ * [순서]
+ * 버전 메시지와 L1 무효화 메시지는 채널이 달라 도착 순서가 보장되지 않습니다.
+ * 버전 메시지가 먼저 오면 그 사이 요청이 이전 L1 값을 새 버전 ETag로 저장하고,
+ * 클라이언트는 그 ETag로 계속 304를 받습니다. 그래서 새 버전을 반영하기 전에 카탈로그 L1을 먼저 비웁니다.
+ *
+ * [Redis 장애]
+ * INCR에 실패해도 로컬 버전은 올리지 않습니다. 로컬 버전이 Redis보다 앞서 나가면
+ * 이후 다른 Pod가 올린 실제 버전이 advance에서 무시됩니다.
+ * 대신 L1을 비우고 미반영(pending)으로 표시해 그동안은 304/응답 바이트 캐시를 쓰지 않게 하고,
+ * 재동기화 때 다시 INCR 해서 Redis 버전을 받습니다.
+ *
+ * [면접 포인트]
+ * Q: "변경이 없는데도 매번 상품 목록을 다시 받는 문제는?"
+ * A: 카탈로그 버전으로 ETag를 만들고 If-None-Match가 같으면 304를 반환합니다.
+ *    버전은 Pod 메모리의 AtomicLong이라 304 판단에 캐시/DB 조회가 필요 없습니다.
+ *    Pub/Sub 유실에 대비해 주기적으로 Redis 값과 맞춥니다. (버전은 증가만 함)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CatalogVersionService implements MessageListener {
+
+    public static final String VERSION_CHANNEL = "catalog:version:events";
+    private static final String VERSION_KEY = "catalog:version";
+    private static final Set<String> CATALOG_CACHES = Set.of(
+            ProductCatalogService.CATALOG_CACHE,
+            ProductCatalogService.CATALOG_ITEM_CACHE,
+            ProductCatalogService.CATALOG_PAGE_CACHE);
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final CacheManager cacheManager;
+
+    private final AtomicLong version = new AtomicLong();
+    /** 버전을 올리지 못한 변경이 있음 (현재 버전 ETag로 304를 줄 수 없음, 재동기화 때 다시 증가) */
+    private final AtomicBoolean pending = new AtomicBoolean();
+
+    @PostConstruct
+    public void init() {
+        listenerContainer.addMessageListener(this, new ChannelTopic(VERSION_CHANNEL));
+        reconcile();
+    }
+
+    /**
+     * 현재 카탈로그 버전 (로컬 메모리 조회, Redis 호출 없음)
+     */
+    public long current() {
+        return version.get();
+    }
+
+    /**
+     * 현재 버전에 반영되지 않은 변경이 있는지 (true면 ETag 304와 응답 바이트 캐시를 쓰지 않음)
+     */
+    public boolean isPending() {
+        return pending.get();
+    }
+
+    /**
+     * 카탈로그 버전 증가 + 전체 Pod 브로드캐스트
+     *
+     * @return 새 버전 (Redis 장애 시 현재 버전 그대로, 재동기화 때 다시 증가)
+     */
+    public long bump() {
+        try {
+            Long next = redisTemplate.opsForValue().increment(VERSION_KEY);
+            if (next != null) {
+                advance(next);
+                redisTemplate.convertAndSend(VERSION_CHANNEL, next);
+                return next;
+            }
+        } catch (Exception e) {
+            log.warn("카탈로그 버전 증가 실패, 재동기화 때 다시 증가: {}", e.getMessage());
+        }
+        pending.set(true);
+        clearLocalCatalog();
+        return version.get();
+    }
+
+    /**
+     * 이 Pod에서 상품 캐시를 삭제했으면 버전 증가
+     * (다른 Pod에서 온 무효화는 발행한 Pod가 이미 증가시킴)
+     */
+    @EventListener
+    public void onCacheInvalidated(CacheInvalidatedEvent event) {
+        if (event.local() && CATALOG_CACHES.contains(event.cacheName())) {
+            bump();
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        Object value = redisTemplate.getValueSerializer().deserialize(message.getBody());
+        if (value instanceof Number number) {
+            advance(number.longValue());
+        }
+    }
+
+    /**
+     * Redis 기준 재동기화 (Pub/Sub 유실 및 신규 Pod 대비)
+     */
+    @Scheduled(fixedDelay = 5000)
+    public void reconcile() {
+        if (pending.compareAndSet(true, false)) {
+            // 실패했던 증가를 다시 시도 (또 실패하면 bump가 pending을 다시 표시)
+            bump();
+            return;
+        }
+        try {
+            Object value = redisTemplate.opsForValue().get(VERSION_KEY);
+            if (value instanceof Number number) {
+                advance(number.longValue());
+            }
+        } catch (Exception e) {
+            log.warn("카탈로그 버전 동기화 실패, 로컬 버전 유지: {}", e.getMessage());
+        }
+    }
+
+    private void advance(long latest) {
+        if (latest <= version.get()) {
+            return;
+        }
+        // 새 버전이 보이기 전에 L1을 비워, 새 버전 키/ETag로는 L2(발행 Pod가 이미 삭제) 이후 값만 저장되도록
+        clearLocalCatalog();
+        version.accumulateAndGet(latest, Math::max);
+    }
+
+    private void clearLocalCatalog() {
+        for (String cacheName : CATALOG_CACHES) {
+            Cache cache = cacheManager.getCache(cacheName);
+            if (cache instanceof TwoLevelCache twoLevelCache) {
+                twoLevelCache.clearLocal();
+            }
+        }
+    }
+}
@@ -68,6 +68,13 @@ public class KafkaProducerService {
                         log.warn("Circuit Breaker 상태 변경: {}", event.getStateTransition()));
     }
 
+    /**
+     * Kafka 전송 회로 (리액티브 대기열 API도 같은 회로로 Kafka 장애를 판단, ReactiveQueueService)
+     */
+    public CircuitBreaker circuitBreaker() {
+        return circuitBreaker;
+    }
+
     /**
      * 대기열 진입 요청 전송 (Circuit Breaker 적용)
      *
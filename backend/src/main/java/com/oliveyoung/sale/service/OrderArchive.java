@@ -0,0 +1,363 @@
+package com.oliveyoung.sale.service;
+
+import com.oliveyoung.sale.domain.PurchaseOrder;
+import com.oliveyoung.sale.dto.ArchivedOrder;
+import com.oliveyoung.sale.dto.OrderHistoryItem;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 보관된 주문 (로컬 디스크의 월별 gzip CSV)
+ *
+ * [파일 구조]
+ * {dir}/{yyyy-MM}/shard-{세션 해시 % 16}/{첫 주문 ID}-{마지막 주문 ID}.csv.gz
+ * - 월: 보관 단위 (닫힌 월만 보관, OrderArchiver)
+ * - 샤드: 한 세션의 주문은 항상 같은 샤드에 있으므로 조회 시 월마다 파일 한 묶음만 읽음
+ * - 파일명: 같은 배치를 다시 보관하면 같은 파일을 덮어씀 (재시도/중복 실행에 안전)
+ * {dir}/sessions/shard-{세션 해시 % 16}/{세션 ID의 SHA-256}
+ * - 보관된 주문이 있는 세션의 표시 파일 (빈 파일). 표시가 없으면 월 디렉터리를 읽지 않음
+ *
+ * 여러 Pod가 같은 보관 파일을 조회하려면 dir을 공유 볼륨(EFS 등)으로 두어야 합니다.
+ * 그래서 기본값은 비활성화이며(app.order.archive.enabled=false), 공유 볼륨을 준비한 환경에서만 켭니다.
+ *
+ * [면접 포인트]
+ * Q: "오래된 주문을 왜 DB 밖으로 옮기나요?"
+ * A: 주문 테이블은 세일마다 커지는데 실제로 읽히는 건 최근 주문뿐입니다.
+ *    오래된 행이 남아 있으면 인덱스가 커져 INSERT마다 건드리는 B-Tree 페이지와
+ *    버퍼 풀 사용량이 계속 늘어납니다. 닫힌 월을 압축 파일로 옮기면
+ *    hot 테이블은 최근 몇 달 크기로 유지되고, 드문 과거 조회만 파일을 읽습니다.
+ */
+@Component
+public class OrderArchive {
+
+    static final int SHARDS = 16;
+    private static final String HEADER =
+            "order_id,order_ref,session_id,product_id,product_name,quantity,total_price,status,ordered_at";
+    private static final String FILE_SUFFIX = ".csv.gz";
+    private static final String SESSIONS_DIR = "sessions";
+
+    private final boolean enabled;
+    private final Path root;
+
+    public OrderArchive(@Value("${app.order.archive.enabled:false}") boolean enabled,
+                        @Value("${app.order.archive.dir:./data/order-archive}") String dir) {
+        this.enabled = enabled;
+        this.root = Paths.get(dir);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 한 달치 배치 보관 (세션 샤드별로 파일 하나씩)
+     *
+     * 임시 파일에 쓰고 디스크 동기화 후 이름을 바꾸므로, 중간에 죽어도 반쯤 쓴 파일이 조회되지 않습니다.
+     * 세션 표시는 주문 파일보다 먼저 남깁니다. (표시 없이 보관 파일만 있는 세션이 생기지 않도록)
+     */
+    public void write(YearMonth month, List<ArchivedOrder> orders) throws IOException {
+        for (String sessionId : orders.stream().map(ArchivedOrder::sessionId).distinct().toList()) {
+            markSession(sessionId);
+        }
+
+        Map<Integer, List<ArchivedOrder>> byShard = orders.stream()
+                .collect(Collectors.groupingBy(order -> shardOf(order.sessionId()), TreeMap::new, Collectors.toList()));
+
+        for (Map.Entry<Integer, List<ArchivedOrder>> entry : byShard.entrySet()) {
+            List<ArchivedOrder> shardOrders = entry.getValue();
+            long firstId = shardOrders.stream().mapToLong(ArchivedOrder::orderId).min().orElseThrow();
+            long lastId = shardOrders.stream().mapToLong(ArchivedOrder::orderId).max().orElseThrow();
+
+            Path dir = shardDir(month, entry.getKey());
+            Files.createDirectories(dir);
+            Path target = dir.resolve(firstId + "-" + lastId + FILE_SUFFIX);
+            Path temp = dir.resolve(target.getFileName() + ".tmp");
+
+            try (BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(
+                    new GZIPOutputStream(Files.newOutputStream(temp)), StandardCharsets.UTF_8))) {
+                writer.write(HEADER);
+                writer.newLine();
+                for (ArchivedOrder order : shardOrders) {
+                    writer.write(toCsv(order));
+                    writer.newLine();
+                }
+            }
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                channel.force(true);
+            }
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * 세션에 보관된 주문이 있는지 (표시 파일 하나만 확인)
+     *
+     * 대부분의 세션은 보관된 주문이 없으므로, 주문이 적어 hot 테이블로 페이지가 차지 않아도
+     * 월 디렉터리와 gzip 파일을 열지 않습니다.
+     */
+    public boolean hasArchived(String sessionId) {
+        return enabled && Files.exists(markerOf(sessionId));
+    }
+
+    /**
+     * 이 시각 이후의 주문은 보관 파일에 없음 (가장 최근 보관 월의 다음 달 1일, 보관 파일이 없으면 null)
+     */
+    public LocalDateTime archivedBefore() {
+        if (!enabled) {
+            return null;
+        }
+        List<YearMonth> months = months();
+        return months.isEmpty() ? null : months.get(0).plusMonths(1).atDay(1).atStartOfDay();
+    }
+
+    /**
+     * 세션의 보관 주문 조회 (최신순, 커서 이전 주문만)
+     *
+     * 최근 월부터 읽고, limit건을 채운 월에서 멈춥니다. (월끼리는 시간이 겹치지 않음)
+     *
+     * @param beforeAt 커서 주문 시각 (null이면 처음부터)
+     * @param beforeId 커서 주문 ID
+     */
+    public List<OrderHistoryItem> findHistory(String sessionId, LocalDateTime beforeAt, Long beforeId, int limit) {
+        if (!hasArchived(sessionId)) {
+            return List.of();
+        }
+        Comparator<OrderHistoryItem> newestFirst = Comparator.comparing(OrderHistoryItem::orderedAt)
+                .thenComparing(OrderHistoryItem::orderId)
+                .reversed();
+        YearMonth cursorMonth = beforeAt != null ? YearMonth.from(beforeAt) : null;
+        int shard = shardOf(sessionId);
+
+        List<OrderHistoryItem> found = new ArrayList<>();
+        for (YearMonth month : months()) {
+            if (cursorMonth != null && month.isAfter(cursorMonth)) {
+                continue;
+            }
+            for (Path file : files(shardDir(month, shard))) {
+                for (ArchivedOrder order : read(file)) {
+                    if (order.sessionId().equals(sessionId) && isBefore(order, beforeAt, beforeId)) {
+                        found.add(order.toHistoryItem());
+                    }
+                }
+            }
+            if (found.size() >= limit) {
+                break;
+            }
+        }
+        found.sort(newestFirst);
+        return found.size() > limit ? List.copyOf(found.subList(0, limit)) : found;
+    }
+
+    /**
+     * 세션의 보관 주문 한 건 조회 (주문 상태 조회용, 세션 샤드만 읽음)
+     */
+    public Optional<ArchivedOrder> findOrder(String sessionId, String orderRef) {
+        if (!hasArchived(sessionId)) {
+            return Optional.empty();
+        }
+        int shard = shardOf(sessionId);
+        for (YearMonth month : months()) {
+            for (Path file : files(shardDir(month, shard))) {
+                for (ArchivedOrder order : read(file)) {
+                    if (order.orderRef().equals(orderRef) && order.sessionId().equals(sessionId)) {
+                        return Optional.of(order);
+                    }
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    static int shardOf(String sessionId) {
+        // String.hashCode는 명세로 고정된 값이라 Pod/재시작과 무관하게 같은 샤드
+        return Math.floorMod(sessionId.hashCode(), SHARDS);
+    }
+
+    private static boolean isBefore(ArchivedOrder order, LocalDateTime beforeAt, Long beforeId) {
+        if (beforeAt == null) {
+            return true;
+        }
+        int compared = order.orderedAt().compareTo(beforeAt);
+        return compared < 0 || (compared == 0 && order.orderId() < beforeId);
+    }
+
+    private Path shardDir(YearMonth month, int shard) {
+        return root.resolve(month.toString()).resolve("shard-%02d".formatted(shard));
+    }
+
+    private void markSession(String sessionId) throws IOException {
+        Path marker = markerOf(sessionId);
+        if (Files.exists(marker)) {
+            return;
+        }
+        Files.createDirectories(marker.getParent());
+        try {
+            Files.createFile(marker);
+        } catch (FileAlreadyExistsException e) {
+            // 다른 Pod가 먼저 남김
+        }
+    }
+
+    /**
+     * 세션 ID는 헤더 값이라 파일명으로 쓰지 않고 SHA-256으로 바꿈 (길이/경로 문자 대비)
+     */
+    private Path markerOf(String sessionId) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(sessionId.getBytes(StandardCharsets.UTF_8));
+            return root.resolve(SESSIONS_DIR)
+                    .resolve("shard-%02d".formatted(shardOf(sessionId)))
+                    .resolve(HexFormat.of().formatHex(digest));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * 보관된 월 목록 (최근 월부터)
+     */
+    private List<YearMonth> months() {
+        if (!Files.isDirectory(root)) {
+            return List.of();
+        }
+        try (Stream<Path> dirs = Files.list(root)) {
+            return dirs.filter(Files::isDirectory)
+                    .map(dir -> parseMonth(dir.getFileName().toString()))
+                    .filter(month -> month != null)
+                    .sorted(Comparator.reverseOrder())
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static List<Path> files(Path dir) {
+        if (!Files.isDirectory(dir)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(FILE_SUFFIX)).toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static List<ArchivedOrder> read(Path file) {
+        List<ArchivedOrder> orders = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(Files.newInputStream(file)), StandardCharsets.UTF_8))) {
+            reader.readLine(); // 헤더
+            String line;
+            while ((line = reader.readLine()) != null) {
+                orders.add(fromCsv(line));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("보관 파일 읽기 실패: " + file, e);
+        }
+        return orders;
+    }
+
+    private static YearMonth parseMonth(String name) {
+        try {
+            return YearMonth.parse(name);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    private static String toCsv(ArchivedOrder order) {
+        return String.join(",",
+                String.valueOf(order.orderId()),
+                quote(order.orderRef()),
+                quote(order.sessionId()),
+                String.valueOf(order.productId()),
+                quote(order.productName()),
+                String.valueOf(order.quantity()),
+                order.totalPrice().toPlainString(),
+                order.status().name(),
+                order.orderedAt().toString());
+    }
+
+    private static ArchivedOrder fromCsv(String line) {
+        List<String> fields = splitCsv(line);
+        return new ArchivedOrder(
+                Long.valueOf(fields.get(0)),
+                fields.get(1),
+                fields.get(2),
+                Long.valueOf(fields.get(3)),
+                fields.get(4),
+                Integer.valueOf(fields.get(5)),
+                new BigDecimal(fields.get(6)),
+                PurchaseOrder.OrderStatus.valueOf(fields.get(7)),
+                LocalDateTime.parse(fields.get(8)));
+    }
+
+    /**
+     * 문자열 필드는 항상 따옴표로 감쌈 (쉼표/따옴표가 들어간 상품명 대비, 줄바꿈은 공백으로)
+     */
+    private static String quote(String value) {
+        if (value == null) {
+            return "";
+        }
+        return "\"" + value.replace("\r", " ").replace("\n", " ").replace("\"", "\"\"") + "\"";
+    }
+
+    private static List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        fields.add(current.toString());
+        return fields;
+    }
+}
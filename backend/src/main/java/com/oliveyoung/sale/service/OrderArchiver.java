@@ -0,0 +1,146 @@
+package com.oliveyoung.sale.service;
+
+import com.oliveyoung.sale.dto.ArchivedOrder;
+import com.oliveyoung.sale.repository.PurchaseOrderRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * 닫힌 월의 주문을 hot 테이블에서 보관 파일로 이동
+ *
+ * [흐름]
+ * 1분마다 archive()
+ *   → 가장 오래된 주문이 보관 기준(hot-months개월 전 1일)보다 오래됐으면
+ *   → 그 월의 오래된 주문부터 batch-size건 조회 (idx_purchase_orders_ordered_at)
+ *   → OrderArchive에 파일로 기록 (디스크 동기화 후 이름 변경)
+ *   → 기록한 ID만 한 트랜잭션으로 DELETE
+ *   → 한 번에 max-batches-per-run 배치까지 (세일 중 DB 부하를 나눠서 처리)
+ *
+ * 파일 기록 후 DELETE 전에 죽으면 다음 실행에서 같은 배치를 다시 읽어 같은 파일을 덮어씁니다.
+ * 여러 Pod가 동시에 실행해도 같은 파일과 같은 DELETE가 반복될 뿐입니다.
+ *
+ * [보관 기준과 멱등성]
+ * 구매 멱등 조회(PurchaseService.findExisting)는 hot 테이블과 Outbox만 봅니다.
+ * 재시도는 결과 캐시 TTL(10분)·대기열 토큰 유효 시간 안에서만 일어나므로,
+ * 보관 기준을 최소 1개월 이상 전으로 두면(hot-months >= 2) 재시도 대상 주문은 항상 hot 테이블에 있습니다.
+ * hot-months=1이면 월말 23:59 주문이 1분 뒤 보관될 수 있어 시작 시 거절합니다.
+ *
+ * [면접 포인트]
+ * Q: "MySQL 파티셔닝(PARTITION BY RANGE)을 쓰지 않은 이유는?"
+ * A: 파티션 키(ordered_at)가 모든 유니크 키에 포함돼야 해서
+ *    idempotency_key/order_ref 유니크 제약을 그대로 둘 수 없습니다.
+ *    대신 애플리케이션에서 월 단위로 잘라 옮기므로 같은 효과(hot 테이블을 작게 유지)를 내면서
+ *    중복 주문 방지 제약은 유지합니다.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "app.order.archive.enabled", havingValue = "true")
+public class OrderArchiver {
+
+    static final int MIN_HOT_MONTHS = 2;
+
+    private final PurchaseOrderRepository orderRepository;
+    private final OrderArchive orderArchive;
+    private final TransactionOperations transactionOperations;
+    private final Supplier<LocalDate> today;
+    private final Counter archivedRows;
+
+    @Value("${app.order.archive.hot-months:3}")
+    private int hotMonths;
+
+    @Value("${app.order.archive.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${app.order.archive.max-batches-per-run:10}")
+    private int maxBatchesPerRun;
+
+    public OrderArchiver(PurchaseOrderRepository orderRepository, OrderArchive orderArchive,
+                         TransactionOperations transactionOperations, MeterRegistry meterRegistry) {
+        this(orderRepository, orderArchive, transactionOperations, meterRegistry, LocalDate::now);
+    }
+
+    OrderArchiver(PurchaseOrderRepository orderRepository, OrderArchive orderArchive,
+                  TransactionOperations transactionOperations, MeterRegistry meterRegistry,
+                  Supplier<LocalDate> today) {
+        this.orderRepository = orderRepository;
+        this.orderArchive = orderArchive;
+        this.transactionOperations = transactionOperations;
+        this.today = today;
+        this.archivedRows = Counter.builder("order.archive.rows")
+                .description("hot 테이블에서 보관 파일로 옮긴 주문 수")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void validateHotMonths() {
+        if (hotMonths < MIN_HOT_MONTHS) {
+            throw new IllegalStateException("app.order.archive.hot-months는 " + MIN_HOT_MONTHS
+                    + " 이상이어야 합니다. (멱등 재시도 구간의 주문이 보관되지 않도록) 현재: " + hotMonths);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.order.archive.interval-millis:60000}")
+    public void archive() {
+        LocalDateTime cutoff = cutoff();
+        for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+            try {
+                if (!archiveNextBatch(cutoff)) {
+                    return;
+                }
+            } catch (Exception e) {
+                // 다음 실행에서 같은 배치부터 재시도
+                log.warn("주문 보관 실패 - cutoff: {}, reason: {}", cutoff, e.getMessage());
+                return;
+            }
+        }
+    }
+
+    /**
+     * 이 시각 이전 주문은 보관 대상 (이번 달 포함 hot-months개월만 hot 테이블에 유지)
+     */
+    LocalDateTime cutoff() {
+        return YearMonth.from(today.get()).minusMonths(hotMonths - 1L).atDay(1).atStartOfDay();
+    }
+
+    /**
+     * @return 보관한 주문이 있으면 true
+     */
+    private boolean archiveNextBatch(LocalDateTime cutoff) throws Exception {
+        LocalDateTime oldest = orderRepository.findOldestOrderedAt();
+        if (oldest == null || !oldest.isBefore(cutoff)) {
+            return false;
+        }
+
+        // 한 배치는 한 달 안에서만 (파일이 월 디렉터리에 속하도록)
+        YearMonth month = YearMonth.from(oldest);
+        LocalDateTime monthStart = month.atDay(1).atStartOfDay();
+        LocalDateTime monthEnd = month.plusMonths(1).atDay(1).atStartOfDay();
+        List<ArchivedOrder> orders = orderRepository.findArchiveBatch(
+                monthStart, monthEnd.isBefore(cutoff) ? monthEnd : cutoff, Limit.of(batchSize));
+        if (orders.isEmpty()) {
+            return false;
+        }
+
+        orderArchive.write(month, orders);
+        List<Long> ids = orders.stream().map(ArchivedOrder::orderId).toList();
+        Integer deleted = transactionOperations.execute(status -> orderRepository.deleteByIdIn(ids));
+
+        archivedRows.increment(orders.size());
+        log.info("주문 보관 완료 - month: {}, {}건 (삭제 {}건)", month, orders.size(), deleted);
+        return true;
+    }
+}
@@ -0,0 +1,63 @@
+package com.oliveyoung.sale.service;
+
+import com.oliveyoung.sale.config.KafkaConfig;
+import com.oliveyoung.sale.dto.OrderEventMessage;
+import com.oliveyoung.sale.dto.PurchaseResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Service;
+
+/**
+ * 주문 이벤트 Consumer (비동기 주문 모드)
+ *
+ * [흐름]
+ * Kafka Topic (purchase-order-events)
+ *   → 주문 저장 (orderRef 기준 멱등)
+ *   → 대기열 처리 완료 + 예약 정산
+ *   → 구매 결과 캐시를 COMPLETED 응답으로 갱신
+ *
+ * 구매 요청 경로에서 빠진 작업들을 여기서 처리합니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.purchase.async-enabled", havingValue = "true")
+public class OrderEventConsumer {
+
+    private final OrderService orderService;
+    private final QueueService queueService;
+    private final PurchaseIdempotencyStore idempotencyStore;
+    private final OrderHistoryCache orderHistoryCache;
+
+    @KafkaListener(
+            topics = KafkaConfig.ORDER_TOPIC,
+            groupId = KafkaConfig.ORDER_CONSUMER_GROUP,
+            containerFactory = "orderListenerContainerFactory"
+    )
+    public void consumeOrderEvent(OrderEventMessage message) {
+        PurchaseResponse response;
+        try {
+            response = orderService.saveOrder(message);
+        } catch (DataIntegrityViolationException e) {
+            // 다른 Consumer가 같은 이벤트를 먼저 저장 (리밸런싱 중 재전달)
+            log.info("주문 이벤트 중복 저장 무시 - orderRef: {}", message.getOrderRef());
+            return;
+        }
+        if (response == null) {
+            return;
+        }
+
+        // 재전달된 이벤트는 위에서 걸러지므로 예약 정산은 주문당 한 번만 수행
+        queueService.completeProcessing(message.getSessionId(), message.getToken(), message.getProductId());
+        queueService.settleReservation(message.getProductId(), message.getQuantity());
+
+        idempotencyStore.remember(message.getIdempotencyKey(), response);
+        // 이 Pod의 캐시만 삭제 (다른 Pod는 짧은 TTL 안에 반영)
+        orderHistoryCache.evict(message.getSessionId());
+
+        log.info("비동기 주문 저장 완료 - orderRef: {}, orderId: {}", response.orderRef(), response.orderId());
+    }
+}
@@ -0,0 +1,71 @@
+package com.oliveyoung.sale.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.oliveyoung.sale.dto.OrderHistoryResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * 세션별 최근 주문 내역 페이지 캐시 (Pod 로컬, 짧은 TTL)
+ *
+ * [구조]
+ * 세션 ID → { "커서:limit" → 페이지 }
+ * 세션 단위로 묶어두므로 새 주문이 생기면 그 세션의 모든 페이지를 O(1)로 지웁니다.
+ * TTL은 세션의 첫 페이지가 캐시된 시점부터 계산합니다.
+ * 세션당 페이지 수에도 상한을 둡니다. (커서/limit 조합을 바꿔가며 요청해도 한 세션이 메모리를 계속 늘리지 못함,
+ * 상한을 넘은 페이지는 캐시하지 않고 조회 결과만 반환)
+ *
+ * [면접 포인트]
+ * Q: "주문 내역은 사용자마다 다른데 캐시가 의미 있나요?"
+ * A: 세일 직후 사용자는 구매 확인을 위해 같은 첫 페이지를 반복해서 새로고침합니다.
+ *    몇 초짜리 캐시만으로 이 반복 조회가 DB까지 가지 않습니다.
+ *    이 Pod에서 커밋된 주문은 즉시 지우고, 다른 Pod에서 생긴 주문은 TTL 안에 반영됩니다.
+ */
+@Component
+public class OrderHistoryCache {
+
+    private final Cache<String, Map<String, OrderHistoryResponse>> pages;
+    private final int maxPagesPerSession;
+
+    public OrderHistoryCache(@Value("${app.order.history.cache-ttl-seconds:5}") long ttlSeconds,
+                             @Value("${app.order.history.cache-max-sessions:10000}") long maxSessions,
+                             @Value("${app.order.history.cache-max-pages-per-session:8}") int maxPagesPerSession) {
+        this.maxPagesPerSession = maxPagesPerSession;
+        this.pages = Caffeine.newBuilder()
+                .maximumSize(maxSessions)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+    }
+
+    /**
+     * 캐시된 페이지 반환 (없으면 loader로 조회 후 저장)
+     *
+     * 조회 도중 evict되면 이미 캐시에서 떨어진 맵에 저장되므로, 주문 전 페이지가 남지 않습니다.
+     */
+    public OrderHistoryResponse get(String sessionId, String cursor, int limit, Supplier<OrderHistoryResponse> loader) {
+        Map<String, OrderHistoryResponse> sessionPages = pages.get(sessionId, id -> new ConcurrentHashMap<>());
+        String pageKey = (cursor != null ? cursor : "") + ":" + limit;
+        OrderHistoryResponse cached = sessionPages.get(pageKey);
+        if (cached != null) {
+            return cached;
+        }
+        OrderHistoryResponse loaded = loader.get();
+        if (sessionPages.size() < maxPagesPerSession) {
+            sessionPages.put(pageKey, loaded);
+        }
+        return loaded;
+    }
+
+    /**
+     * 세션의 캐시된 페이지 전체 삭제 (새 주문 커밋 후)
+     */
+    public void evict(String sessionId) {
+        pages.invalidate(sessionId);
+    }
+}
@@ -0,0 +1,131 @@
+package com.oliveyoung.sale.service;
+
+import com.oliveyoung.sale.config.KafkaConfig;
+import com.oliveyoung.sale.domain.OrderOutbox;
+import com.oliveyoung.sale.dto.OrderEventMessage;
+import com.oliveyoung.sale.repository.OrderOutboxRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Limit;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Outbox Relay (비동기 주문 모드)
+ *
+ * 미발행 Outbox 행을 주기적으로 Kafka에 발행하고 발행 완료로 표시합니다.
+ *
+ * [흐름]
+ * 1. 선점 (짧은 트랜잭션): FOR UPDATE SKIP LOCKED로 최대 100행 조회 → claimedUntil = now + 30초
+ * 2. 발행 (트랜잭션 밖): 100건을 한 번에 보내고 전체 3초 안에 ack 대기
+ * 3. 표시 (짧은 트랜잭션): 성공 행 publishedAt 기록, 실패 행 선점 해제
+ * Kafka가 멈춰도 DB 커넥션은 1, 3의 수 ms 동안만 사용합니다.
+ *
+ * [면접 포인트]
+ * Q: "Relay가 발행 직후 죽으면?"
+ * A: publishedAt이 기록되지 않았으므로 선점 만료(30초) 후 다시 발행됩니다.
+ *    중복만 생길 뿐 유실은 없고, Consumer가 orderRef로 중복을 제거합니다. (at-least-once + 멱등 Consumer)
+ *
+ * Q: "Pod가 여러 개면 같은 행을 모두 발행하지 않나요?"
+ * A: SKIP LOCKED로 다른 Pod가 선점 중인 행은 건너뛰고, 선점 표시(claimedUntil)가 커밋된 뒤에는 조회 조건에서 빠집니다.
+ *    Pod들은 서로 다른 행을 나눠 발행합니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.purchase.async-enabled", havingValue = "true")
+public class OrderOutboxRelay {
+
+    private static final long PUBLISHED_RETENTION_HOURS = 1;
+    private static final int BATCH_SIZE = 100;
+    private static final long CLAIM_SECONDS = 30;
+    private static final long SEND_TIMEOUT_MILLIS = 3000;
+
+    private final OrderOutboxRepository outboxRepository;
+    private final KafkaTemplate<String, OrderEventMessage> orderKafkaTemplate;
+    private final TransactionOperations transactionOperations;
+
+    /**
+     * 미발행 Outbox 발행 (200ms 간격)
+     */
+    @Scheduled(fixedDelay = 200)
+    public void publishPending() {
+        List<OrderOutbox> claimed = transactionOperations.execute(status -> claim());
+        if (claimed == null || claimed.isEmpty()) {
+            return;
+        }
+
+        // productId를 파티션 키로 사용 → 상품별 순서 보장 (같은 Producer의 같은 파티션 전송은 순서 유지)
+        List<CompletableFuture<?>> sends = new ArrayList<>(claimed.size());
+        for (OrderOutbox outbox : claimed) {
+            sends.add(orderKafkaTemplate.send(KafkaConfig.ORDER_TOPIC, String.valueOf(outbox.getProductId()),
+                    toMessage(outbox)));
+        }
+
+        List<Long> published = new ArrayList<>(claimed.size());
+        List<Long> failed = new ArrayList<>();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(SEND_TIMEOUT_MILLIS);
+        for (int i = 0; i < claimed.size(); i++) {
+            OrderOutbox outbox = claimed.get(i);
+            try {
+                sends.get(i).get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                published.add(outbox.getId());
+            } catch (Exception e) {
+                log.warn("주문 이벤트 발행 실패 - orderRef: {}, reason: {}", outbox.getOrderRef(), e.getMessage());
+                failed.add(outbox.getId());
+            }
+        }
+
+        transactionOperations.executeWithoutResult(status -> {
+            if (!published.isEmpty()) {
+                outboxRepository.markPublished(published, LocalDateTime.now());
+            }
+            if (!failed.isEmpty()) {
+                outboxRepository.releaseClaims(failed);
+            }
+        });
+    }
+
+    private List<OrderOutbox> claim() {
+        LocalDateTime now = LocalDateTime.now();
+        List<OrderOutbox> claimable = outboxRepository.findClaimable(now, Limit.of(BATCH_SIZE));
+        LocalDateTime claimedUntil = now.plusSeconds(CLAIM_SECONDS);
+        claimable.forEach(outbox -> outbox.claim(claimedUntil));
+        return claimable;
+    }
+
+    /**
+     * 발행 완료 후 보관 기간이 지난 Outbox 정리 (1분 간격)
+     */
+    @Scheduled(fixedDelay = 60000)
+    @Transactional
+    public void cleanupPublished() {
+        int deleted = outboxRepository.deletePublishedBefore(LocalDateTime.now().minusHours(PUBLISHED_RETENTION_HOURS));
+        if (deleted > 0) {
+            log.info("발행 완료 Outbox 정리 - {}건", deleted);
+        }
+    }
+
+    private OrderEventMessage toMessage(OrderOutbox outbox) {
+        return new OrderEventMessage(
+                outbox.getOrderRef(),
+                outbox.getSessionId(),
+                outbox.getToken(),
+                outbox.getProductId(),
+                outbox.getQuantity(),
+                outbox.getTotalPrice(),
+                outbox.getIdempotencyKey(),
+                outbox.getCreatedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+    }
+}
@@ -0,0 +1,248 @@
+package com.oliveyoung.sale.service;
+
+import com.oliveyoung.sale.bulkhead.Bulkheads;
+import com.oliveyoung.sale.domain.OrderOutbox;
+import com.oliveyoung.sale.domain.PurchaseOrder;
+import com.oliveyoung.sale.dto.ArchivedOrder;
+import com.oliveyoung.sale.dto.OrderEventMessage;
+import com.oliveyoung.sale.dto.OrderHistoryItem;
+import com.oliveyoung.sale.dto.OrderHistoryResponse;
+import com.oliveyoung.sale.dto.OrderStatusResponse;
+import com.oliveyoung.sale.dto.PurchaseResponse;
+import com.oliveyoung.sale.repository.OrderOutboxRepository;
+import com.oliveyoung.sale.repository.ProductRepository;
+import com.oliveyoung.sale.repository.PurchaseOrderRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * 주문 서비스 (주문 상태 조회 + 비동기 주문 저장)
+ *
+ * [주문 상태]
+ * PENDING   → Outbox에만 있음 (재고 예약 완료, 주문 저장 대기)
+ * COMPLETED → purchase_orders에 저장됨
+ *
+ * [면접 포인트]
+ * Q: "비동기로 처리하면 사용자는 주문 완료를 어떻게 아나요?"
+ * A: 구매 API는 orderRef를 즉시 반환하고,
+ *    클라이언트가 GET /api/orders/{orderRef}를 폴링합니다.
+ *    재고는 이미 예약(차감)되었으므로 PENDING이 실패로 바뀌지 않고,
+ *    지연은 Consumer 처리 시간(보통 수십 ms)뿐입니다.
+ *
+ * Q: "주문이 수백만 건이면 내 주문 목록은 어떻게 조회하나요?"
+ * A: (session_id, ordered_at, id)로 시작하는 커버링 인덱스를 키셋으로 탐색합니다.
+ *    OFFSET이 없어 몇 번째 페이지든 인덱스에서 limit건만 읽고,
+ *    프로젝션이라 Product 지연 로딩(N+1)도 없습니다.
+ *    닫힌 월은 OrderArchiver가 보관 파일로 옮기며, 조회는 두 곳을 합쳐 같은 커서로 이어집니다.
+ *
+ * 조회 메서드에는 @Transactional을 두지 않습니다. (ProductCatalogService와 같은 이유)
+ * 클래스 트랜잭션이 있으면 주문 내역 캐시 히트에도, 벌크헤드 허가를 얻기 전에도 커넥션을 빌립니다.
+ * 조회는 벌크헤드 안에서 Repository 트랜잭션(readOnly)만 사용합니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OrderService {
+
+    static final int DEFAULT_HISTORY_PAGE_SIZE = 20;
+    static final int MAX_HISTORY_PAGE_SIZE = 50;
+    private static final Comparator<OrderHistoryItem> NEWEST_FIRST = Comparator
+            .comparing(OrderHistoryItem::orderedAt)
+            .thenComparing(OrderHistoryItem::orderId)
+            .reversed();
+
+    private final PurchaseOrderRepository orderRepository;
+    private final OrderOutboxRepository outboxRepository;
+    private final ProductRepository productRepository;
+    private final OrderHistoryCache orderHistoryCache;
+    private final OrderArchive orderArchive;
+    private final Bulkheads bulkheads;
+
+    /**
+     * 주문 상태 조회 (다른 세션의 주문은 노출하지 않음, orders 벌크헤드: 폴링이 몰려도 구매 몫의 커넥션은 남김)
+     *
+     * hot 테이블/Outbox에 없으면 보관 파일에서 찾습니다. 파일 조회는 벌크헤드 밖에서 하므로
+     * 오래된 주문 조회가 DB 허가를 붙잡지 않습니다.
+     */
+    public OrderStatusResponse getOrderStatus(String sessionId, String orderRef) {
+        return bulkheads.orders().execute(() -> findOrderStatus(sessionId, orderRef))
+                .or(() -> orderArchive.findOrder(sessionId, orderRef).map(this::toArchivedStatus))
+                .orElseThrow(() -> new IllegalArgumentException("주문을 찾을 수 없습니다."));
+    }
+
+    private Optional<OrderStatusResponse> findOrderStatus(String sessionId, String orderRef) {
+        return orderRepository.findByOrderRef(orderRef)
+                .filter(order -> order.getSessionId().equals(sessionId))
+                .map(order -> new OrderStatusResponse(
+                        order.getOrderRef(),
+                        PurchaseResponse.COMPLETED,
+                        order.getId(),
+                        order.getProduct().getName(),
+                        order.getQuantity(),
+                        order.getTotalPrice()))
+                .or(() -> outboxRepository.findByOrderRef(orderRef)
+                        .filter(outbox -> outbox.getSessionId().equals(sessionId))
+                        .map(this::toPendingStatus));
+    }
+
+    private OrderStatusResponse toArchivedStatus(ArchivedOrder order) {
+        return new OrderStatusResponse(
+                order.orderRef(),
+                PurchaseResponse.COMPLETED,
+                order.orderId(),
+                order.productName(),
+                order.quantity(),
+                order.totalPrice());
+    }
+
+    /**
+     * 주문 내역 페이지 조회 (최신순, 키셋 커서)
+     *
+     * 저장된 주문만 포함합니다. (비동기 모드에서 PENDING인 주문은 상태 조회 API로 확인)
+     *
+     * @param after 이전 페이지의 nextCursor (null이면 첫 페이지)
+     * @param limit 페이지 크기 (null이면 기본값, 최대 50)
+     */
+    public OrderHistoryResponse getOrderHistory(String sessionId, String after, Integer limit) {
+        int size = limit != null ? limit : DEFAULT_HISTORY_PAGE_SIZE;
+        if (size < 1 || size > MAX_HISTORY_PAGE_SIZE) {
+            throw new IllegalArgumentException("limit은 1~" + MAX_HISTORY_PAGE_SIZE + " 사이여야 합니다.");
+        }
+        String cursor = after == null || after.isBlank() ? null : after;
+        HistoryCursor position = cursor != null ? HistoryCursor.decode(cursor) : null;
+
+        return orderHistoryCache.get(sessionId, cursor, size, () -> loadHistory(sessionId, position, size));
+    }
+
+    private OrderHistoryResponse loadHistory(String sessionId, HistoryCursor position, int size) {
+        // 다음 페이지 존재 여부 확인용으로 1건 더 조회
+        Limit fetch = Limit.of(size + 1);
+        List<OrderHistoryItem> rows = bulkheads.orders().execute(() -> position == null
+                ? orderRepository.findHistory(sessionId, fetch)
+                : orderRepository.findHistoryBefore(sessionId, position.orderedAt(), position.id(), fetch));
+
+        rows = withArchived(sessionId, position, rows, size + 1);
+
+        List<OrderHistoryItem> items = rows.stream().limit(size).toList();
+        String nextCursor = null;
+        if (rows.size() > size) {
+            OrderHistoryItem last = items.get(items.size() - 1);
+            nextCursor = new HistoryCursor(last.orderedAt(), last.orderId()).encode();
+        }
+        return new OrderHistoryResponse(items, nextCursor);
+    }
+
+    /**
+     * hot 테이블 결과에 보관 파일의 주문을 합침 (필요할 때만 파일 조회)
+     *
+     * hot 테이블에서 fetch건을 다 채웠고 가장 오래된 행도 보관 범위보다 최근이면
+     * 보관 파일에 더 최근 주문이 있을 수 없으므로 파일을 읽지 않습니다. (대부분의 첫 페이지)
+     * 보관된 주문이 없는 세션(세션 표시 없음)은 파일 목록도 보지 않습니다.
+     * 보관 직후 DELETE 전에는 같은 주문이 양쪽에 있을 수 있어 ID로 중복을 제거합니다.
+     * 파일 조회는 DB 조회(벌크헤드)가 끝난 뒤 트랜잭션 밖에서 합니다.
+     */
+    private List<OrderHistoryItem> withArchived(String sessionId, HistoryCursor position,
+                                                List<OrderHistoryItem> hotRows, int fetch) {
+        if (!orderArchive.hasArchived(sessionId)) {
+            return hotRows;
+        }
+        LocalDateTime archivedBefore = orderArchive.archivedBefore();
+        if (archivedBefore == null) {
+            return hotRows;
+        }
+        if (hotRows.size() >= fetch && !hotRows.get(hotRows.size() - 1).orderedAt().isBefore(archivedBefore)) {
+            return hotRows;
+        }
+
+        List<OrderHistoryItem> archived = position == null
+                ? orderArchive.findHistory(sessionId, null, null, fetch)
+                : orderArchive.findHistory(sessionId, position.orderedAt(), position.id(), fetch);
+        Map<Long, OrderHistoryItem> merged = new LinkedHashMap<>();
+        Stream.concat(hotRows.stream(), archived.stream())
+                .sorted(NEWEST_FIRST)
+                .forEach(item -> merged.putIfAbsent(item.orderId(), item));
+        return merged.values().stream().limit(fetch).toList();
+    }
+
+    /**
+     * 주문 이벤트 저장 (Consumer 전용)
+     *
+     * Kafka는 최소 1회 전달이므로 orderRef로 중복을 거릅니다.
+     *
+     * @return 새로 저장했으면 구매 응답, 이미 저장된 이벤트면 null
+     */
+    @Transactional
+    public PurchaseResponse saveOrder(OrderEventMessage message) {
+        if (orderRepository.existsByOrderRef(message.getOrderRef())) {
+            log.info("이미 저장된 주문 이벤트 - orderRef: {}", message.getOrderRef());
+            return null;
+        }
+
+        PurchaseOrder order = PurchaseOrder.builder()
+                .sessionId(message.getSessionId())
+                .product(productRepository.getReferenceById(message.getProductId()))
+                .quantity(message.getQuantity())
+                .totalPrice(message.getTotalPrice())
+                .status(PurchaseOrder.OrderStatus.COMPLETED)
+                .idempotencyKey(message.getIdempotencyKey())
+                .orderRef(message.getOrderRef())
+                .build();
+
+        PurchaseOrder saved = orderRepository.save(order);
+        return new PurchaseResponse(
+                saved.getId(),
+                saved.getProduct().getName(),
+                saved.getQuantity(),
+                saved.getTotalPrice(),
+                "구매가 완료되었습니다!",
+                saved.getOrderRef(),
+                PurchaseResponse.COMPLETED);
+    }
+
+    private OrderStatusResponse toPendingStatus(OrderOutbox outbox) {
+        return new OrderStatusResponse(
+                outbox.getOrderRef(),
+                PurchaseResponse.PENDING,
+                null,
+                outbox.getProductName(),
+                outbox.getQuantity(),
+                outbox.getTotalPrice());
+    }
+
+    /**
+     * 주문 내역 커서 (마지막 항목의 주문 시각 + ID, URL-safe Base64)
+     */
+    record HistoryCursor(LocalDateTime orderedAt, Long id) {
+
+        String encode() {
+            String raw = orderedAt + "|" + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static HistoryCursor decode(String cursor) {
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                int separator = raw.lastIndexOf('|');
+                return new HistoryCursor(
+                        LocalDateTime.parse(raw.substring(0, separator)),
+                        Long.valueOf(raw.substring(separator + 1)));
+            } catch (IllegalArgumentException | DateTimeParseException | IndexOutOfBoundsException e) {
+                throw new IllegalArgumentException("after 커서가 올바르지 않습니다.");
+            }
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.oliveyoung.sale.service;
+
+import com.oliveyoung.sale.bulkhead.Bulkheads;
+import com.oliveyoung.sale.domain.Product;
+import com.oliveyoung.sale.dto.ProductCatalogItem;
+import com.oliveyoung.sale.dto.ProductCatalogPage;
+import com.oliveyoung.sale.repository.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * 상품 카탈로그 캐시 (이름/설명/가격/이미지, 재고 제외)
+ *
+ * [캐시 전략]
+ * - catalog::all       → 전체 카탈로그
+ * - catalogItem::{id}  → 개별 상품
+ * - catalogPage::{카테고리}:{after}:{limit} → 키셋 페이지 (카테고리 없으면 '*')
+ * - 정가/할인가를 모두 담으므로 세일 시작·종료로 무효화되지 않음 (가격 선택은 ProductService)
+ * - 재고가 없으므로 구매로 무효화되지 않음 (재고는 ProductStockView)
+ * - 무효화 시점: 초기 데이터 재생성(전체)
+ *   (상품을 카테고리 단위로 바꾸는 쓰기 경로가 아직 없어 카테고리 단위 무효화는 두지 않음.
+ *    생기면 그 경로에서 카테고리 세대를 키에 넣어 해당 카테고리 페이지만 새 키로 조회되게 함)
+ *
+ * 캐시 미스 로딩은 Repository 트랜잭션만 사용합니다.
+ * (클래스 @Transactional을 두면 캐시 히트에도 커넥션을 빌림)
+ * 로딩은 catalog 벌크헤드 안에서만 실행되므로, 미스가 몰려도 구매 몫의 커넥션은 남습니다.
+ * (캐시 히트는 메서드 본문을 타지 않으므로 벌크헤드 허가를 쓰지 않음)
+ *
+ * [벌크헤드 거절 + sync = true]
+ * 같은 키의 동시 미스는 로더 하나의 결과를 공유하므로, 그 로더가 거절되면 기다리던 요청 모두가
+ * 같은 503(Retry-After)을 받습니다. Hard TTL이 지나 이전 값이 없는 경우라 대신 응답할 값이 없고,
+ * 각자 다시 허가를 시도하게 하면 포화된 벌크헤드에 요청만 더 몰리므로 의도한 동작입니다.
+ * Soft TTL 구간의 백그라운드 갱신이 거절되면 이전 값을 계속 응답합니다. (TwoLevelCache)
+ */
+@Service
+@RequiredArgsConstructor
+public class ProductCatalogService {
+
+    public static final String CATALOG_CACHE = "catalog";
+    public static final String CATALOG_ITEM_CACHE = "catalogItem";
+    public static final String CATALOG_PAGE_CACHE = "catalogPage";
+
+    private final ProductRepository productRepository;
+    private final Bulkheads bulkheads;
+
+    /**
+     * 전체 카탈로그 조회
+     * (sync = true: 같은 키의 동시 미스는 한 번만 DB 조회, TwoLevelCache single-flight)
+     */
+    @Cacheable(value = CATALOG_CACHE, key = "'all'", sync = true)
+    public List<ProductCatalogItem> getCatalog() {
+        return bulkheads.catalog().execute(() -> productRepository.findAll().stream()
+                .map(this::toItem)
+                .toList());
+    }
+
+    /**
+     * 개별 상품 카탈로그 조회
+     */
+    @Cacheable(value = CATALOG_ITEM_CACHE, key = "#id", sync = true)
+    public ProductCatalogItem getCatalogItem(Long id) {
+        Product product = bulkheads.catalog().execute(() -> productRepository.findById(id))
+                .orElseThrow(() -> new IllegalArgumentException("상품을 찾을 수 없습니다: " + id));
+
+        return toItem(product);
+    }
+
+    /**
+     * 카탈로그 페이지 조회 (키셋: id > after, 최대 limit건)
+     *
+     * [캐시 키]
+     * 카테고리/커서/크기 단위로 캐시하므로 한 카테고리 조회가 다른 카테고리 페이지에 영향을 주지 않습니다.
+     */
+    @Cacheable(value = CATALOG_PAGE_CACHE, sync = true,
+            key = "(#category ?: '*') + ':' + #after + ':' + #limit")
+    public ProductCatalogPage getCatalogPage(String category, Long after, int limit) {
+        long cursor = after != null ? after : 0L;
+        // 다음 페이지 존재 여부 확인용으로 1건 더 조회
+        Limit fetch = Limit.of(limit + 1);
+        List<Product> rows = bulkheads.catalog().execute(() -> category == null
+                ? productRepository.findByIdGreaterThanOrderByIdAsc(cursor, fetch)
+                : productRepository.findByCategoryAndIdGreaterThanOrderByIdAsc(category, cursor, fetch));
+
+        List<ProductCatalogItem> items = rows.stream()
+                .limit(limit)
+                .map(this::toItem)
+                .toList();
+        Long nextCursor = rows.size() > limit ? items.get(items.size() - 1).id() : null;
+        return new ProductCatalogPage(items, nextCursor);
+    }
+
+    /**
+     * 카탈로그 전체 삭제 (상품 데이터 자체가 바뀐 경우)
+     *
+     * 삭제가 전파되면 CatalogVersionService가 카탈로그 버전(ETag)을 올립니다.
+     */
+    @Caching(evict = {
+            @CacheEvict(value = CATALOG_CACHE, allEntries = true),
+            @CacheEvict(value = CATALOG_ITEM_CACHE, allEntries = true),
+            @CacheEvict(value = CATALOG_PAGE_CACHE, allEntries = true)
+    })
+    public void evictAll() {
+        // 캐시 삭제는 @CacheEvict가 처리
+    }
+
+    /**
+     * Product -> ProductCatalogItem 변환 (정가/할인가 모두 계산)
+     */
+    private ProductCatalogItem toItem(Product product) {
+        return ProductCatalogItem.builder()
+                .id(product.getId())
+                .name(product.getName())
+                .description(product.getDescription())
+                .originalPrice(product.getOriginalPrice())
+                .salePrice(product.getDiscountedPrice())
+                .discountRate(product.getDiscountRate())
+                .imageUrl(product.getImageUrl())
+                .category(product.getCategory())
+                .build();
+    }
+}
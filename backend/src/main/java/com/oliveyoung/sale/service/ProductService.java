@@ -1,88 +1,141 @@
 package com.oliveyoung.sale.service;
 
-import com.oliveyoung.sale.domain.Product;
+import com.oliveyoung.sale.dto.CatalogChangesResponse;
+import com.oliveyoung.sale.dto.ProductCatalogItem;
+import com.oliveyoung.sale.dto.ProductCatalogPage;
+import com.oliveyoung.sale.dto.ProductPageResponse;
 import com.oliveyoung.sale.dto.ProductResponse;
-import com.oliveyoung.sale.repository.ProductRepository;
 import lombok.RequiredArgsConstructor;
-import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 
 /**
  * 상품 서비스
  *
+ * [조회 흐름]
+ * 카탈로그(ProductCatalogService, L1/L2 캐시) + 재고(ProductStockView, Pod 메모리)
+ *   + 세일 플래그(요청당 1회 조회) → 응답 시점에 ProductResponse로 합침
+ *
  * [면접 포인트]
  * Q: "Aurora Reader/Writer 분리는 어떻게 활용했나요?"
- * A: @Transactional(readOnly = true)가 붙은 메서드는
- *    Spring의 DataSource 라우팅으로 Reader 인스턴스로 연결됩니다.
+ * A: 카탈로그 캐시 미스 로딩은 Repository의 읽기 전용 트랜잭션으로 실행되고,
+ *    app.datasource.routing.enabled=true이면 ReadWriteRoutingDataSource가
+ *    이를 Reader 풀로 보냅니다. (복제 지연이 크면 Writer로 폴백, DataSourceConfig)
  *
- *    구현 방법:
- *    1) AbstractRoutingDataSource 확장
- *    2) AWS RDS Proxy 사용 (connection pooling + read/write 분리)
- *    3) Spring Cloud AWS 라이브러리 활용
+ * Q: "상품 목록에 재고가 있는데 구매마다 캐시를 지우지 않나요?"
+ * A: 재고는 캐시에 넣지 않습니다. 카탈로그는 오래 캐시하고
+ *    재고는 상품별 숫자만 Pod 메모리에서 갱신해 합치므로 구매가 캐시 히트율에 영향을 주지 않습니다.
  *
- *    이 MVP에서는 단일 DataSource지만, 프로덕션 확장 시
- *    설정만 추가하면 분리 가능한 구조입니다.
+ * Q: "세일 시작/종료 때 캐시는 어떻게 하나요?"
+ * A: 아무것도 하지 않습니다. 카탈로그에 정가와 할인가를 모두 담아두고
+ *    요청마다 현재 세일 상태(SaleState: 전체 세일 + 카테고리/상품 캠페인)로 상품별 가격을 고릅니다.
+ *    전환은 플래그 하나만 바꾸는 O(1) 작업이고, 캐시된 값이 플래그와 어긋날 일도 없습니다.
  */
 @Service
 @RequiredArgsConstructor
-@Transactional(readOnly = true)
 public class ProductService {
 
-    private final ProductRepository productRepository;
+    static final int DEFAULT_PAGE_SIZE = 20;
+    static final int MAX_PAGE_SIZE = 100;
+
+    private final ProductCatalogService productCatalogService;
+    private final ProductStockView productStockView;
     private final SaleStateService saleStateService;
+    private final CatalogChangeLog catalogChangeLog;
 
     /**
-     * 전체 상품 목록 조회 (ElastiCache 캐시 적용)
-     *
-     * [캐시 전략]
-     * - 캐시 키: products::all
-     * - TTL: 60초 (CacheConfig에서 설정)
-     * - Cache Hit: Redis에서 즉시 반환 (< 1ms)
-     * - Cache Miss: DB 조회 → Redis 저장 → 반환
-     *
-     * [무효화 시점]
-     * - 세일 시작/종료 시 (가격 변동) → SaleStateService에서 @CacheEvict
-     * - 재고 변경 시 → decreaseStock()에서 @CacheEvict
+     * 전체 상품 목록 조회 (캐시된 카탈로그 + 현재 재고 + 현재 세일 상태)
      */
-    @Cacheable(value = "products", key = "'all'")
     public List<ProductResponse> getAllProducts() {
-        boolean isSaleActive = saleStateService.isSaleActive();
-        return productRepository.findAll().stream()
-                .map(product -> toResponse(product, isSaleActive))
+        return getAllProducts(saleStateService.current());
+    }
+
+    /**
+     * 전체 상품 목록 조회 (세일 상태를 호출 측에서 이미 읽은 경우, 예: 응답 캐시 키와 일치시킬 때)
+     */
+    public List<ProductResponse> getAllProducts(SaleState sale) {
+        return productCatalogService.getCatalog().stream()
+                .map(item -> toResponse(item, productStockView.stockOf(item.id()), sale))
                 .toList();
     }
 
     /**
-     * 상품 상세 조회 (ElastiCache 캐시 적용)
+     * 페이지 크기 정규화 (null이면 기본값, 최대 100으로 제한, 1 미만은 400)
+     * (응답 캐시 키도 같은 값으로 만들어 limit=500과 limit=100이 같은 캐시를 쓰도록 공개)
      */
-    @Cacheable(value = "product", key = "#id")
-    public ProductResponse getProduct(Long id) {
-        Product product = productRepository.findById(id)
-                .orElseThrow(() -> new IllegalArgumentException("상품을 찾을 수 없습니다: " + id));
+    public static int pageSize(Integer limit) {
+        int size = limit != null ? limit : DEFAULT_PAGE_SIZE;
+        if (size < 1) {
+            throw new IllegalArgumentException("limit은 1 이상이어야 합니다.");
+        }
+        return Math.min(size, MAX_PAGE_SIZE);
+    }
+
+    /**
+     * 상품 목록 페이지 조회 (카테고리 필터 + 키셋 커서)
+     *
+     * @param category 카테고리 (null이면 전체)
+     * @param after    이전 페이지의 nextCursor (null이면 첫 페이지)
+     * @param limit    페이지 크기 (null이면 기본값, 100을 넘으면 100으로 제한)
+     */
+    public ProductPageResponse getProductPage(String category, Long after, Integer limit, SaleState sale) {
+        int size = pageSize(limit);
+        if (after != null && after < 0) {
+            throw new IllegalArgumentException("after는 0 이상이어야 합니다.");
+        }
+        String normalizedCategory = category == null || category.isBlank() ? null : category;
+
+        ProductCatalogPage page = productCatalogService.getCatalogPage(normalizedCategory, after, size);
+        List<ProductResponse> items = page.items().stream()
+                .map(item -> toResponse(item, productStockView.stockOf(item.id()), sale))
+                .toList();
+        return new ProductPageResponse(items, page.nextCursor());
+    }
+
+    /**
+     * since 이후 바뀐 상품만 조회 (변경 로그로 알 수 없으면 전체 스냅샷)
+     *
+     * 버전을 먼저 읽고 상품을 조회하므로, 조회 도중 생긴 변경은 다음 요청에 다시 포함됩니다.
+     * (중복 전달은 있어도 누락은 없음)
+     */
+    public CatalogChangesResponse getChangesSince(Long since, SaleState sale) {
+        long version = catalogChangeLog.latest();
+        Optional<Set<Long>> changed = since != null ? catalogChangeLog.changedSince(since) : Optional.empty();
+        if (changed.isEmpty()) {
+            return new CatalogChangesResponse(version, true, getAllProducts(sale));
+        }
 
-        boolean isSaleActive = saleStateService.isSaleActive();
-        return toResponse(product, isSaleActive);
+        List<ProductResponse> products = new ArrayList<>();
+        for (Long productId : changed.get()) {
+            try {
+                products.add(getProduct(productId, sale));
+            } catch (IllegalArgumentException e) {
+                // 삭제된 상품은 건너뜀 (삭제는 전체 변경으로 기록됨)
+            }
+        }
+        return new CatalogChangesResponse(version, false, products);
     }
 
     /**
-     * 재고 차감 (비관적 락 사용 + 캐시 무효화)
+     * 상품 상세 조회 (캐시된 카탈로그 + 현재 재고 + 현재 세일 상태)
      */
-    @Transactional
-    @CacheEvict(value = {"products", "product"}, allEntries = true)
-    public void decreaseStock(Long productId, int quantity) {
-        Product product = productRepository.findByIdWithLock(productId)
-                .orElseThrow(() -> new IllegalArgumentException("상품을 찾을 수 없습니다: " + productId));
+    public ProductResponse getProduct(Long id) {
+        return getProduct(id, saleStateService.current());
+    }
 
-        product.decreaseStock(quantity);
-        // JPA 변경 감지로 자동 UPDATE
+    public ProductResponse getProduct(Long id, SaleState sale) {
+        ProductCatalogItem item = productCatalogService.getCatalogItem(id);
+        return toResponse(item, productStockView.stockOf(id), sale);
     }
 
     /**
-     * Product -> ProductResponse 변환
+     * 카탈로그 + 재고 + 세일 상태 → ProductResponse
+     *
+     * 재고 뷰가 아직 모르는 새 상품은 stock이 null(알 수 없음)입니다. (품절로 표시하지 않음)
      *
      * [면접 포인트]
      * Q: "세일 상태에 따라 가격이 다른데, 프론트에서 처리하면 안 되나요?"
@@ -90,17 +143,18 @@ public class ProductService {
      *    가격 계산은 반드시 서버에서 수행하고,
      *    결제 시에도 서버에서 다시 계산해서 검증해야 합니다.
      */
-    private ProductResponse toResponse(Product product, boolean isSaleActive) {
+    private ProductResponse toResponse(ProductCatalogItem item, Integer stock, SaleState sale) {
+        boolean isSaleActive = sale.appliesTo(item.id(), item.category());
         return ProductResponse.builder()
-                .id(product.getId())
-                .name(product.getName())
-                .description(product.getDescription())
-                .originalPrice(product.getOriginalPrice())
-                .discountedPrice(isSaleActive ? product.getDiscountedPrice() : product.getOriginalPrice())
-                .discountRate(isSaleActive ? product.getDiscountRate() : 0)
-                .stock(product.getStock())
-                .imageUrl(product.getImageUrl())
-                .category(product.getCategory())
+                .id(item.id())
+                .name(item.name())
+                .description(item.description())
+                .originalPrice(item.originalPrice())
+                .discountedPrice(isSaleActive ? item.salePrice() : item.originalPrice())
+                .discountRate(isSaleActive ? item.discountRate() : 0)
+                .stock(stock)
+                .imageUrl(item.imageUrl())
+                .category(item.category())
                 .isSaleActive(isSaleActive)
                 .build();
     }
@@ -0,0 +1,218 @@
+package com.oliveyoung.sale.service;
+
+import com.oliveyoung.sale.dto.ProductStockSnapshot;
+import com.oliveyoung.sale.repository.ProductRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 상품 재고 뷰 (Pod 로컬 Map + Redis Pub/Sub 동기화)
+ *
+ * [흐름]
+ * 구매 커밋 → update(productId, 남은 재고)
+ *   → 로컬 Map 갱신
+ *   → 변경 로그 기록 (CatalogChangeLog, 재고를 변경 이벤트에 실어 발행)
+ *   → 모든 Pod: 재고 반영(StockChangedEvent) 후 순번 추가
+ *   (변경 로그 기록에 실패하면 Redis PUBLISH product:stock:events로 재고만 브로드캐스트)
+ * 응답 시점: 카탈로그 캐시(재고 제외) + 재고 뷰 → ProductResponse
+ *
+ * [면접 포인트]
+ * Q: "구매할 때마다 상품 목록 캐시를 지우면 세일 중 캐시 히트율이 0에 가깝지 않나요?"
+ * A: 자주 바뀌는 재고를 카탈로그(이름/가격/이미지)에서 분리했습니다.
+ *    카탈로그는 오래 캐시하고, 재고는 상품별 숫자 하나만 갱신해 응답 시점에 합칩니다.
+ *    구매는 카탈로그 캐시를 건드리지 않습니다.
+ *
+ * Q: "Pod마다 재고 표시가 다를 수 있지 않나요?"
+ * A: 표시용 재고는 잠깐 어긋나도 됩니다. 실제 차감은 DB 비관적 락이 보장합니다.
+ *    세일 중 재고는 줄어들기만 하므로 늦게 도착한 이벤트가 더 큰 값으로 덮어쓰지 않도록
+ *    작은 값만 반영하고, 주기적으로 DB 값과 맞춥니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ProductStockView implements MessageListener {
+
+    public static final String STOCK_CHANNEL = "product:stock:events";
+
+    private final ProductRepository productRepository;
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final CatalogChangeLog catalogChangeLog;
+
+    private final Map<Long, Integer> stocks = new ConcurrentHashMap<>();
+    /** 상품별 (ID, 재고 구간) 해시의 XOR (상품 하나가 바뀌면 그 상품 몫만 빼고 더함) */
+    private final AtomicLong listFingerprint = new AtomicLong();
+
+    @PostConstruct
+    public void init() {
+        listenerContainer.addMessageListener(this, new ChannelTopic(STOCK_CHANNEL));
+        reconcile();
+    }
+
+    /**
+     * 상품 재고 (로컬 메모리 조회만, 요청 스레드에서 DB를 조회하지 않음)
+     *
+     * 아직 모르는 상품(새로 추가된 직후)은 null(알 수 없음)로 응답합니다.
+     * 0으로 응답하면 다음 재동기화(최대 5초)까지 품절로 보여 구매 버튼이 막히기 때문입니다.
+     * 실제 재고 확인은 구매 시 DB 비관적 락이 합니다.
+     */
+    public Integer stockOf(Long productId) {
+        return stocks.get(productId);
+    }
+
+    /**
+     * 목록 응답용 재고 상태 식별값 (응답 바이트 캐시 키/ETag용)
+     *
+     * 구매마다 바뀌면 목록 캐시가 매번 새로 만들어지므로, 재고를 구간(0, 1, 2~3, 4~7, ...)으로 묶어
+     * 구간이 바뀔 때만 달라집니다. 품절(0)은 항상 정확히 반영됩니다.
+     * 목록 본문의 재고 숫자는 같은 구간 안에서 이전 값일 수 있습니다. (정확한 재고는 상세/변경분 API)
+     */
+    public long listFingerprint() {
+        return listFingerprint.get();
+    }
+
+    /**
+     * 재고 구간 (0 → 0, 1 → 1, 2~3 → 2, 4~7 → 3, ...)
+     */
+    static int stockBucket(int stock) {
+        return stock <= 0 ? 0 : 32 - Integer.numberOfLeadingZeros(stock);
+    }
+
+    /**
+     * 구매 커밋 후 남은 재고 반영 + 변경 로그 기록 (재고를 변경 이벤트에 실어 전체 Pod에 전달)
+     *
+     * 재고와 순번을 다른 채널로 보내면 다른 Pod에서 순번이 먼저 반영될 수 있습니다.
+     * 그 순번으로 /changes를 조회한 클라이언트는 이전 재고를 받고, 다음 조회부터는
+     * since가 이미 그 순번이라 새 재고를 다시 받지 못합니다. 그래서 한 메시지로 보냅니다.
+     */
+    public void update(Long productId, int stock) {
+        apply(productId, stock);
+        if (catalogChangeLog.recordProduct(productId, stock)) {
+            return;
+        }
+        try {
+            redisTemplate.convertAndSend(STOCK_CHANNEL, productId + ":" + stock);
+        } catch (Exception e) {
+            // 다른 Pod는 다음 재동기화 때 반영
+            log.warn("재고 브로드캐스트 실패 - productId: {}, reason: {}", productId, e.getMessage());
+        }
+    }
+
+    /**
+     * 변경 로그로 수신한 재고 반영 (CatalogChangeLog가 순번을 버퍼에 넣기 전에 같은 스레드에서 호출)
+     */
+    @EventListener
+    public void onStockChanged(StockChangedEvent event) {
+        apply(event.productId(), event.stock());
+    }
+
+    /**
+     * 변경 로그 기록에 실패했을 때의 재고 이벤트 수신 (형식: "productId:stock")
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        Object value = redisTemplate.getValueSerializer().deserialize(message.getBody());
+        String[] event = String.valueOf(value).split(":");
+        if (event.length != 2) {
+            return;
+        }
+        try {
+            apply(Long.valueOf(event[0]), Integer.parseInt(event[1]));
+        } catch (NumberFormatException e) {
+            log.debug("잘못된 재고 이벤트 무시 - {}", value);
+        }
+    }
+
+    /**
+     * DB 기준 재동기화 (Pub/Sub 유실, 신규 Pod, 초기 데이터 재생성 대비)
+     */
+    @Scheduled(fixedDelay = 5000)
+    public void reconcile() {
+        List<ProductStockSnapshot> snapshots;
+        try {
+            snapshots = productRepository.findAllStocks();
+        } catch (Exception e) {
+            log.warn("재고 뷰 동기화 실패, 로컬 상태 유지: {}", e.getMessage());
+            return;
+        }
+        Map<Long, Integer> latest = new HashMap<>();
+        for (ProductStockSnapshot snapshot : snapshots) {
+            latest.put(snapshot.id(), snapshot.stock());
+        }
+        replaceAll(latest);
+    }
+
+    private void replaceAll(Map<Long, Integer> latest) {
+        latest.forEach((productId, stock) -> stocks.compute(productId, (id, previous) -> {
+            changeFingerprint(id, previous, stock);
+            return stock;
+        }));
+        for (Long productId : stocks.keySet()) {
+            if (!latest.containsKey(productId)) {
+                stocks.computeIfPresent(productId, (id, previous) -> {
+                    changeFingerprint(id, previous, null);
+                    return null;
+                });
+            }
+        }
+    }
+
+    /**
+     * 재고는 구매로 줄어들기만 하므로 작은 값만 반영 (순서가 뒤바뀐 이벤트 무시)
+     */
+    private void apply(Long productId, int stock) {
+        stocks.compute(productId, (id, previous) -> {
+            int next = previous != null ? Math.min(previous, stock) : stock;
+            changeFingerprint(id, previous, next);
+            return next;
+        });
+    }
+
+    /**
+     * 식별값 증분 갱신 (상품별 compute 안에서 호출, 전체 Map을 다시 훑지 않음)
+     *
+     * 상품별 해시를 XOR로 합치므로 순서와 무관하게 같은 내용이면 Pod가 달라도 같은 값이 됩니다.
+     * 같은 상품의 변경은 compute로 직렬화되고, XOR은 교환법칙이 성립해 다른 상품끼리는 순서가 상관없습니다.
+     */
+    private void changeFingerprint(Long productId, Integer previous, Integer next) {
+        long delta = 0;
+        if (previous != null) {
+            delta ^= contribution(productId, stockBucket(previous));
+        }
+        if (next != null) {
+            delta ^= contribution(productId, stockBucket(next));
+        }
+        if (delta != 0) {
+            long change = delta;
+            listFingerprint.getAndUpdate(current -> current ^ change);
+        }
+    }
+
+    private static long contribution(Long productId, int bucket) {
+        return mix(mix(productId) ^ bucket);
+    }
+
+    /**
+     * SplitMix64 finalizer
+     */
+    private static long mix(long value) {
+        value = (value ^ (value >>> 30)) * 0xbf58476d1ce4e5b9L;
+        value = (value ^ (value >>> 27)) * 0x94d049bb133111ebL;
+        return value ^ (value >>> 31);
+    }
+}
@@ -0,0 +1,73 @@
+package com.oliveyoung.sale.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.oliveyoung.sale.dto.PurchaseResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+
+/**
+ * 구매 결과 캐시 (멱등성 보장용)
+ *
+ * [흐름]
+ * 재시도 요청 → 로컬(Caffeine) 조회 → Redis 조회 → 있으면 트랜잭션 없이 원래 응답 반환
+ *
+ * [면접 포인트]
+ * Q: "타임아웃 후 클라이언트가 재시도하면 주문이 두 번 생기지 않나요?"
+ * A: 대기열 토큰(또는 Idempotency-Key 헤더)을 멱등 키로 사용합니다.
+ *    1) 캐시에 결과가 있으면 DB 락 없이 같은 응답을 반환하고,
+ *    2) 캐시가 유실돼도 purchase_orders의 유니크 제약이 중복 주문을 막습니다.
+ *    캐시는 빠른 경로, 유니크 제약은 최종 방어선입니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PurchaseIdempotencyStore {
+
+    private static final String RESULT_KEY_PREFIX = "purchase:result:";
+    private static final Duration RESULT_TTL = Duration.ofMinutes(10);
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final Cache<String, PurchaseResponse> localResults = Caffeine.newBuilder()
+            .maximumSize(10_000)
+            .expireAfterWrite(RESULT_TTL)
+            .build();
+
+    /**
+     * 이전 구매 결과 조회 (없으면 null)
+     */
+    public PurchaseResponse find(String idempotencyKey) {
+        PurchaseResponse local = localResults.getIfPresent(idempotencyKey);
+        if (local != null) {
+            return local;
+        }
+
+        try {
+            Object cached = redisTemplate.opsForValue().get(RESULT_KEY_PREFIX + idempotencyKey);
+            if (cached instanceof PurchaseResponse response) {
+                localResults.put(idempotencyKey, response);
+                return response;
+            }
+        } catch (Exception e) {
+            // Redis 장애 시 DB 유니크 제약으로 중복 방지
+            log.warn("구매 결과 캐시 조회 실패 - key: {}, reason: {}", idempotencyKey, e.getMessage());
+        }
+        return null;
+    }
+
+    /**
+     * 구매 결과 저장 (로컬 + Redis)
+     */
+    public void remember(String idempotencyKey, PurchaseResponse response) {
+        localResults.put(idempotencyKey, response);
+        try {
+            redisTemplate.opsForValue().set(RESULT_KEY_PREFIX + idempotencyKey, response, RESULT_TTL);
+        } catch (Exception e) {
+            log.warn("구매 결과 캐시 저장 실패 - key: {}, reason: {}", idempotencyKey, e.getMessage());
+        }
+    }
+}
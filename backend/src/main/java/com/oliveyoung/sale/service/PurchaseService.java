@@ -1,17 +1,35 @@
 package com.oliveyoung.sale.service;
 
+import com.oliveyoung.sale.bulkhead.Bulkheads;
+import com.oliveyoung.sale.domain.OrderOutbox;
 import com.oliveyoung.sale.domain.Product;
 import com.oliveyoung.sale.domain.PurchaseOrder;
+import com.oliveyoung.sale.dto.ProductPriceSnapshot;
 import com.oliveyoung.sale.dto.PurchaseRequest;
 import com.oliveyoung.sale.dto.PurchaseResponse;
+import com.oliveyoung.sale.repository.OrderOutboxRepository;
 import com.oliveyoung.sale.repository.ProductRepository;
 import com.oliveyoung.sale.repository.PurchaseOrderRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
 
 /**
  * 구매 서비스
@@ -24,76 +42,343 @@ import java.math.BigDecimal;
  *
  *    대기열이 없으면 모든 요청이 DB로 몰려 락 경합 발생,
  *    응답 시간 급증, 타임아웃, 데드락 위험이 있습니다.
+ *
+ * [비동기 주문 모드] (app.purchase.async-enabled=true)
+ * 요청 경로: 재고 예약(락 + 차감) + Outbox 기록 → orderRef 반환 (PENDING)
+ * 비동기 경로: OrderOutboxRelay → Kafka → OrderEventConsumer
+ *              (주문 저장, 대기열 처리 완료, 예약 정산, 결과 캐시 갱신)
  */
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class PurchaseService {
 
+    static final String LOCK_HOLD_METRIC = "purchase.lock.hold";
+
+    /** Idempotency-Key 헤더 형식 (UUID, ULID 등) */
+    private static final Pattern IDEMPOTENCY_KEY_PATTERN = Pattern.compile("[A-Za-z0-9._:-]{1,64}");
+    /** 이보다 긴 멱등 키(세션 ID가 긴 경우)는 SHA-256으로 줄여 저장 (idempotency_key 컬럼 varchar(255)) */
+    private static final int MAX_RAW_KEY_LENGTH = 128;
+
     private final ProductRepository productRepository;
     private final PurchaseOrderRepository orderRepository;
-    private final ProductService productService;
+    private final OrderOutboxRepository outboxRepository;
+    private final ProductStockView productStockView;
     private final QueueService queueService;
     private final SaleStateService saleStateService;
+    private final SoldOutRegistry soldOutRegistry;
+    private final PurchaseIdempotencyStore idempotencyStore;
+    private final OrderHistoryCache orderHistoryCache;
+    private final TransactionOperations transactionOperations;
+    private final MeterRegistry meterRegistry;
+    private final Bulkheads bulkheads;
+
+    @Value("${app.purchase.async-enabled:false}")
+    private boolean asyncEnabled;
 
     /**
      * 구매 처리
      *
      * [면접 포인트]
      * Q: "결제 실패하면 재고는 어떻게 되나요?"
-     * A: @Transactional로 전체 롤백됩니다.
+     * A: 트랜잭션(TransactionOperations)으로 전체 롤백됩니다.
      *    재고 차감 -> 주문 생성 -> (결제 연동) 순서에서
      *    중간에 실패하면 모든 변경이 취소됩니다.
      *
      *    실제 결제 연동 시에는 보상 트랜잭션(Saga 패턴)이나
      *    2PC를 고려해야 하지만, 시연용 MVP에서는 생략합니다.
+     *
+     * Q: "같은 구매 요청이 두 번 오면?"
+     * A: 멱등 키로 이전 결과를 먼저 조회해 트랜잭션 없이 반환합니다.
+     *    동시에 들어온 중복 요청은 유니크 제약 위반으로 롤백되고,
+     *    먼저 커밋된 주문을 응답으로 돌려줍니다.
+     *
+     * @param idempotencyKey Idempotency-Key 헤더 (없으면 대기열 토큰 사용)
+     * @throws IllegalArgumentException Idempotency-Key 형식 오류 (400)
      */
-    @Transactional
-    public PurchaseResponse purchase(String sessionId, String token, PurchaseRequest request) {
+    public PurchaseResponse purchase(String sessionId, String token, PurchaseRequest request, String idempotencyKey) {
+        String key = idempotencyKey(sessionId, idempotencyKey, token);
+
+        // 0. 이전 결과가 있으면 트랜잭션 없이 반환 (재시도 요청)
+        PurchaseResponse previous = idempotencyStore.find(key);
+        if (previous != null) {
+            log.info("중복 구매 요청 - 이전 결과 반환. key: {}, orderId: {}", key, previous.orderId());
+            return previous;
+        }
+
+        // 품절 상품은 DB 락 획득 전에 즉시 거절
+        soldOutRegistry.checkAvailable(request.productId());
+
         Long productId = request.productId();
         int quantity = request.quantity();
 
-        // 1. 대기열 상태 확인 (구매 가능 여부)
+        // 1. 대기열 상태 확인 (락 획득 전)
         QueueService.QueueStatus queueStatus = queueService.getQueueStatus(sessionId, token, productId);
         if (!queueStatus.canPurchase()) {
-            throw new IllegalStateException("아직 구매할 수 없습니다. 대기열 순번: " + queueStatus.position());
+            // 결과 캐시가 유실된 재시도일 수 있으므로 기존 주문 확인 (DB 조회라 purchase 벌크헤드 안에서)
+            PurchaseResponse existing = bulkheads.purchase().execute(() -> findExisting(key))
+                    .orElseThrow(() -> new IllegalStateException(
+                            "아직 구매할 수 없습니다. 대기열 순번: " + queueStatus.position()));
+            idempotencyStore.remember(key, existing);
+            return existing;
+        }
+
+        // 2~3. DB 구간은 purchase 벌크헤드 안에서만 실행 (포화 시 즉시 503 + Retry-After)
+        PurchaseResponse response = bulkheads.purchase().execute(() ->
+                purchaseWithLock(sessionId, token, productId, quantity, key));
+
+        idempotencyStore.remember(key, response);
+        return response;
+    }
+
+    /**
+     * 멱등 키 생성 (sessionId + Idempotency-Key 또는 대기열 토큰)
+     *
+     * 헤더는 클라이언트가 임의로 보내므로 형식을 검사해 400으로 거절합니다. (DB 컬럼 길이 초과로 500이 되지 않도록)
+     * 세션 ID도 헤더라 길 수 있으므로, 합친 키가 길면 SHA-256 해시로 저장합니다.
+     */
+    static String idempotencyKey(String sessionId, String idempotencyKey, String token) {
+        String suffix = token;
+        if (idempotencyKey != null && !idempotencyKey.isBlank()) {
+            if (!IDEMPOTENCY_KEY_PATTERN.matcher(idempotencyKey).matches()) {
+                throw new IllegalArgumentException("Idempotency-Key는 영문/숫자/._:- 로 된 64자 이하여야 합니다.");
+            }
+            suffix = idempotencyKey;
+        }
+        String key = sessionId + ":" + suffix;
+        if (key.length() <= MAX_RAW_KEY_LENGTH) {
+            return key;
+        }
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(key.getBytes(StandardCharsets.UTF_8));
+            return "sha256:" + HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * 가격 계산 + 락 구간 (DB를 쓰는 부분)
+     */
+    private PurchaseResponse purchaseWithLock(String sessionId, String token, Long productId,
+                                              int quantity, String key) {
+        // 2. 최종 가격 계산 (락 획득 전, 서버에서 재계산 - 보안)
+        ProductPriceSnapshot snapshot = productRepository.findPriceSnapshotById(productId)
+                .orElseThrow(() -> new IllegalArgumentException("상품을 찾을 수 없습니다."));
+        boolean isSaleActive = saleStateService.isOnSale(productId, snapshot.category());
+        BigDecimal totalPrice = snapshot.unitPrice(isSaleActive).multiply(BigDecimal.valueOf(quantity));
+
+        // 3. 락 구간: 재고 차감 + 주문(또는 Outbox) 저장만 수행
+        PurchaseResponse response;
+        try {
+            response = transactionOperations.execute(status ->
+                    purchaseInTransaction(sessionId, token, productId, quantity, totalPrice, key));
+        } catch (DataIntegrityViolationException e) {
+            // 동시에 들어온 중복 요청: 먼저 커밋된 주문으로 응답
+            // 비동기 모드에서는 같은 토큰에 다른 멱등 키로 온 요청도 여기로 옴 (session_id, token 유니크 제약)
+            response = findExisting(key)
+                    .or(() -> findReserved(sessionId, token))
+                    .orElseThrow(() -> e);
+            log.info("중복 구매 요청 (동시) - 기존 주문 반환. key: {}, orderRef: {}", key, response.orderRef());
         }
+        return response;
+    }
+
+    /**
+     * 구매 처리 (대기열 토큰을 멱등 키로 사용)
+     */
+    public PurchaseResponse purchase(String sessionId, String token, PurchaseRequest request) {
+        return purchase(sessionId, token, request, null);
+    }
 
-        // 2. 상품 조회 (비관적 락)
+    /**
+     * 락 구간 (비관적 락 획득 ~ 커밋)
+     *
+     * [면접 포인트]
+     * Q: "락을 잡고 있는 시간을 어떻게 줄였나요?"
+     * A: 락 구간에서 Redis 왕복을 모두 뺐습니다.
+     *    세일 상태/가격/대기열 검증은 락 전에, 대기열 정리는 커밋 후에 수행합니다.
+     *    락 구간에는 SELECT FOR UPDATE, UPDATE, INSERT만 남으므로
+     *    같은 상품을 기다리는 다음 구매자의 대기 시간이 줄어듭니다.
+     *    purchase.lock.hold 타이머로 락 보유 시간을 측정합니다.
+     */
+    private PurchaseResponse purchaseInTransaction(String sessionId, String token, Long productId,
+                                                   int quantity, BigDecimal totalPrice, String key) {
+        // 4. 상품 조회 (비관적 락)
         Product product = productRepository.findByIdWithLock(productId)
                 .orElseThrow(() -> new IllegalArgumentException("상품을 찾을 수 없습니다."));
+        long lockedAt = System.nanoTime();
+        afterCompletion(() -> Timer.builder(LOCK_HOLD_METRIC)
+                .description("구매 시 상품 행 락 보유 시간 (획득 ~ 커밋/롤백)")
+                .register(meterRegistry)
+                .record(System.nanoTime() - lockedAt, TimeUnit.NANOSECONDS));
 
-        // 3. 재고 확인 및 차감
+        // 5. 재고 확인 및 차감
         product.decreaseStock(quantity);
 
-        // 4. 최종 가격 계산 (서버에서 재계산 - 보안)
-        boolean isSaleActive = saleStateService.isSaleActive();
-        BigDecimal unitPrice = isSaleActive ? product.getDiscountedPrice() : product.getOriginalPrice();
-        BigDecimal totalPrice = unitPrice.multiply(BigDecimal.valueOf(quantity));
+        // 카탈로그 캐시는 그대로 두고 재고 뷰만 갱신
+        int remaining = product.getStock();
+        afterCommit(() -> productStockView.update(productId, remaining));
+        if (remaining == 0) {
+            afterCommit(() -> broadcastSoldOut(productId));
+        }
 
-        // 5. 주문 생성
+        // 비동기 모드: 재고 예약 + Outbox 기록만 하고 즉시 응답
+        if (asyncEnabled) {
+            return reserveOrder(sessionId, token, product, quantity, totalPrice, key);
+        }
+
+        // 6. 주문 생성
         PurchaseOrder order = PurchaseOrder.builder()
                 .sessionId(sessionId)
                 .product(product)
                 .quantity(quantity)
                 .totalPrice(totalPrice)
                 .status(PurchaseOrder.OrderStatus.COMPLETED)
+                .idempotencyKey(key)
                 .build();
 
         PurchaseOrder savedOrder = orderRepository.save(order);
 
-        // 6. 대기열에서 제거
-        queueService.completeProcessing(sessionId, token, productId);
+        // 7. 커밋 후 대기열에서 제거 + 이 세션의 주문 내역 캐시 삭제
+        afterCommit(() -> completeQueue(sessionId, token, productId, quantity));
+        afterCommit(() -> orderHistoryCache.evict(sessionId));
 
         log.info("구매 완료 - orderId: {}, productId: {}, quantity: {}, totalPrice: {}",
                 savedOrder.getId(), productId, quantity, totalPrice);
 
+        return toResponse(savedOrder);
+    }
+
+    /**
+     * 재고 예약 + Outbox 기록 (비동기 주문 모드)
+     *
+     * Outbox 행은 재고 차감과 같은 트랜잭션에 저장되므로
+     * 예약이 커밋되면 주문 이벤트도 반드시 발행됩니다.
+     */
+    private PurchaseResponse reserveOrder(String sessionId, String token, Product product,
+                                          int quantity, BigDecimal totalPrice, String key) {
+        OrderOutbox outbox = outboxRepository.save(OrderOutbox.builder()
+                .orderRef(UUID.randomUUID().toString())
+                .sessionId(sessionId)
+                .token(token)
+                .productId(product.getId())
+                .productName(product.getName())
+                .quantity(quantity)
+                .totalPrice(totalPrice)
+                .idempotencyKey(key)
+                .build());
+
+        log.info("주문 접수 (비동기) - orderRef: {}, productId: {}, quantity: {}",
+                outbox.getOrderRef(), product.getId(), quantity);
+
+        return toPendingResponse(outbox);
+    }
+
+    /**
+     * 멱등 키로 기존 주문 조회 (저장된 주문 → 접수만 된 Outbox 순)
+     *
+     * 보관 파일은 보지 않습니다. 재시도 구간(결과 캐시 10분)의 주문은 보관 기준(최소 1개월 전)보다
+     * 항상 최근이라 hot 테이블에 있습니다. (OrderArchiver.MIN_HOT_MONTHS)
+     */
+    private Optional<PurchaseResponse> findExisting(String key) {
+        return orderRepository.findByIdempotencyKey(key)
+                .map(this::toResponse)
+                .or(() -> outboxRepository.findByIdempotencyKey(key).map(this::toPendingResponse));
+    }
+
+    /**
+     * 같은 대기열 입장으로 이미 접수된 주문 조회 (비동기 모드)
+     *
+     * 입장은 Consumer가 주문을 저장할 때 소비되므로, 그 전에 다른 Idempotency-Key로 온 요청은
+     * 대기열 검증을 통과해 Outbox 저장에서 유니크 제약에 걸립니다. 이때 먼저 접수된 주문으로 응답합니다.
+     */
+    private Optional<PurchaseResponse> findReserved(String sessionId, String token) {
+        if (!asyncEnabled) {
+            return Optional.empty();
+        }
+        return outboxRepository.findBySessionIdAndToken(sessionId, token).map(this::toPendingResponse);
+    }
+
+    /**
+     * 대기열 처리 완료 + 예약 정산 (커밋 후 실행)
+     */
+    private void completeQueue(String sessionId, String token, Long productId, int quantity) {
+        try {
+            queueService.completeProcessing(sessionId, token, productId);
+            queueService.settleReservation(productId, quantity);
+        } catch (Exception e) {
+            // 주문은 이미 커밋됨. 남은 입장 기록은 입장 만료 시 정리
+            log.warn("대기열 정리 실패 - sessionId: {}, productId: {}, reason: {}", sessionId, productId, e.getMessage());
+        }
+    }
+
+    /**
+     * 마지막 재고였다면 품절 브로드캐스트 + 대기열 정리 (커밋 후 실행)
+     */
+    private void broadcastSoldOut(Long productId) {
+        soldOutRegistry.markSoldOut(productId);
+        try {
+            queueService.drainSoldOut(productId);
+        } catch (Exception e) {
+            // 남은 대기자는 processQueue가 순서대로 제거
+            log.warn("품절 대기열 정리 실패 - productId: {}, reason: {}", productId, e.getMessage());
+        }
+    }
+
+    private PurchaseResponse toResponse(PurchaseOrder order) {
+        return new PurchaseResponse(
+                order.getId(),
+                order.getProduct().getName(),
+                order.getQuantity(),
+                order.getTotalPrice(),
+                "구매가 완료되었습니다!",
+                order.getOrderRef(),
+                PurchaseResponse.COMPLETED
+        );
+    }
+
+    private PurchaseResponse toPendingResponse(OrderOutbox outbox) {
         return new PurchaseResponse(
-                savedOrder.getId(),
-                product.getName(),
-                quantity,
-                totalPrice,
-                "구매가 완료되었습니다!"
+                null,
+                outbox.getProductName(),
+                outbox.getQuantity(),
+                outbox.getTotalPrice(),
+                "주문이 접수되었습니다. 잠시 후 주문 번호가 확정됩니다.",
+                outbox.getOrderRef(),
+                PurchaseResponse.PENDING
         );
     }
+
+    /**
+     * 트랜잭션 종료 후 실행 (커밋/롤백 모두)
+     */
+    private void afterCompletion(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                action.run();
+            }
+        });
+    }
+
+    /**
+     * 트랜잭션 커밋 후 실행 (롤백되면 실행하지 않음)
+     */
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
 }
@@ -1,13 +1,25 @@
 package com.oliveyoung.sale.service;
 
+import com.oliveyoung.sale.domain.Product;
 import com.oliveyoung.sale.dto.QueueEntryMessage;
+import com.oliveyoung.sale.repository.ProductRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.Cursor;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
 import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.GenericToStringSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Set;
 import java.util.UUID;
 
@@ -33,13 +45,54 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class QueueService {
 
-    private static final String QUEUE_KEY = "purchase:queue";
-    private static final String PROCESSING_KEY = "purchase:processing";
-    private static final int MAX_QUEUE_SIZE = 10000;
+    static final String QUEUE_KEY = "purchase:queue";
+    static final String PROCESSING_KEY = "purchase:processing";
+    private static final String ADMITTED_KEY = "purchase:admitted";       // ZSET: 입장 시각 (예약 만료용)
+    private static final String REMAINING_KEY = "purchase:remaining";     // HASH: 상품별 미예약 재고
+    private static final String HELD_KEY_PREFIX = "purchase:queue:held:"; // ZSET: 입장 마감 중 보류된 대기자 (상품별)
+    private static final long ADMISSION_TTL_MILLIS = 5 * 60 * 1000L;      // 입장 후 5분 내 미구매 시 예약 반환
+    static final int MAX_QUEUE_SIZE = 10000;
     private static final int BATCH_SIZE = 10; // 한 번에 처리할 수
 
+    /**
+     * 남은 재고가 있을 때만 1개 예약. KEYS[1] = 미예약 재고 HASH, ARGV[1] = 상품 ID
+     * 반환: 예약 후 남은 수, 예약할 재고가 없으면 -1 (음수로 내려갔다 되돌리는 중간 상태가 없음)
+     */
+    private static final RedisScript<Long> RESERVE_SCRIPT = new DefaultRedisScript<>("""
+            local remaining = tonumber(redis.call('HGET', KEYS[1], ARGV[1]) or '0')
+            if remaining <= 0 then return -1 end
+            return redis.call('HINCRBY', KEYS[1], ARGV[1], -1)
+            """, Long.class);
+
+    /**
+     * 초과 구매 수량 차감 (0 미만으로 내려가지 않음). KEYS[1] = 미예약 재고 HASH, ARGV[1] = 상품 ID, ARGV[2] = 수량
+     */
+    private static final RedisScript<Long> SETTLE_SCRIPT = new DefaultRedisScript<>("""
+            local remaining = redis.call('HINCRBY', KEYS[1], ARGV[1], -tonumber(ARGV[2]))
+            if remaining < 0 then
+                redis.call('HSET', KEYS[1], ARGV[1], '0')
+                return 0
+            end
+            return remaining
+            """, Long.class);
+
+    /**
+     * 보류 대기자를 원래 score(진입 시각) 그대로 대기열에 복귀. KEYS[1] = 대기열, KEYS[2] = 보류 ZSET
+     */
+    private static final RedisScript<Long> RESTORE_HELD_SCRIPT = new DefaultRedisScript<>("""
+            local held = redis.call('ZRANGE', KEYS[2], 0, -1, 'WITHSCORES')
+            for i = 1, #held, 2 do
+                redis.call('ZADD', KEYS[1], held[i + 1], held[i])
+            end
+            redis.call('DEL', KEYS[2])
+            return #held / 2
+            """, Long.class);
+    private static final RedisSerializer<Long> SCRIPT_RESULT_SERIALIZER = new GenericToStringSerializer<>(Long.class);
+
     private final RedisTemplate<String, Object> redisTemplate;
     private final KafkaProducerService kafkaProducerService;
+    private final SoldOutRegistry soldOutRegistry;
+    private final ProductRepository productRepository;
 
     /**
      * 대기열 진입 (Kafka를 통한 비동기 처리)
@@ -93,6 +146,11 @@ public class QueueService {
      *    프로덕션에서는 SSE + Redis Pub/Sub 조합을 고려할 수 있습니다.
      */
     public QueueStatus getQueueStatus(String sessionId, String token, Long productId) {
+        // 품절 상품이면 Redis 조회 없이 즉시 품절 상태 반환
+        if (soldOutRegistry.isSoldOut(productId)) {
+            return QueueStatus.ofSoldOut();
+        }
+
         ZSetOperations<String, Object> zSetOps = redisTemplate.opsForZSet();
         String queueValue = sessionId + ":" + productId + ":" + token;
 
@@ -105,6 +163,11 @@ public class QueueService {
         // 대기열에서 순위 조회
         Long rank = zSetOps.rank(QUEUE_KEY, queueValue);
         if (rank == null) {
+            // 입장 마감으로 보류 중 (예약이 만료되어 재고가 돌아오면 원래 순서로 복귀)
+            Long heldRank = zSetOps.rank(heldKey(productId), queueValue);
+            if (heldRank != null) {
+                return QueueStatus.ofAdmissionClosed(heldRank.intValue() + 1);
+            }
             // 대기열에 없음 (이미 처리됨 또는 만료)
             return new QueueStatus(0, 0, false, true);
         }
@@ -124,25 +187,261 @@ public class QueueService {
      *
      *    실제로는 DB 응답 시간, 에러율을 모니터링하며
      *    동적으로 조절하는 Adaptive Rate Limiting도 고려할 수 있습니다.
+     *
+     *    품절 상품의 대기자는 처리 상태로 옮기지 않고 대기열에서 제거만 합니다.
+     *    (상태 조회 시 SoldOutRegistry 기준으로 품절 응답)
+     *    입장 마감(남은 재고 전량 예약) 상품의 대기자는 상품별 보류 ZSET으로 옮겨 두었다가
+     *    예약 만료로 재고가 돌아오면 원래 진입 시각 순서로 대기열에 복귀시킵니다.
+     *
+     * Q: "재고보다 많은 사람을 입장시키면?"
+     * A: 입장 시 상품별 미예약 재고(HASH purchase:remaining)를 1개씩 예약합니다.
+     *    예약할 재고가 없으면 입장을 멈추고 대기자를 보류합니다.
+     *    입장 후 5분 내 구매하지 않으면 예약을 반환하고 입장을 재개합니다.
+     *    → 재고 80개 상품에 수천 명이 입장해 DB 락만 잡고 실패하는 상황 방지
      */
     @Scheduled(fixedRate = 1000) // 1초마다 실행
     public void processQueue() {
         ZSetOperations<String, Object> zSetOps = redisTemplate.opsForZSet();
 
-        // 상위 N명 조회
-        Set<Object> nextUsers = zSetOps.range(QUEUE_KEY, 0, BATCH_SIZE - 1);
+        // 만료된 입장자의 예약 반환
+        releaseExpiredAdmissions();
+
+        // 상위 N명 조회 (보류 시 원래 순서를 유지하도록 score 포함)
+        Set<ZSetOperations.TypedTuple<Object>> nextUsers = zSetOps.rangeWithScores(QUEUE_KEY, 0, BATCH_SIZE - 1);
         if (nextUsers == null || nextUsers.isEmpty()) {
             return;
         }
 
-        for (Object user : nextUsers) {
-            // 대기열에서 제거
-            zSetOps.remove(QUEUE_KEY, user);
-            // 처리 중 목록에 추가 (5분 후 자동 만료 - TTL은 별도 설정 필요)
+        Set<Long> reservable = initRemaining(nextUsers);
+        int admitted = 0;
+        int held = 0;
+        long now = System.currentTimeMillis();
+        for (ZSetOperations.TypedTuple<Object> next : nextUsers) {
+            Object user = next.getValue();
+            // 대기열에서 제거 (여러 Pod가 동시에 처리하므로 ZREM에 성공한 Pod만 입장 처리)
+            Long removed = zSetOps.remove(QUEUE_KEY, user);
+            if (removed == null || removed == 0) {
+                continue;
+            }
+
+            // 품절이거나 없는 상품: 제거만
+            Long productId = parseProductId(user);
+            if (productId == null || soldOutRegistry.isSoldOut(productId) || !reservable.contains(productId)) {
+                continue;
+            }
+            if (soldOutRegistry.isAdmissionClosed(productId) || !reserveStock(productId)) {
+                hold(productId, user, next.getScore());
+                held++;
+                continue;
+            }
+
+            // 처리 중 목록에 추가 (ADMISSION_TTL 후 미구매 시 releaseExpiredAdmissions에서 회수)
             redisTemplate.opsForSet().add(PROCESSING_KEY, user);
+            zSetOps.add(ADMITTED_KEY, user, now);
+            admitted++;
         }
 
-        log.debug("대기열 처리: {}명 이동", nextUsers.size());
+        log.debug("대기열 처리: {}명 입장, {}명 입장 마감 보류", admitted, held);
+    }
+
+    /**
+     * 입장자 1명분 재고 예약
+     *
+     * 남은 재고가 있을 때만 Lua로 원자적으로 차감합니다. (차감 후 음수면 되돌리는 방식은
+     * 되돌리기 전의 음수를 다른 Pod의 정산이 보고 잘못 계산할 수 있음)
+     * 마지막 1개를 예약한 경우에도 즉시 마감해 이후 대기자를 보류합니다.
+     *
+     * @return 예약 성공 여부
+     */
+    private boolean reserveStock(Long productId) {
+        Long remaining = redisTemplate.execute(RESERVE_SCRIPT, RedisSerializer.string(), SCRIPT_RESULT_SERIALIZER,
+                List.of(REMAINING_KEY), String.valueOf(productId));
+        if (remaining == null) {
+            return false;
+        }
+        if (remaining <= 0) {
+            soldOutRegistry.closeAdmission(productId);
+        }
+        return remaining >= 0;
+    }
+
+    /**
+     * 이번 배치 상품들의 미예약 재고 초기화 (HMGET 1회로 확인, 없는 상품만 DB 재고로 HSETNX)
+     *
+     * @return 예약을 시도할 수 있는 상품 ID (DB에 없는 상품 제외)
+     */
+    private Set<Long> initRemaining(Set<ZSetOperations.TypedTuple<Object>> users) {
+        Set<Long> productIds = new LinkedHashSet<>();
+        for (ZSetOperations.TypedTuple<Object> user : users) {
+            Long productId = parseProductId(user.getValue());
+            if (productId != null) {
+                productIds.add(productId);
+            }
+        }
+        if (productIds.isEmpty()) {
+            return productIds;
+        }
+
+        List<Object> fields = new ArrayList<>(productIds.size());
+        productIds.forEach(productId -> fields.add(String.valueOf(productId)));
+        List<Object> existing = redisTemplate.opsForHash().multiGet(REMAINING_KEY, fields);
+
+        Set<Long> ready = new HashSet<>();
+        int i = 0;
+        for (Long productId : productIds) {
+            Object remaining = existing != null && i < existing.size() ? existing.get(i) : null;
+            i++;
+            if (remaining != null || initRemaining(productId)) {
+                ready.add(productId);
+            }
+        }
+        return ready;
+    }
+
+    /**
+     * 미예약 재고 초기화 (DB 재고로 HSETNX)
+     */
+    private boolean initRemaining(Long productId) {
+        Integer stock = productRepository.findById(productId)
+                .map(Product::getStock)
+                .orElse(null);
+        if (stock == null) {
+            return false;
+        }
+        redisTemplate.opsForHash().putIfAbsent(REMAINING_KEY, String.valueOf(productId), stock);
+        return true;
+    }
+
+    /**
+     * 미예약 재고 미리 채우기 (세일 시작 전 프리워밍, 첫 입장자가 DB를 조회하지 않도록)
+     */
+    public void prepareReservation(Long productId) {
+        if (!Boolean.TRUE.equals(redisTemplate.opsForHash().hasKey(REMAINING_KEY, String.valueOf(productId)))) {
+            initRemaining(productId);
+        }
+    }
+
+    /**
+     * 입장 마감 상품의 대기자 보류 (진입 시각 score 유지)
+     *
+     * 보류하는 사이 다른 Pod가 재고를 반환하고 복귀 처리를 끝냈을 수 있으므로,
+     * 보류 후 남은 재고를 다시 확인해 있으면 바로 복귀시킵니다. (보류자가 다음 반환까지 묶이지 않도록)
+     */
+    private void hold(Long productId, Object user, Double score) {
+        redisTemplate.opsForZSet().add(heldKey(productId), user, score != null ? score : System.currentTimeMillis());
+        Object remaining = redisTemplate.opsForHash().get(REMAINING_KEY, String.valueOf(productId));
+        if (remaining instanceof Number number && number.longValue() > 0) {
+            restoreHeld(productId);
+        }
+    }
+
+    /**
+     * 보류 대기자 대기열 복귀
+     */
+    private void restoreHeld(Long productId) {
+        Long restored = redisTemplate.execute(RESTORE_HELD_SCRIPT, List.of(QUEUE_KEY, heldKey(productId)));
+        if (restored != null && restored > 0) {
+            log.info("입장 재개로 보류 대기자 복귀 - productId: {}, {}명", productId, restored);
+        }
+    }
+
+    static String heldKey(Long productId) {
+        return HELD_KEY_PREFIX + productId;
+    }
+
+    /**
+     * 입장 후 ADMISSION_TTL 동안 구매하지 않은 사용자 회수 + 예약 반환
+     */
+    private void releaseExpiredAdmissions() {
+        ZSetOperations<String, Object> zSetOps = redisTemplate.opsForZSet();
+        long expiredBefore = System.currentTimeMillis() - ADMISSION_TTL_MILLIS;
+
+        Set<Object> expired = zSetOps.rangeByScore(ADMITTED_KEY, 0, expiredBefore);
+        if (expired == null || expired.isEmpty()) {
+            return;
+        }
+
+        for (Object user : expired) {
+            // ZREM에 성공한 Pod만 반환 (중복 반환 방지)
+            Long removed = zSetOps.remove(ADMITTED_KEY, user);
+            if (removed == null || removed == 0) {
+                continue;
+            }
+            redisTemplate.opsForSet().remove(PROCESSING_KEY, user);
+            releaseStock(parseProductId(user), 1);
+        }
+        log.info("입장 만료 회수: {}명", expired.size());
+    }
+
+    private void releaseStock(Long productId, int quantity) {
+        if (productId == null) {
+            return;
+        }
+        Long remaining = redisTemplate.opsForHash().increment(REMAINING_KEY, String.valueOf(productId), quantity);
+        if (remaining != null && remaining > 0 && !soldOutRegistry.isSoldOut(productId)) {
+            soldOutRegistry.reopenAdmission(productId);
+            restoreHeld(productId);
+        }
+    }
+
+    /**
+     * 구매 수량 정산
+     *
+     * 입장 시 1개를 예약했으므로, 2개 이상 구매했다면 초과분을 미예약 재고에서 추가 차감합니다.
+     * 초과분이 남은 재고보다 많으면 0에서 멈춥니다. (음수가 남으면 이후 반환된 예약이 그만큼 사라짐)
+     */
+    public void settleReservation(Long productId, int quantity) {
+        if (quantity <= 1) {
+            return;
+        }
+        Long remaining = redisTemplate.execute(SETTLE_SCRIPT, RedisSerializer.string(), SCRIPT_RESULT_SERIALIZER,
+                List.of(REMAINING_KEY), String.valueOf(productId), String.valueOf(quantity - 1));
+        if (remaining != null && remaining <= 0) {
+            soldOutRegistry.closeAdmission(productId);
+        }
+    }
+
+    /**
+     * 예약 정보 초기화 (로컬 초기 데이터 재생성 시)
+     */
+    public void resetReservations() {
+        redisTemplate.delete(List.of(REMAINING_KEY, ADMITTED_KEY, PROCESSING_KEY));
+        Set<String> heldKeys = redisTemplate.keys(HELD_KEY_PREFIX + "*");
+        if (heldKeys != null && !heldKeys.isEmpty()) {
+            redisTemplate.delete(heldKeys);
+        }
+    }
+
+    /**
+     * 품절 상품의 대기자 일괄 제거
+     *
+     * 대기열은 상품 구분 없는 단일 ZSET이므로, 품절 상품 대기자가 남아 있으면
+     * 다른 상품 대기자의 순번과 MAX_QUEUE_SIZE를 계속 차지합니다.
+     * ZSCAN으로 해당 상품 항목만 골라 ZREM 합니다. 입장 마감으로 보류 중이던 대기자도 함께 제거합니다.
+     */
+    public int drainSoldOut(Long productId) {
+        ZSetOperations<String, Object> zSetOps = redisTemplate.opsForZSet();
+        redisTemplate.delete(heldKey(productId));
+        ScanOptions options = ScanOptions.scanOptions()
+                .match("*:" + productId + ":*")
+                .count(1000)
+                .build();
+
+        List<Object> drained = new ArrayList<>();
+        try (Cursor<ZSetOperations.TypedTuple<Object>> cursor = zSetOps.scan(QUEUE_KEY, options)) {
+            while (cursor.hasNext()) {
+                Object value = cursor.next().getValue();
+                if (productId.equals(parseProductId(value))) {
+                    drained.add(value);
+                }
+            }
+        }
+
+        if (!drained.isEmpty()) {
+            zSetOps.remove(QUEUE_KEY, drained.toArray());
+        }
+        log.info("품절 상품 대기열 정리 - productId: {}, 제거: {}명", productId, drained.size());
+        return drained.size();
     }
 
     /**
@@ -151,18 +450,56 @@ public class QueueService {
     public void completeProcessing(String sessionId, String token, Long productId) {
         String queueValue = sessionId + ":" + productId + ":" + token;
         redisTemplate.opsForSet().remove(PROCESSING_KEY, queueValue);
+        redisTemplate.opsForZSet().remove(ADMITTED_KEY, queueValue);
         log.info("구매 완료 처리 - sessionId: {}", sessionId);
     }
 
+    /**
+     * 대기열 값(sessionId:productId:token)에서 상품 ID 추출
+     *
+     * sessionId는 클라이언트 헤더라 ':'를 포함할 수 있으므로 뒤에서부터 파싱
+     */
+    static Long parseProductId(Object queueValue) {
+        String value = String.valueOf(queueValue);
+        int tokenSeparator = value.lastIndexOf(':');
+        int productSeparator = tokenSeparator > 0 ? value.lastIndexOf(':', tokenSeparator - 1) : -1;
+        if (productSeparator < 0) {
+            return null;
+        }
+        try {
+            return Long.valueOf(value.substring(productSeparator + 1, tokenSeparator));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
     /**
      * 예상 대기 시간 계산 (초)
      */
-    private int estimateWaitTime(int position) {
+    static int estimateWaitTime(int position) {
         // 초당 10명 처리 가정
         return (int) Math.ceil(position / 10.0);
     }
 
     // DTO Records
     public record QueueEntry(String token, int position, int estimatedWaitSeconds) {}
-    public record QueueStatus(int position, int estimatedWaitSeconds, boolean canPurchase, boolean expired) {}
+    public record QueueStatus(int position, int estimatedWaitSeconds, boolean canPurchase, boolean expired,
+                              boolean soldOut, boolean admissionClosed) {
+
+        public QueueStatus(int position, int estimatedWaitSeconds, boolean canPurchase, boolean expired) {
+            this(position, estimatedWaitSeconds, canPurchase, expired, false, false);
+        }
+
+        static QueueStatus ofSoldOut() {
+            return new QueueStatus(0, 0, false, false, true, false);
+        }
+
+        /**
+         * 입장 마감으로 보류 중 (position = 보류 대기자 중 순서)
+         * 재고가 언제 돌아올지 모르므로 예상 대기 시간은 0
+         */
+        static QueueStatus ofAdmissionClosed(int position) {
+            return new QueueStatus(position, 0, false, false, false, true);
+        }
+    }
 }
@@ -0,0 +1,145 @@
+package com.oliveyoung.sale.service;
+
+import com.oliveyoung.sale.config.KafkaConfig;
+import com.oliveyoung.sale.dto.QueueEntryMessage;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.kafka.core.reactive.ReactiveKafkaProducerTemplate;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 대기열 서비스 (리액티브, 논블로킹 포트 전용)
+ *
+ * QueueService의 진입/상태 조회와 같은 Redis 키와 같은 응답 값을 쓰되,
+ * Redis 명령과 Kafka 전송을 기다리는 동안 스레드를 잡지 않습니다.
+ * (대기열 처리/예약 등 스케줄러 쪽은 그대로 QueueService)
+ *
+ * [흐름]
+ * 진입: ZCARD → Kafka 전송 (회로 OPEN/실패 시 Redis ZADD 폴백) → 토큰 응답
+ * 상태: 품절(로컬) → SISMEMBER processing → 입장 마감(로컬) → ZRANK queue
+ *
+ * [면접 포인트]
+ * Q: "상태 폴링을 왜 리액티브로 따로 뺐나요?"
+ * A: 상태 조회는 Redis 명령 두 번이 전부인데, 서블릿 모델에서는 응답을 기다리는 동안
+ *    Tomcat 스레드 하나를 통째로 점유합니다. 수만 명이 2초마다 폴링하면 스레드 수가 곧 동시 접속 한도가 됩니다.
+ *    Lettuce와 Kafka 프로듀서는 원래 비동기라서, 이벤트 루프에서 결과를 이어 붙이면
+ *    대기 중인 요청은 스레드가 아니라 콜백 하나만 차지합니다.
+ *
+ * Q: "Kafka Circuit Breaker는 어떻게 유지했나요?"
+ * A: KafkaProducerService와 같은 회로를 씁니다. 블로킹 경로처럼 get()으로 기다리지 않고
+ *    전송 결과가 도착했을 때 성공/실패를 회로에 기록합니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.queue.reactive.enabled", havingValue = "true")
+public class ReactiveQueueService {
+
+    /** KafkaProducerService의 동기 전송 타임아웃과 같음 */
+    private static final Duration SEND_TIMEOUT = Duration.ofSeconds(3);
+    private static final String KAFKA_PATH = "Kafka";
+    private static final String REDIS_FALLBACK_PATH = "Redis 폴백";
+
+    private final ReactiveRedisTemplate<String, Object> reactiveQueueRedisTemplate;
+    private final ReactiveKafkaProducerTemplate<String, QueueEntryMessage> reactiveQueueKafkaTemplate;
+    private final KafkaProducerService kafkaProducerService;
+    private final SoldOutRegistry soldOutRegistry;
+
+    /**
+     * 대기열 진입 (QueueService.enterQueue와 같은 결과)
+     */
+    public Mono<QueueService.QueueEntry> enterQueue(String sessionId, Long productId) {
+        return reactiveQueueRedisTemplate.opsForZSet().size(QueueService.QUEUE_KEY)
+                .defaultIfEmpty(0L)
+                .flatMap(queueSize -> {
+                    if (queueSize >= QueueService.MAX_QUEUE_SIZE) {
+                        return Mono.error(new IllegalStateException("대기열이 가득 찼습니다. 잠시 후 다시 시도해주세요."));
+                    }
+                    String token = UUID.randomUUID().toString();
+                    QueueEntryMessage message =
+                            new QueueEntryMessage(sessionId, productId, token, System.currentTimeMillis());
+                    int estimatedPosition = queueSize.intValue() + 1;
+
+                    return send(message)
+                            .doOnSuccess(path -> log.info("대기열 진입 요청 ({}, reactive) - sessionId: {}, estimatedPosition: {}",
+                                    path, sessionId, estimatedPosition))
+                            .map(path -> new QueueService.QueueEntry(token, estimatedPosition,
+                                    QueueService.estimateWaitTime(estimatedPosition)));
+                });
+    }
+
+    /**
+     * 대기 순번 조회 (QueueService.getQueueStatus와 같은 결과)
+     */
+    public Mono<QueueService.QueueStatus> getQueueStatus(String sessionId, String token, Long productId) {
+        if (soldOutRegistry.isSoldOut(productId)) {
+            return Mono.just(QueueService.QueueStatus.ofSoldOut());
+        }
+        String queueValue = sessionId + ":" + productId + ":" + token;
+
+        return reactiveQueueRedisTemplate.opsForSet().isMember(QueueService.PROCESSING_KEY, queueValue)
+                .defaultIfEmpty(false)
+                .flatMap(isProcessing -> {
+                    if (isProcessing) {
+                        return Mono.just(new QueueService.QueueStatus(0, 0, true, false));
+                    }
+                    return reactiveQueueRedisTemplate.opsForZSet().rank(QueueService.QUEUE_KEY, queueValue)
+                            .map(rank -> {
+                                int position = rank.intValue() + 1;
+                                return new QueueService.QueueStatus(position,
+                                        QueueService.estimateWaitTime(position), false, false);
+                            })
+                            // 입장 마감으로 보류 중
+                            .switchIfEmpty(Mono.defer(() -> reactiveQueueRedisTemplate.opsForZSet()
+                                    .rank(QueueService.heldKey(productId), queueValue)
+                                    .map(rank -> QueueService.QueueStatus.ofAdmissionClosed(rank.intValue() + 1))))
+                            // 대기열에 없음 (이미 처리됨 또는 만료)
+                            .defaultIfEmpty(new QueueService.QueueStatus(0, 0, false, true));
+                });
+    }
+
+    /**
+     * Kafka 전송 (회로가 막혔거나 전송 실패/타임아웃이면 Redis 직접 ZADD)
+     *
+     * @return 실제로 기록한 경로 (로그용: "Kafka" 또는 "Redis 폴백")
+     */
+    private Mono<String> send(QueueEntryMessage message) {
+        CircuitBreaker circuitBreaker = kafkaProducerService.circuitBreaker();
+        if (!circuitBreaker.tryAcquirePermission()) {
+            log.warn("Kafka 회로 열림, Redis 직접 ZADD 폴백 - sessionId: {}", message.getSessionId());
+            return fallbackToRedis(message).thenReturn(REDIS_FALLBACK_PATH);
+        }
+
+        long startedAt = System.nanoTime();
+        return reactiveQueueKafkaTemplate.send(KafkaConfig.QUEUE_TOPIC, String.valueOf(message.getProductId()), message)
+                .timeout(SEND_TIMEOUT)
+                .flatMap(result -> result.exception() != null ? Mono.error(result.exception()) : Mono.just(result))
+                .doOnSuccess(result -> circuitBreaker.onSuccess(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS))
+                .doOnCancel(circuitBreaker::releasePermission)
+                .thenReturn(KAFKA_PATH)
+                .onErrorResume(e -> {
+                    circuitBreaker.onError(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS, e);
+                    log.warn("Kafka 전송 불가, Redis 직접 ZADD 폴백 - sessionId: {}, reason: {}",
+                            message.getSessionId(), e.getMessage());
+                    return fallbackToRedis(message).thenReturn(REDIS_FALLBACK_PATH);
+                });
+    }
+
+    private Mono<Void> fallbackToRedis(QueueEntryMessage message) {
+        String queueValue = message.getSessionId() + ":" + message.getProductId() + ":" + message.getToken();
+        return reactiveQueueRedisTemplate.opsForZSet().add(QueueService.QUEUE_KEY, queueValue, message.getTimestamp())
+                .then()
+                .onErrorMap(redisEx -> {
+                    log.error("Redis 폴백도 실패! sessionId: {}, error: {}", message.getSessionId(), redisEx.getMessage());
+                    return new RuntimeException("Kafka와 Redis 모두 실패", redisEx);
+                });
+    }
+}
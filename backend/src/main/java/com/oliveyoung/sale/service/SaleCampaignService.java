@@ -0,0 +1,287 @@
+package com.oliveyoung.sale.service;
+
+import com.oliveyoung.sale.bulkhead.Bulkheads;
+import com.oliveyoung.sale.domain.SaleCampaign;
+import com.oliveyoung.sale.dto.ProductCatalogItem;
+import com.oliveyoung.sale.dto.SaleCampaignRequest;
+import com.oliveyoung.sale.dto.SaleCampaignResponse;
+import com.oliveyoung.sale.repository.SaleCampaignRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 예약 세일 캠페인 (프리워밍 + 정각 전환)
+ *
+ * [흐름]
+ * 1초마다 tick (모든 Pod)
+ *   → T0 - prewarm-seconds 안에 들어온 캠페인: 이 Pod의 캐시/예약 재고/품절 목록/커넥션 풀 예열
+ *     + TaskScheduler에 T0(시작), T1(종료) 정확한 시각으로 전환 예약
+ *   → T0: 모든 Pod가 SaleStateService.startCampaign() 호출
+ *     → Lua 원자 실행으로 한 Pod만 전환, Pub/Sub으로 전체 Pod 반영
+ *   → 재시작 등으로 예약을 놓친 캠페인은 tick이 시작/종료를 보정
+ *
+ * [면접 포인트]
+ * Q: "정각 세일 오픈 때 첫 요청들이 느린 이유는?"
+ * A: 카탈로그 캐시, 미예약 재고(Redis), DB 커넥션이 모두 요청이 들어온 뒤에 채워지기 때문입니다.
+ *    시작 몇 초 전에 각 Pod가 직접 채워두면 T0에는 전환(Redis 1회)만 남습니다.
+ *    프리워밍은 Pod마다 해야 하므로(로컬 캐시/커넥션 풀) 모든 Pod에서 실행하고,
+ *    전환은 Redis에서 한 번만 일어나도록 Lua로 막습니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SaleCampaignService {
+
+    /** 예약 전환을 놓쳤다고 판단하기까지의 여유 (Pod 간 시계 오차 흡수) */
+    private static final long CATCH_UP_GRACE_SECONDS = 2;
+
+    private final SaleCampaignRepository saleCampaignRepository;
+    private final SaleStateService saleStateService;
+    private final ProductCatalogService productCatalogService;
+    private final ProductStockView productStockView;
+    private final SoldOutRegistry soldOutRegistry;
+    private final QueueService queueService;
+    private final DataSource dataSource;
+    private final TaskScheduler taskScheduler;
+    private final Bulkheads bulkheads;
+
+    @Value("${app.sale.campaign.prewarm-seconds:10}")
+    private long prewarmSeconds;
+
+    @Value("${app.sale.campaign.prewarm-connections:10}")
+    private int prewarmConnections;
+
+    /** 이 Pod에서 프리워밍 + 전환 예약을 마친 캠페인 */
+    private final Set<Long> prepared = ConcurrentHashMap.newKeySet();
+
+    /**
+     * 캠페인 등록 (admin 벌크헤드: 운영 요청이 구매/카탈로그 몫의 커넥션을 쓰지 않도록)
+     */
+    public SaleCampaignResponse create(SaleCampaignRequest request) {
+        return bulkheads.admin().execute(() -> register(request));
+    }
+
+    private SaleCampaignResponse register(SaleCampaignRequest request) {
+        if (!request.endsAt().isAfter(request.startsAt())) {
+            throw new IllegalArgumentException("종료 시각은 시작 시각 이후여야 합니다.");
+        }
+        String target = request.scope() == SaleCampaign.Scope.ALL ? null : request.target();
+        if (request.scope() != SaleCampaign.Scope.ALL && (target == null || target.isBlank())) {
+            throw new IllegalArgumentException("CATEGORY/PRODUCT 캠페인은 대상(target)이 필요합니다.");
+        }
+        if (request.scope() == SaleCampaign.Scope.CATEGORY) {
+            target = target.trim();
+        }
+        if (request.scope() == SaleCampaign.Scope.PRODUCT) {
+            // 검증한 값 그대로 저장 (" 12" 같은 값이 저장되면 세일 상태 동기화에서 파싱 실패), 없는 상품이면 예외
+            Long productId = parseProductId(target);
+            productCatalogService.getCatalogItem(productId);
+            target = String.valueOf(productId);
+        }
+
+        SaleCampaign campaign = saleCampaignRepository.save(SaleCampaign.builder()
+                .name(request.name())
+                .scope(request.scope())
+                .target(target)
+                .startsAt(request.startsAt())
+                .endsAt(request.endsAt())
+                .build());
+        log.info("세일 캠페인 등록 - id: {}, scope: {}, target: {}, {} ~ {}",
+                campaign.getId(), campaign.getScope(), target, campaign.getStartsAt(), campaign.getEndsAt());
+        return toResponse(campaign, saleStateService.current().campaignIds());
+    }
+
+    /**
+     * 캠페인 목록 (최근 시작 순)
+     */
+    public List<SaleCampaignResponse> getCampaigns() {
+        Set<Long> active = saleStateService.current().campaignIds();
+        return bulkheads.admin().execute(() -> saleCampaignRepository.findAllByOrderByStartsAtDesc()).stream()
+                .map(campaign -> toResponse(campaign, active))
+                .toList();
+    }
+
+    /**
+     * 곧 시작할 캠페인 프리워밍 + 놓친 시작/종료 보정
+     */
+    @Scheduled(fixedDelay = 1000)
+    public void tick() {
+        // 상태를 시각보다 먼저 읽음 (반대 순서면 방금 시작된 캠페인을 "시작 전인데 진행 중"으로 볼 수 있음)
+        SaleState state = saleStateService.current();
+        LocalDateTime now = LocalDateTime.now();
+        List<SaleCampaign> upcoming;
+        try {
+            upcoming = saleCampaignRepository.findByEndsAtAfterAndStartsAtBeforeOrderByStartsAtAsc(
+                    now, now.plusSeconds(prewarmSeconds));
+        } catch (Exception e) {
+            log.warn("세일 캠페인 조회 실패: {}", e.getMessage());
+            return;
+        }
+
+        Set<Long> known = new HashSet<>();
+        for (SaleCampaign campaign : upcoming) {
+            known.add(campaign.getId());
+            if (prepared.add(campaign.getId())) {
+                prewarm(campaign);
+                scheduleFlips(campaign);
+            }
+            // 예약 전환을 놓친 경우만 보정 (Pod 간 시계 오차로 시작/종료가 번갈아 일어나지 않도록 여유를 둠)
+            boolean missedStart = !campaign.getStartsAt().plusSeconds(CATCH_UP_GRACE_SECONDS).isAfter(now)
+                    && campaign.getEndsAt().minusSeconds(CATCH_UP_GRACE_SECONDS).isAfter(now);
+            if (missedStart && !state.campaignIds().contains(campaign.getId())) {
+                start(campaign.getId());
+            }
+        }
+
+        // 종료 시각이 지났거나 삭제된 캠페인
+        for (Long campaignId : state.campaignIds()) {
+            if (!known.contains(campaignId)) {
+                end(campaignId);
+            }
+        }
+        prepared.retainAll(known);
+    }
+
+    /**
+     * 이 Pod 프리워밍 (모든 단계는 실패해도 계속 진행, 전환 자체는 막지 않음)
+     */
+    void prewarm(SaleCampaign campaign) {
+        long startedAt = System.currentTimeMillis();
+        log.info("세일 캠페인 프리워밍 시작 - id: {}, startsAt: {}", campaign.getId(), campaign.getStartsAt());
+
+        List<Long> productIds = warmCatalog(campaign);
+        for (Long productId : productIds) {
+            run("예약 재고 " + productId, () -> queueService.prepareReservation(productId));
+        }
+        run("재고 뷰", productStockView::reconcile);
+        run("품절 목록", soldOutRegistry::reconcile);
+        run("세일 상태", saleStateService::reconcile);
+        run("커넥션 풀", this::warmConnections);
+
+        log.info("세일 캠페인 프리워밍 완료 - id: {}, 상품 {}개, {}ms",
+                campaign.getId(), productIds.size(), System.currentTimeMillis() - startedAt);
+    }
+
+    /**
+     * 카탈로그 캐시 예열 (전체 목록 + 대상 카테고리 첫 페이지 + 대상 상품 상세)
+     *
+     * @return 대상 상품 ID
+     */
+    private List<Long> warmCatalog(SaleCampaign campaign) {
+        List<Long> productIds = new ArrayList<>();
+        try {
+            List<ProductCatalogItem> catalog = productCatalogService.getCatalog();
+            String category = campaign.getScope() == SaleCampaign.Scope.CATEGORY ? campaign.getTarget() : null;
+            productCatalogService.getCatalogPage(category, null, ProductService.DEFAULT_PAGE_SIZE);
+            for (ProductCatalogItem item : catalog) {
+                boolean target = switch (campaign.getScope()) {
+                    case ALL -> true;
+                    case CATEGORY -> item.category() != null && item.category().equals(campaign.getTarget());
+                    case PRODUCT -> item.id().equals(campaign.targetProductId());
+                };
+                if (target) {
+                    productCatalogService.getCatalogItem(item.id());
+                    productIds.add(item.id());
+                }
+            }
+        } catch (Exception e) {
+            log.warn("카탈로그 프리워밍 실패 - campaignId: {}, reason: {}", campaign.getId(), e.getMessage());
+        }
+        return productIds;
+    }
+
+    /**
+     * 커넥션을 동시에 빌렸다 반납해 풀에 유휴 커넥션을 채워둠 (T0에 커넥션 생성 대기 방지)
+     */
+    private void warmConnections() throws Exception {
+        List<Connection> connections = new ArrayList<>();
+        try {
+            for (int i = 0; i < prewarmConnections; i++) {
+                Connection connection = dataSource.getConnection();
+                connections.add(connection);
+                connection.isValid(1);
+            }
+        } finally {
+            for (Connection connection : connections) {
+                connection.close();
+            }
+        }
+    }
+
+    /**
+     * 시작/종료 시각에 정확히 전환하도록 예약 (모든 Pod가 예약, 실제 전환은 한 Pod)
+     */
+    private void scheduleFlips(SaleCampaign campaign) {
+        Long campaignId = campaign.getId();
+        taskScheduler.schedule(() -> start(campaignId), campaign.getStartsAt().atZone(ZoneId.systemDefault()).toInstant());
+        taskScheduler.schedule(() -> end(campaignId), campaign.getEndsAt().atZone(ZoneId.systemDefault()).toInstant());
+    }
+
+    private void start(Long campaignId) {
+        try {
+            if (saleStateService.startCampaign(campaignId)) {
+                log.info("세일 캠페인 시작 - id: {}", campaignId);
+            }
+        } catch (Exception e) {
+            // 다음 tick에서 재시도
+            log.warn("세일 캠페인 시작 실패 - id: {}, reason: {}", campaignId, e.getMessage());
+        }
+    }
+
+    private void end(Long campaignId) {
+        try {
+            if (saleStateService.endCampaign(campaignId)) {
+                log.info("세일 캠페인 종료 - id: {}", campaignId);
+            }
+        } catch (Exception e) {
+            log.warn("세일 캠페인 종료 실패 - id: {}, reason: {}", campaignId, e.getMessage());
+        }
+    }
+
+    private void run(String step, WarmUpStep action) {
+        try {
+            action.run();
+        } catch (Exception e) {
+            log.warn("프리워밍 단계 실패 - {}: {}", step, e.getMessage());
+        }
+    }
+
+    private SaleCampaignResponse toResponse(SaleCampaign campaign, Set<Long> active) {
+        return new SaleCampaignResponse(
+                campaign.getId(),
+                campaign.getName(),
+                campaign.getScope(),
+                campaign.getTarget(),
+                campaign.getStartsAt(),
+                campaign.getEndsAt(),
+                active.contains(campaign.getId())
+        );
+    }
+
+    private static Long parseProductId(String target) {
+        try {
+            return Long.valueOf(target.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("PRODUCT 캠페인의 대상은 상품 ID여야 합니다: " + target);
+        }
+    }
+
+    @FunctionalInterface
+    private interface WarmUpStep {
+        void run() throws Exception;
+    }
+}
@@ -0,0 +1,48 @@
+package com.oliveyoung.sale.service;
+
+import java.util.Set;
+
+/**
+ * 세일 상태 스냅샷 (Pod 로컬, 불변)
+ *
+ * 전체 세일 플래그 + 진행 중인 캠페인의 적용 대상(카테고리/상품)을 함께 담습니다.
+ * 요청은 이 스냅샷 하나를 읽어 가격 계산과 응답 캐시 키에 같이 쓰므로,
+ * 요청 도중 전환이 일어나도 한 응답 안에서 세일 여부가 섞이지 않습니다.
+ *
+ * @param version     Redis sale:state:version (전환마다 1 증가, 전체 Pod 공통)
+ * @param global      수동 세일 또는 ALL 범위 캠페인 진행 중
+ * @param campaignIds 진행 중인 캠페인 ID
+ * @param categories  CATEGORY 범위 캠페인 대상
+ * @param productIds  PRODUCT 범위 캠페인 대상
+ */
+public record SaleState(
+        long version,
+        boolean global,
+        Set<Long> campaignIds,
+        Set<String> categories,
+        Set<Long> productIds
+) {
+
+    public static final SaleState NONE = new SaleState(0L, false, Set.of(), Set.of(), Set.of());
+
+    /**
+     * 전체 세일 여부만 있는 상태 (캠페인 없음)
+     */
+    public static SaleState global(boolean active) {
+        return new SaleState(0L, active, Set.of(), Set.of(), Set.of());
+    }
+
+    /**
+     * 이 상품에 할인가를 적용하는지
+     */
+    public boolean appliesTo(Long productId, String category) {
+        return global || productIds.contains(productId) || (category != null && categories.contains(category));
+    }
+
+    /**
+     * 응답 캐시 키/ETag용 태그 (전환마다 바뀜)
+     */
+    public String cacheTag() {
+        return "v" + version + (global ? "-sale" : "-regular");
+    }
+}
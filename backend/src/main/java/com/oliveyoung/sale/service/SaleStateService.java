@@ -1,14 +1,34 @@
 package com.oliveyoung.sale.service;
 
+import com.oliveyoung.sale.domain.SaleCampaign;
+import com.oliveyoung.sale.repository.SaleCampaignRepository;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
 /**
  * 세일 상태 관리 서비스
  *
+ * [흐름]
+ * startSale/endSale, 캠페인 시작/종료 → Redis Lua 1회
+ *   (sale:active 또는 sale:campaigns:active 변경 + INCR sale:state:version + PUBLISH sale:state:events)
+ *   → 모든 Pod가 Redis 값을 다시 읽어 로컬 SaleState 교체
+ * isSaleActive()/current() → 로컬 volatile 필드 읽기 (Redis 호출 없음)
+ * 5초마다 reconcile → Pub/Sub 유실 및 신규 Pod 대비
+ *
  * [면접 포인트]
  * Q: "세일 상태를 Redis로 관리하는 이유는?"
  * A: EKS에서 여러 Pod가 실행될 때, 각 Pod의 메모리는 독립적입니다.
@@ -16,57 +36,241 @@ import org.springframework.stereotype.Service;
  *    Redis는 모든 Pod가 공유하는 중앙 저장소 역할을 합니다.
  *
  * Q: "세일 시작 시 수천 명이 동시 접속하면?"
- * A: Redis GET은 O(1) 연산으로 초당 수십만 요청 처리 가능.
- *    CloudFront 캐싱 + Redis 조회로 DB 부하를 최소화합니다.
- *    상품 목록은 CloudFront에서 TTL 캐싱,
- *    세일 상태만 Redis에서 실시간 조회합니다.
+ * A: 요청마다 Redis를 조회하지 않습니다. 플래그는 Pod 메모리의 volatile 필드이고
+ *    바뀔 때만 Pub/Sub으로 전파되므로 조회는 메모리 읽기 한 번입니다.
+ *    상품 목록/상세/구매/상태 조회 모두 이 값을 씁니다.
+ *
+ * Q: "세일 시작 순간 캐시를 비우면 DB로 요청이 몰리지 않나요?"
+ * A: 비우지 않습니다. 상품 카탈로그 캐시에는 정가와 할인가가 모두 들어 있고,
+ *    요청마다 이 플래그로 가격을 고릅니다. (ProductService)
+ *    전환은 플래그 SET 한 번뿐이라 캐시 삭제/재생성이 전혀 없습니다.
+ *
+ * Q: "여러 Pod가 동시에 캠페인 시작 시각을 맞으면 여러 번 전환되지 않나요?"
+ * A: 전환은 "이미 같은 상태면 아무것도 하지 않음 → 변경 + 버전 증가 + 발행"을
+ *    Lua 스크립트 하나로 실행합니다. Redis는 스크립트를 원자적으로 실행하므로
+ *    먼저 도착한 Pod 하나만 전환하고 나머지는 0을 돌려받습니다.
  */
 @Slf4j
 @Service
 @RequiredArgsConstructor
-public class SaleStateService {
+public class SaleStateService implements MessageListener {
 
+    public static final String SALE_STATE_CHANNEL = "sale:state:events";
     private static final String SALE_STATE_KEY = "sale:active";
+    private static final String ACTIVE_CAMPAIGNS_KEY = "sale:campaigns:active";
+    private static final String SALE_VERSION_KEY = "sale:state:version";
+
+    /** 전체 세일 플래그 전환 (같은 값이면 0, 바뀌면 새 버전) */
+    private static final RedisScript<Long> FLIP_GLOBAL_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('GET', KEYS[1]) == ARGV[1] then return 0 end
+            redis.call('SET', KEYS[1], ARGV[1])
+            local version = redis.call('INCR', KEYS[2])
+            redis.call('PUBLISH', '%s', version)
+            return version
+            """.formatted(SALE_STATE_CHANNEL), Long.class);
+    private static final RedisScript<Long> START_CAMPAIGN_SCRIPT = campaignScript("SADD");
+    private static final RedisScript<Long> END_CAMPAIGN_SCRIPT = campaignScript("SREM");
 
     private final RedisTemplate<String, Object> redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final CatalogChangeLog catalogChangeLog;
+    private final SaleCampaignRepository saleCampaignRepository;
+
+    /** 마지막으로 확인한 세일 상태 (Redis가 원본) */
+    private volatile SaleState state = SaleState.NONE;
+    /** 마지막으로 조회한 캠페인 적용 대상 (캠페인 구성이 같으면 재사용) */
+    private volatile CampaignTargets targets = CampaignTargets.NONE;
+
+    @PostConstruct
+    public void init() {
+        listenerContainer.addMessageListener(this, new ChannelTopic(SALE_STATE_CHANNEL));
+        reconcile();
+    }
+
+    /**
+     * 세일 시작 (전체 상품)
+     *
+     * @return 이 호출이 전환했으면 true (이미 세일 중이면 false)
+     */
+    public boolean startSale() {
+        boolean flipped = flip(FLIP_GLOBAL_SCRIPT, List.of(SALE_STATE_KEY, SALE_VERSION_KEY), true);
+        if (flipped) {
+            log.info("세일이 시작되었습니다!");
+        } else {
+            log.info("이미 세일 중입니다. (전환 없음)");
+        }
+        return flipped;
+    }
+
+    /**
+     * 세일 종료 (전체 상품, 진행 중인 캠페인은 유지)
+     *
+     * @return 이 호출이 전환했으면 true (이미 종료 상태면 false)
+     */
+    public boolean endSale() {
+        boolean flipped = flip(FLIP_GLOBAL_SCRIPT, List.of(SALE_STATE_KEY, SALE_VERSION_KEY), false);
+        if (flipped) {
+            log.info("세일이 종료되었습니다.");
+        } else {
+            log.info("이미 세일이 종료된 상태입니다. (전환 없음)");
+        }
+        return flipped;
+    }
 
     /**
-     * 세일 시작 (+ 상품 캐시 무효화)
+     * 캠페인 시작
      *
-     * 세일 시작 시 할인가가 변경되므로 캐시된 상품 정보를 모두 삭제.
-     * 다음 조회 시 DB에서 최신 데이터 + 할인가로 캐시 재생성.
+     * @return 이 호출이 전환했으면 true (다른 Pod가 먼저 전환했으면 false)
      */
-    @CacheEvict(value = {"products", "product"}, allEntries = true)
-    public void startSale() {
-        redisTemplate.opsForValue().set(SALE_STATE_KEY, true);
-        log.info("세일이 시작되었습니다! (상품 캐시 초기화)");
+    public boolean startCampaign(Long campaignId) {
+        return flip(START_CAMPAIGN_SCRIPT, List.of(ACTIVE_CAMPAIGNS_KEY, SALE_VERSION_KEY), campaignId);
     }
 
     /**
-     * 세일 종료 (+ 상품 캐시 무효화)
+     * 캠페인 종료
+     *
+     * @return 이 호출이 전환했으면 true
      */
-    @CacheEvict(value = {"products", "product"}, allEntries = true)
-    public void endSale() {
-        redisTemplate.opsForValue().set(SALE_STATE_KEY, false);
-        log.info("세일이 종료되었습니다. (상품 캐시 초기화)");
+    public boolean endCampaign(Long campaignId) {
+        return flip(END_CAMPAIGN_SCRIPT, List.of(ACTIVE_CAMPAIGNS_KEY, SALE_VERSION_KEY), campaignId);
     }
 
     /**
-     * 세일 진행 중 여부 확인
+     * 전체 세일 진행 중 여부 (수동 세일 또는 ALL 범위 캠페인, 로컬 메모리 조회)
      *
      * [면접 포인트]
      * Q: "Redis 연결 실패 시 어떻게 처리하나요?"
-     * A: 기본값 false 반환 (세일 비활성).
-     *    프로덕션에서는 Circuit Breaker로 폴백 처리하고,
-     *    로컬 캐시(Caffeine)를 2차 캐시로 활용할 수 있습니다.
+     * A: 마지막으로 확인한 값을 그대로 씁니다.
+     *    이전에는 실패 시 false를 반환해 Redis 순단만으로 세일이 꺼진 것처럼 보였지만,
+     *    이제는 Redis가 복구되면 reconcile이 다시 맞춥니다.
      */
     public boolean isSaleActive() {
+        return state.global();
+    }
+
+    /**
+     * 이 상품에 할인가를 적용하는지 (전체 세일 + 카테고리/상품 캠페인)
+     */
+    public boolean isOnSale(Long productId, String category) {
+        return state.appliesTo(productId, category);
+    }
+
+    /**
+     * 현재 세일 상태 스냅샷 (한 요청 안에서는 이 값 하나만 사용)
+     */
+    public SaleState current() {
+        return state;
+    }
+
+    /**
+     * 다른 Pod(및 자기 자신)의 세일 전환 알림 수신
+     *
+     * 메시지 값 대신 Redis를 다시 읽어, 빠르게 연속된 전환의 메시지가
+     * 다른 Pod에서 뒤바뀌어 도착해도 최종 값으로 수렴합니다.
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        reload();
+    }
+
+    /**
+     * Redis 기준 재동기화 (Pub/Sub 유실 및 신규 Pod 대비)
+     */
+    @Scheduled(fixedDelay = 5000)
+    public void reconcile() {
+        reload();
+    }
+
+    /**
+     * Redis 값으로 로컬 상태 교체 (실패 시 로컬 값 유지)
+     *
+     * 버전을 가장 먼저 읽습니다. 읽는 도중 전환이 끼어들면 "이전 버전 + 새 상태"가 되는데,
+     * 그 전환의 Pub/Sub 알림으로 곧 새 버전으로 다시 읽으므로 이전 버전 키는 더 쓰이지 않습니다.
+     * (반대 순서면 새 버전 키에 이전 상태가 캐시될 수 있음)
+     */
+    private void reload() {
         try {
-            Object value = redisTemplate.opsForValue().get(SALE_STATE_KEY);
-            return Boolean.TRUE.equals(value);
+            Object version = redisTemplate.opsForValue().get(SALE_VERSION_KEY);
+            boolean global = Boolean.TRUE.equals(redisTemplate.opsForValue().get(SALE_STATE_KEY));
+            Set<Long> campaignIds = toIds(redisTemplate.opsForSet().members(ACTIVE_CAMPAIGNS_KEY));
+            state = resolve(version instanceof Number number ? number.longValue() : 0L, global, campaignIds);
         } catch (Exception e) {
-            log.warn("Redis 조회 실패, 기본값(false) 반환: {}", e.getMessage());
+            log.warn("세일 상태 동기화 실패, 마지막 상태(v{}) 유지: {}", state.version(), e.getMessage());
+        }
+    }
+
+    /**
+     * 캠페인 ID → 적용 대상 (캠페인 구성이 바뀐 경우에만 DB 조회)
+     */
+    private SaleState resolve(long version, boolean global, Set<Long> campaignIds) {
+        CampaignTargets resolved = targets;
+        if (!resolved.campaignIds().equals(campaignIds)) {
+            resolved = CampaignTargets.of(campaignIds, saleCampaignRepository.findAllById(campaignIds));
+            targets = resolved;
+        }
+        return new SaleState(version, global || resolved.all(), resolved.campaignIds(),
+                resolved.categories(), resolved.productIds());
+    }
+
+    private boolean flip(RedisScript<Long> script, List<String> keys, Object arg) {
+        Long version = redisTemplate.execute(script, keys, arg);
+        if (version == null || version == 0L) {
             return false;
         }
+        reload();
+        // 가격이 바뀜 → 델타 피드 클라이언트는 전체 스냅샷으로 갱신
+        catalogChangeLog.recordAll();
+        return true;
+    }
+
+    private static Set<Long> toIds(Set<Object> members) {
+        Set<Long> ids = new HashSet<>();
+        if (members != null) {
+            for (Object member : members) {
+                if (member instanceof Number id) {
+                    ids.add(id.longValue());
+                }
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * 캠페인 집합 변경 스크립트 (SADD/SREM 결과가 0이면 이미 전환된 것)
+     */
+    private static RedisScript<Long> campaignScript(String command) {
+        return new DefaultRedisScript<>("""
+                if redis.call('%s', KEYS[1], ARGV[1]) == 0 then return 0 end
+                local version = redis.call('INCR', KEYS[2])
+                redis.call('PUBLISH', '%s', version)
+                return version
+                """.formatted(command, SALE_STATE_CHANNEL), Long.class);
+    }
+
+    private record CampaignTargets(Set<Long> campaignIds, boolean all, Set<String> categories, Set<Long> productIds) {
+
+        static final CampaignTargets NONE = new CampaignTargets(Set.of(), false, Set.of(), Set.of());
+
+        /**
+         * 대상이 잘못된 캠페인 하나는 건너뜀 (한 행 때문에 세일 상태 동기화 전체가 실패하지 않도록)
+         */
+        static CampaignTargets of(Set<Long> campaignIds, List<SaleCampaign> campaigns) {
+            boolean all = false;
+            Set<String> categories = new HashSet<>();
+            Set<Long> productIds = new HashSet<>();
+            for (SaleCampaign campaign : campaigns) {
+                try {
+                    switch (campaign.getScope()) {
+                        case ALL -> all = true;
+                        case CATEGORY -> categories.add(campaign.getTarget());
+                        case PRODUCT -> productIds.add(campaign.targetProductId());
+                    }
+                } catch (RuntimeException e) {
+                    log.warn("세일 캠페인 대상이 잘못되어 제외 - id: {}, target: {}, reason: {}",
+                            campaign.getId(), campaign.getTarget(), e.getMessage());
+                }
+            }
+            return new CampaignTargets(Set.copyOf(campaignIds), all, Set.copyOf(categories), Set.copyOf(productIds));
+        }
     }
 }
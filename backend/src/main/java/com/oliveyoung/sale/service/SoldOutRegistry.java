@@ -0,0 +1,205 @@
+package com.oliveyoung.sale.service;
+
+import com.oliveyoung.sale.exception.SoldOutException;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 품절 상품 레지스트리 (Pod 로컬 Set + Redis Pub/Sub 동기화)
+ *
+ * [흐름]
+ * 구매로 재고 0 도달 → markSoldOut()
+ *   → Redis SADD product:soldout (신규 Pod 부트스트랩용)
+ *   → Redis PUBLISH product:soldout:events → 모든 Pod의 로컬 Set 갱신
+ *
+ * [상태 구분]
+ * - SOLD_OUT: DB 재고 0. 대기열 진입/구매 모두 거절
+ * - CLOSED:   남은 재고가 모두 입장자에게 예약됨. 신규 입장만 중단
+ *             (예약이 만료되면 OPEN으로 재개, 이미 입장한 사용자는 구매 가능)
+ *
+ * [면접 포인트]
+ * Q: "품절 이후에도 요청이 계속 들어오면?"
+ * A: 품절 상품에 대한 대기열 진입/구매 요청은 Kafka → Redis → DB를
+ *    모두 거친 뒤에야 "재고가 부족합니다"로 실패합니다.
+ *    각 Pod가 품절 목록을 메모리에 들고 있으면 컨트롤러 진입 시점에
+ *    마이크로초 단위로 거절할 수 있습니다.
+ *
+ *    Pub/Sub은 유실 가능(fire-and-forget)하므로
+ *    주기적으로 Redis Set과 재동기화합니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SoldOutRegistry implements MessageListener {
+
+    public static final String SOLD_OUT_CHANNEL = "product:soldout:events";
+    private static final String SOLD_OUT_KEY = "product:soldout";
+    private static final String ADMISSION_CLOSED_KEY = "product:admission:closed";
+
+    private static final String SOLD_OUT = "SOLD_OUT";
+    private static final String CLOSED = "CLOSED";
+    private static final String OPEN = "OPEN";
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+
+    private final Set<Long> soldOutProducts = ConcurrentHashMap.newKeySet();
+    private final Set<Long> admissionClosedProducts = ConcurrentHashMap.newKeySet();
+
+    @PostConstruct
+    public void init() {
+        listenerContainer.addMessageListener(this, new ChannelTopic(SOLD_OUT_CHANNEL));
+        reconcile();
+    }
+
+    /**
+     * 품절 여부 확인 (로컬 메모리 조회, Redis 호출 없음)
+     */
+    public boolean isSoldOut(Long productId) {
+        return productId != null && soldOutProducts.contains(productId);
+    }
+
+    /**
+     * 신규 입장 불가 여부 (품절 또는 남은 재고 전량 예약)
+     */
+    public boolean isAdmissionClosed(Long productId) {
+        return productId != null
+                && (soldOutProducts.contains(productId) || admissionClosedProducts.contains(productId));
+    }
+
+    /**
+     * 품절 상품이면 즉시 예외 (구매 Fast Path)
+     */
+    public void checkAvailable(Long productId) {
+        if (isSoldOut(productId)) {
+            throw new SoldOutException(productId);
+        }
+    }
+
+    /**
+     * 입장 마감 상품이면 즉시 예외 (대기열 진입 Fast Path)
+     */
+    public void checkAdmissionOpen(Long productId) {
+        if (isAdmissionClosed(productId)) {
+            throw new SoldOutException(productId);
+        }
+    }
+
+    /**
+     * 품절 등록 + 전체 Pod 브로드캐스트
+     */
+    public void markSoldOut(Long productId) {
+        soldOutProducts.add(productId);
+        broadcast(SOLD_OUT, productId, () -> redisTemplate.opsForSet().add(SOLD_OUT_KEY, productId));
+    }
+
+    /**
+     * 신규 입장 마감 (남은 재고 전량 예약)
+     */
+    public void closeAdmission(Long productId) {
+        if (admissionClosedProducts.add(productId)) {
+            broadcast(CLOSED, productId, () -> redisTemplate.opsForSet().add(ADMISSION_CLOSED_KEY, productId));
+        }
+    }
+
+    /**
+     * 신규 입장 재개 (예약 만료로 재고 반환)
+     */
+    public void reopenAdmission(Long productId) {
+        if (admissionClosedProducts.remove(productId)) {
+            broadcast(OPEN, productId, () -> redisTemplate.opsForSet().remove(ADMISSION_CLOSED_KEY, productId));
+        }
+    }
+
+    /**
+     * 품절 목록 초기화 (로컬 초기 데이터 재생성 시)
+     */
+    public void reset() {
+        soldOutProducts.clear();
+        admissionClosedProducts.clear();
+        try {
+            redisTemplate.delete(SOLD_OUT_KEY);
+            redisTemplate.delete(ADMISSION_CLOSED_KEY);
+        } catch (Exception e) {
+            log.warn("품절 목록 초기화 실패: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 다른 Pod에서 발행한 품절/입장 마감 이벤트 수신 (형식: "STATE:productId")
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        Object value = redisTemplate.getValueSerializer().deserialize(message.getBody());
+        String[] event = String.valueOf(value).split(":");
+        if (event.length != 2) {
+            return;
+        }
+        Long productId;
+        try {
+            productId = Long.valueOf(event[1]);
+        } catch (NumberFormatException e) {
+            return;
+        }
+
+        switch (event[0]) {
+            case SOLD_OUT -> soldOutProducts.add(productId);
+            case CLOSED -> admissionClosedProducts.add(productId);
+            case OPEN -> admissionClosedProducts.remove(productId);
+            default -> {
+                return;
+            }
+        }
+        log.info("품절 이벤트 수신 - {}", value);
+    }
+
+    /**
+     * Redis Set 기준 재동기화 (Pub/Sub 유실 및 신규 Pod 대비)
+     */
+    @Scheduled(fixedDelay = 10000)
+    public void reconcile() {
+        try {
+            sync(soldOutProducts, redisTemplate.opsForSet().members(SOLD_OUT_KEY));
+            sync(admissionClosedProducts, redisTemplate.opsForSet().members(ADMISSION_CLOSED_KEY));
+        } catch (Exception e) {
+            log.warn("품절 목록 동기화 실패, 로컬 상태 유지: {}", e.getMessage());
+        }
+    }
+
+    private void sync(Set<Long> local, Set<Object> members) {
+        if (members == null) {
+            return;
+        }
+        Set<Long> latest = new HashSet<>();
+        for (Object member : members) {
+            if (member instanceof Number productId) {
+                latest.add(productId.longValue());
+            }
+        }
+        local.addAll(latest);
+        local.retainAll(latest);
+    }
+
+    private void broadcast(String state, Long productId, Runnable persist) {
+        try {
+            persist.run();
+            redisTemplate.convertAndSend(SOLD_OUT_CHANNEL, state + ":" + productId);
+            log.info("품절 상태 브로드캐스트 - {}:{}", state, productId);
+        } catch (Exception e) {
+            // 로컬 Pod는 이미 반영됨. 다른 Pod는 다음 재동기화 때 반영(최종 DB 락이 정합성 보장)
+            log.warn("품절 브로드캐스트 실패 - {}:{}, reason: {}", state, productId, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.oliveyoung.sale.service;
+
+/**
+ * 재고 변경 이벤트 (Pod 내부 Spring 이벤트)
+ *
+ * CatalogChangeLog가 다른 Pod의 변경(순번 + 재고)을 수신하면 순번을 버퍼에 넣기 전에 발행합니다.
+ * 리스너(ProductStockView)는 같은 스레드에서 실행되므로, 순번이 보이는 시점에는 재고가 이미 반영되어 있습니다.
+ *
+ * @param productId 상품 ID
+ * @param stock     남은 재고
+ */
+public record StockChangedEvent(
+        Long productId,
+        int stock
+) {}
@@ -0,0 +1,94 @@
+package com.oliveyoung.sale.bulkhead;
+
+import com.oliveyoung.sale.exception.BulkheadFullException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+class BulkheadTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    @DisplayName("허가 안에서 실행하고 끝나면 반납")
+    void execute_releasesPermit() {
+        Bulkhead bulkhead = new Bulkhead("catalog", 1, 0, 1, meterRegistry);
+
+        assertThat(bulkhead.execute(() -> "ok")).isEqualTo("ok");
+        assertThatThrownBy(() -> bulkhead.run(() -> {
+            throw new IllegalStateException("실패");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(bulkhead.activeCalls()).isZero();
+        assertThat(bulkhead.execute(() -> "again")).isEqualTo("again");
+    }
+
+    @Test
+    @DisplayName("포화 시 대기 시간 안에 허가를 못 얻으면 즉시 거절 + 메트릭 기록")
+    void execute_saturated_rejectsFast() throws Exception {
+        // given
+        Bulkhead bulkhead = new Bulkhead("purchase", 1, 50, 2, meterRegistry);
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> holder = executor.submit(() -> bulkhead.run(() -> {
+                entered.countDown();
+                awaitQuietly(release);
+            }));
+            assertThat(entered.await(1, TimeUnit.SECONDS)).isTrue();
+
+            // when
+            long startedAt = System.nanoTime();
+            Throwable thrown = catchThrowable(() -> bulkhead.execute(() -> "blocked"));
+            long waitedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+
+            // then
+            assertThat(thrown).isInstanceOf(BulkheadFullException.class);
+            assertThat(((BulkheadFullException) thrown).getRetryAfterSeconds()).isEqualTo(2);
+            assertThat(waitedMillis).isLessThan(1000);
+            assertThat(meterRegistry.get("bulkhead.saturation").tag("name", "purchase").gauge().value())
+                    .isEqualTo(1.0);
+            assertThat(meterRegistry.get("bulkhead.calls.rejected").tag("name", "purchase").counter().count())
+                    .isEqualTo(1.0);
+
+            release.countDown();
+            holder.get(1, TimeUnit.SECONDS);
+            assertThat(bulkhead.activeCalls()).isZero();
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("벌크헤드끼리는 독립 (하나가 포화돼도 다른 벌크헤드는 실행)")
+    void bulkheads_areIsolated() {
+        Bulkhead catalog = new Bulkhead("catalog", 1, 0, 1, meterRegistry);
+        Bulkhead purchase = new Bulkhead("purchase", 1, 0, 1, meterRegistry);
+
+        String result = catalog.execute(() -> {
+            assertThatThrownBy(() -> catalog.execute(() -> "nested"))
+                    .isInstanceOf(BulkheadFullException.class);
+            return purchase.execute(() -> "purchased");
+        });
+
+        assertThat(result).isEqualTo("purchased");
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.oliveyoung.sale.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.oliveyoung.sale.dto.ApiResponse;
+import com.oliveyoung.sale.service.CatalogVersionService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class CatalogResponseCacheTest {
+
+    private final CatalogVersionService catalogVersionService = mock(CatalogVersionService.class);
+    private final CatalogResponseCache cache = new CatalogResponseCache(new ObjectMapper(), catalogVersionService, 60);
+
+    @Test
+    @DisplayName("두 번째 요청은 로더 호출 없이 캐시된 바이트 반환")
+    void respond_cachesSerializedBody() {
+        // given
+        AtomicInteger loads = new AtomicInteger();
+
+        // when
+        ResponseEntity<byte[]> first = cache.respond("products:all", null, null, () -> {
+            loads.incrementAndGet();
+            return ApiResponse.success(List.of("상품1"));
+        });
+        ResponseEntity<byte[]> second = cache.respond("products:all", null, null, () -> {
+            loads.incrementAndGet();
+            return ApiResponse.success(List.of("상품2"));
+        });
+
+        // then
+        assertThat(loads).hasValue(1);
+        assertThat(second.getBody()).isSameAs(first.getBody());
+        assertThat(new String(first.getBody(), StandardCharsets.UTF_8)).contains("\"success\":true").contains("상품1");
+    }
+
+    @Test
+    @DisplayName("Accept-Encoding에 gzip이 있으면 압축본 응답")
+    void respond_gzip() throws Exception {
+        // when
+        ResponseEntity<byte[]> plain = cache.respond("product:1", null, null, () -> ApiResponse.success("상품1"));
+        ResponseEntity<byte[]> gzip = cache.respond("product:1", null, "gzip, deflate", () -> ApiResponse.success("상품1"));
+
+        // then
+        assertThat(gzip.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzip.getBody()))) {
+            assertThat(in.readAllBytes()).isEqualTo(plain.getBody());
+        }
+    }
+
+    @Test
+    @DisplayName("gzip;q=0이면 압축하지 않음, *는 gzip이 따로 없을 때만 적용")
+    void acceptsGzip_qValues() {
+        ResponseEntity<byte[]> refused = cache.respond("product:1", null, "gzip;q=0, deflate",
+                () -> ApiResponse.success("상품1"));
+
+        assertThat(refused.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)).isNull();
+        assertThat(CatalogResponseCache.acceptsGzip("gzip;q=0.5")).isTrue();
+        assertThat(CatalogResponseCache.acceptsGzip("GZIP ; Q=0.0")).isFalse();
+        assertThat(CatalogResponseCache.acceptsGzip("br, *;q=0.1")).isTrue();
+        assertThat(CatalogResponseCache.acceptsGzip("*, gzip;q=0")).isFalse();
+        assertThat(CatalogResponseCache.acceptsGzip("identity")).isFalse();
+    }
+
+    @Test
+    @DisplayName("상품 캐시 무효화 이벤트 수신 시 다시 직렬화")
+    void onCacheInvalidated_regenerates() {
+        // given
+        cache.respond("products:all", null, null, () -> ApiResponse.success(List.of("이전")));
+
+        // when
+        cache.onCacheInvalidated(new CacheInvalidatedEvent("catalog", null, true));
+        ResponseEntity<byte[]> result = cache.respond("products:all", null, null, () -> ApiResponse.success(List.of("최신")));
+
+        // then
+        assertThat(new String(result.getBody(), StandardCharsets.UTF_8)).contains("최신");
+    }
+
+    @Test
+    @DisplayName("If-None-Match가 현재 버전의 ETag와 같으면 로더 호출 없이 304")
+    void respond_notModified() {
+        // given
+        when(catalogVersionService.current()).thenReturn(3L);
+        AtomicInteger loads = new AtomicInteger();
+
+        // when
+        ResponseEntity<byte[]> result = cache.respond("products:all", "\"products:all-v3\"", null, () -> {
+            loads.incrementAndGet();
+            return ApiResponse.success(List.of("상품1"));
+        });
+
+        // then
+        assertThat(result.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(result.getHeaders().getETag()).isEqualTo("\"products:all-v3\"");
+        assertThat(loads).hasValue(0);
+    }
+
+    @Test
+    @DisplayName("카탈로그 버전이 바뀌면 이전 ETag는 200과 새 본문으로 응답")
+    void respond_versionChanged() {
+        // given
+        when(catalogVersionService.current()).thenReturn(3L);
+        cache.respond("products:all", null, null, () -> ApiResponse.success(List.of("이전")));
+        when(catalogVersionService.current()).thenReturn(4L);
+
+        // when
+        ResponseEntity<byte[]> result = cache.respond("products:all", "\"products:all-v3\"", null,
+                () -> ApiResponse.success(List.of("최신")));
+
+        // then
+        assertThat(result.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(result.getHeaders().getETag()).isEqualTo("\"products:all-v4\"");
+        assertThat(new String(result.getBody(), StandardCharsets.UTF_8)).contains("최신");
+    }
+
+    @Test
+    @DisplayName("버전을 올리지 못한 변경이 있으면 같은 버전이어도 304/바이트 캐시 없이 새 본문")
+    void respond_pendingVersion_skipsNotModifiedAndCache() {
+        // given
+        when(catalogVersionService.current()).thenReturn(3L);
+        cache.respond("products:all", null, null, () -> ApiResponse.success(List.of("이전")));
+        when(catalogVersionService.isPending()).thenReturn(true);
+
+        // when
+        ResponseEntity<byte[]> result = cache.respond("products:all", "\"products:all-v3\"", null,
+                () -> ApiResponse.success(List.of("최신")));
+
+        // then
+        assertThat(result.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(new String(result.getBody(), StandardCharsets.UTF_8)).contains("최신");
+    }
+}
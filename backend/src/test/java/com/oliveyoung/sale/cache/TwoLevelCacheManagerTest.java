@@ -0,0 +1,144 @@
+package com.oliveyoung.sale.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.support.SimpleValueWrapper;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TwoLevelCacheManagerTest {
+
+    @Mock
+    private CacheManager remoteCacheManager;
+
+    @Mock
+    private Cache remoteCache;
+
+    @Mock
+    private RedisTemplate<String, Object> redisTemplate;
+
+    @Mock
+    private RedisMessageListenerContainer listenerContainer;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final GenericJackson2JsonRedisSerializer serializer = new GenericJackson2JsonRedisSerializer();
+
+    private TwoLevelCacheManager cacheManager;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager = new TwoLevelCacheManager(remoteCacheManager, redisTemplate, listenerContainer,
+                meterRegistry, eventPublisher, 100, Duration.ofSeconds(5), null, 0,
+                Duration.ofSeconds(30), Runnable::run);
+        when(remoteCacheManager.getCache("product")).thenReturn(remoteCache);
+    }
+
+    private double count(String level, String result) {
+        return meterRegistry.get("cache.level.requests")
+                .tag("cache", "product").tag("level", level).tag("result", result)
+                .counter().count();
+    }
+
+    @Test
+    @DisplayName("L2 히트 시 L1에 적재하고, 이후 조회는 Redis 없이 L1에서 반환")
+    void get_l2HitPopulatesL1() {
+        // given
+        when(remoteCache.get(1L)).thenReturn(new SimpleValueWrapper("상품1"));
+        Cache cache = cacheManager.getCache("product");
+
+        // when
+        cache.get(1L);
+        Cache.ValueWrapper second = cache.get(1L);
+
+        // then
+        assertThat(second.get()).isEqualTo("상품1");
+        verify(remoteCache, times(1)).get(1L);
+        assertThat(count("l1", "hit")).isEqualTo(1);
+        assertThat(count("l1", "miss")).isEqualTo(1);
+        assertThat(count("l2", "hit")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("양쪽 모두 없으면 null (L2 miss 기록)")
+    void get_missOnBothLevels() {
+        // given
+        Cache cache = cacheManager.getCache("product");
+
+        // then
+        assertThat(cache.get(1L)).isNull();
+        assertThat(count("l2", "miss")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("삭제 시 L2/L1 삭제 후 다른 Pod에 무효화 브로드캐스트")
+    void evict_publishesInvalidation() {
+        // given
+        Cache cache = cacheManager.getCache("product");
+        cache.put(1L, "상품1");
+
+        // when
+        cache.evict(1L);
+
+        // then
+        verify(remoteCache).evict(1L);
+        verify(redisTemplate).convertAndSend(eq(TwoLevelCacheManager.INVALIDATION_CHANNEL),
+                argThat((CacheInvalidationMessage m) -> "product".equals(m.cacheName()) && "1".equals(m.key())));
+        assertThat(cache.get(1L)).isNull();
+    }
+
+    @Test
+    @DisplayName("다른 Pod의 무효화 메시지 수신 시 L1만 삭제")
+    void onMessage_fromOtherPod_evictsLocal() {
+        // given
+        Cache cache = cacheManager.getCache("product");
+        cache.put(1L, "상품1");
+        doReturn(serializer).when(redisTemplate).getValueSerializer();
+        byte[] body = serializer.serialize(new CacheInvalidationMessage("other-pod", "product", "1"));
+
+        // when
+        cacheManager.onMessage(new DefaultMessage(TwoLevelCacheManager.INVALIDATION_CHANNEL.getBytes(), body), null);
+
+        // then
+        assertThat(cache.get(1L)).isNull();
+        verify(remoteCache, never()).evict(any());
+        verify(eventPublisher).publishEvent(new CacheInvalidatedEvent("product", "1", false));
+    }
+
+    @Test
+    @DisplayName("전체 삭제 메시지 수신 시 L1 전체 삭제")
+    void onMessage_clear() {
+        // given
+        Cache cache = cacheManager.getCache("product");
+        cache.put(1L, "상품1");
+        cache.put(2L, "상품2");
+        doReturn(serializer).when(redisTemplate).getValueSerializer();
+        byte[] body = serializer.serialize(new CacheInvalidationMessage("other-pod", "product", null));
+
+        // when
+        cacheManager.onMessage(new DefaultMessage(TwoLevelCacheManager.INVALIDATION_CHANNEL.getBytes(), body), null);
+
+        // then
+        assertThat(cache.get(1L)).isNull();
+        assertThat(cache.get(2L)).isNull();
+    }
+}
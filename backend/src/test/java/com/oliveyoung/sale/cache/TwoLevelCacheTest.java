@@ -0,0 +1,243 @@
+package com.oliveyoung.sale.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TwoLevelCacheTest {
+
+    @Mock
+    private Cache remoteCache;
+
+    @Mock
+    private RedisLoadLock loadLock;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final com.github.benmanes.caffeine.cache.Cache<String, Object> local =
+            Caffeine.newBuilder().maximumSize(100).build();
+
+    private TwoLevelCache createCache(RedisLoadLock lock) {
+        // 백그라운드 갱신은 호출 스레드에서 바로 실행 (검증 단순화)
+        return new TwoLevelCache("product",
+                local,
+                remoteCache,
+                message -> { },
+                meterRegistry,
+                lock,
+                1000,
+                Duration.ofSeconds(30),
+                Runnable::run);
+    }
+
+    private double refreshes(String trigger) {
+        return meterRegistry.get("cache.refreshes").tag("cache", "product").tag("trigger", trigger).counter().count();
+    }
+
+    private double loads(String result) {
+        return meterRegistry.get("cache.loads").tag("cache", "product").tag("result", result).counter().count();
+    }
+
+    @Test
+    @DisplayName("같은 키의 동시 미스는 Pod 내에서 한 번만 로딩")
+    void get_concurrentMisses_loadOnce() throws Exception {
+        // given
+        TwoLevelCache cache = createCache(null);
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        // when
+        List<Future<Object>> results = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            results.add(executor.submit(() -> cache.get(1L, () -> {
+                calls.incrementAndGet();
+                release.await(2, TimeUnit.SECONDS);
+                return "상품1";
+            })));
+        }
+        // 모든 요청이 로딩 결과를 기다리도록 잠시 대기
+        Thread.sleep(200);
+        release.countDown();
+
+        // then
+        for (Future<Object> result : results) {
+            assertThat(result.get(2, TimeUnit.SECONDS)).isEqualTo("상품1");
+        }
+        executor.shutdown();
+        assertThat(calls).hasValue(1);
+        assertThat(loads("executed")).isEqualTo(1);
+        assertThat(loads("coalesced")).isEqualTo(threads - 1);
+    }
+
+    @Test
+    @DisplayName("로딩 실패는 대기 중인 요청에도 같은 예외로 전달되고 다음 요청은 다시 로딩")
+    void get_loaderFailure_propagates() {
+        // given
+        TwoLevelCache cache = createCache(null);
+
+        // then
+        assertThatThrownBy(() -> cache.get(1L, () -> {
+            throw new IllegalArgumentException("상품을 찾을 수 없습니다");
+        })).isInstanceOf(Cache.ValueRetrievalException.class)
+                .hasRootCauseInstanceOf(IllegalArgumentException.class);
+        assertThat(cache.get(1L, () -> "상품1")).isEqualTo("상품1");
+    }
+
+    @Test
+    @DisplayName("다른 Pod가 로딩 중이면 DB 조회 없이 L2에 채워진 값 사용")
+    void get_lockHeldByOtherPod_waitsForL2() {
+        // given
+        TwoLevelCache cache = createCache(loadLock);
+        when(loadLock.tryLock("product::1")).thenReturn(null);
+        when(remoteCache.get(1L)).thenReturn(null, null, new SimpleValueWrapper("상품1"));
+
+        // when
+        Object value = cache.get(1L, () -> {
+            throw new AssertionError("로딩되면 안 됨");
+        });
+
+        // then
+        assertThat(value).isEqualTo("상품1");
+        assertThat(loads("coalesced_remote")).isEqualTo(1);
+        assertThat(loads("executed")).isZero();
+    }
+
+    @Test
+    @DisplayName("분산 락 획득 시 로딩 후 L2 저장 및 락 해제")
+    void get_lockAcquired_loadsAndUnlocks() {
+        // given
+        TwoLevelCache cache = createCache(loadLock);
+        when(loadLock.tryLock("product::1")).thenReturn("token");
+
+        // when
+        Object value = cache.get(1L, () -> "상품1");
+
+        // then
+        assertThat(value).isEqualTo("상품1");
+        verify(remoteCache).put(eq(1L), argThat(envelope -> "상품1".equals(((CacheEnvelope) envelope).value())));
+        verify(loadLock).unlock("product::1", "token");
+    }
+
+    @Test
+    @DisplayName("Soft TTL이 지난 값은 즉시 응답하고 백그라운드에서 갱신")
+    void get_softExpired_servesStaleAndRefreshes() {
+        // given
+        TwoLevelCache cache = createCache(null);
+        local.put("1", new CacheEnvelope("이전 상품1", System.currentTimeMillis() - 1, 10));
+
+        // when
+        Object value = cache.get(1L, () -> "새 상품1");
+
+        // then
+        assertThat(value).isEqualTo("이전 상품1");
+        assertThat(refreshes("stale")).isEqualTo(1);
+        assertThat(cache.get(1L).get()).isEqualTo("새 상품1");
+    }
+
+    @Test
+    @DisplayName("Soft TTL 이전이고 로딩 비용이 작으면 갱신하지 않음")
+    void get_fresh_noRefresh() {
+        // given
+        TwoLevelCache cache = createCache(null);
+        local.put("1", new CacheEnvelope("상품1", System.currentTimeMillis() + 30_000, 0));
+
+        // when
+        Object value = cache.get(1L, () -> {
+            throw new AssertionError("갱신되면 안 됨");
+        });
+
+        // then
+        assertThat(value).isEqualTo("상품1");
+        assertThat(refreshes("early")).isZero();
+        assertThat(loads("executed")).isZero();
+    }
+
+    @Test
+    @DisplayName("만료가 임박하고 로딩 비용이 크면 XFetch로 조기 갱신")
+    void get_nearExpiryExpensiveLoad_refreshesEarly() {
+        // given: 로딩 1시간짜리 값이 1ms 뒤 만료 → -ln(rand) > 0 이므로 거의 항상 갱신
+        TwoLevelCache cache = createCache(null);
+        local.put("1", new CacheEnvelope("상품1", System.currentTimeMillis() + 1000, 3_600_000));
+
+        // when
+        cache.get(1L, () -> "새 상품1");
+
+        // then
+        assertThat(refreshes("early")).isEqualTo(1);
+        assertThat(cache.get(1L).get()).isEqualTo("새 상품1");
+    }
+
+    @Test
+    @DisplayName("다른 Pod가 갱신 중이면 대기 없이 갱신 생략")
+    void get_softExpiredLockHeld_skipsRefresh() {
+        // given
+        TwoLevelCache cache = createCache(loadLock);
+        local.put("1", new CacheEnvelope("이전 상품1", System.currentTimeMillis() - 1, 10));
+        when(loadLock.tryLock("product::1")).thenReturn(null);
+
+        // when
+        Object value = cache.get(1L, () -> {
+            throw new AssertionError("갱신되면 안 됨");
+        });
+
+        // then
+        assertThat(value).isEqualTo("이전 상품1");
+        assertThat(loads("executed")).isZero();
+        verify(remoteCache, never()).get(any());
+    }
+
+    @Test
+    @DisplayName("Envelope 도입 이전 값은 그대로 사용")
+    void get_legacyValue_returnsRaw() {
+        // given
+        TwoLevelCache cache = createCache(null);
+        when(remoteCache.get(1L)).thenReturn(new SimpleValueWrapper("상품1"));
+
+        // when
+        Object value = cache.get(1L, () -> {
+            throw new AssertionError("로딩되면 안 됨");
+        });
+
+        // then
+        assertThat(value).isEqualTo("상품1");
+        assertThat(loads("executed")).isZero();
+    }
+
+    @Test
+    @DisplayName("CacheEnvelope는 Redis 직렬화 후에도 값 타입 유지")
+    void cacheEnvelope_roundTrip() {
+        // given
+        GenericJackson2JsonRedisSerializer serializer = new GenericJackson2JsonRedisSerializer();
+        CacheEnvelope envelope = new CacheEnvelope(List.of("상품1", "상품2"), 1_000L, 15L);
+
+        // when
+        Object restored = serializer.deserialize(serializer.serialize(envelope));
+
+        // then
+        assertThat(restored).isEqualTo(envelope);
+    }
+}
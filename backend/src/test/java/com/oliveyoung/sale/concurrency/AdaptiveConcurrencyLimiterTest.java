@@ -0,0 +1,137 @@
+package com.oliveyoung.sale.concurrency;
+
+import com.oliveyoung.sale.concurrency.AdaptiveConcurrencyLimiter.Priority;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.*;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long WINDOW_MILLIS = 100;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicLong clock = new AtomicLong();
+
+    private AdaptiveConcurrencyLimiter limiter(int initial, int min, int max) {
+        return new AdaptiveConcurrencyLimiter(initial, min, max, WINDOW_MILLIS, 1.5, 0.5, 100,
+                meterRegistry, clock::get);
+    }
+
+    /**
+     * window 하나 동안 concurrent개를 동시에 처리하고 모두 rttMillis 만에 끝낸 것으로 기록
+     */
+    private void runWindow(AdaptiveConcurrencyLimiter limiter, int concurrent, long rttMillis) {
+        int acquired = 0;
+        while (acquired < concurrent && limiter.tryAcquire(Priority.CRITICAL)) {
+            acquired++;
+        }
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(WINDOW_MILLIS));
+        long startedAt = clock.get() - TimeUnit.MILLISECONDS.toNanos(rttMillis);
+        for (int i = 0; i < acquired; i++) {
+            limiter.release(startedAt);
+        }
+    }
+
+    @Test
+    @DisplayName("우선순위가 낮을수록 한도의 작은 비율까지만 허용 (카탈로그 → 대기열 → 구매 순으로 거절)")
+    void tryAcquire_priorityShares() {
+        // given: 한도 10 고정
+        AdaptiveConcurrencyLimiter limiter = limiter(10, 10, 10);
+
+        // when & then
+        for (int i = 0; i < 6; i++) {
+            assertThat(limiter.tryAcquire(Priority.LOW)).isTrue();
+        }
+        assertThat(limiter.tryAcquire(Priority.LOW)).isFalse();
+        assertThat(limiter.tryAcquire(Priority.HIGH)).isTrue();
+        assertThat(limiter.tryAcquire(Priority.HIGH)).isTrue();
+        assertThat(limiter.tryAcquire(Priority.HIGH)).isTrue();
+        assertThat(limiter.tryAcquire(Priority.HIGH)).isFalse();
+        assertThat(limiter.tryAcquire(Priority.CRITICAL)).isTrue();
+        assertThat(limiter.tryAcquire(Priority.CRITICAL)).isFalse();
+
+        assertThat(limiter.getInflight()).isEqualTo(10);
+        assertThat(meterRegistry.get("concurrency.requests.shed").tag("priority", "low").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("응답 시간이 그대로면 한도를 늘리고, 기준선보다 느려지면 한도를 줄임")
+    void release_adjustsLimitByLatencyGradient() {
+        // given
+        AdaptiveConcurrencyLimiter limiter = limiter(20, 5, 200);
+
+        // when: 평소 응답 시간(10ms)으로 한도까지 사용
+        for (int i = 0; i < 10; i++) {
+            runWindow(limiter, Integer.MAX_VALUE, 10);
+        }
+        int grown = limiter.getLimit();
+
+        // and: DB/Redis 지연으로 응답 시간 10배
+        for (int i = 0; i < 10; i++) {
+            runWindow(limiter, Integer.MAX_VALUE, 100);
+        }
+
+        // then
+        assertThat(grown).isGreaterThan(20);
+        assertThat(limiter.getLimit()).isLessThan(grown / 2);
+        assertThat(limiter.getLimit()).isGreaterThanOrEqualTo(5);
+        assertThat(meterRegistry.get("concurrency.limit").gauge().value()).isEqualTo(limiter.getLimit());
+    }
+
+    @Test
+    @DisplayName("실패로 끝난 요청은 샘플을 버림 - 지연 중 빠른 503이 섞여도 한도를 줄임")
+    void releaseWithoutSample_fastFailuresDoNotGrowLimit() {
+        // given: 평소 응답 시간(10ms)으로 기준선 형성
+        AdaptiveConcurrencyLimiter limiter = limiter(20, 5, 200);
+        for (int i = 0; i < 10; i++) {
+            runWindow(limiter, Integer.MAX_VALUE, 10);
+        }
+        int grown = limiter.getLimit();
+
+        // when: 성공은 100ms로 느려지고, 나머지 절반은 벌크헤드 포화로 즉시 실패
+        for (int i = 0; i < 10; i++) {
+            int acquired = 0;
+            while (limiter.tryAcquire(Priority.CRITICAL)) {
+                acquired++;
+            }
+            clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(WINDOW_MILLIS));
+            long startedAt = clock.get() - TimeUnit.MILLISECONDS.toNanos(100);
+            for (int j = 0; j < acquired; j++) {
+                if (j % 2 == 0) {
+                    limiter.release(startedAt);
+                } else {
+                    limiter.releaseWithoutSample();
+                }
+            }
+        }
+
+        // then
+        assertThat(limiter.getLimit()).isLessThan(grown / 2);
+        assertThat(limiter.getInflight()).isZero();
+    }
+
+    @Test
+    @DisplayName("한도의 절반도 쓰지 않는 구간에서는 한도를 바꾸지 않음")
+    void release_underutilized_keepsLimit() {
+        AdaptiveConcurrencyLimiter limiter = limiter(20, 5, 200);
+
+        for (int i = 0; i < 10; i++) {
+            runWindow(limiter, 3, 10);
+        }
+
+        assertThat(limiter.getLimit()).isEqualTo(20);
+    }
+
+    @Test
+    @DisplayName("설정 범위가 잘못되면 생성 거절")
+    void constructor_invalidRange() {
+        assertThatThrownBy(() -> limiter(5, 10, 100))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
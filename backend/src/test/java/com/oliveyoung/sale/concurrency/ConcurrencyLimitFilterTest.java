@@ -0,0 +1,93 @@
+package com.oliveyoung.sale.concurrency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.oliveyoung.sale.concurrency.AdaptiveConcurrencyLimiter.Priority;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+class ConcurrencyLimitFilterTest {
+
+    private final AdaptiveConcurrencyLimiter limiter =
+            spy(new AdaptiveConcurrencyLimiter(10, 10, 10, 100, 1.5, 0.2, 100, new SimpleMeterRegistry()));
+
+    private final ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(limiter, 1, new ObjectMapper());
+
+    private MockHttpServletResponse call(String uri) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", uri), response, new MockFilterChain());
+        return response;
+    }
+
+    @Test
+    @DisplayName("한도가 차면 카탈로그는 즉시 503, 구매는 남은 몫으로 통과")
+    void saturated_shedsLowPriorityFirst() throws Exception {
+        // given: 처리 중 요청 8개 (카탈로그 몫 6개 초과)
+        for (int i = 0; i < 8; i++) {
+            limiter.tryAcquire(Priority.CRITICAL);
+        }
+
+        // when
+        MockHttpServletResponse catalog = call("/api/products");
+        MockHttpServletResponse purchase = call("/api/purchase");
+
+        // then
+        assertThat(catalog.getStatus()).isEqualTo(503);
+        assertThat(catalog.getHeader("Retry-After")).isEqualTo("1");
+        assertThat(catalog.getContentAsString()).contains("\"errorCode\":\"SERVER_BUSY\"");
+        assertThat(purchase.getStatus()).isEqualTo(200);
+        assertThat(limiter.getInflight()).isEqualTo(8);
+    }
+
+    @Test
+    @DisplayName("5xx 응답은 응답 시간 샘플 없이 허가만 반납, 정상 응답은 샘플 기록")
+    void serverError_releasesWithoutSample() throws Exception {
+        // given
+        MockFilterChain failing = new MockFilterChain() {
+            @Override
+            public void doFilter(ServletRequest request, ServletResponse response) {
+                ((MockHttpServletResponse) response).setStatus(503);
+            }
+        };
+
+        // when
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/orders"), new MockHttpServletResponse(), failing);
+        call("/api/orders");
+
+        // then
+        verify(limiter, times(1)).releaseWithoutSample();
+        verify(limiter, times(1)).release(anyLong());
+        assertThat(limiter.getInflight()).isZero();
+    }
+
+    @Test
+    @DisplayName("경로 파라미터가 붙은 카탈로그 요청도 LOW 우선순위로 거절")
+    void pathParameter_keepsLowPriority() throws Exception {
+        // given: 처리 중 요청 8개 (카탈로그 몫 6개 초과)
+        for (int i = 0; i < 8; i++) {
+            limiter.tryAcquire(Priority.CRITICAL);
+        }
+
+        // then
+        assertThat(call("/api/products;x").getStatus()).isEqualTo(503);
+        assertThat(call("/api/%70roducts").getStatus()).isEqualTo(503);
+    }
+
+    @Test
+    @DisplayName("경로별 우선순위: 구매 > 대기열 > 주문/세일 > 카탈로그")
+    void priorityOf_routes() {
+        assertThat(ConcurrencyLimitFilter.priorityOf("/api/purchase")).isEqualTo(Priority.CRITICAL);
+        assertThat(ConcurrencyLimitFilter.priorityOf("/api/queue/status")).isEqualTo(Priority.HIGH);
+        assertThat(ConcurrencyLimitFilter.priorityOf("/api/orders")).isEqualTo(Priority.NORMAL);
+        assertThat(ConcurrencyLimitFilter.priorityOf("/api/products/1")).isEqualTo(Priority.LOW);
+    }
+}
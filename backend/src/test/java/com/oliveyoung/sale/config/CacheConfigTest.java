@@ -0,0 +1,70 @@
+package com.oliveyoung.sale.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+class CacheConfigTest {
+
+    private final ThreadPoolTaskExecutor executor = new CacheConfig().cacheRefreshExecutor(1);
+
+    @AfterEach
+    void tearDown() {
+        MDC.clear();
+        executor.shutdown();
+    }
+
+    @Test
+    @DisplayName("갱신 스레드는 호출 스레드의 MDC를 이어받고, 작업 후 원래 상태로 돌려놓는다")
+    void refreshExecutor_copiesMdc() throws Exception {
+        executor.initialize();
+        MDC.put("traceId", "abc");
+
+        CompletableFuture<String> inTask = new CompletableFuture<>();
+        executor.execute(() -> inTask.complete(MDC.get("traceId")));
+        assertThat(inTask.get(1, TimeUnit.SECONDS)).isEqualTo("abc");
+
+        MDC.clear();
+        CompletableFuture<String> nextTask = new CompletableFuture<>();
+        executor.execute(() -> nextTask.complete(MDC.get("traceId")));
+        assertThat(nextTask.get(1, TimeUnit.SECONDS)).isNull();
+    }
+
+    @Test
+    @DisplayName("갱신 스레드 풀이 포화되면 RejectedExecutionException으로 거절한다 (TwoLevelCache가 갱신 생략)")
+    void refreshExecutor_rejectsWhenSaturated() throws Exception {
+        executor.initialize();
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        executor.execute(() -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        started.await(1, TimeUnit.SECONDS);
+        for (int i = 0; i < 16; i++) {
+            executor.execute(() -> { });
+        }
+
+        try {
+            assertThatThrownBy(() -> executor.execute(() -> { }))
+                    .isInstanceOf(TaskRejectedException.class)
+                    .isInstanceOf(RejectedExecutionException.class);
+        } finally {
+            release.countDown();
+        }
+    }
+}
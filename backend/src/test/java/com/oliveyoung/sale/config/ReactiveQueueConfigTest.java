@@ -0,0 +1,84 @@
+package com.oliveyoung.sale.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.oliveyoung.sale.controller.ReactiveQueueHandler;
+import com.oliveyoung.sale.dto.QueueEntryMessage;
+import com.oliveyoung.sale.service.KafkaProducerService;
+import com.oliveyoung.sale.service.ReactiveQueueService;
+import com.oliveyoung.sale.service.SoldOutRegistry;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
+import org.springframework.http.HttpMethod;
+import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.netty.DisposableServer;
+
+import java.net.URI;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class ReactiveQueueConfigTest {
+
+    @SuppressWarnings("unchecked")
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withUserConfiguration(ReactiveQueueConfig.class, ReactiveQueueHandler.class, ReactiveQueueService.class)
+            .withBean(ReactiveRedisConnectionFactory.class, () -> mock(ReactiveRedisConnectionFactory.class))
+            .withBean(ProducerFactory.class, () -> {
+                ProducerFactory<String, QueueEntryMessage> producerFactory = mock(ProducerFactory.class);
+                when(producerFactory.getConfigurationProperties())
+                        .thenReturn(Map.of("bootstrap.servers", "localhost:9092"));
+                return producerFactory;
+            })
+            .withBean(KafkaProducerService.class, () -> mock(KafkaProducerService.class))
+            .withBean(SoldOutRegistry.class, () -> mock(SoldOutRegistry.class))
+            .withBean(Validator.class, () -> Validation.buildDefaultValidatorFactory().getValidator())
+            .withBean(ObjectMapper.class, ObjectMapper::new);
+
+    @Test
+    @DisplayName("app.queue.reactive.enabled가 없으면 리액티브 포트와 관련 빈을 만들지 않음")
+    void disabledByDefault() {
+        contextRunner.run(context -> {
+            assertThat(context).doesNotHaveBean(DisposableServer.class);
+            assertThat(context).doesNotHaveBean(ReactiveQueueHandler.class);
+            assertThat(context).doesNotHaveBean(ReactiveQueueService.class);
+        });
+    }
+
+    @Test
+    @DisplayName("활성화 시 별도 포트에 대기열 라우터를 띄우고 컨텍스트 종료 시 정리")
+    void enabled_servesQueueRoutes() {
+        contextRunner
+                .withPropertyValues("app.queue.reactive.enabled=true", "app.queue.reactive.port=0")
+                .run(context -> {
+                    DisposableServer server = context.getBean(DisposableServer.class);
+                    WebTestClient client = WebTestClient.bindToServer()
+                            .baseUrl("http://localhost:" + server.port())
+                            .build();
+
+                    client.get().uri("/api/queue/status?productId=abc&token=t")
+                            .exchange()
+                            .expectStatus().isBadRequest()
+                            .expectBody()
+                            .jsonPath("$.errorCode").isEqualTo("BAD_REQUEST");
+                    client.get().uri("/api/products")
+                            .exchange()
+                            .expectStatus().isNotFound();
+                });
+    }
+
+    @Test
+    @DisplayName("요청 한도용 경로는 경로 파라미터를 빼고 디코딩한 라우터 매칭 경로")
+    void lookupPath_stripsParametersAndDecodes() {
+        assertThat(ReactiveQueueConfig.lookupPath(MockServerHttpRequest.get("/api/queue/status;x").build()))
+                .isEqualTo("/api/queue/status");
+        assertThat(ReactiveQueueConfig.lookupPath(MockServerHttpRequest.method(HttpMethod.GET, URI.create("/api/queue/%73tatus")).build()))
+                .isEqualTo("/api/queue/status");
+    }
+}
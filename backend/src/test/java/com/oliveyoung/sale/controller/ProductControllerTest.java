@@ -0,0 +1,103 @@
+package com.oliveyoung.sale.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.oliveyoung.sale.cache.CatalogResponseCache;
+import com.oliveyoung.sale.dto.ProductResponse;
+import com.oliveyoung.sale.repository.ProductRepository;
+import com.oliveyoung.sale.service.CatalogChangeLog;
+import com.oliveyoung.sale.service.CatalogVersionService;
+import com.oliveyoung.sale.service.ProductService;
+import com.oliveyoung.sale.service.ProductStockView;
+import com.oliveyoung.sale.service.SaleState;
+import com.oliveyoung.sale.service.SaleStateService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductControllerTest {
+
+    @Mock
+    private ProductService productService;
+
+    @Mock
+    private SaleStateService saleStateService;
+
+    @Mock
+    private CatalogVersionService catalogVersionService;
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private RedisTemplate<String, Object> redisTemplate;
+
+    @Mock
+    private RedisMessageListenerContainer listenerContainer;
+
+    @Mock
+    private CatalogChangeLog catalogChangeLog;
+
+    private ProductStockView productStockView;
+    private ProductController productController;
+
+    @BeforeEach
+    void setUp() {
+        productStockView = new ProductStockView(productRepository, redisTemplate, listenerContainer, catalogChangeLog);
+        productController = new ProductController(productService,
+                new CatalogResponseCache(new ObjectMapper(), catalogVersionService, 60),
+                productStockView, saleStateService);
+        when(saleStateService.current()).thenReturn(SaleState.NONE);
+        // 상세 응답은 호출 시점의 재고 뷰 값으로 만듦
+        lenient().when(productService.getProduct(anyLong(), any())).thenAnswer(invocation -> {
+            Long id = invocation.getArgument(0);
+            return ProductResponse.builder().id(id).name("상품" + id).stock(productStockView.stockOf(id)).build();
+        });
+    }
+
+    @Test
+    @DisplayName("상세 - 같은 재고 구간 안에서 재고가 바뀌어도 새 본문과 새 ETag")
+    void getProduct_stockChangeWithinBucket_changesBodyAndEtag() {
+        // given: 7 → 5 (같은 구간 4~7)
+        productStockView.update(1L, 7);
+        ResponseEntity<byte[]> before = productController.getProduct(1L, null, null);
+
+        // when
+        productStockView.update(1L, 5);
+        ResponseEntity<byte[]> after = productController.getProduct(1L, before.getHeaders().getETag(), null);
+
+        // then
+        assertThat(after.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(after.getHeaders().getETag()).isNotEqualTo(before.getHeaders().getETag());
+        assertThat(new String(after.getBody(), StandardCharsets.UTF_8)).contains("\"stock\":5");
+    }
+
+    @Test
+    @DisplayName("상세 - 다른 상품의 재고가 바뀌어도 이 상품은 304")
+    void getProduct_otherProductChanges_stillNotModified() {
+        // given
+        productStockView.update(1L, 7);
+        productStockView.update(2L, 7);
+        ResponseEntity<byte[]> first = productController.getProduct(1L, null, null);
+
+        // when: 다른 상품이 구간을 넘어 품절
+        productStockView.update(2L, 0);
+        ResponseEntity<byte[]> second = productController.getProduct(1L, first.getHeaders().getETag(), null);
+
+        // then
+        assertThat(second.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+    }
+}
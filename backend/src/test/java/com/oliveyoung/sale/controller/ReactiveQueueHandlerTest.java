@@ -0,0 +1,188 @@
+package com.oliveyoung.sale.controller;
+
+import com.oliveyoung.sale.exception.SoldOutException;
+import com.oliveyoung.sale.service.QueueService;
+import com.oliveyoung.sale.service.ReactiveQueueService;
+import com.oliveyoung.sale.service.SoldOutRegistry;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Mono;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveQueueHandlerTest {
+
+    @Mock
+    private ReactiveQueueService reactiveQueueService;
+
+    @Mock
+    private SoldOutRegistry soldOutRegistry;
+
+    private WebTestClient client;
+
+    @BeforeEach
+    void setUp() {
+        ReactiveQueueHandler handler = new ReactiveQueueHandler(reactiveQueueService, soldOutRegistry,
+                Validation.buildDefaultValidatorFactory().getValidator());
+        client = WebTestClient.bindToRouterFunction(handler.routes()).build();
+    }
+
+    @Test
+    @DisplayName("대기열 진입 - 세션 헤더로 진입하고 QueueController와 같은 응답 형식")
+    void enterQueue_success() {
+        // given
+        when(reactiveQueueService.enterQueue("session-1", 1L))
+                .thenReturn(Mono.just(new QueueService.QueueEntry("token-abc", 51, 6)));
+
+        // when & then
+        client.post().uri("/api/queue/enter")
+                .header("X-Session-Id", "session-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"productId\":1}")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.success").isEqualTo(true)
+                .jsonPath("$.data.token").isEqualTo("token-abc")
+                .jsonPath("$.data.position").isEqualTo(51);
+    }
+
+    @Test
+    @DisplayName("대기열 진입 - 상품 ID 누락은 400 VALIDATION_ERROR, 서비스 호출 없음")
+    void enterQueue_missingProductId_validationError() {
+        client.post().uri("/api/queue/enter")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{}")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.errorCode").isEqualTo("VALIDATION_ERROR");
+
+        verifyNoInteractions(reactiveQueueService);
+    }
+
+    @Test
+    @DisplayName("대기열 진입 - 본문 JSON 파싱 실패는 400 BAD_REQUEST")
+    void enterQueue_malformedBody_badRequest() {
+        client.post().uri("/api/queue/enter")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"productId\":")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.errorCode").isEqualTo("BAD_REQUEST");
+    }
+
+    @Test
+    @DisplayName("대기열 진입 - 입장 마감 상품은 409 SOLD_OUT")
+    void enterQueue_admissionClosed_soldOut() {
+        // given
+        doThrow(new SoldOutException(1L)).when(soldOutRegistry).checkAdmissionOpen(1L);
+
+        // when & then
+        client.post().uri("/api/queue/enter")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"productId\":1}")
+                .exchange()
+                .expectStatus().isEqualTo(409)
+                .expectBody()
+                .jsonPath("$.errorCode").isEqualTo("SOLD_OUT");
+
+        verifyNoInteractions(reactiveQueueService);
+    }
+
+    @Test
+    @DisplayName("대기열 진입 - 대기열이 가득 차면 409 STATE_ERROR")
+    void enterQueue_queueFull_stateError() {
+        // given
+        when(reactiveQueueService.enterQueue(anyString(), eq(1L)))
+                .thenReturn(Mono.error(new IllegalStateException("대기열이 가득 찼습니다. 잠시 후 다시 시도해주세요.")));
+
+        // when & then
+        client.post().uri("/api/queue/enter")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"productId\":1}")
+                .exchange()
+                .expectStatus().isEqualTo(409)
+                .expectBody()
+                .jsonPath("$.errorCode").isEqualTo("STATE_ERROR");
+    }
+
+    @Test
+    @DisplayName("대기열 진입 - 예상하지 못한 오류는 500 INTERNAL_ERROR (원인 메시지 미노출)")
+    void enterQueue_unexpectedError_internalError() {
+        // given
+        when(reactiveQueueService.enterQueue(anyString(), eq(1L)))
+                .thenReturn(Mono.error(new RuntimeException("Kafka와 Redis 모두 실패")));
+
+        // when & then
+        client.post().uri("/api/queue/enter")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"productId\":1}")
+                .exchange()
+                .expectStatus().is5xxServerError()
+                .expectBody()
+                .jsonPath("$.errorCode").isEqualTo("INTERNAL_ERROR")
+                .jsonPath("$.message").isEqualTo("서버 오류가 발생했습니다. 잠시 후 다시 시도해주세요.");
+    }
+
+    @Test
+    @DisplayName("상태 조회 - 입장한 세션은 구매 가능 응답")
+    void getQueueStatus_success() {
+        // given
+        when(reactiveQueueService.getQueueStatus("session-1", "token-abc", 1L))
+                .thenReturn(Mono.just(new QueueService.QueueStatus(0, 0, true, false)));
+
+        // when & then
+        client.get().uri("/api/queue/status?productId=1&token=token-abc")
+                .header("X-Session-Id", "session-1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.data.canPurchase").isEqualTo(true);
+    }
+
+    @Test
+    @DisplayName("상태 조회 - 입장 마감으로 보류된 세션은 admissionClosed 응답")
+    void getQueueStatus_admissionClosed() {
+        // given
+        when(reactiveQueueService.getQueueStatus("session-1", "token-abc", 1L))
+                .thenReturn(Mono.just(new QueueService.QueueStatus(3, 0, false, false, false, true)));
+
+        // when & then
+        client.get().uri("/api/queue/status?productId=1&token=token-abc")
+                .header("X-Session-Id", "session-1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.data.admissionClosed").isEqualTo(true)
+                .jsonPath("$.data.canPurchase").isEqualTo(false)
+                .jsonPath("$.data.message").isEqualTo("남은 재고가 모두 예약되었습니다. 예약이 취소되면 순서대로 입장합니다.");
+    }
+
+    @Test
+    @DisplayName("상태 조회 - 숫자가 아닌 productId, token 누락은 400 BAD_REQUEST")
+    void getQueueStatus_invalidParams_badRequest() {
+        client.get().uri("/api/queue/status?productId=abc&token=token-abc")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.errorCode").isEqualTo("BAD_REQUEST");
+        client.get().uri("/api/queue/status?productId=1")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("token은 필수입니다.");
+
+        verifyNoInteractions(reactiveQueueService);
+    }
+}
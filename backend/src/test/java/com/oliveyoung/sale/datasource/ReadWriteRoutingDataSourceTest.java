@@ -0,0 +1,111 @@
+package com.oliveyoung.sale.datasource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * 서로 다른 H2 DB 두 개를 Writer/Reader로 두고, 어느 DB에서 읽었는지로 라우팅을 확인합니다.
+ */
+class ReadWriteRoutingDataSourceTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicLong clock = new AtomicLong(1_000_000L);
+
+    private JdbcTemplate writer;
+    private JdbcTemplate reader;
+    private ReplicaLagMonitor monitor;
+    private JdbcTemplate routed;
+    private TransactionTemplate writeTx;
+    private TransactionTemplate readOnlyTx;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource writerDataSource = ReplicaLagMonitorTest.h2("writer");
+        DriverManagerDataSource readerDataSource = ReplicaLagMonitorTest.h2("reader");
+        writer = new JdbcTemplate(writerDataSource);
+        reader = new JdbcTemplate(readerDataSource);
+        writer.execute("CREATE TABLE node (name VARCHAR(10))");
+        writer.update("INSERT INTO node VALUES ('writer')");
+        reader.execute("CREATE TABLE node (name VARCHAR(10))");
+        reader.update("INSERT INTO node VALUES ('reader')");
+
+        monitor = new ReplicaLagMonitor(writerDataSource, readerDataSource, 2000, meterRegistry, clock::get);
+        monitor.init();
+
+        DataSource dataSource = new LazyConnectionDataSourceProxy(
+                new ReadWriteRoutingDataSource(writerDataSource, readerDataSource, monitor, meterRegistry));
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        routed = new JdbcTemplate(dataSource);
+        writeTx = new TransactionTemplate(transactionManager);
+        readOnlyTx = new TransactionTemplate(transactionManager);
+        readOnlyTx.setReadOnly(true);
+    }
+
+    private String currentNode() {
+        return routed.queryForObject("SELECT name FROM node", String.class);
+    }
+
+    private double routes(String target) {
+        return meterRegistry.get("datasource.routing").tag("target", target).counter().count();
+    }
+
+    @Test
+    @DisplayName("복제가 따라온 상태의 읽기 전용 트랜잭션은 Reader로")
+    void readOnlyTransaction_routesToReader() {
+        // given
+        ReplicaLagMonitorTest.replicate(writer, reader);
+        monitor.check();
+
+        // when
+        String node = readOnlyTx.execute(status -> currentNode());
+
+        // then
+        assertThat(node).isEqualTo("reader");
+        assertThat(routes("reader")).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("쓰기 트랜잭션(및 트랜잭션 밖)은 Writer로")
+    void writeTransaction_routesToWriter() {
+        // given
+        ReplicaLagMonitorTest.replicate(writer, reader);
+        monitor.check();
+
+        // when
+        String inTransaction = writeTx.execute(status -> currentNode());
+        String outside = currentNode();
+
+        // then
+        assertThat(inTransaction).isEqualTo("writer");
+        assertThat(outside).isEqualTo("writer");
+        assertThat(routes("reader")).isZero();
+    }
+
+    @Test
+    @DisplayName("복제 지연이 기준을 넘으면 읽기 전용 트랜잭션도 Writer로")
+    void readOnlyTransaction_replicaLagging_fallsBackToWriter() {
+        // given
+        ReplicaLagMonitorTest.replicate(writer, reader);
+        clock.addAndGet(5000);
+        monitor.check();
+
+        // when
+        String node = readOnlyTx.execute(status -> currentNode());
+
+        // then
+        assertThat(node).isEqualTo("writer");
+        assertThat(routes("writer-fallback")).isEqualTo(1.0);
+    }
+}
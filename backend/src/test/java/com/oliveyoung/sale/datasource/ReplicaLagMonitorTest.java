@@ -0,0 +1,107 @@
+package com.oliveyoung.sale.datasource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Writer/Reader를 별도 H2 인메모리 DB 두 개로 두고, 복제는 하트비트 행 복사로 흉내냅니다.
+ */
+class ReplicaLagMonitorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicLong clock = new AtomicLong(1_000_000L);
+
+    private JdbcTemplate writer;
+    private JdbcTemplate reader;
+    private ReplicaLagMonitor monitor;
+
+    static DriverManagerDataSource h2(String name) {
+        return new DriverManagerDataSource("jdbc:h2:mem:" + name + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+    }
+
+    /**
+     * Writer 하트비트를 Reader로 복사 (복제 완료)
+     */
+    static void replicate(JdbcTemplate writer, JdbcTemplate reader) {
+        Long beat = writer.queryForObject("SELECT beat_at FROM replica_heartbeat WHERE id = 1", Long.class);
+        reader.execute("CREATE TABLE IF NOT EXISTS replica_heartbeat (id INT PRIMARY KEY, beat_at BIGINT NOT NULL)");
+        reader.update("DELETE FROM replica_heartbeat");
+        reader.update("INSERT INTO replica_heartbeat (id, beat_at) VALUES (1, ?)", beat);
+    }
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource writerDataSource = h2("writer");
+        DriverManagerDataSource readerDataSource = h2("reader");
+        writer = new JdbcTemplate(writerDataSource);
+        reader = new JdbcTemplate(readerDataSource);
+        monitor = new ReplicaLagMonitor(writerDataSource, readerDataSource, 2000, meterRegistry, clock::get);
+    }
+
+    @Test
+    @DisplayName("Reader 상태를 확인하기 전에는 지연 중으로 간주")
+    void beforeCheck_isLagging() {
+        assertThat(monitor.isLagging()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Reader에 하트비트가 없으면(복제 전/조회 실패) Writer로 폴백")
+    void check_readerMissingHeartbeat_isLagging() {
+        // when
+        monitor.init();
+
+        // then
+        assertThat(monitor.isLagging()).isTrue();
+        assertThat(monitor.lagMillis()).isEqualTo(-1);
+        assertThat(meterRegistry.get("datasource.replica.fallback").gauge().value()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("복제가 따라오면 지연 0으로 Reader 사용")
+    void check_replicated_notLagging() {
+        // given
+        monitor.init();
+        replicate(writer, reader);
+
+        // when
+        monitor.check();
+
+        // then
+        assertThat(monitor.isLagging()).isFalse();
+        assertThat(monitor.lagMillis()).isZero();
+        assertThat(meterRegistry.get("datasource.replica.lag").gauge().value()).isZero();
+    }
+
+    @Test
+    @DisplayName("Reader 하트비트가 기준보다 오래되면 Writer로 폴백, 따라오면 복귀")
+    void check_lagBeyondThreshold_fallsBackThenRecovers() {
+        // given
+        monitor.init();
+        replicate(writer, reader);
+        monitor.check();
+
+        // when: 5초 동안 복제가 멈춤
+        clock.addAndGet(5000);
+        monitor.check();
+
+        // then
+        assertThat(monitor.isLagging()).isTrue();
+        assertThat(monitor.lagMillis()).isEqualTo(5000);
+
+        // when: 복제 재개
+        replicate(writer, reader);
+        monitor.check();
+
+        // then
+        assertThat(monitor.isLagging()).isFalse();
+    }
+}
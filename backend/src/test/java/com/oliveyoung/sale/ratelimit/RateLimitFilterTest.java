@@ -0,0 +1,80 @@
+package com.oliveyoung.sale.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+class RateLimitFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final RateLimitFilter filter = new RateLimitFilter(new RateLimiter(List.of(
+            new RateLimiter.Route("queue-status", "GET", "/api/queue/status",
+                    new TokenBuckets(0.5, 1, 100), null, meterRegistry)
+    )), new ObjectMapper());
+
+    private MockHttpServletResponse call(String method, String uri, String sessionId) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+        if (sessionId != null) {
+            request.addHeader("X-Session-Id", sessionId);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    @Test
+    @DisplayName("한도를 넘으면 컨트롤러 호출 없이 429 + Retry-After + 공통 응답 형식")
+    void overLimit_returns429() throws Exception {
+        // given
+        assertThat(call("GET", "/api/queue/status", "session-1").getStatus()).isEqualTo(200);
+
+        // when
+        MockHttpServletResponse rejected = call("GET", "/api/queue/status", "session-1");
+
+        // then
+        assertThat(rejected.getStatus()).isEqualTo(429);
+        assertThat(rejected.getHeader("Retry-After")).isEqualTo("2");
+        assertThat(rejected.getContentAsString())
+                .contains("\"success\":false")
+                .contains("\"errorCode\":\"TOO_MANY_REQUESTS\"");
+        assertThat(meterRegistry.get("ratelimit.requests.rejected")
+                .tags("route", "queue-status", "scope", "session").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("다른 세션과 한도 대상이 아닌 경로는 영향 없음")
+    void otherSessionsAndRoutes_pass() throws Exception {
+        call("GET", "/api/queue/status", "session-1");
+
+        assertThat(call("GET", "/api/queue/status", "session-2").getStatus()).isEqualTo(200);
+        assertThat(call("POST", "/api/queue/status", "session-1").getStatus()).isEqualTo(200);
+        assertThat(call("GET", "/api/products", "session-1").getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    @DisplayName("경로 파라미터(;x)/퍼센트 인코딩 경로도 같은 라우트로 보고 한도 적용 (컨트롤러와 같은 조회 경로)")
+    void pathVariants_sameRoute() throws Exception {
+        assertThat(call("GET", "/api/queue/status;x", "session-1").getStatus()).isEqualTo(200);
+
+        assertThat(call("GET", "/api/queue/status;jsessionid=abc", "session-1").getStatus()).isEqualTo(429);
+        assertThat(call("GET", "/api/queue/%73tatus", "session-1").getStatus()).isEqualTo(429);
+        assertThat(call("GET", "/api//queue/status", "session-1").getStatus()).isEqualTo(429);
+    }
+
+    @Test
+    @DisplayName("세션 헤더가 없으면 IP별로 한도 적용")
+    void noSessionHeader_limitedByIp() throws Exception {
+        assertThat(call("GET", "/api/queue/status", null).getStatus()).isEqualTo(200);
+        assertThat(call("GET", "/api/queue/status", null).getStatus()).isEqualTo(429);
+        assertThat(call("GET", "/api/queue/status", "session-1").getStatus()).isEqualTo(200);
+    }
+}
@@ -0,0 +1,82 @@
+package com.oliveyoung.sale.ratelimit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.*;
+
+class TokenBucketsTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final AtomicLong clock = new AtomicLong(-5 * SECOND); // nanoTime은 음수일 수 있음
+
+    @Test
+    @DisplayName("burst만큼 즉시 허용하고, 이후는 rate 간격으로 허용")
+    void tryAcquire_burstThenRate() {
+        // given: 초당 2건, 버스트 3
+        TokenBuckets buckets = new TokenBuckets(2, 3, 100, clock::get);
+
+        // when & then
+        assertThat(buckets.tryAcquire("s")).isZero();
+        assertThat(buckets.tryAcquire("s")).isZero();
+        assertThat(buckets.tryAcquire("s")).isZero();
+        assertThat(buckets.tryAcquire("s")).isEqualTo(SECOND / 2);
+
+        clock.addAndGet(SECOND / 2);
+        assertThat(buckets.tryAcquire("s")).isZero();
+        assertThat(buckets.tryAcquire("s")).isEqualTo(SECOND / 2);
+    }
+
+    @Test
+    @DisplayName("세션마다 버킷이 따로 있음")
+    void tryAcquire_perKey() {
+        TokenBuckets buckets = new TokenBuckets(1, 1, 100, clock::get);
+
+        assertThat(buckets.tryAcquire("a")).isZero();
+        assertThat(buckets.tryAcquire("a")).isPositive();
+        assertThat(buckets.tryAcquire("b")).isZero();
+    }
+
+    @Test
+    @DisplayName("오래 쉬어도 burst 이상 쌓이지 않음")
+    void tryAcquire_idleDoesNotAccumulate() {
+        TokenBuckets buckets = new TokenBuckets(1, 2, 100, clock::get);
+        buckets.tryAcquire("s");
+
+        clock.addAndGet(60 * SECOND);
+
+        assertThat(buckets.tryAcquire("s")).isZero();
+        assertThat(buckets.tryAcquire("s")).isZero();
+        assertThat(buckets.tryAcquire("s")).isPositive();
+    }
+
+    @Test
+    @DisplayName("동시 요청에서도 burst를 넘겨 허용하지 않음 (CAS)")
+    void tryAcquire_concurrent() throws Exception {
+        // given: 시계가 멈춰 있으므로 정확히 burst(50)건만 허용되어야 함
+        TokenBuckets buckets = new TokenBuckets(1, 50, 100, clock::get);
+        AtomicInteger allowed = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        // when
+        for (int i = 0; i < 1000; i++) {
+            executor.submit(() -> {
+                if (buckets.tryAcquire("s") == 0) {
+                    allowed.incrementAndGet();
+                }
+            });
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+
+        // then
+        assertThat(allowed.get()).isEqualTo(50);
+    }
+}
@@ -0,0 +1,174 @@
+package com.oliveyoung.sale.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CatalogChangeLogTest {
+
+    @Mock
+    private RedisTemplate<String, Object> redisTemplate;
+
+    @Mock
+    private ValueOperations<String, Object> valueOperations;
+
+    @Mock
+    private RedisMessageListenerContainer listenerContainer;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private CatalogChangeLog catalogChangeLog;
+
+    private final GenericJackson2JsonRedisSerializer serializer = new GenericJackson2JsonRedisSerializer();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(catalogChangeLog, "capacity", 3);
+        lenient().when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        lenient().doReturn(serializer).when(redisTemplate).getValueSerializer();
+    }
+
+    private void receive(String event) {
+        catalogChangeLog.onMessage(
+                new DefaultMessage(CatalogChangeLog.CHANGE_CHANNEL.getBytes(), serializer.serialize(event)), null);
+    }
+
+    @Test
+    @DisplayName("상품 변경 기록 시 공통 순번을 받아 로컬 반영 후 재고와 함께 브로드캐스트")
+    void recordProduct_appendsAndPublishes() {
+        // given
+        when(valueOperations.increment("catalog:change:seq")).thenReturn(1L, 2L);
+
+        // when
+        boolean first = catalogChangeLog.recordProduct(7L, 5);
+        boolean second = catalogChangeLog.recordProduct(8L, 0);
+
+        // then
+        assertThat(first).isTrue();
+        assertThat(second).isTrue();
+        assertThat(catalogChangeLog.latest()).isEqualTo(2L);
+        assertThat(catalogChangeLog.changedSince(1L)).contains(Set.of(8L));
+        verify(redisTemplate).convertAndSend(CatalogChangeLog.CHANGE_CHANNEL, "2:8:0");
+    }
+
+    @Test
+    @DisplayName("수신한 변경의 재고는 순번을 버퍼에 넣기 전에 반영")
+    void onMessage_appliesStockBeforeSequence() {
+        // given
+        doAnswer(invocation -> {
+            // 재고를 반영하는 시점에는 아직 순번이 보이지 않음
+            assertThat(catalogChangeLog.latest()).isZero();
+            return null;
+        }).when(eventPublisher).publishEvent(new StockChangedEvent(7L, 3));
+
+        // when
+        receive("1:7:3");
+
+        // then
+        verify(eventPublisher).publishEvent(new StockChangedEvent(7L, 3));
+        assertThat(catalogChangeLog.latest()).isEqualTo(1L);
+        assertThat(catalogChangeLog.changedSince(0L)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("순번 발급에 실패한 변경은 다음 기록 때 전체 변경을 먼저 기록해 델타에서 빠지지 않음")
+    void recordProduct_incrementFailed_recordsAllOnNextSequence() {
+        // given
+        when(valueOperations.increment("catalog:change:seq"))
+                .thenThrow(new QueryTimeoutException("timeout"))
+                .thenReturn(1L, 2L);
+
+        // when
+        boolean failed = catalogChangeLog.recordProduct(7L, 5);
+        boolean recorded = catalogChangeLog.recordProduct(8L, 4);
+
+        // then: 1 = 전체 변경(보정), 2 = 상품 8
+        assertThat(failed).isFalse();
+        assertThat(recorded).isTrue();
+        verify(redisTemplate).convertAndSend(CatalogChangeLog.CHANGE_CHANNEL, "1:*");
+        verify(redisTemplate).convertAndSend(CatalogChangeLog.CHANGE_CHANNEL, "2:8:4");
+        assertThat(catalogChangeLog.changedSince(1L).orElseThrow()).containsExactly(8L);
+    }
+
+    @Test
+    @DisplayName("순번 발급 실패 후 다른 변경이 없어도 주기 보정으로 전체 변경 기록")
+    void recoverMissed_recordsAll() {
+        // given
+        when(valueOperations.increment("catalog:change:seq"))
+                .thenThrow(new QueryTimeoutException("timeout"))
+                .thenReturn(1L);
+        catalogChangeLog.recordProduct(7L, 5);
+
+        // when
+        catalogChangeLog.recoverMissed();
+        catalogChangeLog.recoverMissed();
+
+        // then: 보정은 한 번만
+        verify(redisTemplate).convertAndSend(CatalogChangeLog.CHANGE_CHANNEL, "1:*");
+        verify(valueOperations, times(2)).increment("catalog:change:seq");
+    }
+
+    @Test
+    @DisplayName("연속 구간이면 바뀐 상품만 중복 없이 반환 (순서 뒤바뀐/중복 메시지 포함)")
+    void changedSince_contiguous_returnsProductIds() {
+        // given
+        receive("1:10");
+        receive("3:10");
+        receive("2:20");
+        receive("3:10");
+
+        // then
+        assertThat(catalogChangeLog.latest()).isEqualTo(3L);
+        assertThat(catalogChangeLog.changedSince(1L).orElseThrow()).containsExactly(20L, 10L);
+        assertThat(catalogChangeLog.changedSince(3L).orElseThrow()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("since가 버퍼에서 밀려났거나 중간이 빠졌으면 전체 스냅샷")
+    void changedSince_evictedOrGap_returnsEmpty() {
+        // given (용량 3)
+        receive("1:1");
+        receive("2:2");
+        receive("3:3");
+        receive("4:4");
+        receive("6:6");
+
+        // then
+        assertThat(catalogChangeLog.changedSince(1L)).isEmpty();   // 2가 밀려남
+        assertThat(catalogChangeLog.changedSince(4L)).isEmpty();   // 5 유실
+        assertThat(catalogChangeLog.changedSince(7L)).isEmpty();   // 미래 버전
+    }
+
+    @Test
+    @DisplayName("전체 변경(세일 전환 등)이 구간에 있으면 전체 스냅샷")
+    void changedSince_allChange_returnsEmpty() {
+        // given
+        receive("1:1");
+        receive("2:*");
+        receive("3:3");
+
+        // then
+        assertThat(catalogChangeLog.changedSince(1L)).isEmpty();
+        assertThat(catalogChangeLog.changedSince(2L).orElseThrow()).containsExactly(3L);
+    }
+}
@@ -0,0 +1,154 @@
+package com.oliveyoung.sale.service;
+
+import com.oliveyoung.sale.cache.CacheInvalidatedEvent;
+import com.oliveyoung.sale.cache.TwoLevelCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CatalogVersionServiceTest {
+
+    @Mock
+    private RedisTemplate<String, Object> redisTemplate;
+
+    @Mock
+    private ValueOperations<String, Object> valueOperations;
+
+    @Mock
+    private RedisMessageListenerContainer listenerContainer;
+
+    @Mock
+    private CacheManager cacheManager;
+
+    @InjectMocks
+    private CatalogVersionService catalogVersionService;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+    }
+
+    @Test
+    @DisplayName("버전 증가 시 Redis INCR 값으로 갱신 후 브로드캐스트")
+    void bump_incrementsAndPublishes() {
+        // given
+        when(valueOperations.increment("catalog:version")).thenReturn(7L);
+
+        // when
+        long version = catalogVersionService.bump();
+
+        // then
+        assertThat(version).isEqualTo(7L);
+        assertThat(catalogVersionService.current()).isEqualTo(7L);
+        verify(redisTemplate).convertAndSend(CatalogVersionService.VERSION_CHANNEL, 7L);
+    }
+
+    @Test
+    @DisplayName("Redis 장애 시 로컬 버전은 올리지 않고 L1을 비운 뒤 미반영 표시")
+    void bump_redisFailure_marksPending() {
+        // given
+        when(valueOperations.increment("catalog:version")).thenThrow(new RuntimeException("Redis down"));
+        TwoLevelCache catalog = mock(TwoLevelCache.class);
+        when(cacheManager.getCache(anyString())).thenReturn(catalog);
+
+        // when
+        long version = catalogVersionService.bump();
+
+        // then
+        assertThat(version).isZero();
+        assertThat(catalogVersionService.current()).isZero();
+        assertThat(catalogVersionService.isPending()).isTrue();
+        verify(catalog, times(3)).clearLocal();
+    }
+
+    @Test
+    @DisplayName("증가 실패 후 다른 Pod가 올린 실제 버전을 무시하지 않고, 재동기화 때 다시 증가")
+    @SuppressWarnings("unchecked")
+    void bump_redisFailure_adoptsRealVersionThenRetries() {
+        // given
+        RedisSerializer<Object> serializer = mock(RedisSerializer.class);
+        doReturn(serializer).when(redisTemplate).getValueSerializer();
+        when(serializer.deserialize(any())).thenReturn(1L);
+        when(valueOperations.increment("catalog:version"))
+                .thenThrow(new RuntimeException("Redis down"))
+                .thenReturn(2L);
+        catalogVersionService.bump();
+
+        // when
+        catalogVersionService.onMessage(mock(Message.class), null);
+        long adopted = catalogVersionService.current();
+        catalogVersionService.reconcile();
+
+        // then
+        assertThat(adopted).isEqualTo(1L);
+        assertThat(catalogVersionService.current()).isEqualTo(2L);
+        assertThat(catalogVersionService.isPending()).isFalse();
+        verify(redisTemplate).convertAndSend(CatalogVersionService.VERSION_CHANNEL, 2L);
+    }
+
+    @Test
+    @DisplayName("다른 Pod에서 온 캐시 무효화는 버전을 올리지 않음")
+    void onCacheInvalidated_remoteIgnored() {
+        // when
+        catalogVersionService.onCacheInvalidated(new CacheInvalidatedEvent("catalog", null, false));
+
+        // then
+        verify(valueOperations, never()).increment(anyString());
+    }
+
+    @Test
+    @DisplayName("재동기화 시 버전은 감소하지 않음")
+    void reconcile_neverGoesBackwards() {
+        // given
+        when(valueOperations.increment("catalog:version")).thenReturn(10L);
+        catalogVersionService.bump();
+        when(valueOperations.get("catalog:version")).thenReturn(8);
+
+        // when
+        catalogVersionService.reconcile();
+
+        // then
+        assertThat(catalogVersionService.current()).isEqualTo(10L);
+    }
+
+    @Test
+    @DisplayName("다른 Pod의 버전 메시지를 받으면 새 버전을 반영하기 전에 카탈로그 L1부터 비움")
+    @SuppressWarnings("unchecked")
+    void onMessage_clearsLocalCatalogBeforeAdvancing() {
+        // given
+        RedisSerializer<Object> serializer = mock(RedisSerializer.class);
+        doReturn(serializer).when(redisTemplate).getValueSerializer();
+        when(serializer.deserialize(any())).thenReturn(5L);
+        TwoLevelCache catalog = mock(TwoLevelCache.class);
+        when(cacheManager.getCache(anyString())).thenReturn(catalog);
+        List<Long> versionsSeenWhileClearing = new ArrayList<>();
+        doAnswer(invocation -> versionsSeenWhileClearing.add(catalogVersionService.current()))
+                .when(catalog).clearLocal();
+
+        // when
+        catalogVersionService.onMessage(mock(Message.class), null);
+        catalogVersionService.onMessage(mock(Message.class), null);
+
+        // then: 카탈로그 캐시 3개를 비우는 동안 이전 버전(0), 같은 버전 재수신 시에는 비우지 않음
+        assertThat(versionsSeenWhileClearing).containsExactly(0L, 0L, 0L);
+        assertThat(catalogVersionService.current()).isEqualTo(5L);
+    }
+}
@@ -0,0 +1,124 @@
+package com.oliveyoung.sale.service;
+
+import com.oliveyoung.sale.domain.PurchaseOrder;
+import com.oliveyoung.sale.dto.ArchivedOrder;
+import com.oliveyoung.sale.dto.OrderHistoryItem;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OrderArchiveTest {
+
+    @TempDir
+    Path dir;
+
+    private ArchivedOrder createOrder(Long id, String sessionId, String productName, LocalDateTime orderedAt) {
+        return new ArchivedOrder(id, "ref-" + id, sessionId, 1L, productName, 2,
+                BigDecimal.valueOf(25200), PurchaseOrder.OrderStatus.COMPLETED, orderedAt);
+    }
+
+    @Test
+    @DisplayName("보관한 주문을 세션별로 최신순 조회 (쉼표/따옴표가 든 상품명 포함)")
+    void writeAndFind_roundTrip() throws Exception {
+        // given
+        OrderArchive archive = new OrderArchive(true, dir.toString());
+        LocalDateTime base = LocalDateTime.of(2024, 7, 10, 9, 30, 0, 123_456_000);
+        archive.write(YearMonth.of(2024, 7), List.of(
+                createOrder(1L, "session-1", "토너, \"대용량\"", base),
+                createOrder(2L, "session-2", "크림", base.plusMinutes(1)),
+                createOrder(3L, "session-1", "세럼", base.plusMinutes(2))));
+
+        // when
+        List<OrderHistoryItem> history = archive.findHistory("session-1", null, null, 10);
+
+        // then
+        assertThat(history).extracting(OrderHistoryItem::orderId).containsExactly(3L, 1L);
+        assertThat(history.get(1).productName()).isEqualTo("토너, \"대용량\"");
+        assertThat(history.get(1).orderedAt()).isEqualTo(base);
+        assertThat(history.get(1).totalPrice()).isEqualByComparingTo(BigDecimal.valueOf(25200));
+        assertThat(archive.archivedBefore()).isEqualTo(LocalDateTime.of(2024, 8, 1, 0, 0));
+    }
+
+    @Test
+    @DisplayName("커서 이전 주문만, 최근 월부터 limit건")
+    void findHistory_cursorAcrossMonths() throws Exception {
+        // given
+        OrderArchive archive = new OrderArchive(true, dir.toString());
+        archive.write(YearMonth.of(2024, 6), List.of(createOrder(1L, "session-1", "토너", LocalDateTime.of(2024, 6, 5, 10, 0))));
+        archive.write(YearMonth.of(2024, 7), List.of(
+                createOrder(2L, "session-1", "크림", LocalDateTime.of(2024, 7, 1, 10, 0)),
+                createOrder(3L, "session-1", "세럼", LocalDateTime.of(2024, 7, 2, 10, 0))));
+
+        // when
+        List<OrderHistoryItem> page = archive.findHistory("session-1", LocalDateTime.of(2024, 7, 2, 10, 0), 3L, 2);
+
+        // then
+        assertThat(page).extracting(OrderHistoryItem::orderId).containsExactly(2L, 1L);
+    }
+
+    @Test
+    @DisplayName("같은 배치를 다시 보관하면 같은 파일을 덮어씀 (중복 없음)")
+    void write_sameBatchTwice_overwrites() throws Exception {
+        // given
+        OrderArchive archive = new OrderArchive(true, dir.toString());
+        List<ArchivedOrder> batch = List.of(createOrder(1L, "session-1", "토너", LocalDateTime.of(2024, 7, 1, 10, 0)));
+
+        // when
+        archive.write(YearMonth.of(2024, 7), batch);
+        archive.write(YearMonth.of(2024, 7), batch);
+
+        // then
+        assertThat(archive.findHistory("session-1", null, null, 10)).hasSize(1);
+        try (Stream<Path> files = Files.walk(dir)) {
+            assertThat(files.filter(file -> file.toString().endsWith(".csv.gz")).toList()).hasSize(1);
+        }
+    }
+
+    @Test
+    @DisplayName("보관된 주문이 있는 세션만 표시, 같은 샤드의 다른 세션은 파일을 읽지 않음")
+    void hasArchived_onlyForArchivedSessions() throws Exception {
+        // given
+        OrderArchive archive = new OrderArchive(true, dir.toString());
+        archive.write(YearMonth.of(2024, 7), List.of(createOrder(1L, "session-1", "토너", LocalDateTime.of(2024, 7, 1, 10, 0))));
+
+        // then
+        assertThat(archive.hasArchived("session-1")).isTrue();
+        assertThat(archive.hasArchived("session-2")).isFalse();
+        assertThat(archive.findHistory("session-2", null, null, 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("주문 번호로 세션의 보관 주문 조회 (다른 세션의 주문은 조회 불가)")
+    void findOrder_bySessionAndRef() throws Exception {
+        // given
+        OrderArchive archive = new OrderArchive(true, dir.toString());
+        archive.write(YearMonth.of(2024, 7), List.of(
+                createOrder(1L, "session-1", "토너", LocalDateTime.of(2024, 7, 1, 10, 0)),
+                createOrder(2L, "session-2", "크림", LocalDateTime.of(2024, 7, 1, 11, 0))));
+
+        // then
+        assertThat(archive.findOrder("session-1", "ref-1")).get()
+                .extracting(ArchivedOrder::orderId).isEqualTo(1L);
+        assertThat(archive.findOrder("session-1", "ref-2")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("비활성화 시 보관 파일을 조회하지 않음")
+    void disabled_returnsNothing() {
+        OrderArchive archive = new OrderArchive(false, dir.toString());
+
+        assertThat(archive.archivedBefore()).isNull();
+        assertThat(archive.findHistory("session-1", null, null, 10)).isEmpty();
+        assertThat(archive.hasArchived("session-1")).isFalse();
+    }
+}
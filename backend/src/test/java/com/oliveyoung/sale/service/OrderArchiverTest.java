@@ -0,0 +1,121 @@
+package com.oliveyoung.sale.service;
+
+import com.oliveyoung.sale.domain.PurchaseOrder;
+import com.oliveyoung.sale.dto.ArchivedOrder;
+import com.oliveyoung.sale.repository.PurchaseOrderRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderArchiverTest {
+
+    @Mock
+    private PurchaseOrderRepository orderRepository;
+
+    @Mock
+    private OrderArchive orderArchive;
+
+    @Mock
+    private TransactionOperations transactionOperations;
+
+    private OrderArchiver orderArchiver;
+
+    @BeforeEach
+    void setUp() {
+        orderArchiver = new OrderArchiver(orderRepository, orderArchive, transactionOperations,
+                new SimpleMeterRegistry(), () -> LocalDate.of(2024, 11, 15));
+        ReflectionTestUtils.setField(orderArchiver, "hotMonths", 3);
+        ReflectionTestUtils.setField(orderArchiver, "batchSize", 2);
+        ReflectionTestUtils.setField(orderArchiver, "maxBatchesPerRun", 5);
+        // 트랜잭션 콜백을 그대로 실행
+        lenient().when(transactionOperations.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    private ArchivedOrder createOrder(Long id, LocalDateTime orderedAt) {
+        return new ArchivedOrder(id, "ref-" + id, "session-1", 1L, "토너", 1,
+                BigDecimal.valueOf(12600), PurchaseOrder.OrderStatus.COMPLETED, orderedAt);
+    }
+
+    @Test
+    @DisplayName("이번 달 포함 hot-months개월만 남기고 그 이전 1일이 보관 기준")
+    void cutoff_keepsHotMonths() {
+        assertThat(orderArchiver.cutoff()).isEqualTo(LocalDateTime.of(2024, 9, 1, 0, 0));
+    }
+
+    @Test
+    @DisplayName("hot-months가 2 미만이면 시작 시 거절 (멱등 재시도 구간의 주문이 보관되지 않도록)")
+    void validateHotMonths_rejectsSingleMonth() {
+        ReflectionTestUtils.setField(orderArchiver, "hotMonths", 1);
+
+        assertThatThrownBy(() -> orderArchiver.validateHotMonths())
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    @DisplayName("가장 오래된 월부터 배치 단위로 파일 기록 후 같은 ID만 삭제")
+    void archive_writesThenDeletesBatch() throws Exception {
+        // given
+        LocalDateTime july = LocalDateTime.of(2024, 7, 3, 10, 0);
+        when(orderRepository.findOldestOrderedAt()).thenReturn(july, (LocalDateTime) null);
+        when(orderRepository.findArchiveBatch(LocalDateTime.of(2024, 7, 1, 0, 0), LocalDateTime.of(2024, 8, 1, 0, 0), Limit.of(2)))
+                .thenReturn(List.of(createOrder(1L, july), createOrder(2L, july.plusHours(1))));
+        when(orderRepository.deleteByIdIn(List.of(1L, 2L))).thenReturn(2);
+
+        // when
+        orderArchiver.archive();
+
+        // then
+        var inOrder = inOrder(orderArchive, orderRepository);
+        inOrder.verify(orderArchive).write(eq(YearMonth.of(2024, 7)), anyList());
+        inOrder.verify(orderRepository).deleteByIdIn(List.of(1L, 2L));
+    }
+
+    @Test
+    @DisplayName("가장 오래된 주문이 보관 기준 이후면 아무것도 하지 않음")
+    void archive_nothingOld_noop() {
+        when(orderRepository.findOldestOrderedAt()).thenReturn(LocalDateTime.of(2024, 9, 1, 0, 0));
+
+        orderArchiver.archive();
+
+        verify(orderRepository, never()).findArchiveBatch(any(), any(), any());
+        verifyNoInteractions(orderArchive);
+    }
+
+    @Test
+    @DisplayName("파일 기록 실패 시 삭제하지 않음 (다음 실행에서 같은 배치 재시도)")
+    void archive_writeFailure_keepsRows() throws Exception {
+        // given
+        LocalDateTime july = LocalDateTime.of(2024, 7, 3, 10, 0);
+        when(orderRepository.findOldestOrderedAt()).thenReturn(july);
+        when(orderRepository.findArchiveBatch(any(), any(), any())).thenReturn(List.of(createOrder(1L, july)));
+        doThrow(new IOException("디스크 가득 참")).when(orderArchive).write(any(), anyList());
+
+        // when
+        orderArchiver.archive();
+
+        // then
+        verify(orderRepository, never()).deleteByIdIn(any());
+    }
+}
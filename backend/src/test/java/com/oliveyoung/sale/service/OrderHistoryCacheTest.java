@@ -0,0 +1,33 @@
+package com.oliveyoung.sale.service;
+
+import com.oliveyoung.sale.dto.OrderHistoryResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+class OrderHistoryCacheTest {
+
+    private final OrderHistoryCache orderHistoryCache = new OrderHistoryCache(5, 100, 2);
+
+    @Test
+    @DisplayName("세션당 페이지 수 상한을 넘는 커서/limit 조합은 캐시하지 않음")
+    void get_overPageLimit_notCached() {
+        // given
+        AtomicInteger loads = new AtomicInteger();
+        OrderHistoryResponse page = new OrderHistoryResponse(List.of(), null);
+
+        // when
+        orderHistoryCache.get("session-1", null, 20, () -> { loads.incrementAndGet(); return page; });
+        orderHistoryCache.get("session-1", "c1", 20, () -> { loads.incrementAndGet(); return page; });
+        orderHistoryCache.get("session-1", "c2", 20, () -> { loads.incrementAndGet(); return page; });
+        orderHistoryCache.get("session-1", "c2", 20, () -> { loads.incrementAndGet(); return page; });
+        orderHistoryCache.get("session-1", null, 20, () -> { loads.incrementAndGet(); return page; });
+
+        // then: 앞의 두 페이지만 캐시됨, 세 번째 조합은 매번 조회
+        assertThat(loads).hasValue(4);
+    }
+}
@@ -0,0 +1,89 @@
+package com.oliveyoung.sale.service;
+
+import com.oliveyoung.sale.config.KafkaConfig;
+import com.oliveyoung.sale.domain.OrderOutbox;
+import com.oliveyoung.sale.dto.OrderEventMessage;
+import com.oliveyoung.sale.repository.OrderOutboxRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderOutboxRelayTest {
+
+    @Mock
+    private OrderOutboxRepository outboxRepository;
+
+    @Mock
+    private KafkaTemplate<String, OrderEventMessage> orderKafkaTemplate;
+
+    private OrderOutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        relay = new OrderOutboxRelay(outboxRepository, orderKafkaTemplate, TransactionOperations.withoutTransaction());
+    }
+
+    private OrderOutbox createOutbox(Long id, Long productId) {
+        OrderOutbox outbox = OrderOutbox.builder()
+                .orderRef("ref-" + id)
+                .sessionId("session-" + id)
+                .token("token-" + id)
+                .productId(productId)
+                .productName("토너")
+                .quantity(1)
+                .totalPrice(BigDecimal.valueOf(12600))
+                .idempotencyKey("session-" + id + ":token-" + id)
+                .build();
+        ReflectionTestUtils.setField(outbox, "id", id);
+        return outbox;
+    }
+
+    @Test
+    @DisplayName("선점한 행에 선점 만료 시각을 기록하고, 발행 성공 행만 완료 표시 / 실패 행은 선점 해제")
+    void publishPending_claimsSendsThenMarks() {
+        // given
+        OrderOutbox sent = createOutbox(1L, 10L);
+        OrderOutbox failed = createOutbox(2L, 20L);
+        when(outboxRepository.findClaimable(any(), eq(Limit.of(100)))).thenReturn(List.of(sent, failed));
+        when(orderKafkaTemplate.send(eq(KafkaConfig.ORDER_TOPIC), eq("10"), any()))
+                .thenReturn(CompletableFuture.completedFuture(null));
+        when(orderKafkaTemplate.send(eq(KafkaConfig.ORDER_TOPIC), eq("20"), any()))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("broker down")));
+
+        // when
+        relay.publishPending();
+
+        // then
+        assertThat(sent.getClaimedUntil()).isNotNull();
+        assertThat(failed.getClaimedUntil()).isNotNull();
+        verify(outboxRepository).markPublished(eq(List.of(1L)), any());
+        verify(outboxRepository).releaseClaims(List.of(2L));
+    }
+
+    @Test
+    @DisplayName("선점할 행이 없으면 Kafka 호출 없음")
+    void publishPending_nothingClaimed() {
+        when(outboxRepository.findClaimable(any(), any())).thenReturn(List.of());
+
+        relay.publishPending();
+
+        verifyNoInteractions(orderKafkaTemplate);
+        verify(outboxRepository, never()).markPublished(any(), any());
+    }
+}
@@ -0,0 +1,307 @@
+package com.oliveyoung.sale.service;
+
+import com.oliveyoung.sale.bulkhead.Bulkhead;
+import com.oliveyoung.sale.bulkhead.Bulkheads;
+import com.oliveyoung.sale.domain.OrderOutbox;
+import com.oliveyoung.sale.domain.Product;
+import com.oliveyoung.sale.domain.PurchaseOrder;
+import com.oliveyoung.sale.dto.ArchivedOrder;
+import com.oliveyoung.sale.dto.OrderEventMessage;
+import com.oliveyoung.sale.dto.OrderHistoryItem;
+import com.oliveyoung.sale.dto.OrderHistoryResponse;
+import com.oliveyoung.sale.dto.OrderStatusResponse;
+import com.oliveyoung.sale.dto.PurchaseResponse;
+import com.oliveyoung.sale.repository.OrderOutboxRepository;
+import com.oliveyoung.sale.repository.ProductRepository;
+import com.oliveyoung.sale.exception.BulkheadFullException;
+import com.oliveyoung.sale.repository.PurchaseOrderRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderServiceTest {
+
+    @Mock
+    private PurchaseOrderRepository orderRepository;
+
+    @Mock
+    private OrderOutboxRepository outboxRepository;
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private OrderArchive orderArchive;
+
+    @Mock
+    private Bulkheads bulkheads;
+
+    @Spy
+    private OrderHistoryCache orderHistoryCache = new OrderHistoryCache(5, 100, 8);
+
+    @InjectMocks
+    private OrderService orderService;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(bulkheads.orders()).thenReturn(new Bulkhead("orders", 10, 0, 1, new SimpleMeterRegistry()));
+    }
+
+    private OrderHistoryItem createHistoryItem(Long id, LocalDateTime orderedAt) {
+        return new OrderHistoryItem(id, "ref-" + id, 1L, "테스트 상품", 1,
+                BigDecimal.valueOf(12600), PurchaseOrder.OrderStatus.COMPLETED, orderedAt);
+    }
+
+    private OrderEventMessage createMessage() {
+        return new OrderEventMessage("ref-1", "session-1", "token-abc", 1L, 1,
+                BigDecimal.valueOf(12600), "session-1:token-abc", System.currentTimeMillis());
+    }
+
+    @Test
+    @DisplayName("주문 이벤트 저장 - 새 이벤트면 COMPLETED 응답")
+    void saveOrder_newEvent() {
+        // given
+        Product product = Product.builder()
+                .name("테스트 상품")
+                .originalPrice(BigDecimal.valueOf(18000))
+                .discountRate(30)
+                .stock(10)
+                .build();
+        when(orderRepository.existsByOrderRef("ref-1")).thenReturn(false);
+        when(productRepository.getReferenceById(1L)).thenReturn(product);
+        when(orderRepository.save(any(PurchaseOrder.class))).thenAnswer(invocation -> {
+            PurchaseOrder order = invocation.getArgument(0);
+            ReflectionTestUtils.setField(order, "id", 5L);
+            return order;
+        });
+
+        // when
+        PurchaseResponse response = orderService.saveOrder(createMessage());
+
+        // then
+        assertThat(response.orderId()).isEqualTo(5L);
+        assertThat(response.orderRef()).isEqualTo("ref-1");
+        assertThat(response.status()).isEqualTo(PurchaseResponse.COMPLETED);
+    }
+
+    @Test
+    @DisplayName("주문 이벤트 저장 - 재전달된 이벤트는 무시")
+    void saveOrder_duplicateEvent() {
+        // given
+        when(orderRepository.existsByOrderRef("ref-1")).thenReturn(true);
+
+        // when
+        PurchaseResponse response = orderService.saveOrder(createMessage());
+
+        // then
+        assertThat(response).isNull();
+        verify(orderRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("주문 상태 조회 - Outbox에만 있으면 PENDING")
+    void getOrderStatus_pending() {
+        // given
+        OrderOutbox outbox = OrderOutbox.builder()
+                .orderRef("ref-1")
+                .sessionId("session-1")
+                .token("token-abc")
+                .productId(1L)
+                .productName("테스트 상품")
+                .quantity(1)
+                .totalPrice(BigDecimal.valueOf(12600))
+                .build();
+        when(orderRepository.findByOrderRef("ref-1")).thenReturn(Optional.empty());
+        when(outboxRepository.findByOrderRef("ref-1")).thenReturn(Optional.of(outbox));
+
+        // when
+        OrderStatusResponse status = orderService.getOrderStatus("session-1", "ref-1");
+
+        // then
+        assertThat(status.status()).isEqualTo(PurchaseResponse.PENDING);
+        assertThat(status.orderId()).isNull();
+    }
+
+    @Test
+    @DisplayName("주문 조회 벌크헤드 포화 시 DB 접근 없이 재시도 가능 예외")
+    void getOrderStatus_bulkheadFull_rejectsWithoutDatabase() {
+        // given
+        Bulkhead saturated = new Bulkhead("orders", 1, 0, 1, new SimpleMeterRegistry());
+        when(bulkheads.orders()).thenReturn(saturated);
+
+        // when & then
+        saturated.run(() -> assertThatThrownBy(() -> orderService.getOrderStatus("session-1", "ref-1"))
+                .isInstanceOf(BulkheadFullException.class));
+        verifyNoInteractions(orderRepository, outboxRepository);
+    }
+
+    @Test
+    @DisplayName("주문 상태 조회 - hot 테이블과 Outbox에 없으면 보관 파일에서 조회")
+    void getOrderStatus_archived() {
+        // given
+        when(orderRepository.findByOrderRef("ref-1")).thenReturn(Optional.empty());
+        when(outboxRepository.findByOrderRef("ref-1")).thenReturn(Optional.empty());
+        when(orderArchive.findOrder("session-1", "ref-1")).thenReturn(Optional.of(new ArchivedOrder(
+                7L, "ref-1", "session-1", 1L, "테스트 상품", 1, BigDecimal.valueOf(12600),
+                PurchaseOrder.OrderStatus.COMPLETED, LocalDateTime.of(2024, 7, 1, 10, 0))));
+
+        // when
+        OrderStatusResponse status = orderService.getOrderStatus("session-1", "ref-1");
+
+        // then
+        assertThat(status.status()).isEqualTo(PurchaseResponse.COMPLETED);
+        assertThat(status.orderId()).isEqualTo(7L);
+    }
+
+    @Test
+    @DisplayName("주문 상태 조회 - 다른 세션의 주문은 조회 불가")
+    void getOrderStatus_otherSession() {
+        // given
+        OrderOutbox outbox = OrderOutbox.builder()
+                .orderRef("ref-1")
+                .sessionId("session-1")
+                .token("token-abc")
+                .productId(1L)
+                .productName("테스트 상품")
+                .quantity(1)
+                .totalPrice(BigDecimal.valueOf(12600))
+                .build();
+        when(orderRepository.findByOrderRef("ref-1")).thenReturn(Optional.empty());
+        when(outboxRepository.findByOrderRef("ref-1")).thenReturn(Optional.of(outbox));
+
+        // then
+        assertThatThrownBy(() -> orderService.getOrderStatus("session-2", "ref-1"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("주문 내역 - limit+1건 조회로 다음 페이지 여부 판단 후 커서 발급")
+    void getOrderHistory_firstPage_issuesCursor() {
+        // given
+        LocalDateTime now = LocalDateTime.of(2024, 11, 1, 12, 0);
+        when(orderRepository.findHistory("session-1", Limit.of(3))).thenReturn(List.of(
+                createHistoryItem(9L, now), createHistoryItem(8L, now), createHistoryItem(7L, now.minusMinutes(1))));
+
+        // when
+        OrderHistoryResponse page = orderService.getOrderHistory("session-1", null, 2);
+
+        // then
+        assertThat(page.items()).extracting(OrderHistoryItem::orderId).containsExactly(9L, 8L);
+        assertThat(OrderService.HistoryCursor.decode(page.nextCursor()))
+                .isEqualTo(new OrderService.HistoryCursor(now, 8L));
+    }
+
+    @Test
+    @DisplayName("주문 내역 - 커서 이후 페이지는 (주문 시각, ID) 키셋 조회, 마지막 페이지면 커서 없음")
+    void getOrderHistory_nextPage_usesKeyset() {
+        // given
+        LocalDateTime now = LocalDateTime.of(2024, 11, 1, 12, 0);
+        String cursor = new OrderService.HistoryCursor(now, 8L).encode();
+        when(orderRepository.findHistoryBefore("session-1", now, 8L, Limit.of(3)))
+                .thenReturn(List.of(createHistoryItem(7L, now.minusMinutes(1))));
+
+        // when
+        OrderHistoryResponse page = orderService.getOrderHistory("session-1", cursor, 2);
+
+        // then
+        assertThat(page.items()).extracting(OrderHistoryItem::orderId).containsExactly(7L);
+        assertThat(page.nextCursor()).isNull();
+    }
+
+    @Test
+    @DisplayName("주문 내역 - 같은 페이지 재조회는 캐시, 새 주문 후에는 DB 재조회")
+    void getOrderHistory_cachedUntilEvicted() {
+        // given
+        when(orderRepository.findHistory("session-1", Limit.of(21)))
+                .thenReturn(List.of(createHistoryItem(1L, LocalDateTime.now())));
+
+        // when
+        orderService.getOrderHistory("session-1", null, null);
+        orderService.getOrderHistory("session-1", null, null);
+        orderHistoryCache.evict("session-1");
+        orderService.getOrderHistory("session-1", null, null);
+
+        // then
+        verify(orderRepository, times(2)).findHistory("session-1", Limit.of(21));
+    }
+
+    @Test
+    @DisplayName("주문 내역 - hot 테이블이 모자라면 보관 주문을 이어 붙이고 중복은 제거")
+    void getOrderHistory_spansArchive() {
+        // given
+        LocalDateTime now = LocalDateTime.of(2024, 11, 1, 12, 0);
+        LocalDateTime archivedBefore = LocalDateTime.of(2024, 9, 1, 0, 0);
+        when(orderRepository.findHistory("session-1", Limit.of(3)))
+                .thenReturn(List.of(createHistoryItem(9L, now), createHistoryItem(5L, archivedBefore.minusDays(1))));
+        when(orderArchive.hasArchived("session-1")).thenReturn(true);
+        when(orderArchive.archivedBefore()).thenReturn(archivedBefore);
+        when(orderArchive.findHistory("session-1", null, null, 3)).thenReturn(List.of(
+                createHistoryItem(5L, archivedBefore.minusDays(1)), createHistoryItem(4L, archivedBefore.minusDays(2))));
+
+        // when
+        OrderHistoryResponse page = orderService.getOrderHistory("session-1", null, 2);
+
+        // then
+        assertThat(page.items()).extracting(OrderHistoryItem::orderId).containsExactly(9L, 5L);
+        assertThat(page.nextCursor()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("주문 내역 - hot 테이블로 페이지가 채워지고 보관 범위보다 최근이면 보관 파일 조회 없음")
+    void getOrderHistory_recentPage_skipsArchive() {
+        // given
+        LocalDateTime now = LocalDateTime.of(2024, 11, 1, 12, 0);
+        when(orderRepository.findHistory("session-1", Limit.of(3))).thenReturn(List.of(
+                createHistoryItem(9L, now), createHistoryItem(8L, now), createHistoryItem(7L, now.minusDays(1))));
+        when(orderArchive.hasArchived("session-1")).thenReturn(true);
+        when(orderArchive.archivedBefore()).thenReturn(LocalDateTime.of(2024, 9, 1, 0, 0));
+
+        // when
+        orderService.getOrderHistory("session-1", null, 2);
+
+        // then
+        verify(orderArchive, never()).findHistory(any(), any(), any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("주문 내역 - 보관된 주문이 없는 세션은 페이지가 덜 차도 보관 파일 조회 없음")
+    void getOrderHistory_sessionWithoutArchive_skipsArchive() {
+        // given
+        when(orderRepository.findHistory("session-1", Limit.of(3)))
+                .thenReturn(List.of(createHistoryItem(9L, LocalDateTime.of(2024, 11, 1, 12, 0))));
+
+        // when
+        OrderHistoryResponse page = orderService.getOrderHistory("session-1", null, 2);
+
+        // then
+        assertThat(page.items()).extracting(OrderHistoryItem::orderId).containsExactly(9L);
+        verify(orderArchive, never()).archivedBefore();
+        verify(orderArchive, never()).findHistory(any(), any(), any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("주문 내역 - 잘못된 커서는 400")
+    void getOrderHistory_invalidCursor_throwsException() {
+        assertThatThrownBy(() -> orderService.getOrderHistory("session-1", "not-a-cursor", 20))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(orderRepository);
+    }
+}
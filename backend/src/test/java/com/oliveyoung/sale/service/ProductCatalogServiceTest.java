@@ -0,0 +1,128 @@
+package com.oliveyoung.sale.service;
+
+import com.oliveyoung.sale.bulkhead.Bulkhead;
+import com.oliveyoung.sale.bulkhead.Bulkheads;
+import com.oliveyoung.sale.domain.Product;
+import com.oliveyoung.sale.dto.ProductCatalogItem;
+import com.oliveyoung.sale.dto.ProductCatalogPage;
+import com.oliveyoung.sale.repository.ProductRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductCatalogServiceTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private Bulkheads bulkheads;
+
+    @InjectMocks
+    private ProductCatalogService productCatalogService;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(bulkheads.catalog()).thenReturn(new Bulkhead("catalog", 10, 0, 1, new SimpleMeterRegistry()));
+    }
+
+    private Product createProduct(Long id, BigDecimal price, Integer discountRate) {
+        Product product = Product.builder()
+                .name("테스트 상품")
+                .description("설명")
+                .originalPrice(price)
+                .discountRate(discountRate)
+                .stock(100)
+                .imageUrl("test.jpg")
+                .category("스킨케어")
+                .build();
+        ReflectionTestUtils.setField(product, "id", id);
+        return product;
+    }
+
+    @Test
+    @DisplayName("카탈로그에 정가와 할인가를 모두 담음 (세일 상태 조회 없음)")
+    void getCatalog_containsBothPrices() {
+        Product product = createProduct(1L, BigDecimal.valueOf(18000), 30);
+        when(productRepository.findAll()).thenReturn(List.of(product));
+
+        List<ProductCatalogItem> result = productCatalogService.getCatalog();
+
+        assertThat(result).hasSize(1);
+        assertThat(result.get(0).originalPrice()).isEqualByComparingTo(BigDecimal.valueOf(18000));
+        assertThat(result.get(0).salePrice()).isEqualByComparingTo(BigDecimal.valueOf(12600));
+        assertThat(result.get(0).discountRate()).isEqualTo(30);
+    }
+
+    @Test
+    @DisplayName("존재하지 않는 상품 조회 시 예외 발생")
+    void getCatalogItem_notFound_throwsException() {
+        when(productRepository.findById(99L)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> productCatalogService.getCatalogItem(99L))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("99");
+    }
+
+    @Test
+    @DisplayName("상품 상세 조회 시 정상 반환")
+    void getCatalogItem_found_returnsCorrectDto() {
+        Product product = createProduct(1L, BigDecimal.valueOf(25000), 20);
+        when(productRepository.findById(1L)).thenReturn(Optional.of(product));
+
+        ProductCatalogItem result = productCatalogService.getCatalogItem(1L);
+
+        assertThat(result.id()).isEqualTo(1L);
+        assertThat(result.name()).isEqualTo("테스트 상품");
+        assertThat(result.salePrice()).isEqualByComparingTo(BigDecimal.valueOf(20000));
+    }
+
+    @Test
+    @DisplayName("카테고리 페이지는 limit+1건 조회 후 다음 커서 계산")
+    void getCatalogPage_hasNext_returnsCursor() {
+        // given
+        List<Product> rows = List.of(
+                createProduct(11L, BigDecimal.valueOf(10000), 10),
+                createProduct(12L, BigDecimal.valueOf(10000), 10),
+                createProduct(13L, BigDecimal.valueOf(10000), 10));
+        when(productRepository.findByCategoryAndIdGreaterThanOrderByIdAsc("스킨케어", 10L, Limit.of(3)))
+                .thenReturn(rows);
+
+        // when
+        ProductCatalogPage page = productCatalogService.getCatalogPage("스킨케어", 10L, 2);
+
+        // then
+        assertThat(page.items()).extracting(ProductCatalogItem::id).containsExactly(11L, 12L);
+        assertThat(page.nextCursor()).isEqualTo(12L);
+    }
+
+    @Test
+    @DisplayName("마지막 페이지는 다음 커서 없음 (카테고리 없으면 전체에서 첫 페이지)")
+    void getCatalogPage_lastPage_noCursor() {
+        // given
+        when(productRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(21)))
+                .thenReturn(List.of(createProduct(1L, BigDecimal.valueOf(10000), 10)));
+
+        // when
+        ProductCatalogPage page = productCatalogService.getCatalogPage(null, null, 20);
+
+        // then
+        assertThat(page.items()).hasSize(1);
+        assertThat(page.nextCursor()).isNull();
+    }
+}
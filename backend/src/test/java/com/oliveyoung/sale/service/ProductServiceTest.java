@@ -1,19 +1,21 @@
 package com.oliveyoung.sale.service;
 
-import com.oliveyoung.sale.domain.Product;
+import com.oliveyoung.sale.dto.CatalogChangesResponse;
+import com.oliveyoung.sale.dto.ProductCatalogItem;
+import com.oliveyoung.sale.dto.ProductCatalogPage;
+import com.oliveyoung.sale.dto.ProductPageResponse;
 import com.oliveyoung.sale.dto.ProductResponse;
-import com.oliveyoung.sale.repository.ProductRepository;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.test.util.ReflectionTestUtils;
 
 import java.math.BigDecimal;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -22,79 +24,206 @@ import static org.mockito.Mockito.*;
 class ProductServiceTest {
 
     @Mock
-    private ProductRepository productRepository;
+    private ProductCatalogService productCatalogService;
+
+    @Mock
+    private ProductStockView productStockView;
 
     @Mock
     private SaleStateService saleStateService;
 
+    @Mock
+    private CatalogChangeLog catalogChangeLog;
+
     @InjectMocks
     private ProductService productService;
 
-    private Product createProduct(Long id, BigDecimal price, Integer discountRate) {
-        Product product = Product.builder()
+    private ProductCatalogItem createItem(Long id) {
+        return ProductCatalogItem.builder()
+                .id(id)
                 .name("테스트 상품")
                 .description("설명")
-                .originalPrice(price)
-                .discountRate(discountRate)
-                .stock(100)
+                .originalPrice(BigDecimal.valueOf(18000))
+                .salePrice(BigDecimal.valueOf(12600))
+                .discountRate(30)
                 .imageUrl("test.jpg")
                 .category("스킨케어")
                 .build();
-        ReflectionTestUtils.setField(product, "id", id);
-        return product;
     }
 
     @Test
-    @DisplayName("세일 활성 시 할인가로 상품 목록 반환")
-    void getAllProducts_saleActive_showsDiscountedPrices() {
-        Product product = createProduct(1L, BigDecimal.valueOf(18000), 30);
-        when(saleStateService.isSaleActive()).thenReturn(true);
-        when(productRepository.findAll()).thenReturn(List.of(product));
-
+    @DisplayName("캐시된 카탈로그에 현재 재고를 합쳐 상품 목록 반환")
+    void getAllProducts_mergesStock() {
+        // given
+        when(saleStateService.current()).thenReturn(SaleState.global(true));
+        when(productCatalogService.getCatalog()).thenReturn(List.of(createItem(1L), createItem(2L)));
+        when(productStockView.stockOf(1L)).thenReturn(7);
+        when(productStockView.stockOf(2L)).thenReturn(0);
+
+        // when
         List<ProductResponse> result = productService.getAllProducts();
 
-        assertThat(result).hasSize(1);
+        // then
+        assertThat(result).extracting(ProductResponse::stock).containsExactly(7, 0);
         assertThat(result.get(0).discountedPrice()).isEqualByComparingTo(BigDecimal.valueOf(12600));
         assertThat(result.get(0).discountRate()).isEqualTo(30);
         assertThat(result.get(0).isSaleActive()).isTrue();
     }
 
     @Test
-    @DisplayName("세일 비활성 시 원래 가격으로 상품 목록 반환")
+    @DisplayName("세일 비활성 시 같은 카탈로그에서 정가 선택")
     void getAllProducts_saleInactive_showsOriginalPrices() {
-        Product product = createProduct(1L, BigDecimal.valueOf(18000), 30);
-        when(saleStateService.isSaleActive()).thenReturn(false);
-        when(productRepository.findAll()).thenReturn(List.of(product));
+        // given
+        when(saleStateService.current()).thenReturn(SaleState.NONE);
+        when(productCatalogService.getCatalog()).thenReturn(List.of(createItem(1L)));
+        when(productStockView.stockOf(1L)).thenReturn(7);
 
+        // when
         List<ProductResponse> result = productService.getAllProducts();
 
-        assertThat(result).hasSize(1);
+        // then
         assertThat(result.get(0).discountedPrice()).isEqualByComparingTo(BigDecimal.valueOf(18000));
-        assertThat(result.get(0).discountRate()).isEqualTo(0);
+        assertThat(result.get(0).discountRate()).isZero();
         assertThat(result.get(0).isSaleActive()).isFalse();
     }
 
     @Test
-    @DisplayName("존재하지 않는 상품 조회 시 예외 발생")
+    @DisplayName("상품 상세 조회 시 카탈로그와 재고를 합쳐 반환")
+    void getProduct_mergesStock() {
+        // given
+        when(productCatalogService.getCatalogItem(1L)).thenReturn(createItem(1L));
+        when(productStockView.stockOf(1L)).thenReturn(42);
+
+        // when
+        ProductResponse result = productService.getProduct(1L, SaleState.global(true));
+
+        // then
+        assertThat(result.id()).isEqualTo(1L);
+        assertThat(result.name()).isEqualTo("테스트 상품");
+        assertThat(result.stock()).isEqualTo(42);
+        assertThat(result.discountedPrice()).isEqualByComparingTo(BigDecimal.valueOf(12600));
+        verifyNoInteractions(saleStateService);
+    }
+
+    @Test
+    @DisplayName("재고 뷰에 아직 없는 새 상품은 품절(0)이 아닌 알 수 없음(null)으로 반환")
+    void getProduct_newProduct_stockUnknown() {
+        // given
+        when(productCatalogService.getCatalogItem(1L)).thenReturn(createItem(1L));
+        when(productStockView.stockOf(1L)).thenReturn(null);
+
+        // when
+        ProductResponse result = productService.getProduct(1L, SaleState.global(true));
+
+        // then
+        assertThat(result.stock()).isNull();
+    }
+
+    @Test
+    @DisplayName("존재하지 않는 상품 조회 시 재고 조회 없이 예외 발생")
     void getProduct_notFound_throwsException() {
-        when(productRepository.findById(99L)).thenReturn(Optional.empty());
+        // given
+        when(productCatalogService.getCatalogItem(99L))
+                .thenThrow(new IllegalArgumentException("상품을 찾을 수 없습니다: 99"));
 
-        assertThatThrownBy(() -> productService.getProduct(99L))
+        // then
+        assertThatThrownBy(() -> productService.getProduct(99L, SaleState.NONE))
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessageContaining("99");
+        verifyNoInteractions(productStockView);
     }
 
     @Test
-    @DisplayName("상품 상세 조회 시 정상 반환")
-    void getProduct_found_returnsCorrectDto() {
-        Product product = createProduct(1L, BigDecimal.valueOf(25000), 20);
-        when(productRepository.findById(1L)).thenReturn(Optional.of(product));
-        when(saleStateService.isSaleActive()).thenReturn(true);
+    @DisplayName("페이지 조회 시 카탈로그 페이지에 재고/가격을 합치고 커서 전달")
+    void getProductPage_mergesAndPassesCursor() {
+        // given
+        when(productCatalogService.getCatalogPage("스킨케어", 10L, 20))
+                .thenReturn(new ProductCatalogPage(List.of(createItem(11L)), 11L));
+        when(productStockView.stockOf(11L)).thenReturn(5);
+
+        // when
+        ProductPageResponse page = productService.getProductPage("스킨케어", 10L, null, SaleState.NONE);
+
+        // then
+        assertThat(page.items()).extracting(ProductResponse::stock).containsExactly(5);
+        assertThat(page.items().get(0).discountedPrice()).isEqualByComparingTo(BigDecimal.valueOf(18000));
+        assertThat(page.nextCursor()).isEqualTo(11L);
+    }
 
-        ProductResponse result = productService.getProduct(1L);
+    @Test
+    @DisplayName("페이지 크기가 1 미만이면 예외 발생")
+    void getProductPage_invalidLimit_throwsException() {
+        assertThatThrownBy(() -> productService.getProductPage(null, null, 0, SaleState.global(true)))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(productCatalogService);
+    }
 
-        assertThat(result.id()).isEqualTo(1L);
-        assertThat(result.name()).isEqualTo("테스트 상품");
-        assertThat(result.discountedPrice()).isEqualByComparingTo(BigDecimal.valueOf(20000));
+    @Test
+    @DisplayName("페이지 크기가 최대값을 넘으면 최대값으로 제한")
+    void getProductPage_limitAboveMax_clamped() {
+        // given
+        when(productCatalogService.getCatalogPage(null, null, ProductService.MAX_PAGE_SIZE))
+                .thenReturn(new ProductCatalogPage(List.of(), null));
+
+        // when
+        ProductPageResponse page = productService.getProductPage(null, null, 500, SaleState.NONE);
+
+        // then
+        assertThat(page.items()).isEmpty();
+        verify(productCatalogService).getCatalogPage(null, null, ProductService.MAX_PAGE_SIZE);
+    }
+
+    @Test
+    @DisplayName("변경 로그로 알 수 있으면 바뀐 상품만 반환")
+    void getChangesSince_returnsDelta() {
+        // given
+        when(catalogChangeLog.latest()).thenReturn(12L);
+        when(catalogChangeLog.changedSince(10L)).thenReturn(Optional.of(Set.of(2L)));
+        when(productCatalogService.getCatalogItem(2L)).thenReturn(createItem(2L));
+        when(productStockView.stockOf(2L)).thenReturn(3);
+
+        // when
+        CatalogChangesResponse result = productService.getChangesSince(10L, SaleState.global(true));
+
+        // then
+        assertThat(result.version()).isEqualTo(12L);
+        assertThat(result.fullSnapshot()).isFalse();
+        assertThat(result.products()).extracting(ProductResponse::id).containsExactly(2L);
+        verify(productCatalogService, never()).getCatalog();
+    }
+
+    @Test
+    @DisplayName("since가 변경 로그 범위를 벗어나면 전체 스냅샷 반환")
+    void getChangesSince_outOfRange_returnsSnapshot() {
+        // given
+        when(catalogChangeLog.latest()).thenReturn(5000L);
+        when(catalogChangeLog.changedSince(1L)).thenReturn(Optional.empty());
+        when(productCatalogService.getCatalog()).thenReturn(List.of(createItem(1L), createItem(2L)));
+
+        // when
+        CatalogChangesResponse result = productService.getChangesSince(1L, SaleState.NONE);
+
+        // then
+        assertThat(result.version()).isEqualTo(5000L);
+        assertThat(result.fullSnapshot()).isTrue();
+        assertThat(result.products()).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("카테고리 캠페인은 해당 카테고리 상품에만 할인가 적용")
+    void getAllProducts_categoryCampaign_appliesToCategoryOnly() {
+        // given
+        ProductCatalogItem lip = ProductCatalogItem.builder()
+                .id(2L).name("틴트").originalPrice(BigDecimal.valueOf(10000)).salePrice(BigDecimal.valueOf(7000))
+                .discountRate(30).category("립메이크업").build();
+        SaleState campaign = new SaleState(3L, false, Set.of(9L), Set.of("스킨케어"), Set.of());
+        when(productCatalogService.getCatalog()).thenReturn(List.of(createItem(1L), lip));
+
+        // when
+        List<ProductResponse> result = productService.getAllProducts(campaign);
+
+        // then
+        assertThat(result).extracting(ProductResponse::isSaleActive).containsExactly(true, false);
+        assertThat(result.get(1).discountedPrice()).isEqualByComparingTo(BigDecimal.valueOf(10000));
     }
 }
@@ -0,0 +1,180 @@
+package com.oliveyoung.sale.service;
+
+import com.oliveyoung.sale.dto.ProductStockSnapshot;
+import com.oliveyoung.sale.repository.ProductRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductStockViewTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private RedisTemplate<String, Object> redisTemplate;
+
+    @Mock
+    private RedisMessageListenerContainer listenerContainer;
+
+    @Mock
+    private CatalogChangeLog catalogChangeLog;
+
+    @InjectMocks
+    private ProductStockView productStockView;
+
+    private final GenericJackson2JsonRedisSerializer serializer = new GenericJackson2JsonRedisSerializer();
+
+    @Test
+    @DisplayName("구매 후 재고 갱신 시 로컬 반영 후 재고를 실은 변경 로그 기록 (별도 재고 채널 발행 없음, DB 조회 없음)")
+    void update_appliesAndRecordsWithStock() {
+        // given
+        when(productRepository.findAllStocks()).thenReturn(List.of(new ProductStockSnapshot(1L, 10)));
+        productStockView.reconcile();
+        when(catalogChangeLog.recordProduct(1L, 9)).thenReturn(true);
+
+        // when
+        productStockView.update(1L, 9);
+
+        // then
+        assertThat(productStockView.stockOf(1L)).isEqualTo(9);
+        verify(catalogChangeLog).recordProduct(1L, 9);
+        verify(redisTemplate, never()).convertAndSend(eq(ProductStockView.STOCK_CHANNEL), any());
+        verify(productRepository, times(1)).findAllStocks();
+    }
+
+    @Test
+    @DisplayName("변경 로그 기록에 실패하면 재고 채널로 재고만 브로드캐스트")
+    void update_recordFailed_fallsBackToStockChannel() {
+        // given
+        when(catalogChangeLog.recordProduct(1L, 9)).thenReturn(false);
+
+        // when
+        productStockView.update(1L, 9);
+
+        // then
+        verify(redisTemplate).convertAndSend(ProductStockView.STOCK_CHANNEL, "1:9");
+    }
+
+    @Test
+    @DisplayName("변경 로그로 수신한 재고도 작은 값만 반영")
+    void onStockChanged_appliesLowerStock() {
+        // given
+        productStockView.update(1L, 5);
+
+        // when
+        productStockView.onStockChanged(new StockChangedEvent(1L, 3));
+        productStockView.onStockChanged(new StockChangedEvent(1L, 4));
+
+        // then
+        assertThat(productStockView.stockOf(1L)).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("순서가 뒤바뀐 이벤트는 더 큰 재고로 덮어쓰지 않음")
+    void onMessage_outOfOrder_keepsLowerStock() {
+        // given
+        doReturn(serializer).when(redisTemplate).getValueSerializer();
+        productStockView.update(1L, 5);
+
+        // when
+        productStockView.onMessage(new DefaultMessage(ProductStockView.STOCK_CHANNEL.getBytes(),
+                serializer.serialize("1:7")), null);
+
+        // then
+        assertThat(productStockView.stockOf(1L)).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("재동기화 시 DB 재고로 맞추고 삭제된 상품은 제거")
+    void reconcile_replacesWithDatabaseStock() {
+        // given
+        productStockView.update(1L, 3);
+        productStockView.update(2L, 4);
+        when(productRepository.findAllStocks()).thenReturn(List.of(new ProductStockSnapshot(1L, 100)));
+
+        // when
+        productStockView.reconcile();
+
+        // then
+        assertThat(productStockView.stockOf(1L)).isEqualTo(100);
+        assertThat(productStockView.stockOf(2L)).isNull();
+    }
+
+    @Test
+    @DisplayName("같은 재고 상태면 Pod가 달라도 같은 식별값")
+    void fingerprint_contentBased() {
+        // given
+        ProductStockView other = new ProductStockView(productRepository, redisTemplate, listenerContainer, catalogChangeLog);
+
+        // when
+        productStockView.update(1L, 3);
+        productStockView.update(2L, 4);
+        other.update(2L, 4);
+        other.update(1L, 3);
+
+        // then
+        assertThat(productStockView.listFingerprint()).isEqualTo(other.listFingerprint());
+    }
+
+    @Test
+    @DisplayName("증분 갱신한 식별값은 같은 내용을 재동기화로 만든 식별값과 같음 (삭제된 상품 몫도 빠짐)")
+    void listFingerprint_incrementalMatchesRebuilt() {
+        // given
+        productStockView.update(1L, 30);
+        productStockView.update(2L, 4);
+        productStockView.update(1L, 2);
+        when(productRepository.findAllStocks()).thenReturn(List.of(new ProductStockSnapshot(1L, 2)));
+        productStockView.reconcile();
+        ProductStockView rebuilt = new ProductStockView(productRepository, redisTemplate, listenerContainer, catalogChangeLog);
+
+        // when
+        rebuilt.reconcile();
+
+        // then
+        assertThat(productStockView.listFingerprint()).isEqualTo(rebuilt.listFingerprint());
+    }
+
+    @Test
+    @DisplayName("목록 식별값은 재고 구간이 바뀔 때만 달라지고, 품절은 항상 반영")
+    void listFingerprint_changesOnlyAcrossBuckets() {
+        // given
+        productStockView.update(1L, 7);
+        long initial = productStockView.listFingerprint();
+
+        // when & then
+        productStockView.update(1L, 5);
+        assertThat(productStockView.listFingerprint()).isEqualTo(initial);
+
+        productStockView.update(1L, 3);
+        long lowStock = productStockView.listFingerprint();
+        assertThat(lowStock).isNotEqualTo(initial);
+
+        productStockView.update(1L, 0);
+        assertThat(productStockView.listFingerprint()).isNotEqualTo(lowStock);
+    }
+
+    @Test
+    @DisplayName("모르는 상품은 요청 스레드에서 DB를 조회하지 않고 알 수 없음(null)으로 응답 (품절 아님)")
+    void stockOf_unknownProduct_noDatabaseScan() {
+        // when
+        Integer stock = productStockView.stockOf(99L);
+
+        // then
+        assertThat(stock).isNull();
+        verifyNoInteractions(productRepository);
+    }
+}
@@ -1,20 +1,35 @@
 package com.oliveyoung.sale.service;
 
+import com.oliveyoung.sale.bulkhead.Bulkhead;
+import com.oliveyoung.sale.bulkhead.Bulkheads;
+import com.oliveyoung.sale.domain.OrderOutbox;
 import com.oliveyoung.sale.domain.Product;
 import com.oliveyoung.sale.domain.PurchaseOrder;
+import com.oliveyoung.sale.dto.ProductPriceSnapshot;
 import com.oliveyoung.sale.dto.PurchaseRequest;
 import com.oliveyoung.sale.dto.PurchaseResponse;
+import com.oliveyoung.sale.exception.BulkheadFullException;
+import com.oliveyoung.sale.repository.OrderOutboxRepository;
 import com.oliveyoung.sale.repository.ProductRepository;
 import com.oliveyoung.sale.repository.PurchaseOrderRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionOperations;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.*;
@@ -31,7 +46,10 @@ class PurchaseServiceTest {
     private PurchaseOrderRepository orderRepository;
 
     @Mock
-    private ProductService productService;
+    private OrderOutboxRepository outboxRepository;
+
+    @Mock
+    private ProductStockView productStockView;
 
     @Mock
     private QueueService queueService;
@@ -39,9 +57,35 @@ class PurchaseServiceTest {
     @Mock
     private SaleStateService saleStateService;
 
+    @Mock
+    private SoldOutRegistry soldOutRegistry;
+
+    @Mock
+    private PurchaseIdempotencyStore idempotencyStore;
+
+    @Mock
+    private OrderHistoryCache orderHistoryCache;
+
+    @Mock
+    private TransactionOperations transactionOperations;
+
+    @Spy
+    private SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Mock
+    private Bulkheads bulkheads;
+
     @InjectMocks
     private PurchaseService purchaseService;
 
+    @BeforeEach
+    void setUp() {
+        lenient().when(bulkheads.purchase()).thenReturn(new Bulkhead("purchase", 10, 0, 1, new SimpleMeterRegistry()));
+        // 트랜잭션 콜백을 그대로 실행
+        lenient().when(transactionOperations.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
     private Product createProduct(Long id, BigDecimal price, Integer discountRate, Integer stock) {
         Product product = Product.builder()
                 .name("테스트 상품")
@@ -56,6 +100,13 @@ class PurchaseServiceTest {
         return product;
     }
 
+    private void stubProduct(Product product) {
+        when(productRepository.findPriceSnapshotById(product.getId())).thenReturn(Optional.of(new ProductPriceSnapshot(
+                product.getId(), product.getName(), product.getOriginalPrice(), product.getDiscountRate(),
+                product.getCategory())));
+        when(productRepository.findByIdWithLock(product.getId())).thenReturn(Optional.of(product));
+    }
+
     @Test
     @DisplayName("세일 활성 시 할인가로 구매 성공")
     void purchase_success_withSaleActive() {
@@ -65,8 +116,8 @@ class PurchaseServiceTest {
 
         when(queueService.getQueueStatus("session-1", "token-abc", 1L))
                 .thenReturn(new QueueService.QueueStatus(0, 0, true, false));
-        when(productRepository.findByIdWithLock(1L)).thenReturn(Optional.of(product));
-        when(saleStateService.isSaleActive()).thenReturn(true);
+        stubProduct(product);
+        when(saleStateService.isOnSale(1L, "스킨케어")).thenReturn(true);
         when(orderRepository.save(any(PurchaseOrder.class))).thenAnswer(invocation -> {
             PurchaseOrder order = invocation.getArgument(0);
             ReflectionTestUtils.setField(order, "id", 1L);
@@ -82,6 +133,7 @@ class PurchaseServiceTest {
         assertThat(result.totalPrice()).isEqualByComparingTo(BigDecimal.valueOf(25200)); // 12600 * 2
         assertThat(product.getStock()).isEqualTo(98);
         verify(queueService).completeProcessing("session-1", "token-abc", 1L);
+        verify(orderHistoryCache).evict("session-1");
     }
 
     @Test
@@ -93,8 +145,8 @@ class PurchaseServiceTest {
 
         when(queueService.getQueueStatus("session-1", "token-abc", 1L))
                 .thenReturn(new QueueService.QueueStatus(0, 0, true, false));
-        when(productRepository.findByIdWithLock(1L)).thenReturn(Optional.of(product));
-        when(saleStateService.isSaleActive()).thenReturn(false);
+        stubProduct(product);
+        when(saleStateService.isOnSale(1L, "스킨케어")).thenReturn(false);
         when(orderRepository.save(any(PurchaseOrder.class))).thenAnswer(invocation -> {
             PurchaseOrder order = invocation.getArgument(0);
             ReflectionTestUtils.setField(order, "id", 2L);
@@ -128,10 +180,282 @@ class PurchaseServiceTest {
 
         when(queueService.getQueueStatus("session-1", "token-abc", 99L))
                 .thenReturn(new QueueService.QueueStatus(0, 0, true, false));
-        when(productRepository.findByIdWithLock(99L)).thenReturn(Optional.empty());
+        when(productRepository.findPriceSnapshotById(99L)).thenReturn(Optional.empty());
 
         assertThatThrownBy(() -> purchaseService.purchase("session-1", "token-abc", request))
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessageContaining("상품을 찾을 수 없습니다");
+        verifyNoInteractions(transactionOperations);
+    }
+
+    @Test
+    @DisplayName("구매 벌크헤드 포화 시 DB 접근 없이 재시도 가능 예외")
+    void purchase_bulkheadFull_rejectsWithoutDatabase() {
+        PurchaseRequest request = new PurchaseRequest(1L, 1, "token-abc");
+        Bulkhead saturated = new Bulkhead("purchase", 1, 0, 1, new SimpleMeterRegistry());
+        when(bulkheads.purchase()).thenReturn(saturated);
+        when(queueService.getQueueStatus("session-1", "token-abc", 1L))
+                .thenReturn(new QueueService.QueueStatus(0, 0, true, false));
+
+        saturated.run(() -> assertThatThrownBy(() -> purchaseService.purchase("session-1", "token-abc", request))
+                .isInstanceOf(BulkheadFullException.class));
+
+        verifyNoInteractions(productRepository, transactionOperations);
+        verify(idempotencyStore, never()).remember(any(), any());
+    }
+
+    @Test
+    @DisplayName("마지막 재고 구매 시 품절 등록 및 대기열 정리")
+    void purchase_lastStock_marksSoldOut() {
+        PurchaseRequest request = new PurchaseRequest(1L, 2, "token-abc");
+        Product product = createProduct(1L, BigDecimal.valueOf(18000), 30, 2);
+
+        when(queueService.getQueueStatus("session-1", "token-abc", 1L))
+                .thenReturn(new QueueService.QueueStatus(0, 0, true, false));
+        stubProduct(product);
+        when(orderRepository.save(any(PurchaseOrder.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        purchaseService.purchase("session-1", "token-abc", request);
+
+        assertThat(product.getStock()).isZero();
+        verify(soldOutRegistry).markSoldOut(1L);
+        verify(queueService).drainSoldOut(1L);
+    }
+
+    @Test
+    @DisplayName("재고가 남아 있으면 품절 등록하지 않음")
+    void purchase_stockRemaining_doesNotMarkSoldOut() {
+        PurchaseRequest request = new PurchaseRequest(1L, 1, "token-abc");
+        Product product = createProduct(1L, BigDecimal.valueOf(18000), 30, 2);
+
+        when(queueService.getQueueStatus("session-1", "token-abc", 1L))
+                .thenReturn(new QueueService.QueueStatus(0, 0, true, false));
+        stubProduct(product);
+        when(orderRepository.save(any(PurchaseOrder.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        purchaseService.purchase("session-1", "token-abc", request);
+
+        verify(soldOutRegistry, never()).markSoldOut(any());
+        verify(productStockView).update(1L, 1);
+    }
+
+    @Test
+    @DisplayName("이전 구매 결과가 있으면 트랜잭션 없이 같은 응답 반환")
+    void purchase_duplicateRequest_returnsPreviousResult() {
+        PurchaseRequest request = new PurchaseRequest(1L, 1, "token-abc");
+        PurchaseResponse previous = new PurchaseResponse(7L, "테스트 상품", 1, BigDecimal.valueOf(12600), "구매가 완료되었습니다!");
+        when(idempotencyStore.find("session-1:token-abc")).thenReturn(previous);
+
+        PurchaseResponse result = purchaseService.purchase("session-1", "token-abc", request);
+
+        assertThat(result).isSameAs(previous);
+        verifyNoInteractions(transactionOperations, productRepository, queueService);
+    }
+
+    @Test
+    @DisplayName("Idempotency-Key 헤더가 있으면 토큰 대신 멱등 키로 사용")
+    void purchase_usesIdempotencyKeyHeader() {
+        PurchaseRequest request = new PurchaseRequest(1L, 1, "token-abc");
+        PurchaseResponse previous = new PurchaseResponse(7L, "테스트 상품", 1, BigDecimal.valueOf(12600), "구매가 완료되었습니다!");
+        when(idempotencyStore.find("session-1:retry-key")).thenReturn(previous);
+
+        PurchaseResponse result = purchaseService.purchase("session-1", "token-abc", request, "retry-key");
+
+        assertThat(result).isSameAs(previous);
+    }
+
+    @Test
+    @DisplayName("Idempotency-Key 형식이 잘못되면 400, 긴 세션 ID와 합친 키는 해시로 줄여 컬럼 길이 이내")
+    void idempotencyKey_validatesHeaderAndBoundsLength() {
+        PurchaseRequest request = new PurchaseRequest(1L, 1, "token-abc");
+
+        assertThatThrownBy(() -> purchaseService.purchase("session-1", "token-abc", request, "a".repeat(65)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> purchaseService.purchase("session-1", "token-abc", request, "key with space"))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(idempotencyStore, transactionOperations);
+
+        String longSession = "s".repeat(300);
+        String hashed = PurchaseService.idempotencyKey(longSession, "retry-key", "token-abc");
+        assertThat(hashed).startsWith("sha256:").hasSize(71);
+        assertThat(PurchaseService.idempotencyKey(longSession, "retry-key", "other")).isEqualTo(hashed);
+        assertThat(PurchaseService.idempotencyKey("session-1", null, "token-abc")).isEqualTo("session-1:token-abc");
+    }
+
+    @Test
+    @DisplayName("동시 중복 요청으로 유니크 제약 위반 시 먼저 커밋된 주문 반환")
+    void purchase_concurrentDuplicate_returnsExistingOrder() {
+        PurchaseRequest request = new PurchaseRequest(1L, 1, "token-abc");
+        Product product = createProduct(1L, BigDecimal.valueOf(18000), 30, 100);
+        PurchaseOrder existing = PurchaseOrder.builder()
+                .sessionId("session-1")
+                .product(product)
+                .quantity(1)
+                .totalPrice(BigDecimal.valueOf(12600))
+                .status(PurchaseOrder.OrderStatus.COMPLETED)
+                .idempotencyKey("session-1:token-abc")
+                .build();
+        ReflectionTestUtils.setField(existing, "id", 3L);
+
+        when(queueService.getQueueStatus("session-1", "token-abc", 1L))
+                .thenReturn(new QueueService.QueueStatus(0, 0, true, false));
+        when(productRepository.findPriceSnapshotById(1L)).thenReturn(Optional.of(
+                new ProductPriceSnapshot(1L, "테스트 상품", BigDecimal.valueOf(18000), 30, "스킨케어")));
+        doThrow(new DataIntegrityViolationException("duplicate")).when(transactionOperations).execute(any());
+        when(orderRepository.findByIdempotencyKey("session-1:token-abc")).thenReturn(Optional.of(existing));
+
+        PurchaseResponse result = purchaseService.purchase("session-1", "token-abc", request);
+
+        assertThat(result.orderId()).isEqualTo(3L);
+        verify(idempotencyStore).remember("session-1:token-abc", result);
+    }
+
+    @Test
+    @DisplayName("결과 캐시가 유실된 재시도는 기존 주문으로 응답")
+    void purchase_retryAfterCacheLoss_returnsExistingOrder() {
+        PurchaseRequest request = new PurchaseRequest(1L, 1, "token-abc");
+        Product product = createProduct(1L, BigDecimal.valueOf(18000), 30, 99);
+        PurchaseOrder existing = PurchaseOrder.builder()
+                .sessionId("session-1")
+                .product(product)
+                .quantity(1)
+                .totalPrice(BigDecimal.valueOf(12600))
+                .status(PurchaseOrder.OrderStatus.COMPLETED)
+                .idempotencyKey("session-1:token-abc")
+                .build();
+        ReflectionTestUtils.setField(existing, "id", 4L);
+
+        when(queueService.getQueueStatus("session-1", "token-abc", 1L))
+                .thenReturn(new QueueService.QueueStatus(0, 0, false, true));
+        when(orderRepository.findByIdempotencyKey("session-1:token-abc")).thenReturn(Optional.of(existing));
+
+        PurchaseResponse result = purchaseService.purchase("session-1", "token-abc", request);
+
+        assertThat(result.orderId()).isEqualTo(4L);
+        verify(productRepository, never()).findByIdWithLock(any());
+    }
+
+    @Test
+    @DisplayName("비동기 모드 - 재고 예약 + Outbox 기록 후 PENDING 응답")
+    void purchase_asyncMode_writesOutboxAndReturnsPending() {
+        // given
+        ReflectionTestUtils.setField(purchaseService, "asyncEnabled", true);
+        PurchaseRequest request = new PurchaseRequest(1L, 2, "token-abc");
+        Product product = createProduct(1L, BigDecimal.valueOf(18000), 30, 100);
+
+        when(queueService.getQueueStatus("session-1", "token-abc", 1L))
+                .thenReturn(new QueueService.QueueStatus(0, 0, true, false));
+        stubProduct(product);
+        when(saleStateService.isOnSale(1L, "스킨케어")).thenReturn(true);
+        when(outboxRepository.save(any(OrderOutbox.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // when
+        PurchaseResponse result = purchaseService.purchase("session-1", "token-abc", request);
+
+        // then
+        assertThat(result.status()).isEqualTo(PurchaseResponse.PENDING);
+        assertThat(result.orderId()).isNull();
+        assertThat(result.orderRef()).isNotBlank();
+        assertThat(result.totalPrice()).isEqualByComparingTo(BigDecimal.valueOf(25200));
+        assertThat(product.getStock()).isEqualTo(98);
+        // 주문 저장과 대기열 정리는 Consumer에서 처리
+        verify(orderRepository, never()).save(any());
+        verify(queueService, never()).completeProcessing(any(), any(), any());
+        verify(idempotencyStore).remember("session-1:token-abc", result);
+    }
+
+    @Test
+    @DisplayName("비동기 모드 - 접수된 주문의 재시도는 기존 orderRef 반환")
+    void purchase_asyncMode_retryReturnsPendingOrder() {
+        // given
+        ReflectionTestUtils.setField(purchaseService, "asyncEnabled", true);
+        PurchaseRequest request = new PurchaseRequest(1L, 1, "token-abc");
+        OrderOutbox outbox = OrderOutbox.builder()
+                .orderRef("ref-1")
+                .sessionId("session-1")
+                .token("token-abc")
+                .productId(1L)
+                .productName("테스트 상품")
+                .quantity(1)
+                .totalPrice(BigDecimal.valueOf(12600))
+                .idempotencyKey("session-1:token-abc")
+                .build();
+
+        when(queueService.getQueueStatus("session-1", "token-abc", 1L))
+                .thenReturn(new QueueService.QueueStatus(0, 0, false, false));
+        when(orderRepository.findByIdempotencyKey("session-1:token-abc")).thenReturn(Optional.empty());
+        when(outboxRepository.findByIdempotencyKey("session-1:token-abc")).thenReturn(Optional.of(outbox));
+
+        // when
+        PurchaseResponse result = purchaseService.purchase("session-1", "token-abc", request);
+
+        // then
+        assertThat(result.orderRef()).isEqualTo("ref-1");
+        assertThat(result.status()).isEqualTo(PurchaseResponse.PENDING);
+        verify(productRepository, never()).findByIdWithLock(any());
+    }
+
+    @Test
+    @DisplayName("비동기 모드 - 같은 토큰에 다른 Idempotency-Key로 재구매하면 먼저 접수된 주문 반환")
+    void purchase_asyncMode_sameTokenDifferentKeys_singleOutbox() {
+        // given
+        ReflectionTestUtils.setField(purchaseService, "asyncEnabled", true);
+        PurchaseRequest request = new PurchaseRequest(1L, 1, "token-abc");
+        Product product = createProduct(1L, BigDecimal.valueOf(18000), 30, 100);
+        List<OrderOutbox> saved = new ArrayList<>();
+
+        when(queueService.getQueueStatus("session-1", "token-abc", 1L))
+                .thenReturn(new QueueService.QueueStatus(0, 0, true, false));
+        stubProduct(product);
+        when(saleStateService.isOnSale(1L, "스킨케어")).thenReturn(true);
+        // 두 번째 INSERT는 uk_order_outbox_session_token 위반
+        when(outboxRepository.save(any(OrderOutbox.class))).thenAnswer(invocation -> {
+            OrderOutbox outbox = invocation.getArgument(0);
+            if (!saved.isEmpty()) {
+                throw new DataIntegrityViolationException("uk_order_outbox_session_token");
+            }
+            saved.add(outbox);
+            return outbox;
+        });
+        when(orderRepository.findByIdempotencyKey("session-1:key-2")).thenReturn(Optional.empty());
+        when(outboxRepository.findByIdempotencyKey("session-1:key-2")).thenReturn(Optional.empty());
+        when(outboxRepository.findBySessionIdAndToken("session-1", "token-abc"))
+                .thenAnswer(invocation -> saved.stream().findFirst());
+
+        // when
+        PurchaseResponse first = purchaseService.purchase("session-1", "token-abc", request, "key-1");
+        PurchaseResponse second = purchaseService.purchase("session-1", "token-abc", request, "key-2");
+
+        // then
+        assertThat(saved).hasSize(1);
+        assertThat(second.orderRef()).isEqualTo(first.orderRef());
+        assertThat(second.status()).isEqualTo(PurchaseResponse.PENDING);
+        verify(idempotencyStore).remember("session-1:key-2", second);
+    }
+
+    @Test
+    @DisplayName("세일 상태/가격/대기열 확인은 락 전에, 대기열 정리는 락 이후에 수행")
+    void purchase_redisCallsOutsideLock() {
+        // given
+        PurchaseRequest request = new PurchaseRequest(1L, 1, "token-abc");
+        Product product = createProduct(1L, BigDecimal.valueOf(18000), 30, 100);
+
+        when(queueService.getQueueStatus("session-1", "token-abc", 1L))
+                .thenReturn(new QueueService.QueueStatus(0, 0, true, false));
+        stubProduct(product);
+        when(saleStateService.isOnSale(1L, "스킨케어")).thenReturn(true);
+        when(orderRepository.save(any(PurchaseOrder.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // when
+        purchaseService.purchase("session-1", "token-abc", request);
+
+        // then
+        InOrder inOrder = inOrder(queueService, saleStateService, productRepository, orderRepository);
+        inOrder.verify(queueService).getQueueStatus("session-1", "token-abc", 1L);
+        inOrder.verify(saleStateService).isOnSale(1L, "스킨케어");
+        inOrder.verify(productRepository).findByIdWithLock(1L);
+        inOrder.verify(orderRepository).save(any(PurchaseOrder.class));
+        inOrder.verify(queueService).completeProcessing("session-1", "token-abc", 1L);
+        assertThat(meterRegistry.get(PurchaseService.LOCK_HOLD_METRIC).timer().count()).isEqualTo(1);
     }
 }
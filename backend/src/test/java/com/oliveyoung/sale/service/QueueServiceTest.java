@@ -1,5 +1,8 @@
 package com.oliveyoung.sale.service;
 
+import com.oliveyoung.sale.domain.Product;
+import com.oliveyoung.sale.dto.QueueEntryMessage;
+import com.oliveyoung.sale.repository.ProductRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -7,9 +10,20 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.HashOperations;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.core.SetOperations;
+import org.springframework.data.redis.core.DefaultTypedTuple;
 import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -27,6 +41,18 @@ class QueueServiceTest {
     @Mock
     private SetOperations<String, Object> setOperations;
 
+    @Mock
+    private HashOperations<String, Object, Object> hashOperations;
+
+    @Mock
+    private KafkaProducerService kafkaProducerService;
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private SoldOutRegistry soldOutRegistry;
+
     @InjectMocks
     private QueueService queueService;
 
@@ -34,20 +60,21 @@ class QueueServiceTest {
     void setUp() {
         lenient().when(redisTemplate.opsForZSet()).thenReturn(zSetOperations);
         lenient().when(redisTemplate.opsForSet()).thenReturn(setOperations);
+        lenient().when(redisTemplate.<Object, Object>opsForHash()).thenReturn(hashOperations);
     }
 
     @Test
     @DisplayName("대기열 진입 성공")
     void enterQueue_success() {
         when(zSetOperations.size("purchase:queue")).thenReturn(50L);
-        when(zSetOperations.rank(eq("purchase:queue"), anyString())).thenReturn(50L);
 
         QueueService.QueueEntry result = queueService.enterQueue("session-1", 1L);
 
         assertThat(result.token()).isNotNull();
         assertThat(result.position()).isEqualTo(51);
         assertThat(result.estimatedWaitSeconds()).isEqualTo(6); // ceil(51/10)
-        verify(zSetOperations).add(eq("purchase:queue"), anyString(), anyDouble());
+        // Redis ZADD는 Kafka Consumer가 수행
+        verify(kafkaProducerService).sendQueueEntry(any(QueueEntryMessage.class));
     }
 
     @Test
@@ -92,10 +119,193 @@ class QueueServiceTest {
         String queueValue = "session-1:1:token-abc";
         when(setOperations.isMember("purchase:processing", queueValue)).thenReturn(false);
         when(zSetOperations.rank("purchase:queue", queueValue)).thenReturn(null);
+        when(zSetOperations.rank("purchase:queue:held:1", queueValue)).thenReturn(null);
 
         QueueService.QueueStatus result = queueService.getQueueStatus("session-1", "token-abc", 1L);
 
         assertThat(result.canPurchase()).isFalse();
         assertThat(result.expired()).isTrue();
     }
+
+    @Test
+    @DisplayName("품절 상품 대기자는 Redis 조회 없이 품절 상태")
+    void getQueueStatus_soldOut() {
+        when(soldOutRegistry.isSoldOut(1L)).thenReturn(true);
+
+        QueueService.QueueStatus result = queueService.getQueueStatus("session-1", "token-abc", 1L);
+
+        assertThat(result.soldOut()).isTrue();
+        assertThat(result.canPurchase()).isFalse();
+        verifyNoInteractions(setOperations, zSetOperations);
+    }
+
+    @Test
+    @DisplayName("대기열 처리 시 품절 상품 대기자는 처리 상태로 옮기지 않음")
+    void processQueue_skipsSoldOutProducts() {
+        when(zSetOperations.rangeWithScores("purchase:queue", 0, 9))
+                .thenReturn(tuples("session-1:1:token-a", "session-2:2:token-b"));
+        when(zSetOperations.remove(eq("purchase:queue"), any())).thenReturn(1L);
+        when(hashOperations.multiGet("purchase:remaining", List.of("1", "2"))).thenReturn(Arrays.asList(0, 10));
+        when(soldOutRegistry.isSoldOut(1L)).thenReturn(true);
+        givenReserve("2", 9L);
+
+        queueService.processQueue();
+
+        verify(zSetOperations).remove("purchase:queue", "session-1:1:token-a");
+        verify(zSetOperations).remove("purchase:queue", "session-2:2:token-b");
+        verify(setOperations, never()).add("purchase:processing", "session-1:1:token-a");
+        verify(zSetOperations, never()).add(eq("purchase:queue:held:1"), any(), anyDouble());
+        verify(setOperations).add("purchase:processing", "session-2:2:token-b");
+    }
+
+    @Test
+    @DisplayName("다른 Pod가 먼저 꺼낸 대기자는 중복 입장시키지 않음")
+    @SuppressWarnings("unchecked")
+    void processQueue_skipsUsersRemovedByOtherPod() {
+        when(zSetOperations.rangeWithScores("purchase:queue", 0, 9)).thenReturn(tuples("session-1:1:token-a"));
+        when(hashOperations.multiGet("purchase:remaining", List.of("1"))).thenReturn(Arrays.asList(10));
+        when(zSetOperations.remove("purchase:queue", "session-1:1:token-a")).thenReturn(0L);
+
+        queueService.processQueue();
+
+        verify(redisTemplate, never()).execute(any(RedisScript.class), any(RedisSerializer.class), any(RedisSerializer.class), anyList(), any());
+        verify(setOperations, never()).add(anyString(), any());
+    }
+
+    @Test
+    @DisplayName("미예약 재고 존재 여부는 배치당 HMGET 1회로 확인, 없는 상품만 DB 재고로 초기화")
+    void processQueue_initializesRemainingFromStock() {
+        when(zSetOperations.rangeWithScores("purchase:queue", 0, 9))
+                .thenReturn(tuples("session-1:1:token-a", "session-2:1:token-b", "session-3:2:token-c"));
+        when(zSetOperations.remove(eq("purchase:queue"), any())).thenReturn(1L);
+        when(hashOperations.multiGet("purchase:remaining", List.of("1", "2"))).thenReturn(Arrays.asList(null, 5));
+        when(productRepository.findById(1L)).thenReturn(Optional.of(Product.builder().stock(80).build()));
+        givenReserve("1", 79L);
+        givenReserve("2", 4L);
+
+        queueService.processQueue();
+
+        verify(hashOperations).putIfAbsent("purchase:remaining", "1", 80);
+        verify(productRepository, never()).findById(2L);
+        verify(hashOperations, never()).hasKey(any(), any());
+        verify(setOperations).add("purchase:processing", "session-1:1:token-a");
+        verify(zSetOperations).add(eq("purchase:admitted"), eq("session-1:1:token-a"), anyDouble());
+        verify(soldOutRegistry, never()).closeAdmission(any());
+    }
+
+    @Test
+    @DisplayName("예약할 재고가 없으면 입장 마감하고 대기자는 진입 시각 그대로 보류")
+    void processQueue_noRemainingStock_closesAdmissionAndHolds() {
+        when(zSetOperations.rangeWithScores("purchase:queue", 0, 9)).thenReturn(tuples("session-1:1:token-a"));
+        when(zSetOperations.remove("purchase:queue", "session-1:1:token-a")).thenReturn(1L);
+        when(hashOperations.multiGet("purchase:remaining", List.of("1"))).thenReturn(Arrays.asList(0));
+        givenReserve("1", -1L);
+        when(hashOperations.get("purchase:remaining", "1")).thenReturn(0);
+
+        queueService.processQueue();
+
+        verify(soldOutRegistry).closeAdmission(1L);
+        verify(zSetOperations).add("purchase:queue:held:1", "session-1:1:token-a", 0.0);
+        verify(setOperations, never()).add(anyString(), any());
+        verify(zSetOperations, never()).scan(any(), any());
+    }
+
+    @Test
+    @DisplayName("보류하는 사이 재고가 반환됐으면 보류자를 바로 대기열로 복귀")
+    @SuppressWarnings("unchecked")
+    void processQueue_stockReturnedWhileHolding_restores() {
+        when(zSetOperations.rangeWithScores("purchase:queue", 0, 9)).thenReturn(tuples("session-1:1:token-a"));
+        when(zSetOperations.remove("purchase:queue", "session-1:1:token-a")).thenReturn(1L);
+        when(hashOperations.multiGet("purchase:remaining", List.of("1"))).thenReturn(Arrays.asList(0));
+        when(soldOutRegistry.isAdmissionClosed(1L)).thenReturn(true);
+        when(hashOperations.get("purchase:remaining", "1")).thenReturn(1);
+
+        queueService.processQueue();
+
+        verify(zSetOperations).add("purchase:queue:held:1", "session-1:1:token-a", 0.0);
+        verify(redisTemplate).execute(any(RedisScript.class), eq(List.of("purchase:queue", "purchase:queue:held:1")));
+    }
+
+    @Test
+    @DisplayName("마지막 재고를 예약한 입장자는 입장, 이후 대기자는 입장 마감")
+    void processQueue_lastUnitReserved_admitsAndCloses() {
+        when(zSetOperations.rangeWithScores("purchase:queue", 0, 9)).thenReturn(tuples("session-1:1:token-a"));
+        when(zSetOperations.remove("purchase:queue", "session-1:1:token-a")).thenReturn(1L);
+        when(hashOperations.multiGet("purchase:remaining", List.of("1"))).thenReturn(Arrays.asList(1));
+        givenReserve("1", 0L);
+
+        queueService.processQueue();
+
+        verify(setOperations).add("purchase:processing", "session-1:1:token-a");
+        verify(soldOutRegistry).closeAdmission(1L);
+    }
+
+    @Test
+    @DisplayName("입장 마감 상품의 보류 대기자는 입장 마감 상태(품절 아님, 예상 시간 없음), 이미 입장한 사용자는 구매 가능")
+    void getQueueStatus_admissionClosed() {
+        when(setOperations.isMember("purchase:processing", "session-1:1:token-wait")).thenReturn(false);
+        when(setOperations.isMember("purchase:processing", "session-2:1:token-in")).thenReturn(true);
+        when(zSetOperations.rank("purchase:queue", "session-1:1:token-wait")).thenReturn(null);
+        when(zSetOperations.rank("purchase:queue:held:1", "session-1:1:token-wait")).thenReturn(2L);
+
+        QueueService.QueueStatus waiting = queueService.getQueueStatus("session-1", "token-wait", 1L);
+        QueueService.QueueStatus admitted = queueService.getQueueStatus("session-2", "token-in", 1L);
+
+        assertThat(waiting.soldOut()).isFalse();
+        assertThat(waiting.expired()).isFalse();
+        assertThat(waiting.position()).isEqualTo(3);
+        assertThat(waiting.admissionClosed()).isTrue();
+        assertThat(waiting.estimatedWaitSeconds()).isZero();
+        assertThat(admitted.canPurchase()).isTrue();
+        assertThat(admitted.admissionClosed()).isFalse();
+    }
+
+    @Test
+    @DisplayName("2개 이상 구매 시 초과 수량만큼 미예약 재고 추가 차감 (0 미만으로 내려가지 않는 스크립트)")
+    @SuppressWarnings("unchecked")
+    void settleReservation_multipleQuantity() {
+        when(redisTemplate.execute(any(RedisScript.class), any(RedisSerializer.class), any(RedisSerializer.class), eq(List.of("purchase:remaining")),
+                eq("1"), eq("2"))).thenReturn(5L);
+
+        queueService.settleReservation(1L, 3);
+
+        verify(redisTemplate).execute(any(RedisScript.class), any(RedisSerializer.class), any(RedisSerializer.class), eq(List.of("purchase:remaining")),
+                eq("1"), eq("2"));
+        verify(soldOutRegistry, never()).closeAdmission(any());
+        verifyNoInteractions(hashOperations);
+    }
+
+    @Test
+    @DisplayName("초과 구매로 남은 재고가 0이 되면 입장 마감")
+    @SuppressWarnings("unchecked")
+    void settleReservation_exhausted_closesAdmission() {
+        when(redisTemplate.execute(any(RedisScript.class), any(RedisSerializer.class), any(RedisSerializer.class), eq(List.of("purchase:remaining")),
+                eq("1"), eq("4"))).thenReturn(0L);
+
+        queueService.settleReservation(1L, 5);
+
+        verify(soldOutRegistry).closeAdmission(1L);
+    }
+
+    @Test
+    @DisplayName("대기열 값에서 상품 ID 파싱 (세션 ID에 ':' 포함 가능)")
+    void parseProductId() {
+        assertThat(QueueService.parseProductId("session-1:7:token-abc")).isEqualTo(7L);
+        assertThat(QueueService.parseProductId("user:42:3:token-abc")).isEqualTo(3L);
+        assertThat(QueueService.parseProductId("invalid")).isNull();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void givenReserve(String productId, long remaining) {
+        when(redisTemplate.execute(any(RedisScript.class), any(RedisSerializer.class), any(RedisSerializer.class), eq(List.of("purchase:remaining")),
+                eq(productId))).thenReturn(remaining);
+    }
+
+    private static Set<ZSetOperations.TypedTuple<Object>> tuples(String... values) {
+        Set<ZSetOperations.TypedTuple<Object>> tuples = new LinkedHashSet<>();
+        for (int i = 0; i < values.length; i++) {
+            tuples.add(new DefaultTypedTuple<>(values[i], (double) i));
+        }
+        return tuples;
+    }
 }
@@ -0,0 +1,176 @@
+package com.oliveyoung.sale.service;
+
+import com.oliveyoung.sale.dto.QueueEntryMessage;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.ReactiveSetOperations;
+import org.springframework.data.redis.core.ReactiveZSetOperations;
+import org.springframework.kafka.core.reactive.ReactiveKafkaProducerTemplate;
+import reactor.core.publisher.Mono;
+import reactor.kafka.sender.SenderResult;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveQueueServiceTest {
+
+    @Mock
+    private ReactiveRedisTemplate<String, Object> reactiveQueueRedisTemplate;
+
+    @Mock
+    private ReactiveZSetOperations<String, Object> zSetOperations;
+
+    @Mock
+    private ReactiveSetOperations<String, Object> setOperations;
+
+    @Mock
+    private ReactiveKafkaProducerTemplate<String, QueueEntryMessage> reactiveQueueKafkaTemplate;
+
+    @Mock
+    private KafkaProducerService kafkaProducerService;
+
+    @Mock
+    private SoldOutRegistry soldOutRegistry;
+
+    @InjectMocks
+    private ReactiveQueueService reactiveQueueService;
+
+    private final CircuitBreaker circuitBreaker = CircuitBreaker.ofDefaults("kafka-producer");
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(reactiveQueueRedisTemplate.opsForZSet()).thenReturn(zSetOperations);
+        lenient().when(reactiveQueueRedisTemplate.opsForSet()).thenReturn(setOperations);
+        lenient().when(kafkaProducerService.circuitBreaker()).thenReturn(circuitBreaker);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Mono<SenderResult<Void>> sent() {
+        return Mono.just(mock(SenderResult.class));
+    }
+
+    @Test
+    @DisplayName("대기열 진입 시 Kafka 전송 후 블로킹 API와 같은 예상 순번 반환")
+    void enterQueue_success() {
+        // given
+        when(zSetOperations.size("purchase:queue")).thenReturn(Mono.just(50L));
+        when(reactiveQueueKafkaTemplate.send(eq("queue-entry-requests"), eq("1"), any(QueueEntryMessage.class)))
+                .thenReturn(sent());
+
+        // when
+        QueueService.QueueEntry result = reactiveQueueService.enterQueue("session-1", 1L).block();
+
+        // then
+        assertThat(result.token()).isNotNull();
+        assertThat(result.position()).isEqualTo(51);
+        assertThat(result.estimatedWaitSeconds()).isEqualTo(6);
+        verify(zSetOperations, never()).add(anyString(), any(), anyDouble());
+        assertThat(circuitBreaker.getMetrics().getNumberOfSuccessfulCalls()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("대기열이 가득 차면 Kafka 전송 없이 예외")
+    void enterQueue_queueFull() {
+        when(zSetOperations.size("purchase:queue")).thenReturn(Mono.just(10000L));
+
+        assertThatThrownBy(() -> reactiveQueueService.enterQueue("session-1", 1L).block())
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("대기열이 가득 찼습니다");
+        verifyNoInteractions(reactiveQueueKafkaTemplate);
+    }
+
+    @Test
+    @DisplayName("Kafka 전송 실패 시 Redis ZADD 폴백 + 회로에 실패 기록")
+    void enterQueue_kafkaFailure_fallsBackToRedis() {
+        // given
+        when(zSetOperations.size("purchase:queue")).thenReturn(Mono.just(0L));
+        when(reactiveQueueKafkaTemplate.send(anyString(), anyString(), any(QueueEntryMessage.class)))
+                .thenReturn(Mono.error(new RuntimeException("broker down")));
+        when(zSetOperations.add(eq("purchase:queue"), any(), anyDouble())).thenReturn(Mono.just(true));
+
+        // when
+        QueueService.QueueEntry result = reactiveQueueService.enterQueue("session-1", 1L).block();
+
+        // then
+        assertThat(result.position()).isEqualTo(1);
+        verify(zSetOperations).add(eq("purchase:queue"), eq("session-1:1:" + result.token()), anyDouble());
+        assertThat(circuitBreaker.getMetrics().getNumberOfFailedCalls()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("회로가 열려 있으면 Kafka를 호출하지 않고 Redis ZADD")
+    void enterQueue_circuitOpen_skipsKafka() {
+        // given
+        circuitBreaker.transitionToOpenState();
+        when(zSetOperations.size("purchase:queue")).thenReturn(Mono.just(0L));
+        when(zSetOperations.add(eq("purchase:queue"), any(), anyDouble())).thenReturn(Mono.just(true));
+
+        // when
+        reactiveQueueService.enterQueue("session-1", 1L).block();
+
+        // then
+        verifyNoInteractions(reactiveQueueKafkaTemplate);
+        verify(zSetOperations).add(eq("purchase:queue"), any(), anyDouble());
+    }
+
+    @Test
+    @DisplayName("처리 중이면 구매 가능, 대기 중이면 순번, 대기열에 없으면 만료")
+    void getQueueStatus_matchesBlockingApi() {
+        // given
+        when(setOperations.isMember("purchase:processing", "s:1:in")).thenReturn(Mono.just(true));
+        when(setOperations.isMember("purchase:processing", "s:1:wait")).thenReturn(Mono.just(false));
+        when(setOperations.isMember("purchase:processing", "s:1:gone")).thenReturn(Mono.just(false));
+        when(zSetOperations.rank("purchase:queue", "s:1:wait")).thenReturn(Mono.just(4L));
+        when(zSetOperations.rank("purchase:queue", "s:1:gone")).thenReturn(Mono.empty());
+        when(zSetOperations.rank("purchase:queue:held:1", "s:1:gone")).thenReturn(Mono.empty());
+
+        // when
+        QueueService.QueueStatus admitted = reactiveQueueService.getQueueStatus("s", "in", 1L).block();
+        QueueService.QueueStatus waiting = reactiveQueueService.getQueueStatus("s", "wait", 1L).block();
+        QueueService.QueueStatus expired = reactiveQueueService.getQueueStatus("s", "gone", 1L).block();
+
+        // then
+        assertThat(admitted.canPurchase()).isTrue();
+        assertThat(waiting.position()).isEqualTo(5);
+        assertThat(waiting.estimatedWaitSeconds()).isEqualTo(1);
+        assertThat(expired.expired()).isTrue();
+    }
+
+    @Test
+    @DisplayName("입장 마감으로 보류된 대기자는 입장 마감 상태 (순번은 보류 순서, 예상 시간 없음)")
+    void getQueueStatus_held_admissionClosed() {
+        // given
+        when(setOperations.isMember("purchase:processing", "s:1:held")).thenReturn(Mono.just(false));
+        when(zSetOperations.rank("purchase:queue", "s:1:held")).thenReturn(Mono.empty());
+        when(zSetOperations.rank("purchase:queue:held:1", "s:1:held")).thenReturn(Mono.just(1L));
+
+        // when
+        QueueService.QueueStatus result = reactiveQueueService.getQueueStatus("s", "held", 1L).block();
+
+        // then
+        assertThat(result.admissionClosed()).isTrue();
+        assertThat(result.position()).isEqualTo(2);
+        assertThat(result.estimatedWaitSeconds()).isZero();
+        assertThat(result.expired()).isFalse();
+    }
+
+    @Test
+    @DisplayName("품절 상품 대기자는 Redis 조회 없이 품절 상태")
+    void getQueueStatus_soldOut() {
+        when(soldOutRegistry.isSoldOut(1L)).thenReturn(true);
+
+        QueueService.QueueStatus result = reactiveQueueService.getQueueStatus("session-1", "token-abc", 1L).block();
+
+        assertThat(result.soldOut()).isTrue();
+        verifyNoInteractions(setOperations, zSetOperations);
+    }
+}
@@ -0,0 +1,206 @@
+package com.oliveyoung.sale.service;
+
+import com.oliveyoung.sale.bulkhead.Bulkhead;
+import com.oliveyoung.sale.bulkhead.Bulkheads;
+import com.oliveyoung.sale.domain.SaleCampaign;
+import com.oliveyoung.sale.dto.ProductCatalogItem;
+import com.oliveyoung.sale.dto.SaleCampaignRequest;
+import com.oliveyoung.sale.repository.SaleCampaignRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SaleCampaignServiceTest {
+
+    @Mock
+    private SaleCampaignRepository saleCampaignRepository;
+
+    @Mock
+    private SaleStateService saleStateService;
+
+    @Mock
+    private ProductCatalogService productCatalogService;
+
+    @Mock
+    private ProductStockView productStockView;
+
+    @Mock
+    private SoldOutRegistry soldOutRegistry;
+
+    @Mock
+    private QueueService queueService;
+
+    @Mock
+    private DataSource dataSource;
+
+    @Mock
+    private TaskScheduler taskScheduler;
+
+    @Mock
+    private Bulkheads bulkheads;
+
+    @InjectMocks
+    private SaleCampaignService saleCampaignService;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(bulkheads.admin()).thenReturn(new Bulkhead("admin", 10, 0, 1, new SimpleMeterRegistry()));
+        ReflectionTestUtils.setField(saleCampaignService, "prewarmSeconds", 10L);
+        ReflectionTestUtils.setField(saleCampaignService, "prewarmConnections", 2);
+        lenient().when(saleStateService.current()).thenReturn(SaleState.NONE);
+    }
+
+    private SaleCampaign createCampaign(Long id, SaleCampaign.Scope scope, String target, LocalDateTime startsAt) {
+        SaleCampaign campaign = SaleCampaign.builder()
+                .name("정각 세일")
+                .scope(scope)
+                .target(target)
+                .startsAt(startsAt)
+                .endsAt(startsAt.plusHours(1))
+                .build();
+        ReflectionTestUtils.setField(campaign, "id", id);
+        return campaign;
+    }
+
+    private ProductCatalogItem createItem(Long id, String category) {
+        return ProductCatalogItem.builder()
+                .id(id)
+                .name("상품" + id)
+                .originalPrice(BigDecimal.valueOf(10000))
+                .salePrice(BigDecimal.valueOf(7000))
+                .discountRate(30)
+                .category(category)
+                .build();
+    }
+
+    @Test
+    @DisplayName("곧 시작할 캠페인은 한 번만 프리워밍하고 시작/종료 시각에 전환 예약")
+    void tick_upcoming_prewarmsOnceAndSchedules() throws Exception {
+        // given
+        SaleCampaign campaign = createCampaign(1L, SaleCampaign.Scope.CATEGORY, "스킨케어",
+                LocalDateTime.now().plusSeconds(5));
+        when(saleCampaignRepository.findByEndsAtAfterAndStartsAtBeforeOrderByStartsAtAsc(any(), any()))
+                .thenReturn(List.of(campaign));
+        when(productCatalogService.getCatalog())
+                .thenReturn(List.of(createItem(1L, "스킨케어"), createItem(2L, "립메이크업")));
+        when(dataSource.getConnection()).thenReturn(mock(Connection.class));
+
+        // when
+        saleCampaignService.tick();
+        saleCampaignService.tick();
+
+        // then
+        verify(productCatalogService, times(1)).getCatalog();
+        verify(productCatalogService).getCatalogPage("스킨케어", null, ProductService.DEFAULT_PAGE_SIZE);
+        verify(productCatalogService).getCatalogItem(1L);
+        verify(productCatalogService, never()).getCatalogItem(2L);
+        verify(queueService).prepareReservation(1L);
+        verify(productStockView).reconcile();
+        verify(soldOutRegistry).reconcile();
+        verify(dataSource, times(2)).getConnection();
+        verify(taskScheduler, times(2)).schedule(any(Runnable.class), any(Instant.class));
+        verify(saleStateService, never()).startCampaign(any());
+    }
+
+    @Test
+    @DisplayName("프리워밍 단계가 실패해도 나머지 단계와 전환 예약은 진행")
+    void tick_prewarmFailure_stillSchedules() throws Exception {
+        // given
+        SaleCampaign campaign = createCampaign(1L, SaleCampaign.Scope.ALL, null, LocalDateTime.now().plusSeconds(5));
+        when(saleCampaignRepository.findByEndsAtAfterAndStartsAtBeforeOrderByStartsAtAsc(any(), any()))
+                .thenReturn(List.of(campaign));
+        when(productCatalogService.getCatalog()).thenThrow(new RuntimeException("DB 장애"));
+        when(dataSource.getConnection()).thenThrow(new SQLException("풀 고갈"));
+
+        // when
+        saleCampaignService.tick();
+
+        // then
+        verify(productStockView).reconcile();
+        verify(taskScheduler, times(2)).schedule(any(Runnable.class), any(Instant.class));
+    }
+
+    @Test
+    @DisplayName("시작 시각이 지났는데 적용되지 않은 캠페인은 시작 보정")
+    void tick_missedStart_startsCampaign() {
+        // given
+        SaleCampaign campaign = createCampaign(1L, SaleCampaign.Scope.PRODUCT, "3",
+                LocalDateTime.now().minusSeconds(30));
+        when(saleCampaignRepository.findByEndsAtAfterAndStartsAtBeforeOrderByStartsAtAsc(any(), any()))
+                .thenReturn(List.of(campaign));
+
+        // when
+        saleCampaignService.tick();
+
+        // then
+        verify(saleStateService).startCampaign(1L);
+    }
+
+    @Test
+    @DisplayName("종료 시각이 지난 캠페인이 아직 적용 중이면 종료 보정")
+    void tick_expiredCampaign_endsCampaign() {
+        // given
+        when(saleStateService.current()).thenReturn(new SaleState(4L, false, Set.of(7L), Set.of("스킨케어"), Set.of()));
+        when(saleCampaignRepository.findByEndsAtAfterAndStartsAtBeforeOrderByStartsAtAsc(any(), any()))
+                .thenReturn(List.of());
+
+        // when
+        saleCampaignService.tick();
+
+        // then
+        verify(saleStateService).endCampaign(7L);
+    }
+
+    @Test
+    @DisplayName("PRODUCT 캠페인 대상은 검증한 상품 ID 형식으로 저장")
+    void create_productTarget_storesNormalizedId() {
+        // given
+        LocalDateTime now = LocalDateTime.now();
+        SaleCampaignRequest request = new SaleCampaignRequest("세일", SaleCampaign.Scope.PRODUCT, " 12 ",
+                now.plusMinutes(1), now.plusHours(1));
+        when(productCatalogService.getCatalogItem(12L)).thenReturn(createItem(12L, "스킨케어"));
+        when(saleCampaignRepository.save(any(SaleCampaign.class))).thenAnswer(invocation -> {
+            SaleCampaign saved = invocation.getArgument(0);
+            ReflectionTestUtils.setField(saved, "id", 1L);
+            return saved;
+        });
+
+        // when
+        saleCampaignService.create(request);
+
+        // then
+        verify(saleCampaignRepository).save(argThat(campaign -> "12".equals(campaign.getTarget())));
+    }
+
+    @Test
+    @DisplayName("종료 시각이 시작 시각보다 빠르면 등록 거절")
+    void create_invalidPeriod_throwsException() {
+        LocalDateTime now = LocalDateTime.now();
+        SaleCampaignRequest request = new SaleCampaignRequest("세일", SaleCampaign.Scope.ALL, null, now, now.minusMinutes(1));
+
+        assertThatThrownBy(() -> saleCampaignService.create(request))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(saleCampaignRepository);
+    }
+}
@@ -1,5 +1,7 @@
 package com.oliveyoung.sale.service;
 
+import com.oliveyoung.sale.domain.SaleCampaign;
+import com.oliveyoung.sale.repository.SaleCampaignRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -7,10 +9,20 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.connection.DefaultMessage;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SetOperations;
 import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -22,51 +34,171 @@ class SaleStateServiceTest {
     @Mock
     private ValueOperations<String, Object> valueOperations;
 
+    @Mock
+    private SetOperations<String, Object> setOperations;
+
+    @Mock
+    private RedisMessageListenerContainer listenerContainer;
+
+    @Mock
+    private CatalogChangeLog catalogChangeLog;
+
+    @Mock
+    private SaleCampaignRepository saleCampaignRepository;
+
     @InjectMocks
     private SaleStateService saleStateService;
 
     @BeforeEach
     void setUp() {
         lenient().when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        lenient().when(redisTemplate.opsForSet()).thenReturn(setOperations);
+        lenient().when(valueOperations.get("sale:state:version")).thenReturn(null);
+    }
+
+    private SaleCampaign createCampaign(Long id, SaleCampaign.Scope scope, String target) {
+        SaleCampaign campaign = SaleCampaign.builder()
+                .name("캠페인")
+                .scope(scope)
+                .target(target)
+                .startsAt(LocalDateTime.now())
+                .endsAt(LocalDateTime.now().plusHours(1))
+                .build();
+        ReflectionTestUtils.setField(campaign, "id", id);
+        return campaign;
     }
 
     @Test
-    @DisplayName("Redis에 true 저장 시 세일 활성 상태 반환")
+    @DisplayName("Redis에 true 저장 시 동기화 후 세일 활성 상태 반환")
     void isSaleActive_returnsTrue() {
         when(valueOperations.get("sale:active")).thenReturn(Boolean.TRUE);
+        saleStateService.reconcile();
 
         assertThat(saleStateService.isSaleActive()).isTrue();
     }
 
     @Test
-    @DisplayName("Redis에 false 저장 시 세일 비활성 상태 반환")
+    @DisplayName("Redis에 false 저장 시 동기화 후 세일 비활성 상태 반환")
     void isSaleActive_returnsFalse() {
         when(valueOperations.get("sale:active")).thenReturn(Boolean.FALSE);
+        saleStateService.reconcile();
 
         assertThat(saleStateService.isSaleActive()).isFalse();
     }
 
     @Test
-    @DisplayName("Redis 연결 실패 시 false 반환 (폴백)")
-    void isSaleActive_redisFailure_returnsFalse() {
-        when(valueOperations.get("sale:active")).thenThrow(new RuntimeException("Redis 연결 실패"));
+    @DisplayName("조회는 로컬 값만 읽음 (Redis 호출 없음)")
+    void isSaleActive_readsLocalFlag() {
+        when(valueOperations.get("sale:active")).thenReturn(Boolean.TRUE);
+        saleStateService.reconcile();
+        clearInvocations(redisTemplate, valueOperations);
+
+        for (int i = 0; i < 100; i++) {
+            assertThat(saleStateService.isSaleActive()).isTrue();
+        }
+        verifyNoInteractions(redisTemplate, valueOperations);
+    }
+
+    @Test
+    @DisplayName("Redis 연결 실패 시 마지막으로 확인한 값 유지")
+    void reconcile_redisFailure_keepsLastKnownValue() {
+        when(valueOperations.get("sale:active"))
+                .thenReturn(Boolean.TRUE)
+                .thenThrow(new RuntimeException("Redis 연결 실패"));
+        saleStateService.reconcile();
 
+        saleStateService.reconcile();
+
+        assertThat(saleStateService.isSaleActive()).isTrue();
+    }
+
+    @Test
+    @DisplayName("세일 시작 시 Lua 전환 후 로컬 반영 + 델타 피드 전체 변경 기록")
+    @SuppressWarnings("unchecked")
+    void startSale_flipsAndRecords() {
+        when(redisTemplate.execute(any(RedisScript.class), eq(List.of("sale:active", "sale:state:version")), eq(true)))
+                .thenReturn(5L);
+        when(valueOperations.get("sale:state:version")).thenReturn(5);
+        when(valueOperations.get("sale:active")).thenReturn(Boolean.TRUE);
+
+        boolean flipped = saleStateService.startSale();
+
+        assertThat(flipped).isTrue();
+        assertThat(saleStateService.isSaleActive()).isTrue();
+        assertThat(saleStateService.current().version()).isEqualTo(5L);
+        verify(catalogChangeLog).recordAll();
+    }
+
+    @Test
+    @DisplayName("이미 같은 상태면(다른 Pod가 먼저 전환) 변경 기록 없음")
+    @SuppressWarnings("unchecked")
+    void endSale_alreadyEnded_noRecord() {
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), eq(false))).thenReturn(0L);
+
+        boolean flipped = saleStateService.endSale();
+
+        assertThat(flipped).isFalse();
+        verifyNoInteractions(catalogChangeLog);
+    }
+
+    @Test
+    @DisplayName("대상이 잘못된 캠페인 하나가 있어도 나머지 캠페인으로 세일 상태 동기화")
+    void reconcile_badCampaignRow_skipsOnlyThatCampaign() {
+        when(valueOperations.get("sale:state:version")).thenReturn(3);
+        when(setOperations.members("sale:campaigns:active")).thenReturn(Set.of(1, 2));
+        when(saleCampaignRepository.findAllById(Set.of(1L, 2L))).thenReturn(List.of(
+                createCampaign(1L, SaleCampaign.Scope.PRODUCT, "3번"),
+                createCampaign(2L, SaleCampaign.Scope.CATEGORY, "스킨케어")));
+
+        saleStateService.reconcile();
+
+        assertThat(saleStateService.current().version()).isEqualTo(3L);
+        assertThat(saleStateService.isOnSale(1L, "스킨케어")).isTrue();
+        assertThat(saleStateService.isOnSale(3L, "립메이크업")).isFalse();
+    }
+
+    @Test
+    @DisplayName("카테고리 캠페인 시작 시 해당 카테고리 상품만 할인 대상")
+    @SuppressWarnings("unchecked")
+    void startCampaign_categoryScope() {
+        when(redisTemplate.execute(any(RedisScript.class), eq(List.of("sale:campaigns:active", "sale:state:version")), eq(9L)))
+                .thenReturn(7L);
+        when(valueOperations.get("sale:state:version")).thenReturn(7);
+        when(setOperations.members("sale:campaigns:active")).thenReturn(Set.of(9));
+        when(saleCampaignRepository.findAllById(Set.of(9L)))
+                .thenReturn(List.of(createCampaign(9L, SaleCampaign.Scope.CATEGORY, "스킨케어")));
+
+        boolean flipped = saleStateService.startCampaign(9L);
+
+        assertThat(flipped).isTrue();
+        assertThat(saleStateService.isOnSale(1L, "스킨케어")).isTrue();
+        assertThat(saleStateService.isOnSale(2L, "립메이크업")).isFalse();
         assertThat(saleStateService.isSaleActive()).isFalse();
     }
 
     @Test
-    @DisplayName("세일 시작 시 Redis에 true 저장")
-    void startSale_setsTrue() {
-        saleStateService.startSale();
+    @DisplayName("진행 중인 캠페인 구성이 같으면 재동기화 시 DB 재조회 없음")
+    void reconcile_sameCampaigns_skipsDatabase() {
+        when(setOperations.members("sale:campaigns:active")).thenReturn(Set.of(9));
+        when(saleCampaignRepository.findAllById(Set.of(9L)))
+                .thenReturn(List.of(createCampaign(9L, SaleCampaign.Scope.ALL, null)));
 
-        verify(valueOperations).set("sale:active", true);
+        saleStateService.reconcile();
+        saleStateService.reconcile();
+
+        assertThat(saleStateService.isSaleActive()).isTrue();
+        verify(saleCampaignRepository, times(1)).findAllById(any());
     }
 
     @Test
-    @DisplayName("세일 종료 시 Redis에 false 저장")
-    void endSale_setsFalse() {
-        saleStateService.endSale();
+    @DisplayName("전환 알림 수신 시 메시지 값이 아닌 Redis 최종 값으로 갱신 (순서 뒤바뀜 대비)")
+    void onMessage_reloadsFromRedis() {
+        when(valueOperations.get("sale:active")).thenReturn(Boolean.FALSE);
 
-        verify(valueOperations).set("sale:active", false);
+        saleStateService.onMessage(new DefaultMessage(
+                SaleStateService.SALE_STATE_CHANNEL.getBytes(), "3".getBytes()), null);
+
+        assertThat(saleStateService.isSaleActive()).isFalse();
+        verify(valueOperations).get("sale:state:version");
     }
 }
@@ -69,3 +69,8 @@ export const purchaseApi = {
     body: JSON.stringify({ productId, quantity, token }),
   }),
 };
+
+// 주문 API
+export const orderApi = {
+  getStatus: (orderRef) => fetchApi(`/orders/${orderRef}`),
+};
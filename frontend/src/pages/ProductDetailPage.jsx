@@ -112,7 +112,8 @@ function ProductDetailPage() {
         </div>
 
         <div style={{ marginTop: '1rem', color: '#666' }}>
-          재고: {product.stock}개
+          {/* 새로 추가된 상품은 서버 재고 뷰에 반영되기 전까지 stock이 null */}
+          재고: {product.stock ?? '확인 중'}{product.stock != null && '개'}
         </div>
 
         <div style={{ marginTop: '2rem', display: 'flex', gap: '1rem' }}>
@@ -1,19 +1,44 @@
 import { useState, useEffect } from 'react';
 import { useNavigate, Link } from 'react-router-dom';
+import { orderApi } from '../api';
 
 /**
  * 구매 완료 페이지
  *
  * [시연 시나리오]
  * 구매 완료 메시지 표시 -> 5초 후 자동으로 메인 페이지 이동
+ * 비동기 주문 모드(status: PENDING)면 주문 번호가 확정될 때까지 1초 간격 폴링
  */
 function PurchaseCompletePage() {
   const navigate = useNavigate();
   const [countdown, setCountdown] = useState(5);
 
-  const purchaseData = JSON.parse(
-    sessionStorage.getItem('lastPurchase') || '{}'
+  const [purchaseData, setPurchaseData] = useState(() =>
+    JSON.parse(sessionStorage.getItem('lastPurchase') || '{}')
   );
+  const pending = purchaseData.status === 'PENDING';
+
+  // 주문 확정 폴링 (비동기 주문 모드)
+  useEffect(() => {
+    if (!pending || !purchaseData.orderRef) {
+      return;
+    }
+
+    const interval = setInterval(async () => {
+      try {
+        const order = await orderApi.getStatus(purchaseData.orderRef);
+        if (order.status === 'COMPLETED') {
+          const completed = { ...purchaseData, ...order };
+          sessionStorage.setItem('lastPurchase', JSON.stringify(completed));
+          setPurchaseData(completed);
+        }
+      } catch (err) {
+        console.error('주문 상태 조회 실패:', err);
+      }
+    }, 1000);
+
+    return () => clearInterval(interval);
+  }, [pending, purchaseData]);
 
   useEffect(() => {
     const timer = setInterval(() => {
@@ -44,7 +69,9 @@ function PurchaseCompletePage() {
 
       <div className="purchase-complete">
         <div className="success-icon">✅</div>
-        <div className="success-message">구매가 완료되었습니다!</div>
+        <div className="success-message">
+          {pending ? '주문이 접수되었습니다!' : '구매가 완료되었습니다!'}
+        </div>
 
         {purchaseData.productName && (
           <div style={{ marginTop: '1.5rem', textAlign: 'left' }}>
@@ -65,7 +92,8 @@ function PurchaseCompletePage() {
                 <strong>결제 금액:</strong> ₩{formatPrice(purchaseData.totalPrice)}
               </p>
               <p>
-                <strong>주문 번호:</strong> #{purchaseData.orderId}
+                <strong>주문 번호:</strong>{' '}
+                {pending ? '확정 중...' : `#${purchaseData.orderId}`}
               </p>
             </div>
           </div>
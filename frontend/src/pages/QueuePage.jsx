@@ -2,6 +2,9 @@ import { useState, useEffect, useCallback } from 'react';
 import { useParams, useNavigate, Link } from 'react-router-dom';
 import { queueApi, purchaseApi } from '../api';
 
+const POLL_INTERVAL_MS = 2000;
+const HELD_POLL_INTERVAL_MS = 10000;
+
 /**
  * 대기열 페이지
  *
@@ -17,6 +20,9 @@ import { queueApi, purchaseApi } from '../api';
  *    - 구현 간단, 연결 관리 불필요
  *    - EKS Pod 재시작 시에도 안정적
  *    - 실시간성은 약간 떨어지지만 시연에는 충분
+ *
+ *    품절/만료면 폴링을 멈추고, 입장 마감(남은 재고 전량 예약)으로 보류 중이면
+ *    2초 폴링을 멈추고 10초 간격으로만 확인합니다. (예약 만료로 재고가 돌아오면 원래 순서로 입장)
  */
 function QueuePage() {
   const { productId } = useParams();
@@ -24,6 +30,8 @@ function QueuePage() {
   const [position, setPosition] = useState(0);
   const [estimatedWait, setEstimatedWait] = useState(0);
   const [canPurchase, setCanPurchase] = useState(false);
+  const [admissionClosed, setAdmissionClosed] = useState(false);
+  const [pollInterval, setPollInterval] = useState(POLL_INTERVAL_MS);
   const [purchasing, setPurchasing] = useState(false);
   const [error, setError] = useState(null);
 
@@ -38,11 +46,21 @@ function QueuePage() {
     try {
       const status = await queueApi.getStatus(productId, token);
 
+      if (status.soldOut) {
+        sessionStorage.removeItem(`queue_token_${productId}`);
+        setPollInterval(null);
+        setError('품절되었습니다. 다음 세일을 기다려주세요.');
+        return;
+      }
+
       if (status.expired) {
+        setPollInterval(null);
         setError('대기열이 만료되었습니다. 다시 시도해주세요.');
         return;
       }
 
+      setAdmissionClosed(status.admissionClosed);
+      setPollInterval(status.admissionClosed ? HELD_POLL_INTERVAL_MS : POLL_INTERVAL_MS);
       setPosition(status.position);
       setEstimatedWait(status.estimatedWaitSeconds);
       setCanPurchase(status.canPurchase);
@@ -51,19 +69,24 @@ function QueuePage() {
     }
   }, [productId, token]);
 
-  // 대기열 상태 폴링
+  // 최초 1회 조회
   useEffect(() => {
     if (!token) {
       navigate('/');
       return;
     }
-
     checkQueueStatus();
+  }, [token, checkQueueStatus, navigate]);
 
-    const interval = setInterval(checkQueueStatus, 2000);
+  // 대기열 상태 폴링 (품절/만료면 중단, 입장 마감 보류 중이면 느리게)
+  useEffect(() => {
+    if (!token || pollInterval == null) {
+      return;
+    }
+    const interval = setInterval(checkQueueStatus, pollInterval);
 
     return () => clearInterval(interval);
-  }, [token, checkQueueStatus, navigate]);
+  }, [token, checkQueueStatus, pollInterval]);
 
   // 구매 가능 상태가 되면 자동 구매
   useEffect(() => {
@@ -140,6 +163,15 @@ function QueuePage() {
               지금 구매하기
             </button>
           </>
+        ) : admissionClosed ? (
+          <>
+            <div className="queue-icon">⏸️</div>
+            <div className="queue-message">남은 재고가 모두 예약되었습니다</div>
+            <div className="queue-position">보류 {position}번째</div>
+            <p style={{ color: '#999', fontSize: '0.875rem' }}>
+              앞선 구매자의 예약이 취소되면 순서대로 입장합니다. 이 화면을 유지해 주세요.
+            </p>
+          </>
         ) : (
           <>
             <div className="queue-icon">⏳</div>
@@ -0,0 +1,92 @@
+import http from 'k6/http';
+import { check, sleep } from 'k6';
+import { Trend } from 'k6/metrics';
+import { textSummary } from 'https://jslib.k6.io/k6-summary/0.0.1/index.js';
+
+/**
+ * 대기열 폴링 동시 접속 테스트 (플랫폼 스레드 vs 가상 스레드 vs 리액티브 대기열 포트)
+ *
+ * 10,000명이 대기열에 진입한 뒤 1초 간격으로 순번을 폴링합니다.
+ * 같은 스크립트를 각 모드에 실행하고 결과 파일(k6-queue-pollers-{MODE}.json)을 비교합니다.
+ *
+ * 실행 방법:
+ *   # 1) 플랫폼 스레드 (기본, Tomcat 8080)
+ *   SPRING_PROFILES_ACTIVE=local ./gradlew bootRun
+ *   k6 run --env MODE=platform k6/queue-pollers.js
+ *
+ *   # 2) 가상 스레드 (Java 21 런타임 필요, Tomcat 8080)
+ *   SPRING_PROFILES_ACTIVE=local,virtual-threads ./gradlew bootRun
+ *   k6 run --env MODE=virtual k6/queue-pollers.js
+ *
+ *   # 3) 리액티브 대기열 포트 (Reactor Netty 8081)
+ *   QUEUE_REACTIVE_ENABLED=true SPRING_PROFILES_ACTIVE=local ./gradlew bootRun
+ *   k6 run --env MODE=reactive --env BASE_URL=http://localhost:8081 k6/queue-pollers.js
+ *
+ *   # 옵션: --env POLLERS=10000 --env HOLD=2m
+ *
+ * 함께 볼 지표 (/actuator/prometheus):
+ *   jvm_threads_live_threads, tomcat_threads_busy_threads,
+ *   hikaricp_connections_pending, bulkhead_saturation
+ */
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const MODE = __ENV.MODE || 'unknown';
+const POLLERS = parseInt(__ENV.POLLERS || '10000', 10);
+const HOLD = __ENV.HOLD || '2m';
+
+export const options = {
+    scenarios: {
+        pollers: {
+            executor: 'ramping-vus',
+            startVUs: 0,
+            stages: [
+                { duration: '1m', target: POLLERS },  // 1분 동안 0 → 10,000명
+                { duration: HOLD, target: POLLERS },  // 동시 폴링 유지
+                { duration: '20s', target: 0 },
+            ],
+            gracefulRampDown: '10s',
+        },
+    },
+    // 모드별 비교가 목적이므로 실패 기준 대신 결과만 기록
+    summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max'],
+};
+
+const pollDuration = new Trend('queue_poll_duration', true);
+
+// VU마다 별도 JS 런타임이므로 모듈 변수가 VU별 토큰이 됨
+let token = null;
+
+export default function () {
+    const productId = (__VU % 8) + 1;
+    const headers = {
+        'Content-Type': 'application/json',
+        'X-Session-Id': `k6-poller-${__VU}`,
+    };
+
+    // VU마다 한 번만 진입하고 이후에는 폴링만 반복
+    if (!token) {
+        const res = http.post(`${BASE_URL}/api/queue/enter`, JSON.stringify({ productId }), { headers });
+        check(res, { '대기열 진입 성공': (r) => r.status === 200 });
+        try {
+            token = JSON.parse(res.body).data.token;
+        } catch (e) {
+            sleep(1);
+            return;
+        }
+    }
+
+    const res = http.get(
+        `${BASE_URL}/api/queue/status?productId=${productId}&token=${token}`,
+        { headers, tags: { name: 'queue-status' } }
+    );
+    pollDuration.add(res.timings.duration);
+    check(res, { '대기열 상태 조회 성공': (r) => r.status === 200 });
+
+    sleep(1);
+}
+
+export function handleSummary(data) {
+    return {
+        stdout: textSummary(data, { indent: ' ', enableColors: true }),
+        [`k6-queue-pollers-${MODE}.json`]: JSON.stringify(data),
+    };
+}